@@ -0,0 +1,12 @@
+@echo off
+echo ========================================
+echo Running Benchmarks - JMH Performance Suite
+echo ========================================
+for %%L in ("Lab 0" "Lab 1" "Lab 2") do (
+    pushd "..\%%~L"
+    call mvn -q install -DskipTests
+    popd
+)
+call mvn clean package
+java -jar target\benchmarks.jar %*
+pause
@@ -0,0 +1,10 @@
+Write-Host "========================================" -ForegroundColor Cyan
+Write-Host "Running Benchmarks - JMH Performance Suite" -ForegroundColor Cyan
+Write-Host "========================================" -ForegroundColor Cyan
+foreach ($lab in "Lab 0", "Lab 1", "Lab 2") {
+    Push-Location "..\$lab"
+    mvn -q install -DskipTests
+    Pop-Location
+}
+mvn clean package
+java -jar target/benchmarks.jar @args
@@ -0,0 +1,42 @@
+package md.utm.tmps.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Entry point of benchmarks.jar
+ *
+ * Accepts the usual JMH command line (benchmark regexp, -p, -f, -wi, ...) and
+ * always attaches the GC profiler, so every run reports allocation rate
+ * (gc.alloc.rate.norm = bytes per operation) next to throughput and the
+ * latency percentiles produced by the sample-time mode.
+ *
+ * Examples:
+ *   java -jar target/benchmarks.jar                          (everything)
+ *   java -jar target/benchmarks.jar DecoratorChain -p depth=64
+ *   java -jar target/benchmarks.jar -l                       (list benchmarks)
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListProfilers()
+                || commandLine.shouldListWithParams() || commandLine.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (commandLine.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+        new Runner(options.build()).run();
+    }
+}
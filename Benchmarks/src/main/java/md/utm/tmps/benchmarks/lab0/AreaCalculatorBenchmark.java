@@ -0,0 +1,73 @@
+package md.utm.tmps.benchmarks.lab0;
+
+import md.utm.tmps.lab0.ocp.AreaCalculator;
+import md.utm.tmps.lab0.ocp.Circle;
+import md.utm.tmps.lab0.ocp.Rectangle;
+import md.utm.tmps.lab0.ocp.Shape;
+import md.utm.tmps.lab0.ocp.ShapeBatch;
+import md.utm.tmps.lab0.ocp.Triangle;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AreaCalculator.calculateTotalArea over a large mixed set of shapes: the List
+ * loop against the columnar ShapeBatch, sequential and fork-join
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class AreaCalculatorBenchmark {
+
+    @Param({"10000000"})
+    public int shapeCount;
+
+    private AreaCalculator calculator;
+    private List<Shape> shapes;
+    private ShapeBatch batch;
+
+    @Setup
+    public void setUp() {
+        calculator = new AreaCalculator();
+        shapes = randomShapes(shapeCount, 42);
+        batch = ShapeBatch.of(shapes);
+    }
+
+    @Benchmark
+    public double calculateTotalArea() {
+        return calculator.calculateTotalArea(shapes);
+    }
+
+    @Benchmark
+    public double batchTotalArea() {
+        return calculator.calculateTotalArea(batch);
+    }
+
+    @Benchmark
+    public double batchTotalAreaParallel() {
+        return calculator.calculateTotalAreaParallel(batch);
+    }
+
+    /**
+     * Evenly mixed circles, rectangles and triangles in random order
+     */
+    public static List<Shape> randomShapes(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Shape> shapes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            shapes.add(switch (random.nextInt(3)) {
+                case 0 -> new Circle(random.nextDouble(0.5, 10.0));
+                case 1 -> new Rectangle(random.nextDouble(0.5, 10.0), random.nextDouble(0.5, 10.0));
+                default -> new Triangle(random.nextDouble(0.5, 10.0), random.nextDouble(0.5, 10.0));
+            });
+        }
+        return shapes;
+    }
+}
@@ -0,0 +1,67 @@
+package md.utm.tmps.benchmarks.lab0;
+
+import md.utm.tmps.lab0.ocp.AreaCalculator;
+import md.utm.tmps.lab0.ocp.AreaReportWriter;
+import md.utm.tmps.lab0.ocp.Shape;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Area report of 5M shapes: String.format into one StringBuilder (the old
+ * generateAreaReport) against AreaReportWriter streaming to a Writer
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class AreaReportBenchmark {
+
+    @Param({"5000000"})
+    public int shapeCount;
+
+    private List<Shape> shapes;
+    private AreaCalculator calculator;
+
+    @Setup
+    public void setUp() {
+        calculator = new AreaCalculator();
+        shapes = AreaCalculatorBenchmark.randomShapes(shapeCount, 42);
+    }
+
+    @Benchmark
+    public String stringFormatReport() {
+        StringBuilder report = new StringBuilder();
+        report.append("=== AREA CALCULATION REPORT ===\n");
+        double totalArea = 0.0;
+        for (Shape shape : shapes) {
+            double area = shape.calculateArea();
+            totalArea += area;
+            report.append(String.format("%s: %.2f\n", shape.getShapeName(), area));
+        }
+        report.append(String.format("TOTAL AREA: %.2f\n", totalArea));
+        report.append("===============================");
+        return report.toString();
+    }
+
+    @Benchmark
+    public String generateAreaReport() {
+        return calculator.generateAreaReport(shapes);
+    }
+
+    @Benchmark
+    public double streamToWriter() throws IOException {
+        return new AreaReportWriter(Writer.nullWriter()).writeReport(shapes);
+    }
+
+    @Benchmark
+    public double streamWithSubtotals() throws IOException {
+        return new AreaReportWriter(Writer.nullWriter()).withSubtotals(true).writeReport(shapes);
+    }
+}
@@ -0,0 +1,74 @@
+package md.utm.tmps.benchmarks.lab0;
+
+import md.utm.tmps.lab0.srp.ImportProgress;
+import md.utm.tmps.lab0.srp.UserImporter;
+import md.utm.tmps.lab0.srp.UserRepository;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports a generated CSV file of 1M or 10M users (2% invalid, 1% malformed)
+ * into an empty in-memory repository; after each import prints the rows per
+ * second from ImportProgress
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class UserImportBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public int rows;
+
+    private Path file;
+    private UserRepository repository;
+    private ImportProgress progress;
+
+    @Setup(Level.Trial)
+    public void writeFile() throws IOException {
+        file = Files.createTempFile("users-", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("name,email,age\n");
+            for (int i = 0; i < rows; i++) {
+                if (i % 100 == 0) {
+                    writer.write("User" + i + ",user" + i + "@example.com,unknown\n");
+                } else if (i % 50 == 1) {
+                    writer.write("User" + i + ",user" + i + "-example.com,30\n");
+                } else {
+                    writer.write("User" + i + ",user" + i + "@example.com," + (18 + i % 70) + "\n");
+                }
+            }
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void emptyRepository() {
+        repository = null;
+        System.gc();
+        repository = new UserRepository();
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        System.out.printf("%n  %s%n", progress);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public ImportProgress importCsv() throws IOException {
+        progress = new UserImporter(repository).importFile(file);
+        return progress;
+    }
+}
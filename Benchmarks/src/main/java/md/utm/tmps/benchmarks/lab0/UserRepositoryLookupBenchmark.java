@@ -0,0 +1,73 @@
+package md.utm.tmps.benchmarks.lab0;
+
+import md.utm.tmps.lab0.srp.User;
+import md.utm.tmps.lab0.srp.UserRepository;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserRepository lookups by email, age range and name prefix from 1k to 10M users
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class UserRepositoryLookupBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int userCount;
+
+    private UserRepository repository;
+    private String[] emails;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private final SplittableRandom random = new SplittableRandom(7);
+    }
+
+    @Setup
+    public void setUp() {
+        repository = new UserRepository(EnumSet.allOf(UserRepository.Index.class));
+        emails = new String[userCount];
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < userCount; i++) {
+            emails[i] = "user" + i + "@example.com";
+            repository.save(new User("User" + i, emails[i], random.nextInt(18, 90)));
+        }
+    }
+
+    @Benchmark
+    public User findByEmail(Cursor cursor) {
+        return repository.findByEmail(emails[cursor.random.nextInt(userCount)]);
+    }
+
+    @Benchmark
+    public boolean findByEmailMissing() {
+        return repository.existsByEmail("nobody@example.com");
+    }
+
+    /**
+     * A one-year window, about 1/72 of the users
+     */
+    @Benchmark
+    public List<User> findByAgeRange(Cursor cursor) {
+        int age = cursor.random.nextInt(18, 90);
+        return repository.findByAgeRange(age, age);
+    }
+
+    /**
+     * Full name of a random user as the prefix; short ids such as "user12"
+     * also match user120..user129 and so on
+     */
+    @Benchmark
+    public List<User> findByNamePrefix(Cursor cursor) {
+        return repository.findByNamePrefix("user" + cursor.random.nextInt(userCount));
+    }
+}
@@ -0,0 +1,63 @@
+package md.utm.tmps.benchmarks.lab0;
+
+import md.utm.tmps.lab0.srp.User;
+import md.utm.tmps.lab0.srp.UserRepository;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup of a persistent UserRepository: replaying the log and rebuilding the
+ * email index, measured as single cold opens of 1M and 10M saved users
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class UserRepositoryStartupBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public int userCount;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void writeLog() throws IOException {
+        file = Files.createTempFile("users", ".log");
+        Files.delete(file);
+        SplittableRandom random = new SplittableRandom(42);
+        try (UserRepository repository = UserRepository.open(file, EnumSet.noneOf(UserRepository.Index.class))) {
+            List<User> chunk = new ArrayList<>(100_000);
+            for (int i = 0; i < userCount; i++) {
+                chunk.add(new User("User" + i, "user" + i + "@example.com", random.nextInt(18, 90)));
+                if (chunk.size() == 100_000) {
+                    repository.saveAll(chunk);
+                    chunk.clear();
+                }
+            }
+            repository.saveAll(chunk);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteLog() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int open() throws IOException {
+        try (UserRepository repository = UserRepository.open(file, EnumSet.noneOf(UserRepository.Index.class))) {
+            return repository.getUserCount();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package md.utm.tmps.benchmarks.lab0;
+
+import md.utm.tmps.lab0.srp.User;
+import md.utm.tmps.lab0.srp.UserValidator;
+import md.utm.tmps.lab0.srp.ValidationReport;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validating 1M users, a fifth of them invalid: one message per user vs
+ * UserValidator.validateAll on the common fork-join pool
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class UserValidatorBenchmark {
+
+    @Param({"1000000"})
+    public int userCount;
+
+    private final UserValidator validator = new UserValidator();
+    private List<User> users;
+
+    @Setup
+    public void setUp() {
+        users = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            users.add(i % 5 == 0
+                    ? new User("User" + i, "user" + i + "-at-example.com", 30)
+                    : new User("  User" + i + "  ", "user" + i + "@example.com", 18 + i % 70));
+        }
+    }
+
+    @Benchmark
+    public List<String> perUserMessages() {
+        List<String> errors = new ArrayList<>(userCount);
+        for (User user : users) {
+            errors.add(validator.getValidationError(user));
+        }
+        return errors;
+    }
+
+    @Benchmark
+    public ValidationReport validateAll() {
+        return validator.validateAll(users);
+    }
+
+    @Benchmark
+    public ValidationReport validateAllStream() {
+        return validator.validateAll(users.stream());
+    }
+}
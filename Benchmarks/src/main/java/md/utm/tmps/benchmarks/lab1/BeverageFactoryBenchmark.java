@@ -0,0 +1,49 @@
+package md.utm.tmps.benchmarks.lab1;
+
+import md.utm.tmps.lab1.domain.factory.BeverageFactory;
+import md.utm.tmps.lab1.domain.factory.BeverageType;
+import md.utm.tmps.lab1.domain.models.Beverage;
+import md.utm.tmps.lab1.domain.models.BeverageSize;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BeverageFactory.createBeverage dispatching on type and size strings, and on
+ * a pre-resolved BeverageType and BeverageSize; 10M beverages/sec leaves a
+ * budget of 100 ns per creation
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BeverageFactoryBenchmark {
+
+    @Param({"coffee", "tea", "juice"})
+    public String type;
+
+    @Param({"Small", "Large"})
+    public String size;
+
+    private BeverageType beverageType;
+    private BeverageSize beverageSize;
+
+    @Setup
+    public void setUp() {
+        beverageType = BeverageFactory.getType(type);
+        beverageSize = BeverageSize.of(size);
+    }
+
+    @Benchmark
+    public Beverage createBeverage() {
+        return BeverageFactory.createBeverage(type, size, "House");
+    }
+
+    @Benchmark
+    public Beverage createBeverageTyped() {
+        return BeverageFactory.createBeverage(beverageType, beverageSize, "House");
+    }
+}
@@ -0,0 +1,50 @@
+package md.utm.tmps.benchmarks.lab1;
+
+import md.utm.tmps.lab1.domain.factory.CachingMealFactory;
+import md.utm.tmps.lab1.domain.factory.ItalianMealFactory;
+import md.utm.tmps.lab1.domain.factory.MealFactory;
+import md.utm.tmps.lab1.domain.factory.MeatLoversMealFactory;
+import md.utm.tmps.lab1.domain.factory.VegetarianMealFactory;
+import md.utm.tmps.lab1.domain.models.Meal;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MealFactory.createMeal() built on every call vs through CachingMealFactory
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MealFactoryBenchmark {
+
+    @Param({"Italian", "MeatLovers", "Vegetarian"})
+    public String mealType;
+
+    private MealFactory factory;
+    private MealFactory cached;
+
+    @Setup
+    public void setUp() {
+        factory = switch (mealType) {
+            case "Italian" -> new ItalianMealFactory();
+            case "MeatLovers" -> new MeatLoversMealFactory();
+            default -> new VegetarianMealFactory();
+        };
+        cached = CachingMealFactory.of(factory);
+    }
+
+    @Benchmark
+    public Meal createMeal() {
+        return factory.createMeal();
+    }
+
+    @Benchmark
+    public Meal createMealCached() {
+        return cached.createMeal();
+    }
+}
@@ -0,0 +1,40 @@
+package md.utm.tmps.benchmarks.lab1;
+
+import md.utm.tmps.lab1.domain.models.Pizza;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pizza.Builder.build() for a plain and a fully loaded pizza
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PizzaBuilderBenchmark {
+
+    @Benchmark
+    public Pizza buildMargherita() {
+        return new Pizza.Builder("Medium", "Thin")
+                .cheese(true)
+                .build();
+    }
+
+    @Benchmark
+    public Pizza buildSupreme() {
+        return new Pizza.Builder("Large", "Thick")
+                .cheese(true)
+                .pepperoni(true)
+                .mushrooms(true)
+                .olives(true)
+                .bacon(true)
+                .onions(true)
+                .addExtraTopping("Green Peppers")
+                .addExtraTopping("Pineapple")
+                .build();
+    }
+}
@@ -0,0 +1,58 @@
+package md.utm.tmps.benchmarks.lab1;
+
+import md.utm.tmps.lab1.domain.models.Pizza;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds and keeps 10M live pizzas; after each iteration prints the heap each
+ * one retains, measured between two full GCs
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class PizzaFootprintBenchmark {
+    private static final int PIZZAS = 10_000_000;
+
+    private final Pizza[] live = new Pizza[PIZZAS];
+    private long emptyHeap;
+
+    @Setup(Level.Iteration)
+    public void release() {
+        Arrays.fill(live, null);
+        emptyHeap = usedHeap();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportFootprint() {
+        System.out.printf("%n  retained bytes per pizza: %.1f%n", (usedHeap() - emptyHeap) / (double) PIZZAS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PIZZAS)
+    public Pizza[] buildAndKeep() {
+        for (int i = 0; i < PIZZAS; i++) {
+            Pizza.Builder builder = new Pizza.Builder(i % 3 == 0 ? "Large" : "Medium", "Thin").cheese(true);
+            switch (i % 4) {
+                case 0 -> builder.pepperoni(true);
+                case 1 -> builder.mushrooms(true).olives(true);
+                case 2 -> builder.bacon(true).addExtraTopping("Pineapple");
+                default -> builder.onions(true).addExtraTopping("Jalapenos").addExtraTopping("Pineapple");
+            }
+            live[i] = builder.build();
+        }
+        return live;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,75 @@
+package md.utm.tmps.benchmarks.lab2;
+
+import md.utm.tmps.lab2.domain.events.EventSink;
+import md.utm.tmps.lab2.domain.payment.PaymentProcessor;
+import md.utm.tmps.lab2.domain.payment.PaymentRequest;
+import md.utm.tmps.lab2.domain.payment.PaymentResult;
+import md.utm.tmps.lab2.domain.payment.adapters.PayPalAdapter;
+import md.utm.tmps.lab2.domain.payment.adapters.StripeAdapter;
+import md.utm.tmps.lab2.domain.payment.external.SimulatedLatencyPayPalAPI;
+import md.utm.tmps.lab2.domain.payment.external.SimulatedLatencyStripeAPI;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Settling a batch of payments against a gateway with simulated network
+ * latency: one processPaymentCents call per order against processPayments
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchPaymentBenchmark {
+    private static final long ROUND_TRIP_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+    private static final long PER_PAYMENT_NANOS = TimeUnit.MICROSECONDS.toNanos(2);
+
+    @Param({"PayPal", "Stripe"})
+    public String gateway;
+
+    @Param({"10", "100", "1000"})
+    public int batchSize;
+
+    private PaymentProcessor processor;
+    private List<PaymentRequest> requests;
+
+    @Setup
+    public void setUp() {
+        String account;
+        if (gateway.equals("PayPal")) {
+            processor = new PayPalAdapter(new SimulatedLatencyPayPalAPI(EventSink.noOp(), ROUND_TRIP_NANOS,
+                    PER_PAYMENT_NANOS), EventSink.noOp());
+            account = "customer@example.com";
+        } else {
+            processor = new StripeAdapter(new SimulatedLatencyStripeAPI(EventSink.noOp(), ROUND_TRIP_NANOS,
+                    PER_PAYMENT_NANOS), EventSink.noOp());
+            account = "tok_visa_4242424242424242";
+        }
+        requests = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            requests.add(new PaymentRequest(i, 1000 + i, account));
+        }
+    }
+
+    @Benchmark
+    public int perOrderLoop() {
+        int approved = 0;
+        for (PaymentRequest request : requests) {
+            if (processor.validatePaymentDetails(request.accountInfo())
+                    && processor.processPaymentCents(request.amountCents(), request.accountInfo())) {
+                approved++;
+            }
+        }
+        return approved;
+    }
+
+    @Benchmark
+    public List<PaymentResult> batch() {
+        return processor.processPayments(requests);
+    }
+}
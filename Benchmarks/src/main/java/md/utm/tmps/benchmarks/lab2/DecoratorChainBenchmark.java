@@ -0,0 +1,60 @@
+package md.utm.tmps.benchmarks.lab2;
+
+import md.utm.tmps.lab2.domain.decorators.*;
+import md.utm.tmps.lab2.domain.models.BasePizza;
+import md.utm.tmps.lab2.domain.models.PizzaComponent;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * getCost/getDescription on ToppingDecorator chains of increasing depth.
+ * Both walk the whole chain; getDescription also concatenates at every level.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DecoratorChainBenchmark {
+
+    @Param({"1", "2", "4", "8", "16", "32", "64"})
+    public int depth;
+
+    private PizzaComponent pizza;
+
+    @Setup
+    public void buildChain() {
+        pizza = chainOfDepth(depth);
+    }
+
+    @Benchmark
+    public double getCost() {
+        return pizza.getCost();
+    }
+
+    @Benchmark
+    public String getDescription() {
+        return pizza.getDescription();
+    }
+
+    /**
+     * Builds a pizza with the given number of toppings, cycling through all decorators
+     */
+    public static PizzaComponent chainOfDepth(int depth) {
+        PizzaComponent pizza = new BasePizza("Large", "Thin");
+        for (int i = 0; i < depth; i++) {
+            pizza = switch (i % 6) {
+                case 0 -> new CheeseDecorator(pizza, "Mozzarella");
+                case 1 -> new PepperoniDecorator(pizza);
+                case 2 -> new MushroomDecorator(pizza);
+                case 3 -> new OliveDecorator(pizza, "Black");
+                case 4 -> new BaconDecorator(pizza);
+                default -> new VegetableDecorator(pizza, "Onions");
+            };
+        }
+        return pizza;
+    }
+}
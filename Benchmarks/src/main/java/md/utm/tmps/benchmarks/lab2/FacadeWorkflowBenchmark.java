@@ -0,0 +1,59 @@
+package md.utm.tmps.benchmarks.lab2;
+
+import md.utm.tmps.lab2.domain.decorators.CheeseDecorator;
+import md.utm.tmps.lab2.domain.decorators.PepperoniDecorator;
+import md.utm.tmps.lab2.domain.facade.OrderManagementFacade;
+import md.utm.tmps.lab2.domain.models.BasePizza;
+import md.utm.tmps.lab2.domain.models.Order;
+import md.utm.tmps.lab2.domain.models.PizzaComponent;
+import md.utm.tmps.lab2.domain.payment.PaymentProcessor;
+import md.utm.tmps.lab2.domain.payment.adapters.PayPalAdapter;
+import md.utm.tmps.lab2.domain.subsystems.OrderIdGenerator;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The full create -> add pizza -> process -> pay cycle through OrderManagementFacade
+ * with the default (no-op) event sink.
+ *
+ * Order ids are recycled every ORDERS_PER_CYCLE orders so the inventory stays at a
+ * steady size instead of growing for the whole run. Single-threaded by design:
+ * recycling resets the shared OrderIdGenerator.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FacadeWorkflowBenchmark {
+    private static final int ORDERS_PER_CYCLE = 1 << 16;
+
+    private OrderManagementFacade facade;
+    private PaymentProcessor payment;
+    private PizzaComponent pizza;
+    private int ordersInCycle;
+
+    @Setup
+    public void setUp() {
+        OrderIdGenerator.getInstance().reset();
+        facade = new OrderManagementFacade();
+        payment = new PayPalAdapter();
+        pizza = new PepperoniDecorator(new CheeseDecorator(new BasePizza("Medium", "Regular"), "Mozzarella"));
+    }
+
+    @Benchmark
+    public boolean createProcessPay() {
+        if (++ordersInCycle == ORDERS_PER_CYCLE) {
+            OrderIdGenerator.getInstance().reset();
+            ordersInCycle = 0;
+        }
+        Order order = facade.createOrder();
+        int orderId = order.getOrderId();
+        facade.addPizzaToOrder(orderId, pizza);
+        facade.processOrder(orderId, "customer@email.com");
+        return facade.completePayment(orderId, payment, "customer@email.com", "customer@email.com");
+    }
+}
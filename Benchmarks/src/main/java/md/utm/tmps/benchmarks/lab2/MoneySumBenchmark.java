@@ -0,0 +1,86 @@
+package md.utm.tmps.benchmarks.lab2;
+
+import md.utm.tmps.lab2.domain.models.Order;
+import md.utm.tmps.lab2.domain.models.PizzaComponent;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summing the lines of a large order: long cents against BigDecimal and double
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneySumBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int lines;
+
+    private long[] cents;
+    private BigDecimal[] decimals;
+    private double[] dollars;
+    private List<PizzaComponent> pizzas;
+
+    @Setup
+    public void setUp() {
+        cents = new long[lines];
+        decimals = new BigDecimal[lines];
+        dollars = new double[lines];
+        pizzas = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            PizzaComponent pizza = DecoratorChainBenchmark.chainOfDepth(i % 7).seal();
+            pizzas.add(pizza);
+            cents[i] = pizza.getCostCents();
+            decimals[i] = BigDecimal.valueOf(cents[i], 2);
+            dollars[i] = pizza.getCost();
+        }
+    }
+
+    @Benchmark
+    public long sumCents() {
+        long total = 0;
+        for (long line : cents) {
+            total += line;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal sumBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal line : decimals) {
+            total = total.add(line);
+        }
+        return total;
+    }
+
+    /**
+     * Fast but inexact: shown for reference only
+     */
+    @Benchmark
+    public double sumDouble() {
+        double total = 0;
+        for (double line : dollars) {
+            total += line;
+        }
+        return total;
+    }
+
+    /**
+     * Building the order itself, which maintains the total in cents
+     */
+    @Benchmark
+    public long buildOrder() {
+        Order order = new Order(1);
+        order.addPizzas(pizzas);
+        return order.getTotalCents();
+    }
+}
@@ -0,0 +1,65 @@
+package md.utm.tmps.benchmarks.lab2;
+
+import md.utm.tmps.lab2.domain.events.EventSink;
+import md.utm.tmps.lab2.domain.notifications.InMemoryNotificationTransport;
+import md.utm.tmps.lab2.domain.notifications.NotificationPipeline;
+import md.utm.tmps.lab2.domain.subsystems.NotificationService;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Confirmation, ready and payment notices for a batch of orders against a
+ * gateway with simulated latency: one request per notice against the
+ * coalescing NotificationPipeline (one operation = all notices delivered)
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Thread)
+public class NotificationPipelineBenchmark {
+    private static final long ROUND_TRIP_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+    private static final long PER_MESSAGE_NANOS = TimeUnit.MICROSECONDS.toNanos(2);
+    private static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    @Param({"100", "1000"})
+    public int orders;
+
+    private String[] contacts;
+
+    @Setup
+    public void setUp() {
+        contacts = new String[orders];
+        for (int i = 0; i < orders; i++) {
+            contacts[i] = "customer" + i + "@example.com";
+        }
+    }
+
+    @Benchmark
+    public long perCall() {
+        InMemoryNotificationTransport gateway = new InMemoryNotificationTransport(ROUND_TRIP_NANOS, PER_MESSAGE_NANOS);
+        notifyAll(new NotificationService(EventSink.noOp(), gateway));
+        return gateway.getRequestCount();
+    }
+
+    @Benchmark
+    public long pipeline() {
+        InMemoryNotificationTransport gateway = new InMemoryNotificationTransport(ROUND_TRIP_NANOS, PER_MESSAGE_NANOS);
+        try (NotificationPipeline pipeline = new NotificationPipeline(gateway, 8192, WINDOW_NANOS, 100,
+                NotificationPipeline.OverflowPolicy.DROP, null)) {
+            notifyAll(new NotificationService(EventSink.noOp(), pipeline));
+        }
+        return gateway.getRequestCount();
+    }
+
+    private void notifyAll(NotificationService notifications) {
+        for (int i = 0; i < orders; i++) {
+            notifications.sendOrderConfirmation(i, contacts[i]);
+            notifications.sendOrderReady(i, contacts[i]);
+            notifications.sendPaymentConfirmation(i, 1299, "PayPal", contacts[i]);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package md.utm.tmps.benchmarks.lab2;
+
+import md.utm.tmps.lab2.domain.subsystems.OrderIdGenerator;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order id generation under contention: the former synchronized counter
+ * against the lock-free generator with and without per-thread blocks
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class OrderIdGeneratorBenchmark {
+
+    @Param({"1", "1024"})
+    public int blockSize;
+
+    private final SynchronizedCounter legacy = new SynchronizedCounter();
+    private OrderIdGenerator generator;
+
+    @Setup
+    public void setUp() {
+        generator = OrderIdGenerator.getInstance();
+        generator.setBlockSize(blockSize);
+    }
+
+    @TearDown
+    public void tearDown() {
+        generator.setBlockSize(1);
+    }
+
+    @Benchmark
+    public long synchronizedCounter() {
+        return legacy.next();
+    }
+
+    @Benchmark
+    public long lockFreeGenerator() {
+        return generator.generateLongOrderId();
+    }
+
+    /**
+     * The monitor-based counter the generator used before it became lock-free
+     */
+    private static final class SynchronizedCounter {
+        private int currentId = 1000;
+
+        synchronized int next() {
+            return currentId++;
+        }
+    }
+}
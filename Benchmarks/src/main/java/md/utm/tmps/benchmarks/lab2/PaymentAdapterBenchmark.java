@@ -0,0 +1,56 @@
+package md.utm.tmps.benchmarks.lab2;
+
+import md.utm.tmps.lab2.domain.payment.PaymentProcessor;
+import md.utm.tmps.lab2.domain.payment.adapters.CashAdapter;
+import md.utm.tmps.lab2.domain.payment.adapters.PayPalAdapter;
+import md.utm.tmps.lab2.domain.payment.adapters.StripeAdapter;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation and charging through each PaymentProcessor adapter
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PaymentAdapterBenchmark {
+
+    @Param({"PayPal", "Stripe", "Cash"})
+    public String method;
+
+    private PaymentProcessor processor;
+    private String accountInfo;
+
+    @Setup
+    public void setUp() {
+        switch (method) {
+            case "PayPal" -> {
+                processor = new PayPalAdapter();
+                accountInfo = "customer@example.com";
+            }
+            case "Stripe" -> {
+                processor = new StripeAdapter();
+                accountInfo = "tok_visa_4242424242424242";
+            }
+            default -> {
+                processor = new CashAdapter();
+                accountInfo = "50.00";
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean validatePaymentDetails() {
+        return processor.validatePaymentDetails(accountInfo);
+    }
+
+    @Benchmark
+    public boolean processPayment() {
+        return processor.processPayment(45.99, accountInfo);
+    }
+}
@@ -0,0 +1,105 @@
+package md.utm.tmps.benchmarks.lab2;
+
+import md.utm.tmps.lab2.domain.flyweight.PizzaRegistry;
+import md.utm.tmps.lab2.domain.flyweight.Topping;
+import md.utm.tmps.lab2.domain.models.BasePizza;
+import md.utm.tmps.lab2.domain.models.PizzaComponent;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replay of 1M orders over 30 menu pizzas, every pizza kept as an order would
+ * keep it: built and sealed per order, built and canonicalized through
+ * PizzaRegistry, or taken from the registry by menu name.
+ * Scores and gc.alloc.rate.norm are per order.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Thread)
+public class PizzaFlyweightBenchmark {
+    private static final int ORDERS = 1_000_000;
+    private static final String[] SIZES = {"Small", "Medium", "Large"};
+    private static final List<List<Topping>> RECIPES = List.of(
+            List.of(Topping.cheese("Mozzarella")),
+            List.of(Topping.cheese("Mozzarella"), Topping.PEPPERONI),
+            List.of(Topping.cheese("Cheddar"), Topping.PEPPERONI, Topping.BACON),
+            List.of(Topping.cheese("Mozzarella"), Topping.MUSHROOM, Topping.olive("Black")),
+            List.of(Topping.cheese("Parmesan"), Topping.MUSHROOM, Topping.vegetable("Onions"),
+                    Topping.vegetable("Bell Peppers")),
+            List.of(Topping.cheese("Feta"), Topping.olive("Kalamata"), Topping.vegetable("Tomatoes")),
+            List.of(Topping.cheese("Mozzarella"), Topping.BACON, Topping.MUSHROOM),
+            List.of(Topping.cheese("Mozzarella"), Topping.PEPPERONI, Topping.MUSHROOM, Topping.olive("Green")),
+            List.of(Topping.cheese("Gorgonzola"), Topping.cheese("Mozzarella"), Topping.cheese("Parmesan")),
+            List.of(Topping.cheese("Mozzarella"), Topping.PEPPERONI, Topping.BACON, Topping.MUSHROOM,
+                    Topping.olive("Black"), Topping.vegetable("Onions")));
+
+    private final List<String> menuNames = new ArrayList<>();
+    private final List<String> menuSizes = new ArrayList<>();
+    private final List<List<Topping>> menuToppings = new ArrayList<>();
+    private PizzaRegistry registry;
+    private int[] orders;
+    private PizzaComponent[] kept;
+
+    @Setup
+    public void setUp() {
+        registry = new PizzaRegistry();
+        for (String size : SIZES) {
+            for (int r = 0; r < RECIPES.size(); r++) {
+                String name = size + " #" + r;
+                menuNames.add(name);
+                menuSizes.add(size);
+                menuToppings.add(RECIPES.get(r));
+                registry.register(name, size, "Regular", RECIPES.get(r));
+            }
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        orders = new int[ORDERS];
+        for (int i = 0; i < ORDERS; i++) {
+            orders[i] = random.nextInt(menuNames.size());
+        }
+        kept = new PizzaComponent[ORDERS];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public PizzaComponent[] buildAndSeal() {
+        for (int i = 0; i < ORDERS; i++) {
+            kept[i] = build(orders[i]).seal();
+        }
+        return kept;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public PizzaComponent[] buildAndCanonicalize() {
+        for (int i = 0; i < ORDERS; i++) {
+            kept[i] = registry.canonical(build(orders[i]));
+        }
+        return kept;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public PizzaComponent[] menuItem() {
+        for (int i = 0; i < ORDERS; i++) {
+            kept[i] = registry.menuItem(menuNames.get(orders[i]));
+        }
+        return kept;
+    }
+
+    private PizzaComponent build(int item) {
+        PizzaComponent pizza = new BasePizza(menuSizes.get(item), "Regular");
+        for (Topping topping : menuToppings.get(item)) {
+            pizza = topping.applyTo(pizza);
+        }
+        return pizza;
+    }
+}
@@ -0,0 +1,65 @@
+package md.utm.tmps.benchmarks.lab2;
+
+import md.utm.tmps.lab2.domain.flyweight.Topping;
+import md.utm.tmps.lab2.domain.models.BasePizza;
+import md.utm.tmps.lab2.domain.models.PizzaComponent;
+import md.utm.tmps.lab2.domain.pricing.PriceTable;
+import md.utm.tmps.lab2.domain.pricing.PricingEngine;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pricing the same pizza by walking its decorator chain against a compiled
+ * PricingEngine lookup, and the cost of resolving a size and crust when a
+ * BasePizza is built for an order
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PricingEngineBenchmark {
+    private static final Topping[] CYCLE = {Topping.cheese("Mozzarella"), Topping.PEPPERONI, Topping.MUSHROOM,
+            Topping.olive("Black"), Topping.BACON, Topping.vegetable("Peppers")};
+
+    @Param({"1", "5", "20"})
+    public int depth;
+
+    private PizzaComponent chain;
+    private PricingEngine engine;
+    private PricingEngine.CompiledPizza compiled;
+
+    @Setup
+    public void setUp() {
+        chain = DecoratorChainBenchmark.chainOfDepth(depth);
+        List<Topping> toppings = new ArrayList<>();
+        for (int i = 0; i < depth; i++) {
+            toppings.add(CYCLE[i % CYCLE.length]);
+        }
+        engine = new PricingEngine(PriceTable.DEFAULT);
+        compiled = engine.compile("Large", "Thin", toppings);
+        if (engine.priceCents(compiled) != chain.getCostCents()) {
+            throw new IllegalStateException("Compiled price differs from the chain");
+        }
+    }
+
+    @Benchmark
+    public long chainPrice() {
+        return chain.getCostCents();
+    }
+
+    @Benchmark
+    public long compiledPrice() {
+        return engine.priceCents(compiled);
+    }
+
+    @Benchmark
+    public long basePizza() {
+        return new BasePizza("Large", "Thin").getCostCents();
+    }
+}
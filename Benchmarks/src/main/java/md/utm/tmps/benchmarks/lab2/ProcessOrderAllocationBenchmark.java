@@ -0,0 +1,53 @@
+package md.utm.tmps.benchmarks.lab2;
+
+import md.utm.tmps.lab2.domain.decorators.CheeseDecorator;
+import md.utm.tmps.lab2.domain.decorators.PepperoniDecorator;
+import md.utm.tmps.lab2.domain.facade.OrderManagementFacade;
+import md.utm.tmps.lab2.domain.models.BasePizza;
+import md.utm.tmps.lab2.domain.models.Order;
+import md.utm.tmps.lab2.domain.models.PizzaComponent;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bytes allocated by OrderManagementFacade.processOrder and Order.getPizzas()
+ * for an order of 1 to 64 pizzas; gc.alloc.rate.norm should not grow with the
+ * number of pizzas
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ProcessOrderAllocationBenchmark {
+
+    @Param({"1", "8", "64"})
+    public int pizzaCount;
+
+    private OrderManagementFacade facade;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        facade = new OrderManagementFacade();
+        order = facade.createOrder();
+        PizzaComponent pizza = new PepperoniDecorator(new CheeseDecorator(new BasePizza("Medium", "Regular"), "Mozzarella"));
+        for (int i = 0; i < pizzaCount; i++) {
+            facade.addPizzaToOrder(order.getOrderId(), pizza);
+        }
+    }
+
+    @Benchmark
+    public void processOrder() {
+        facade.processOrder(order.getOrderId(), "customer@email.com");
+    }
+
+    @Benchmark
+    public List<PizzaComponent> getPizzas() {
+        return order.getPizzas();
+    }
+}
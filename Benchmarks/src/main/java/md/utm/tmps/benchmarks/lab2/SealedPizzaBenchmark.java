@@ -0,0 +1,60 @@
+package md.utm.tmps.benchmarks.lab2;
+
+import md.utm.tmps.lab2.domain.models.PizzaComponent;
+import md.utm.tmps.lab2.domain.models.SealedPizza;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recursive ToppingDecorator chain against the same pizza sealed into a SealedPizza
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SealedPizzaBenchmark {
+
+    @Param({"5", "20", "100"})
+    public int depth;
+
+    private PizzaComponent chain;
+    private SealedPizza sealed;
+
+    @Setup
+    public void setUp() {
+        chain = DecoratorChainBenchmark.chainOfDepth(depth);
+        sealed = chain.seal();
+    }
+
+    @Benchmark
+    public double chainCost() {
+        return chain.getCost();
+    }
+
+    @Benchmark
+    public double sealedCost() {
+        return sealed.getCost();
+    }
+
+    @Benchmark
+    public String chainDescription() {
+        return chain.getDescription();
+    }
+
+    @Benchmark
+    public String sealedDescription() {
+        return sealed.getDescription();
+    }
+
+    /**
+     * One-off price of sealing, paid when the pizza is added to an order
+     */
+    @Benchmark
+    public SealedPizza seal() {
+        return SealedPizza.of(chain);
+    }
+}
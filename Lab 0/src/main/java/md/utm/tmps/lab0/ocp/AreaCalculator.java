@@ -1,6 +1,10 @@
 package md.utm.tmps.lab0.ocp;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * AreaCalculator - demonstrates OCP principle
@@ -17,21 +21,124 @@ public class AreaCalculator {
         return totalArea;
     }
     
-
+    /**
+     * Total area of a columnar batch, one tight loop per column
+     * Sums are added in a different order than the List version, so results
+     * can differ from it in the last bits.
+     */
+    public double calculateTotalArea(ShapeBatch batch) {
+        return Math.PI * sum(batch.circleRadii(), batch.circleRadii(), 0, batch.getCircleCount())
+                + sum(batch.rectangleWidths(), batch.rectangleHeights(), 0, batch.getRectangleCount())
+                + 0.5 * sum(batch.triangleBases(), batch.triangleHeights(), 0, batch.getTriangleCount())
+                + sum(batch.otherAreas(), null, 0, batch.getOtherCount());
+    }
+    
+    /**
+     * Total area of a columnar batch, split across the common fork-join pool
+     */
+    public double calculateTotalAreaParallel(ShapeBatch batch) {
+        return calculateTotalAreaParallel(batch, ForkJoinPool.commonPool());
+    }
+    
+    public double calculateTotalAreaParallel(ShapeBatch batch, ForkJoinPool pool) {
+        return pool.invoke(new BatchArea(batch));
+    }
+    
     public String generateAreaReport(List<Shape> shapes) {
-        StringBuilder report = new StringBuilder();
-        report.append("=== AREA CALCULATION REPORT ===\n");
+        StringBuilder report = new StringBuilder(64 + shapes.size() * 24);
+        try {
+            new AreaReportWriter(report).writeReport(shapes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);  // a StringBuilder never throws
+        }
+        return report.toString();
+    }
+    
+    /**
+     * Sum of a[i] * b[i], or of a[i] alone when b is null, over [from, to)
+     * Four independent accumulators let the CPU overlap the additions instead
+     * of waiting for each one to finish.
+     */
+    private static double sum(double[] a, double[] b, int from, int to) {
+        double s0 = 0.0, s1 = 0.0, s2 = 0.0, s3 = 0.0;
+        int i = from;
+        if (b == null) {
+            for (; i + 3 < to; i += 4) {
+                s0 += a[i];
+                s1 += a[i + 1];
+                s2 += a[i + 2];
+                s3 += a[i + 3];
+            }
+            for (; i < to; i++) {
+                s0 += a[i];
+            }
+        } else {
+            for (; i + 3 < to; i += 4) {
+                s0 += a[i] * b[i];
+                s1 += a[i + 1] * b[i + 1];
+                s2 += a[i + 2] * b[i + 2];
+                s3 += a[i + 3] * b[i + 3];
+            }
+            for (; i < to; i++) {
+                s0 += a[i] * b[i];
+            }
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+    
+    /**
+     * Fork-join total of a batch: one ColumnSum per shape kind
+     */
+    private static final class BatchArea extends RecursiveTask<Double> {
+        private static final long serialVersionUID = 1L;
+        private final transient ShapeBatch batch;
         
-        double totalArea = 0.0;
-        for (Shape shape : shapes) {
-            double area = shape.calculateArea();
-            totalArea += area;
-            report.append(String.format("%s: %.2f\n", shape.getShapeName(), area));
+        BatchArea(ShapeBatch batch) {
+            this.batch = batch;
         }
         
-        report.append(String.format("TOTAL AREA: %.2f\n", totalArea));
-        report.append("===============================");
+        @Override
+        protected Double compute() {
+            ColumnSum circles = new ColumnSum(batch.circleRadii(), batch.circleRadii(), 0, batch.getCircleCount());
+            ColumnSum rectangles = new ColumnSum(batch.rectangleWidths(), batch.rectangleHeights(),
+                    0, batch.getRectangleCount());
+            ColumnSum triangles = new ColumnSum(batch.triangleBases(), batch.triangleHeights(),
+                    0, batch.getTriangleCount());
+            ColumnSum others = new ColumnSum(batch.otherAreas(), null, 0, batch.getOtherCount());
+            invokeAll(circles, rectangles, triangles, others);
+            return Math.PI * circles.join() + rectangles.join()
+                    + 0.5 * triangles.join() + others.join();
+        }
+    }
+    
+    /**
+     * Fork-join sum of one column, halved until a slice is small enough
+     */
+    private static final class ColumnSum extends RecursiveTask<Double> {
+        private static final long serialVersionUID = 1L;
+        private static final int SLICE = 1 << 16;
+        private final double[] a;
+        private final double[] b;
+        private final int from;
+        private final int to;
         
-        return report.toString();
+        ColumnSum(double[] a, double[] b, int from, int to) {
+            this.a = a;
+            this.b = b;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected Double compute() {
+            if (to - from <= SLICE) {
+                return sum(a, b, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            ColumnSum left = new ColumnSum(a, b, from, middle);
+            left.fork();
+            double right = new ColumnSum(a, b, middle, to).compute();
+            return left.join() + right;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,207 @@
+package md.utm.tmps.lab0.ocp;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormatSymbols;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * AreaReportWriter - streams an area report line by line
+ *
+ * Produces the same text as AreaCalculator.generateAreaReport, but writes it
+ * through a fixed-size character buffer to any Appendable (a Writer, a
+ * StringBuilder, a byte channel, ...), so memory use does not grow with the
+ * number of shapes.
+ *
+ * Areas are printed with two decimals without String.format: the value is
+ * scaled to hundredths and rounded directly. String.format rounds the shortest
+ * decimal form of the double half-up, which a scaled double cannot reproduce
+ * when the value sits within a hair of a .5 tie (0.125, 2.675, ...), so those
+ * values, very large ones and locales with non-ASCII digits still go through
+ * String.format.
+ *
+ * With subtotals enabled the report also lists, before the total, the number
+ * of shapes and the area of every shape name in order of first appearance.
+ */
+public class AreaReportWriter {
+    private static final String HEADER = "=== AREA CALCULATION REPORT ===\n";
+    private static final String FOOTER = "===============================";
+    private static final int BUFFER_CHARS = 8192;
+    private static final int MAX_LINE_CHARS = 64;
+    private static final double FAST_LIMIT = 1e6;
+    private static final double TIE_MARGIN = 1e-6;
+
+    private final Appendable out;
+    private final char[] buffer = new char[BUFFER_CHARS];
+    private final CharBuffer bufferView = CharBuffer.wrap(buffer);
+    private final char decimalSeparator;
+    private final boolean asciiDigits;
+    private int length;
+    private boolean subtotals;
+
+    public AreaReportWriter(Appendable out) {
+        this.out = out;
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT));
+        this.decimalSeparator = symbols.getDecimalSeparator();
+        this.asciiDigits = symbols.getZeroDigit() == '0';
+    }
+
+    /**
+     * Writes the report as UTF-8 to a byte channel; the channel is not closed
+     */
+    public static AreaReportWriter to(WritableByteChannel channel) {
+        return new AreaReportWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Enables or disables the per-shape-type subtotals
+     */
+    public AreaReportWriter withSubtotals(boolean subtotals) {
+        this.subtotals = subtotals;
+        return this;
+    }
+
+    /**
+     * Writes the whole report and flushes the target if it is Flushable
+     * @return total area of the shapes
+     */
+    public double writeReport(Iterable<? extends Shape> shapes) throws IOException {
+        Map<String, Subtotal> byName = subtotals ? new LinkedHashMap<>() : null;
+        append(HEADER);
+
+        double totalArea = 0.0;
+        for (Shape shape : shapes) {
+            double area = shape.calculateArea();
+            totalArea += area;
+            String name = shape.getShapeName();
+            reserve(String.valueOf(name).length() + MAX_LINE_CHARS);
+            append(name);
+            append(": ");
+            appendArea(area);
+            newLine();
+            if (byName != null) {
+                byName.computeIfAbsent(name, key -> new Subtotal()).add(area);
+            }
+        }
+
+        if (byName != null) {
+            for (Map.Entry<String, Subtotal> entry : byName.entrySet()) {
+                reserve(entry.getKey().length() + 2 * MAX_LINE_CHARS);
+                append("SUBTOTAL ");
+                append(entry.getKey());
+                append(" (");
+                append(Integer.toString(entry.getValue().count));
+                append("): ");
+                appendArea(entry.getValue().area);
+                newLine();
+            }
+        }
+
+        reserve(MAX_LINE_CHARS);
+        append("TOTAL AREA: ");
+        appendArea(totalArea);
+        newLine();
+        append(FOOTER);
+        drain();
+        if (out instanceof Flushable flushable) {
+            flushable.flush();
+        }
+        return totalArea;
+    }
+
+    /**
+     * Appends the area as String.format("%.2f", area) would print it
+     */
+    private void appendArea(double area) throws IOException {
+        // the sign bit test also sends -0.0 (printed "-0.00") to String.format
+        if (!asciiDigits || Double.doubleToRawLongBits(area) < 0 || !(area < FAST_LIMIT)) {
+            append(String.format("%.2f", area));
+            return;
+        }
+        double scaled = area * 100.0;
+        long hundredths = (long) scaled;
+        double fraction = scaled - hundredths;
+        if (Math.abs(fraction - 0.5) < TIE_MARGIN) {
+            append(String.format("%.2f", area));
+            return;
+        }
+        if (fraction > 0.5) {
+            hundredths++;
+        }
+        reserve(MAX_LINE_CHARS);
+        long whole = hundredths / 100;
+        int cents = (int) (hundredths % 100);
+        int digits = 1;
+        for (long rest = whole / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        for (int i = length + digits - 1; i >= length; i--) {
+            buffer[i] = (char) ('0' + whole % 10);
+            whole /= 10;
+        }
+        length += digits;
+        buffer[length++] = decimalSeparator;
+        buffer[length++] = (char) ('0' + cents / 10);
+        buffer[length++] = (char) ('0' + cents % 10);
+    }
+
+    private void newLine() throws IOException {
+        if (length == BUFFER_CHARS) {
+            drain();
+        }
+        buffer[length++] = '\n';
+    }
+
+    private void append(String text) throws IOException {
+        String value = String.valueOf(text);
+        if (value.length() > BUFFER_CHARS - length) {
+            drain();
+            if (value.length() > BUFFER_CHARS) {
+                out.append(value);
+                return;
+            }
+        }
+        value.getChars(0, value.length(), buffer, length);
+        length += value.length();
+    }
+
+    /**
+     * Makes room for the given number of characters, if the buffer can hold them
+     */
+    private void reserve(int chars) throws IOException {
+        if (chars > BUFFER_CHARS - length) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        if (length == 0) {
+            return;
+        }
+        if (out instanceof Writer writer) {
+            writer.write(buffer, 0, length);
+        } else if (out instanceof StringBuilder builder) {
+            builder.append(buffer, 0, length);
+        } else {
+            out.append(bufferView, 0, length);
+        }
+        length = 0;
+    }
+
+    private static final class Subtotal {
+        private int count;
+        private double area;
+
+        private void add(double shapeArea) {
+            count++;
+            area += shapeArea;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package md.utm.tmps.lab0.ocp;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * ShapeBatch - many shapes stored column by column
+ *
+ * A List<Shape> keeps every shape as a separate object and asks each one for
+ * its area through a virtual call. A batch instead keeps one primitive array
+ * per dimension of each kind of shape (circle radii, rectangle widths and
+ * heights, triangle bases and heights), so AreaCalculator can sum an area with
+ * a tight loop over contiguous doubles.
+ *
+ * The Shape hierarchy stays open for extension: add(Shape) files the known
+ * shapes into their columns and keeps the precomputed area of any other shape
+ * in a column of its own. Subclasses of the known shapes count as other
+ * shapes, since they may compute their area differently.
+ *
+ * Not thread-safe while shapes are being added.
+ */
+public class ShapeBatch {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private double[] circleRadii;
+    private int circleCount;
+    private double[] rectangleWidths;
+    private double[] rectangleHeights;
+    private int rectangleCount;
+    private double[] triangleBases;
+    private double[] triangleHeights;
+    private int triangleCount;
+    private double[] otherAreas;
+    private int otherCount;
+
+    public ShapeBatch() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param expectedShapesPerKind initial capacity of each column
+     */
+    public ShapeBatch(int expectedShapesPerKind) {
+        int capacity = Math.max(expectedShapesPerKind, 1);
+        circleRadii = new double[capacity];
+        rectangleWidths = new double[capacity];
+        rectangleHeights = new double[capacity];
+        triangleBases = new double[capacity];
+        triangleHeights = new double[capacity];
+        otherAreas = new double[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Adapts existing shapes into a batch
+     */
+    public static ShapeBatch of(Collection<? extends Shape> shapes) {
+        ShapeBatch batch = new ShapeBatch(shapes.size() / 3 + 1);
+        for (Shape shape : shapes) {
+            batch.add(shape);
+        }
+        return batch;
+    }
+
+    /**
+     * Adds any shape; circles, rectangles and triangles go to their own columns,
+     * other shapes (subclasses of those three included) are stored by their area
+     */
+    public ShapeBatch add(Shape shape) {
+        Class<?> type = shape.getClass();
+        if (type == Circle.class) {
+            return addCircle(((Circle) shape).getRadius());
+        }
+        if (type == Rectangle.class) {
+            Rectangle rectangle = (Rectangle) shape;
+            return addRectangle(rectangle.getWidth(), rectangle.getHeight());
+        }
+        if (type == Triangle.class) {
+            Triangle triangle = (Triangle) shape;
+            return addTriangle(triangle.getBase(), triangle.getHeight());
+        }
+        if (otherCount == otherAreas.length) {
+            otherAreas = Arrays.copyOf(otherAreas, otherCount * 2);
+        }
+        otherAreas[otherCount++] = shape.calculateArea();
+        return this;
+    }
+
+    public ShapeBatch addCircle(double radius) {
+        if (circleCount == circleRadii.length) {
+            circleRadii = Arrays.copyOf(circleRadii, circleCount * 2);
+        }
+        circleRadii[circleCount++] = radius;
+        return this;
+    }
+
+    public ShapeBatch addRectangle(double width, double height) {
+        if (rectangleCount == rectangleWidths.length) {
+            rectangleWidths = Arrays.copyOf(rectangleWidths, rectangleCount * 2);
+            rectangleHeights = Arrays.copyOf(rectangleHeights, rectangleCount * 2);
+        }
+        rectangleWidths[rectangleCount] = width;
+        rectangleHeights[rectangleCount++] = height;
+        return this;
+    }
+
+    public ShapeBatch addTriangle(double base, double height) {
+        if (triangleCount == triangleBases.length) {
+            triangleBases = Arrays.copyOf(triangleBases, triangleCount * 2);
+            triangleHeights = Arrays.copyOf(triangleHeights, triangleCount * 2);
+        }
+        triangleBases[triangleCount] = base;
+        triangleHeights[triangleCount++] = height;
+        return this;
+    }
+
+    public int size() {
+        return circleCount + rectangleCount + triangleCount + otherCount;
+    }
+
+    public int getCircleCount() { return circleCount; }
+    public int getRectangleCount() { return rectangleCount; }
+    public int getTriangleCount() { return triangleCount; }
+    public int getOtherCount() { return otherCount; }
+
+    // Columns for AreaCalculator; only the first get...Count() entries are used
+    double[] circleRadii() { return circleRadii; }
+    double[] rectangleWidths() { return rectangleWidths; }
+    double[] rectangleHeights() { return rectangleHeights; }
+    double[] triangleBases() { return triangleBases; }
+    double[] triangleHeights() { return triangleHeights; }
+    double[] otherAreas() { return otherAreas; }
+}
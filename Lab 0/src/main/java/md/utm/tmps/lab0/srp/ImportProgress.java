@@ -0,0 +1,89 @@
+package md.utm.tmps.lab0.srp;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ImportProgress class - Responsible ONLY for counting what a UserImporter did
+ *
+ * The counters are updated once per batch and can be read from any thread
+ * while the import is running.
+ */
+public class ImportProgress {
+    private final long fileBytes;
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsMalformed = new AtomicLong();
+    private final AtomicLong rowsImported = new AtomicLong();
+    private final AtomicLong rowsInvalid = new AtomicLong();
+    private final AtomicLong rowsDuplicate = new AtomicLong();
+    private volatile long endNanos;
+
+    ImportProgress(long fileBytes) {
+        this.fileBytes = fileBytes;
+    }
+
+    void read(long bytes, long rows, long malformed) {
+        bytesRead.addAndGet(bytes);
+        rowsRead.addAndGet(rows);
+        rowsMalformed.addAndGet(malformed);
+    }
+
+    void imported(long imported, long invalid, long duplicate) {
+        rowsImported.addAndGet(imported);
+        rowsInvalid.addAndGet(invalid);
+        rowsDuplicate.addAndGet(duplicate);
+    }
+
+    void finish() {
+        endNanos = System.nanoTime();
+    }
+
+    public long getFileBytes() { return fileBytes; }
+    public long getBytesRead() { return bytesRead.get(); }
+
+    /**
+     * @return rows parsed so far, malformed ones included
+     */
+    public long getRowsRead() { return rowsRead.get(); }
+
+    /**
+     * @return rows that could not be parsed (bad age, wrong number of fields, broken JSON)
+     */
+    public long getRowsMalformed() { return rowsMalformed.get(); }
+    public long getRowsImported() { return rowsImported.get(); }
+
+    /**
+     * @return rows rejected by the UserValidator
+     */
+    public long getRowsInvalid() { return rowsInvalid.get(); }
+
+    /**
+     * @return valid rows whose email was already in the repository or earlier in the file
+     */
+    public long getRowsDuplicate() { return rowsDuplicate.get(); }
+
+    public boolean isDone() {
+        return endNanos != 0;
+    }
+
+    public long getElapsedNanos() {
+        long end = endNanos;
+        return (end != 0 ? end : System.nanoTime()) - startNanos;
+    }
+
+    /**
+     * @return rows read per second since the import started
+     */
+    public double getRowsPerSecond() {
+        return getRowsRead() * 1e9 / Math.max(getElapsedNanos(), 1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d rows read (%d imported, %d invalid, %d duplicate, %d malformed), "
+                + "%d/%d bytes, %.0f rows/s",
+                getRowsRead(), getRowsImported(), getRowsInvalid(), getRowsDuplicate(), getRowsMalformed(),
+                getBytesRead(), fileBytes, getRowsPerSecond());
+    }
+}
@@ -0,0 +1,99 @@
+package md.utm.tmps.lab0.srp;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * NamePrefixIndex class - Responsible ONLY for finding users by name prefix
+ * A character trie over lower-cased names: looking up a prefix walks one node
+ * per character and then collects the users stored below that node.
+ *
+ * Not thread-safe on its own; UserRepository guards it with its lock.
+ */
+class NamePrefixIndex {
+    private Node root = new Node();
+
+    public void add(User user) {
+        Node node = root;
+        for (char c : key(user.getName()).toCharArray()) {
+            node = node.childOrCreate(c);
+        }
+        node.users.add(user);
+    }
+
+    public List<User> findByPrefix(String prefix) {
+        Node node = root;
+        for (char c : key(prefix).toCharArray()) {
+            node = node.child(c);
+            if (node == null) {
+                return new ArrayList<>();
+            }
+        }
+        List<User> result = new ArrayList<>();
+        collect(node, result);
+        return result;
+    }
+
+    public void clear() {
+        root = new Node();
+    }
+
+    private static String key(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Depth-first, children in character order; an explicit stack so a very
+     * long name cannot overflow the call stack
+     */
+    private static void collect(Node start, List<User> result) {
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(start);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            result.addAll(node.users);
+            for (int i = node.childCount - 1; i >= 0; i--) {
+                stack.push(node.children[i]);
+            }
+        }
+    }
+
+    /**
+     * Trie node with children kept in small arrays sorted by character
+     */
+    private static final class Node {
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private int childCount;
+        private final List<User> users = new ArrayList<>(1);
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(labels, 0, childCount, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int i = Arrays.binarySearch(labels, 0, childCount, c);
+            if (i >= 0) {
+                return children[i];
+            }
+            int insert = -i - 1;
+            if (childCount == labels.length) {
+                int capacity = Math.max(2, childCount * 2);
+                labels = Arrays.copyOf(labels, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(labels, insert, labels, insert + 1, childCount - insert);
+            System.arraycopy(children, insert, children, insert + 1, childCount - insert);
+            Node node = new Node();
+            labels[insert] = c;
+            children[insert] = node;
+            childCount++;
+            return node;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package md.utm.tmps.lab0.srp;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * UserImporter class - Responsible ONLY for loading user files into a UserRepository
+ *
+ * The import is a two-stage pipeline:
+ *   reader thread   file -> UserRowParser -> batches of users
+ *   calling thread  batch -> UserValidator.validateAll -> UserRepository.saveAll
+ * The stages are joined by a small bounded queue. When the repository falls
+ * behind, the reader blocks on the full queue, so at most a few batches and
+ * one read buffer are held in memory however large the file is.
+ *
+ * Invalid rows (per UserValidator), rows with an email already present and
+ * rows that cannot be parsed are counted and skipped. getProgress() exposes
+ * the counters of the running import to other threads.
+ */
+public class UserImporter {
+    private static final int DEFAULT_BATCH_SIZE = 1 << 14;
+    private static final int DEFAULT_QUEUED_BATCHES = 4;
+    private static final int DEFAULT_BUFFER_BYTES = 1 << 20;
+
+    /**
+     * Supported file formats
+     */
+    public enum Format {
+        CSV, NDJSON;
+
+        /**
+         * @return NDJSON for .ndjson and .jsonl files, CSV otherwise
+         */
+        public static Format of(Path file) {
+            String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+            return name.endsWith(".ndjson") || name.endsWith(".jsonl") ? NDJSON : CSV;
+        }
+    }
+
+    private final UserRepository repository;
+    private final UserValidator validator;
+    private final int batchSize;
+    private final int queuedBatches;
+    private volatile ImportProgress progress;
+
+    public UserImporter(UserRepository repository) {
+        this(repository, new UserValidator(), DEFAULT_BATCH_SIZE, DEFAULT_QUEUED_BATCHES);
+    }
+
+    /**
+     * @param batchSize users validated and saved together
+     * @param queuedBatches parsed batches that may wait for the repository
+     */
+    public UserImporter(UserRepository repository, UserValidator validator, int batchSize, int queuedBatches) {
+        if (batchSize < 1 || queuedBatches < 1) {
+            throw new IllegalArgumentException("Batch size and queue length must be positive");
+        }
+        this.repository = repository;
+        this.validator = validator;
+        this.batchSize = batchSize;
+        this.queuedBatches = queuedBatches;
+    }
+
+    /**
+     * @return counters of the running or last import, or null before the first one
+     */
+    public ImportProgress getProgress() {
+        return progress;
+    }
+
+    public ImportProgress importFile(Path file) throws IOException {
+        return importFile(file, Format.of(file));
+    }
+
+    /**
+     * Imports every row of the file; returns when all of them are saved
+     * @throws IOException if the file cannot be read, or if the thread is interrupted
+     * @throws java.io.UncheckedIOException if a persistent repository cannot write the users
+     */
+    public ImportProgress importFile(Path file, Format format) throws IOException {
+        ImportProgress current = new ImportProgress(Files.size(file));
+        progress = current;
+        BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(queuedBatches);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        Thread reader = new Thread(() -> read(channel, format, current, queue), "user-import-reader");
+        reader.setDaemon(true);
+        reader.start();
+        try {
+            while (true) {
+                Batch batch = queue.take();
+                if (batch.failure != null) {
+                    throw batch.failure;
+                }
+                if (batch.users == null) {
+                    break;
+                }
+                save(batch, current);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("User import interrupted");
+        } finally {
+            reader.interrupt();
+            try {
+                reader.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            channel.close();
+            current.finish();
+        }
+        return current;
+    }
+
+    private void read(FileChannel channel, Format format, ImportProgress current, BlockingQueue<Batch> queue) {
+        Batch last = Batch.END;
+        try {
+            UserRowParser parser = new UserRowParser(format, DEFAULT_BUFFER_BYTES, batchSize, current);
+            parser.parse(channel, (users, count) -> queue.put(new Batch(users, count, null)));
+        } catch (InterruptedException e) {
+            return;   // the importer stopped taking batches
+        } catch (IOException e) {
+            last = new Batch(null, 0, e);
+        } catch (RuntimeException e) {
+            last = new Batch(null, 0, new IOException("Cannot parse user file", e));
+        }
+        try {
+            queue.put(last);
+        } catch (InterruptedException e) {
+            // the importer is gone already
+        }
+    }
+
+    private void save(Batch batch, ImportProgress current) {
+        List<User> users = Arrays.asList(batch.users).subList(0, batch.count);
+        ValidationReport report = validator.validateAll(users);
+        List<User> valid = new ArrayList<>(batch.count - report.getInvalidCount());
+        for (int i = 0; i < batch.count; i++) {
+            if (report.isValid(i)) {
+                valid.add(users.get(i));
+            }
+        }
+        int saved = repository.saveAll(valid);
+        current.imported(saved, report.getInvalidCount(), valid.size() - saved);
+    }
+
+    /**
+     * Parsed users on their way to the repository; no users marks the end
+     */
+    private record Batch(User[] users, int count, IOException failure) {
+        private static final Batch END = new Batch(null, 0, null);
+    }
+}
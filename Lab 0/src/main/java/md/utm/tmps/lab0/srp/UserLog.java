@@ -0,0 +1,372 @@
+package md.utm.tmps.lab0.srp;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * UserLog class - Responsible ONLY for writing users to disk and reading them back
+ * An append-only file of binary records written through a FileChannel.
+ *
+ * File layout:
+ *   header   int magic, int version
+ *   record   int payload length, int CRC32C of the payload, payload
+ *   payload  byte SAVE, int age, name, email   (string = u16 byte length + UTF-8,
+ *                                               length 0xFFFF for null)
+ *            byte CLEAR
+ *
+ * Recovery replays the records in order and stops at the first record that is
+ * incomplete or fails its checksum (a write torn by a crash); the file is
+ * truncated back to the last good record so new records follow valid data.
+ *
+ * Saved users are never rewritten, so the only dead data are the records that
+ * precede a CLEAR. Compaction writes the live users to a temporary file and
+ * atomically renames it over the log: a crash leaves either the old or the
+ * new file, never a mix.
+ *
+ * Not thread-safe on its own; UserRepository guards it with its lock.
+ */
+class UserLog implements Closeable {
+    private static final int MAGIC = 0x55534C47;  // "USLG"
+    private static final int VERSION = 1;
+    static final int HEADER_BYTES = 8;
+    private static final int FRAME_BYTES = 8;
+    private static final byte SAVE = 1;
+    private static final byte CLEAR = 2;
+    private static final int NULL_STRING = 0xFFFF;
+    private static final int MAX_STRING_BYTES = 0xFFFE;
+    private static final int MAX_PAYLOAD_BYTES = 1 + 4 + 2 * (2 + MAX_STRING_BYTES);
+    private static final int BUFFER_BYTES = 1 << 20;
+    private static final long MIN_COMPACT_BYTES = 1 << 20;
+
+    private final Path path;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+    private final CRC32C crc = new CRC32C();
+    private FileChannel channel;
+    private long fileBytes;
+    private long liveBytes;
+
+    private UserLog(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Opens or creates the log and replays it
+     * @param onSave called for every saved user, in order
+     * @param onClear called for every clear, in order
+     * @throws IOException if the file cannot be read or is not a user log
+     */
+    static UserLog open(Path path, Consumer<User> onSave, Runnable onClear) throws IOException {
+        Files.deleteIfExists(tempPath(path));
+        UserLog log = new UserLog(path);
+        log.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            log.recover(onSave, onClear);
+        } catch (IOException | RuntimeException e) {
+            log.channel.close();
+            throw e;
+        }
+        return log;
+    }
+
+    /**
+     * Appends one user and writes it to the file
+     * @throws IllegalArgumentException if the name or email is too long to store;
+     *         nothing is written then
+     */
+    void append(User user) throws IOException {
+        checkStorable(user);
+        encode(user);
+        drain();
+    }
+
+    /**
+     * Appends users, writing them to the file in large chunks
+     * All or nothing: if a chunk fails to write, the chunks already written
+     * are cut off again, so a restart does not bring back users the caller
+     * was told were not saved.
+     * @throws IllegalArgumentException if any name or email is too long to store;
+     *         none of the users is written then
+     */
+    void appendAll(List<User> users) throws IOException {
+        for (User user : users) {
+            checkStorable(user);
+        }
+        long startBytes = fileBytes;
+        long startLive = liveBytes;
+        try {
+            for (User user : users) {
+                encode(user);
+            }
+            drain();
+        } catch (IOException e) {
+            buffer.clear();
+            try {
+                channel.truncate(startBytes);
+                channel.position(startBytes);
+            } catch (IOException truncateFailure) {
+                e.addSuppressed(truncateFailure);
+            }
+            fileBytes = startBytes;
+            liveBytes = startLive;
+            throw e;
+        }
+    }
+
+    /**
+     * Records that every user saved so far was removed
+     */
+    void clear() throws IOException {
+        int start = beginRecord();
+        buffer.put(CLEAR);
+        endRecord(start);
+        drain();
+        liveBytes = HEADER_BYTES;
+    }
+
+    /**
+     * @return true when dead records take more space than the live ones
+     */
+    boolean shouldCompact() {
+        long deadBytes = fileBytes - liveBytes;
+        return deadBytes > MIN_COMPACT_BYTES && deadBytes > liveBytes;
+    }
+
+    /**
+     * Replaces the log with one holding only the given users
+     */
+    void compact(List<User> live) throws IOException {
+        Path temp = tempPath(path);
+        FileChannel old = channel;
+        long oldFileBytes = fileBytes;
+        long oldLiveBytes = liveBytes;
+        try (FileChannel compacted = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            channel = compacted;
+            fileBytes = 0;
+            writeHeader();
+            appendAll(live);
+            compacted.force(true);
+        } catch (IOException | RuntimeException e) {
+            channel = old;
+            fileBytes = oldFileBytes;
+            liveBytes = oldLiveBytes;
+            buffer.clear();
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        old.close();
+        boolean moved = false;
+        try {
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            moved = true;
+        } finally {
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (!moved) {
+                fileBytes = oldFileBytes;
+                liveBytes = oldLiveBytes;
+            }
+            channel.position(fileBytes);
+        }
+        liveBytes = fileBytes;
+    }
+
+    /**
+     * Forces written records to the storage device
+     */
+    void sync() throws IOException {
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel.isOpen()) {
+            channel.force(false);
+            channel.close();
+        }
+    }
+
+    private void recover(Consumer<User> onSave, Runnable onClear) throws IOException {
+        long length = channel.size();
+        if (length < HEADER_BYTES) {
+            channel.truncate(0);
+            writeHeader();
+            liveBytes = fileBytes;
+            return;
+        }
+        buffer.clear().limit(HEADER_BYTES);
+        readFully(0);
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a user log: " + path);
+        }
+
+        long validEnd = HEADER_BYTES;
+        long live = HEADER_BYTES;
+        long readPosition = HEADER_BYTES;
+        buffer.clear().limit(0);
+        while (true) {
+            if (buffer.remaining() < FRAME_BYTES + MAX_PAYLOAD_BYTES && readPosition < length) {
+                buffer.compact();
+                int read = channel.read(buffer, readPosition);
+                if (read < 0) {
+                    length = readPosition;
+                } else {
+                    readPosition += read;
+                }
+                buffer.flip();
+            }
+            if (buffer.remaining() < FRAME_BYTES) {
+                break;
+            }
+            int start = buffer.position();
+            int payloadBytes = buffer.getInt(start);
+            if (payloadBytes < 1 || payloadBytes > MAX_PAYLOAD_BYTES
+                    || buffer.remaining() < FRAME_BYTES + payloadBytes) {
+                break;
+            }
+            crc.reset();
+            crc.update(buffer.array(), start + FRAME_BYTES, payloadBytes);
+            if ((int) crc.getValue() != buffer.getInt(start + 4)) {
+                break;
+            }
+            buffer.position(start + FRAME_BYTES);
+            byte type = buffer.get();
+            if (type == SAVE) {
+                int age = buffer.getInt();
+                String name = readString();
+                String email = readString();
+                onSave.accept(new User(name, email, age));
+                live += FRAME_BYTES + payloadBytes;
+            } else if (type == CLEAR) {
+                onClear.run();
+                live = HEADER_BYTES;
+            } else {
+                break;
+            }
+            buffer.position(start + FRAME_BYTES + payloadBytes);
+            validEnd += FRAME_BYTES + payloadBytes;
+        }
+
+        if (validEnd < length) {
+            channel.truncate(validEnd);
+            channel.force(false);
+        }
+        buffer.clear();
+        channel.position(validEnd);
+        fileBytes = validEnd;
+        liveBytes = live;
+    }
+
+    private void readFully(long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of user log: " + path);
+            }
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        buffer.putInt(MAGIC).putInt(VERSION);
+        drain();
+    }
+
+    /**
+     * Checked before a record is begun, so a rejected user never leaves a
+     * frame without its header in the buffer
+     */
+    private static void checkStorable(User user) {
+        checkLength(user.getName());
+        checkLength(user.getEmail());
+    }
+
+    private static void checkLength(String value) {
+        // a char takes at most 3 UTF-8 bytes, so only long strings need encoding
+        if (value == null || value.length() <= MAX_STRING_BYTES / 3) {
+            return;
+        }
+        int bytes = value.getBytes(StandardCharsets.UTF_8).length;
+        if (bytes > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("Value too long to store: " + bytes + " bytes");
+        }
+    }
+
+    private void encode(User user) throws IOException {
+        if (buffer.remaining() < FRAME_BYTES + MAX_PAYLOAD_BYTES) {
+            drain();
+        }
+        int start = beginRecord();
+        buffer.put(SAVE).putInt(user.getAge());
+        writeString(user.getName());
+        writeString(user.getEmail());
+        endRecord(start);
+    }
+
+    private int beginRecord() {
+        int start = buffer.position();
+        buffer.position(start + FRAME_BYTES);
+        return start;
+    }
+
+    private void endRecord(int start) {
+        int payloadBytes = buffer.position() - start - FRAME_BYTES;
+        crc.reset();
+        crc.update(buffer.array(), start + FRAME_BYTES, payloadBytes);
+        buffer.putInt(start, payloadBytes).putInt(start + 4, (int) crc.getValue());
+    }
+
+    private void writeString(String value) {
+        if (value == null) {
+            buffer.putShort((short) NULL_STRING);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort((short) bytes.length).put(bytes);
+    }
+
+    private String readString() {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        if (length == NULL_STRING) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    /**
+     * Writes the buffered records; on failure the partly written bytes are cut
+     * off again so the next record does not follow garbage
+     */
+    private void drain() throws IOException {
+        buffer.flip();
+        int written = buffer.remaining();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            channel.truncate(fileBytes);
+            channel.position(fileBytes);
+            throw e;
+        } finally {
+            buffer.clear();
+        }
+        fileBytes += written;
+        liveBytes += written;
+    }
+
+    private static Path tempPath(Path path) {
+        return path.resolveSibling(path.getFileName() + ".compact");
+    }
+}
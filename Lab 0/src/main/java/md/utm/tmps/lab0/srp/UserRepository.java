@@ -1,46 +1,353 @@
 package md.utm.tmps.lab0.srp;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * UserRepository class - Responsible ONLY for user data persistence/storage
  * This follows SRP because it has only one responsibility: managing user storage
+ *
+ * Users are indexed as they are saved:
+ * - email -> user hash index, always on; emails are unique
+ * - age -> users sorted index, for age range queries (optional)
+ * - name prefix trie (optional)
+ * Without the optional indexes the matching queries fall back to a scan.
+ *
+ * Thread-safe: writers take a write lock so all indexes change together,
+ * range and prefix queries take the read lock, and findByEmail reads the
+ * concurrent email index without locking at all.
+ * Users are indexed by the values they have when saved.
+ *
+ * findAll() returns a read-only view of the user array instead of a copy.
+ * Users are only ever appended, past the end of any view already handed out,
+ * and clear() starts a new array, so a view keeps showing the users saved
+ * when it was taken. The view is cached until the next save or clear.
+ *
+ * Storage is in memory by default. A repository opened on a file also appends
+ * every save and clear to a UserLog before applying it, and rebuilds all
+ * indexes from that log the next time it is opened.
  */
-public class UserRepository {
-    private List<User> users;
+public class UserRepository implements Closeable {
+
+    /**
+     * Secondary indexes that can be enabled in addition to the email index
+     */
+    public enum Index {
+        AGE, NAME_PREFIX
+    }
+
+    private User[] users;
+    private int userCount;
+    private volatile List<User> usersView;
+    private final Map<String, User> byEmail;
+    private final TreeMap<Integer, List<User>> byAge;
+    private final NamePrefixIndex byNamePrefix;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private UserLog log;
     
     public UserRepository() {
-        this.users = new ArrayList<>();
+        this(EnumSet.noneOf(Index.class));
+    }
+    
+    public UserRepository(Set<Index> indexes) {
+        this(indexes, 16);
+    }
+    
+    private UserRepository(Set<Index> indexes, int expectedUsers) {
+        this.users = new User[Math.max(expectedUsers, 16)];
+        this.byEmail = new ConcurrentHashMap<>(expectedUsers);
+        this.byAge = indexes.contains(Index.AGE) ? new TreeMap<>() : null;
+        this.byNamePrefix = indexes.contains(Index.NAME_PREFIX) ? new NamePrefixIndex() : null;
     }
     
+    /**
+     * Opens a repository persisted in the given file, creating the file if needed
+     * Users saved before are loaded back and indexed; a record torn by a crash
+     * at the end of the file is discarded.
+     * @throws IOException if the file cannot be read or is not a user log
+     */
+    public static UserRepository open(Path file, Set<Index> indexes) throws IOException {
+        long fileBytes = Files.exists(file) ? Files.size(file) : 0;
+        // a typical record takes 40-50 bytes
+        int expectedUsers = (int) Math.min(fileBytes / 40 + 16, 1 << 30);
+        UserRepository repository = new UserRepository(indexes, expectedUsers);
+        repository.log = UserLog.open(file, repository::index, repository::clearIndexes);
+        return repository;
+    }
+    
+    /**
+     * Saves a user unless another user already has the same email
+     * @return false for a null user, a null email or a duplicate email
+     * @throws IllegalArgumentException if the name or email is too long for the
+     *         file (over 65534 UTF-8 bytes); the user is not saved
+     * @throws UncheckedIOException if the user cannot be written to the file
+     */
     public boolean save(User user) {
-        if (user != null) {
-            users.add(user);
+        if (user == null || user.getEmail() == null) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            if (byEmail.containsKey(user.getEmail())) {
+                return false;
+            }
+            if (log != null) {
+                log.append(user);
+            }
+            index(user);
             return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Saves every user that save(User) would accept, writing them to the file
+     * in large chunks rather than one write per user
+     * @return number of users saved
+     * @throws IllegalArgumentException if a name or email is too long for the
+     *         file; none of the users is saved then
+     * @throws UncheckedIOException if the users cannot be written to the file;
+     *         none of them is saved then, in memory or on disk
+     */
+    public int saveAll(Collection<User> newUsers) {
+        lock.writeLock().lock();
+        try {
+            if (log == null) {
+                return saveAllInMemory(newUsers);
+            }
+            List<User> accepted = new ArrayList<>(newUsers.size());
+            Set<String> acceptedEmails = new HashSet<>();
+            for (User user : newUsers) {
+                if (user != null && user.getEmail() != null && !byEmail.containsKey(user.getEmail())
+                        && acceptedEmails.add(user.getEmail())) {
+                    accepted.add(user);
+                }
+            }
+            log.appendAll(accepted);
+            accepted.forEach(this::index);
+            return accepted.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Nothing to write first, so each email is claimed and indexed in one pass
+     */
+    private int saveAllInMemory(Collection<User> newUsers) {
+        int saved = 0;
+        for (User user : newUsers) {
+            if (user != null && user.getEmail() != null && byEmail.putIfAbsent(user.getEmail(), user) == null) {
+                indexSecondary(user);
+                saved++;
+            }
+        }
+        return saved;
+    }
+    
+    private void index(User user) {
+        byEmail.put(user.getEmail(), user);
+        indexSecondary(user);
+    }
+    
+    private void indexSecondary(User user) {
+        if (userCount == users.length) {
+            users = Arrays.copyOf(users, userCount * 2);
+        }
+        users[userCount++] = user;
+        usersView = null;
+        if (byAge != null) {
+            byAge.computeIfAbsent(user.getAge(), age -> new ArrayList<>(1)).add(user);
+        }
+        if (byNamePrefix != null) {
+            byNamePrefix.add(user);
         }
-        return false;
     }
     
 
     public User findByEmail(String email) {
-        return users.stream()
-                   .filter(user -> user.getEmail().equals(email))
-                   .findFirst()
-                   .orElse(null);
+        return email == null ? null : byEmail.get(email);
+    }
+    
+    public boolean existsByEmail(String email) {
+        return findByEmail(email) != null;
     }
     
+    /**
+     * @return users whose age is between minAge and maxAge, both inclusive, youngest first
+     */
+    public List<User> findByAgeRange(int minAge, int maxAge) {
+        List<User> result = new ArrayList<>();
+        if (minAge > maxAge) {
+            return result;
+        }
+        lock.readLock().lock();
+        try {
+            if (byAge != null) {
+                for (List<User> sameAge : byAge.subMap(minAge, true, maxAge, true).values()) {
+                    result.addAll(sameAge);
+                }
+            } else {
+                for (User user : findAll()) {
+                    if (user.getAge() >= minAge && user.getAge() <= maxAge) {
+                        result.add(user);
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * @return users whose name starts with the prefix, ignoring case; none for a null prefix
+     */
+    public List<User> findByNamePrefix(String prefix) {
+        if (prefix == null) {
+            return new ArrayList<>();
+        }
+        lock.readLock().lock();
+        try {
+            if (byNamePrefix != null) {
+                return byNamePrefix.findByPrefix(prefix);
+            }
+            String lowerPrefix = prefix.toLowerCase(Locale.ROOT);
+            List<User> result = new ArrayList<>();
+            for (User user : findAll()) {
+                if (user.getName() != null && user.getName().toLowerCase(Locale.ROOT).startsWith(lowerPrefix)) {
+                    result.add(user);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * @return unmodifiable snapshot of all users in save order, unaffected by later saves
+     */
     public List<User> findAll() {
-        return new ArrayList<>(users);
+        List<User> view = usersView;
+        if (view != null) {
+            return view;
+        }
+        lock.readLock().lock();
+        try {
+            view = Collections.unmodifiableList(Arrays.asList(users).subList(0, userCount));
+            usersView = view;
+            return view;
+        } finally {
+            lock.readLock().unlock();
+        }
     }
     
     
     public int getUserCount() {
-        return users.size();
+        return byEmail.size();
     }
     
 
+    /**
+     * Removes all users; a persistent repository also shrinks its file once
+     * the cleared records outweigh the live ones
+     * @throws UncheckedIOException if the clear cannot be written to the file
+     */
     public void clear() {
-        users.clear();
+        lock.writeLock().lock();
+        try {
+            if (log != null) {
+                log.clear();
+            }
+            clearIndexes();
+            if (log != null && log.shouldCompact()) {
+                log.compact(findAll());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private void clearIndexes() {
+        users = new User[16];
+        userCount = 0;
+        usersView = null;
+        byEmail.clear();
+        if (byAge != null) {
+            byAge.clear();
+        }
+        if (byNamePrefix != null) {
+            byNamePrefix.clear();
+        }
+    }
+    
+    /**
+     * Rewrites the file so it holds only the current users
+     * Does nothing for an in-memory repository.
+     */
+    public void compact() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (log != null) {
+                log.compact(findAll());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Forces saved users to the storage device
+     * Saves already survive a crash of the process; this also covers a power loss.
+     */
+    public void flush() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (log != null) {
+                log.sync();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Flushes and closes the file of a persistent repository
+     */
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (log != null) {
+                log.close();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,425 @@
+package md.utm.tmps.lab0.srp;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * UserRowParser class - Responsible ONLY for turning the bytes of a user file into users
+ *
+ * The file is read through a fixed-size buffer and parsed in place: fields are
+ * located as byte ranges of the buffer, the age is parsed straight from its
+ * digits, and only the name and email become Strings. Lines longer than the
+ * buffer are skipped as malformed, so memory use does not depend on the file.
+ *
+ * CSV: name,email,age - an optional header line, fields may be quoted with ""
+ * as the escaped quote, no line breaks inside fields.
+ * NDJSON: one object per line with "name", "email" and "age"; other keys are
+ * skipped as long as their values are strings, numbers, booleans or null.
+ */
+class UserRowParser {
+    private static final int MALFORMED = Integer.MIN_VALUE;
+
+    /**
+     * Receives each full batch; may block to slow the parser down
+     */
+    interface BatchSink {
+        void accept(User[] users, int count) throws InterruptedException;
+    }
+
+    private final UserImporter.Format format;
+    private final byte[] data;
+    private final ByteBuffer buffer;
+    private final int batchSize;
+    private final ImportProgress progress;
+    private final StringBuilder scratch = new StringBuilder();
+
+    private User[] batch;
+    private int batchCount;
+    private long batchBytes;
+    private long batchMalformed;
+    private boolean firstLine = true;
+
+    // the field found by the last csvField / jsonString call
+    private int fieldStart;
+    private int fieldEnd;
+    private boolean fieldEscaped;
+
+    UserRowParser(UserImporter.Format format, int bufferBytes, int batchSize, ImportProgress progress) {
+        this.format = format;
+        this.data = new byte[bufferBytes];
+        this.buffer = ByteBuffer.wrap(data);
+        this.batchSize = batchSize;
+        this.progress = progress;
+        this.batch = new User[batchSize];
+    }
+
+    void parse(ReadableByteChannel channel, BatchSink sink) throws IOException, InterruptedException {
+        int start = 0;
+        int limit = 0;
+        boolean skippingLongLine = false;
+        while (true) {
+            System.arraycopy(data, start, data, 0, limit - start);
+            limit -= start;
+            start = 0;
+            if (limit == data.length) {
+                // no line break in a full buffer: drop the line
+                limit = 0;
+                if (!skippingLongLine) {
+                    batchMalformed++;
+                    skippingLongLine = true;
+                }
+            }
+            buffer.limit(data.length).position(limit);
+            int read = channel.read(buffer);
+            if (read < 0) {
+                if (limit > 0 && !skippingLongLine) {
+                    row(0, limit, sink);
+                }
+                break;
+            }
+            int scanFrom = limit;
+            limit += read;
+            batchBytes += read;
+            for (int i = scanFrom; i < limit; i++) {
+                if (data[i] != '\n') {
+                    continue;
+                }
+                if (skippingLongLine) {
+                    skippingLongLine = false;
+                } else {
+                    row(start, i, sink);
+                }
+                start = i + 1;
+            }
+        }
+        if (batchCount > 0 || batchBytes > 0 || batchMalformed > 0) {
+            flush(sink);
+        }
+    }
+
+    private void row(int from, int to, BatchSink sink) throws InterruptedException {
+        if (to > from && data[to - 1] == '\r') {
+            to--;
+        }
+        if (isBlank(from, to)) {
+            return;
+        }
+        boolean header = firstLine && format == UserImporter.Format.CSV && isCsvHeader(from, to);
+        firstLine = false;
+        if (header) {
+            return;
+        }
+        User user = format == UserImporter.Format.CSV ? csvRow(from, to) : jsonRow(from, to);
+        if (user == null) {
+            batchMalformed++;
+            return;
+        }
+        batch[batchCount++] = user;
+        if (batchCount == batchSize) {
+            flush(sink);
+        }
+    }
+
+    private void flush(BatchSink sink) throws InterruptedException {
+        progress.read(batchBytes, batchCount + batchMalformed, batchMalformed);
+        batchBytes = 0;
+        batchMalformed = 0;
+        if (batchCount > 0) {
+            User[] full = batch;
+            int count = batchCount;
+            batch = new User[batchSize];
+            batchCount = 0;
+            sink.accept(full, count);
+        }
+    }
+
+    // ---- CSV ----
+
+    private User csvRow(int from, int to) {
+        int p = csvField(from, to);
+        if (p < 0 || p > to) {
+            return null;
+        }
+        String name = fieldString();
+        p = csvField(p, to);
+        if (p < 0 || p > to) {
+            return null;
+        }
+        String email = fieldString();
+        p = csvField(p, to);
+        if (p != to + 1) {
+            return null;
+        }
+        int age = parseInt(fieldStart, fieldEnd);
+        return age == MALFORMED ? null : new User(name, email, age);
+    }
+
+    /**
+     * Finds the field starting at p
+     * @return the start of the next field, to + 1 after the last field, or -1 if malformed
+     */
+    private int csvField(int p, int to) {
+        if (p < to && data[p] == '"') {
+            fieldStart = ++p;
+            fieldEscaped = false;
+            while (true) {
+                if (p >= to) {
+                    return -1;
+                }
+                if (data[p] == '"') {
+                    if (p + 1 < to && data[p + 1] == '"') {
+                        fieldEscaped = true;
+                        p += 2;
+                        continue;
+                    }
+                    break;
+                }
+                p++;
+            }
+            fieldEnd = p++;
+            if (p == to) {
+                return to + 1;
+            }
+            return data[p] == ',' ? p + 1 : -1;
+        }
+        fieldStart = p;
+        fieldEscaped = false;
+        while (p < to && data[p] != ',') {
+            p++;
+        }
+        fieldEnd = p;
+        return p == to ? to + 1 : p + 1;
+    }
+
+    private boolean isCsvHeader(int from, int to) {
+        String header = "name,email,age";
+        if (to - from != header.length()) {
+            return false;
+        }
+        for (int i = 0; i < header.length(); i++) {
+            if (Character.toLowerCase((char) data[from + i]) != header.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ---- NDJSON ----
+
+    private User jsonRow(int from, int to) {
+        String name = null;
+        String email = null;
+        int age = 0;
+        int p = skipSpaces(from, to);
+        if (p == to || data[p++] != '{') {
+            return null;
+        }
+        p = skipSpaces(p, to);
+        if (p < to && data[p] == '}') {
+            return skipSpaces(p + 1, to) == to ? new User(null, null, 0) : null;
+        }
+        while (true) {
+            if (p == to || data[p] != '"' || (p = jsonString(p, to)) < 0) {
+                return null;
+            }
+            int key = fieldEscaped ? -1 : jsonKey(fieldStart, fieldEnd);
+            p = skipSpaces(p, to);
+            if (p == to || data[p++] != ':') {
+                return null;
+            }
+            p = skipSpaces(p, to);
+            if (p == to) {
+                return null;
+            }
+            if (data[p] == '"') {
+                if ((p = jsonString(p, to)) < 0 || key == 2) {
+                    return null;
+                }
+                if (key == 0) {
+                    name = fieldString();
+                } else if (key == 1) {
+                    email = fieldString();
+                }
+            } else {
+                int valueStart = p;
+                while (p < to && data[p] != ',' && data[p] != '}' && data[p] > ' ') {
+                    p++;
+                }
+                if (!isJsonScalar(valueStart, p)) {
+                    return null;
+                }
+                if (key == 2) {
+                    age = parseInt(valueStart, p);
+                    if (age == MALFORMED) {
+                        return null;
+                    }
+                } else if (key >= 0 && !isLiteral(valueStart, p, "null")) {
+                    return null;
+                }
+            }
+            p = skipSpaces(p, to);
+            if (p == to) {
+                return null;
+            }
+            if (data[p] == '}') {
+                return skipSpaces(p + 1, to) == to ? new User(name, email, age) : null;
+            }
+            if (data[p] != ',') {
+                return null;
+            }
+            p = skipSpaces(p + 1, to);
+        }
+    }
+
+    /**
+     * Finds the string whose opening quote is at p
+     * @return the position after the closing quote, or -1 if it is not closed
+     */
+    private int jsonString(int p, int to) {
+        fieldStart = ++p;
+        fieldEscaped = false;
+        while (p < to && data[p] != '"') {
+            if (data[p] == '\\') {
+                fieldEscaped = true;
+                p++;
+            }
+            p++;
+        }
+        if (p >= to) {
+            return -1;
+        }
+        fieldEnd = p;
+        return p + 1;
+    }
+
+    /**
+     * @return 0 for name, 1 for email, 2 for age, -1 for any other key
+     */
+    private int jsonKey(int from, int to) {
+        if (isLiteral(from, to, "name")) {
+            return 0;
+        }
+        if (isLiteral(from, to, "email")) {
+            return 1;
+        }
+        return isLiteral(from, to, "age") ? 2 : -1;
+    }
+
+    private boolean isJsonScalar(int from, int to) {
+        if (from == to) {
+            return false;
+        }
+        if (isLiteral(from, to, "null") || isLiteral(from, to, "true") || isLiteral(from, to, "false")) {
+            return true;
+        }
+        for (int i = from; i < to; i++) {
+            byte b = data[i];
+            if (!(b >= '0' && b <= '9') && b != '-' && b != '+' && b != '.' && b != 'e' && b != 'E') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ---- fields ----
+
+    private String fieldString() {
+        if (!fieldEscaped) {
+            return new String(data, fieldStart, fieldEnd - fieldStart, StandardCharsets.UTF_8);
+        }
+        return format == UserImporter.Format.CSV ? unescapeCsv() : unescapeJson();
+    }
+
+    private String unescapeCsv() {
+        return new String(data, fieldStart, fieldEnd - fieldStart, StandardCharsets.UTF_8).replace("\"\"", "\"");
+    }
+
+    private String unescapeJson() {
+        scratch.setLength(0);
+        int runStart = fieldStart;
+        for (int p = fieldStart; p < fieldEnd; p++) {
+            if (data[p] != '\\') {
+                continue;
+            }
+            scratch.append(new String(data, runStart, p - runStart, StandardCharsets.UTF_8));
+            char escaped = (char) data[++p];
+            switch (escaped) {
+                case 'b' -> scratch.append('\b');
+                case 'f' -> scratch.append('\f');
+                case 'n' -> scratch.append('\n');
+                case 'r' -> scratch.append('\r');
+                case 't' -> scratch.append('\t');
+                case 'u' -> {
+                    int code = p + 4 < fieldEnd ? hex(p + 1, p + 5) : -1;
+                    if (code < 0) {
+                        scratch.append('\uFFFD');
+                    } else {
+                        scratch.append((char) code);
+                        p += 4;
+                    }
+                }
+                default -> scratch.append(escaped);
+            }
+            runStart = p + 1;
+        }
+        scratch.append(new String(data, runStart, fieldEnd - runStart, StandardCharsets.UTF_8));
+        return scratch.toString();
+    }
+
+    private int hex(int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = Character.digit(data[i], 16);
+            if (digit < 0) {
+                return -1;
+            }
+            value = value * 16 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * @return the decimal integer in [from, to), or MALFORMED
+     */
+    private int parseInt(int from, int to) {
+        boolean negative = from < to && data[from] == '-';
+        int p = negative ? from + 1 : from;
+        if (p == to || to - p > 9) {
+            return MALFORMED;
+        }
+        int value = 0;
+        for (; p < to; p++) {
+            int digit = data[p] - '0';
+            if (digit < 0 || digit > 9) {
+                return MALFORMED;
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    private boolean isLiteral(int from, int to, String literal) {
+        if (to - from != literal.length()) {
+            return false;
+        }
+        for (int i = 0; i < literal.length(); i++) {
+            if (data[from + i] != literal.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int skipSpaces(int p, int to) {
+        while (p < to && (data[p] == ' ' || data[p] == '\t')) {
+            p++;
+        }
+        return p;
+    }
+
+    private boolean isBlank(int from, int to) {
+        return skipSpaces(from, to) == to;
+    }
+}
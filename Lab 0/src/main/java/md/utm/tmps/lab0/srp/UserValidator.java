@@ -1,10 +1,46 @@
 package md.utm.tmps.lab0.srp;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Stream;
+
 /**
  * UserValidator class - Responsible ONLY for validating user data
  * This follows SRP because it has only one responsibility: validation logic
+ *
+ * The checks scan the strings in place and allocate nothing. validateAll
+ * checks a whole collection or stream in parallel on a fork-join pool and
+ * returns a ValidationReport - a bit per user and reason - instead of one
+ * error message per user.
  */
 public class UserValidator {
+    private static final int SLICE = 1 << 14;          // users per fork-join leaf, a multiple of 64
+    private static final int STREAM_CHUNK = 1 << 16;   // users buffered from a stream, a multiple of 64
+
+    /**
+     * Why a user is invalid; a user is reported with the first reason that applies
+     */
+    public enum Reason {
+        MISSING("User is missing"),
+        NAME("Name must be at least 2 characters long"),
+        EMAIL("Email must contain @ and . symbols"),
+        AGE("Age must be between 1 and 149");
+
+        private final String message;
+
+        Reason(String message) {
+            this.message = message;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
 
     public boolean isValid(User user) {
         return isNameValid(user.getName()) && 
@@ -12,29 +48,149 @@ public class UserValidator {
                isAgeValid(user.getAge());
     }
     
+    /**
+     * @return at least 2 characters, not all of them blank (as String.trim sees blanks)
+     */
     private boolean isNameValid(String name) {
-        return name != null && !name.trim().isEmpty() && name.length() >= 2;
+        if (name == null || name.length() < 2) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) > ' ') {
+                return true;
+            }
+        }
+        return false;
     }
     
+    /**
+     * @return contains both '@' and '.', found in one pass
+     */
     private boolean isEmailValid(String email) {
-        return email != null && email.contains("@") && email.contains(".");
+        if (email == null) {
+            return false;
+        }
+        boolean at = false;
+        boolean dot = false;
+        for (int i = 0; i < email.length(); i++) {
+            char c = email.charAt(i);
+            at |= c == '@';
+            dot |= c == '.';
+        }
+        return at && dot;
     }
     
     private boolean isAgeValid(int age) {
         return age > 0 && age < 150;
     }
     
-
-    public String getValidationError(User user) {
+    /**
+     * @return the first reason the user is invalid, or null if it is valid
+     */
+    public Reason check(User user) {
+        if (user == null) {
+            return Reason.MISSING;
+        }
         if (!isNameValid(user.getName())) {
-            return "Name must be at least 2 characters long";
+            return Reason.NAME;
         }
         if (!isEmailValid(user.getEmail())) {
-            return "Email must contain @ and . symbols";
+            return Reason.EMAIL;
         }
         if (!isAgeValid(user.getAge())) {
-            return "Age must be between 1 and 149";
+            return Reason.AGE;
+        }
+        return null;
+    }
+
+    public String getValidationError(User user) {
+        Reason reason = check(user);
+        return reason == null ? "" : reason.getMessage();
+    }
+    
+    /**
+     * Validates every user of the collection in parallel on the common pool
+     * Index i of the report is the i-th user in iteration order.
+     */
+    public ValidationReport validateAll(Collection<? extends User> users) {
+        return validateAll(users, ForkJoinPool.commonPool());
+    }
+    
+    public ValidationReport validateAll(Collection<? extends User> users, ForkJoinPool pool) {
+        List<? extends User> list = users instanceof List<? extends User> l && l instanceof RandomAccess
+                ? l : Arrays.asList(users.toArray(new User[0]));
+        long[][] words = new long[Reason.values().length][(list.size() + 63) >>> 6];
+        pool.invoke(new Slice(this, list, 0, list.size(), 0, words));
+        return new ValidationReport(list.size(), words);
+    }
+    
+    /**
+     * Validates a stream, possibly far larger than memory, in chunks of
+     * STREAM_CHUNK users; each chunk is checked in parallel on the common pool
+     */
+    public ValidationReport validateAll(Stream<? extends User> users) {
+        return validateAll(users, ForkJoinPool.commonPool());
+    }
+    
+    public ValidationReport validateAll(Stream<? extends User> users, ForkJoinPool pool) {
+        long[][] words = new long[Reason.values().length][STREAM_CHUNK >>> 6];
+        User[] chunk = new User[STREAM_CHUNK];
+        int size = 0;
+        Iterator<? extends User> iterator = users.iterator();
+        while (iterator.hasNext()) {
+            int count = 0;
+            while (count < STREAM_CHUNK && iterator.hasNext()) {
+                chunk[count++] = iterator.next();
+            }
+            int neededWords = (size + count + 63) >>> 6;
+            if (neededWords > words[0].length) {
+                for (int r = 0; r < words.length; r++) {
+                    words[r] = Arrays.copyOf(words[r], Math.max(neededWords, words[r].length * 2));
+                }
+            }
+            pool.invoke(new Slice(this, Arrays.asList(chunk), 0, count, size, words));
+            size += count;
+        }
+        return new ValidationReport(size, words);
+    }
+    
+    /**
+     * Checks users [from, to) of the list and records user i as bit (base + i)
+     * Slices start on multiples of 64, so no two leaves write the same word.
+     */
+    private static final class Slice extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final transient UserValidator validator;
+        private final transient List<? extends User> users;
+        private final int from;
+        private final int to;
+        private final int base;
+        private final long[][] words;
+        
+        Slice(UserValidator validator, List<? extends User> users, int from, int to, int base, long[][] words) {
+            this.validator = validator;
+            this.users = users;
+            this.from = from;
+            this.to = to;
+            this.base = base;
+            this.words = words;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= SLICE) {
+                for (int i = from; i < to; i++) {
+                    Reason reason = validator.check(users.get(i));
+                    if (reason != null) {
+                        int bit = base + i;
+                        words[reason.ordinal()][bit >>> 6] |= 1L << bit;
+                    }
+                }
+                return;
+            }
+            int middle = ((from + to) >>> 1) & ~63;
+            invokeAll(new Slice(validator, users, from, middle, base, words),
+                    new Slice(validator, users, middle, to, base, words));
         }
-        return "";
     }
-}
\ No newline at end of file
+}
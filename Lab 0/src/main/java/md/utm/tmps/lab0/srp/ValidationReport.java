@@ -0,0 +1,75 @@
+package md.utm.tmps.lab0.srp;
+
+import java.util.BitSet;
+
+/**
+ * ValidationReport class - Responsible ONLY for holding the outcome of a batch validation
+ *
+ * Keeps one bit set per UserValidator.Reason: bit i is set when user i failed
+ * with that reason first. A million users cost about 64 KB per reason, not a
+ * String per user; the messages are looked up only when asked for.
+ */
+public class ValidationReport {
+    private final int size;
+    private final BitSet[] byReason;
+    private final BitSet invalid;
+
+    ValidationReport(int size, long[][] reasonWords) {
+        this.size = size;
+        this.byReason = new BitSet[reasonWords.length];
+        this.invalid = new BitSet(size);
+        for (int r = 0; r < reasonWords.length; r++) {
+            byReason[r] = BitSet.valueOf(reasonWords[r]);
+            invalid.or(byReason[r]);
+        }
+    }
+
+    /**
+     * @return number of users checked
+     */
+    public int size() {
+        return size;
+    }
+
+    public int getInvalidCount() {
+        return invalid.cardinality();
+    }
+
+    public int getInvalidCount(UserValidator.Reason reason) {
+        return byReason[reason.ordinal()].cardinality();
+    }
+
+    public boolean isValid(int index) {
+        return !invalid.get(index);
+    }
+
+    /**
+     * @return why user index is invalid, or null if it is valid
+     */
+    public UserValidator.Reason getReason(int index) {
+        if (!invalid.get(index)) {
+            return null;
+        }
+        for (UserValidator.Reason reason : UserValidator.Reason.values()) {
+            if (byReason[reason.ordinal()].get(index)) {
+                return reason;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Walks the invalid users: for (int i = report.nextInvalid(0); i >= 0; i = report.nextInvalid(i + 1))
+     * @return the first invalid index at or after from, or -1
+     */
+    public int nextInvalid(int from) {
+        return invalid.nextSetBit(from);
+    }
+
+    /**
+     * @return a copy of the invalid indices
+     */
+    public BitSet getInvalidIndices() {
+        return (BitSet) invalid.clone();
+    }
+}
@@ -5,8 +5,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * JUnit 5 tests for Open/Closed Principle demonstration
@@ -110,4 +118,122 @@ class OCPTest {
         
         System.out.println("✅ OCP Polymorphism test passed - All shapes work polymorphically");
     }
-}
\ No newline at end of file
+    
+    @Test
+    @DisplayName("✅ OCP - ShapeBatch adapts the Shape hierarchy, including new shapes")
+    void testShapeBatchAdapter() {
+        Shape square = new Shape() {
+            @Override
+            public double calculateArea() { return 9.0; }
+            
+            @Override
+            public String getShapeName() { return "Square"; }
+        };
+        ShapeBatch batch = ShapeBatch.of(Arrays.asList(rectangle, circle, triangle, square));
+        
+        assertEquals(4, batch.size());
+        assertEquals(1, batch.getCircleCount());
+        assertEquals(1, batch.getOtherCount());
+        double expectedTotal = 20.0 + (Math.PI * 9.0) + 12.0 + 9.0;
+        assertEquals(expectedTotal, calculator.calculateTotalArea(batch), 1e-9);
+        assertEquals(expectedTotal, calculator.calculateTotalAreaParallel(batch), 1e-9);
+        assertEquals(0.0, calculator.calculateTotalArea(new ShapeBatch()));
+        
+        Circle halfCircle = new Circle(3.0) {
+            @Override
+            public double calculateArea() { return super.calculateArea() / 2; }
+        };
+        ShapeBatch withSubclass = ShapeBatch.of(Arrays.asList(circle, halfCircle));
+        assertEquals(1, withSubclass.getCircleCount());
+        assertEquals(1, withSubclass.getOtherCount());
+        assertEquals(Math.PI * 9.0 * 1.5, calculator.calculateTotalArea(withSubclass), 1e-9);
+        
+        System.out.println("✅ OCP Batch test passed - Shapes adapt into columns, unknown shapes keep working");
+    }
+    
+    @Test
+    @DisplayName("✅ OCP - Batch and parallel totals match the List total")
+    void testShapeBatchMatchesList() {
+        Random random = new Random(42);
+        List<Shape> shapes = new ArrayList<>();
+        for (int i = 0; i < 1_000_003; i++) {
+            shapes.add(switch (random.nextInt(3)) {
+                case 0 -> new Circle(0.5 + random.nextDouble() * 10);
+                case 1 -> new Rectangle(0.5 + random.nextDouble() * 10, 0.5 + random.nextDouble() * 10);
+                default -> new Triangle(0.5 + random.nextDouble() * 10, 0.5 + random.nextDouble() * 10);
+            });
+        }
+        ShapeBatch batch = ShapeBatch.of(shapes);
+        
+        double expected = calculator.calculateTotalArea(shapes);
+        assertEquals(expected, calculator.calculateTotalArea(batch), expected * 1e-12);
+        assertEquals(expected, calculator.calculateTotalAreaParallel(batch), expected * 1e-12);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(expected, calculator.calculateTotalAreaParallel(batch, pool), expected * 1e-12);
+        } finally {
+            pool.shutdown();
+        }
+        
+        System.out.println("✅ OCP Batch test passed - Columnar totals match the List loop");
+    }
+    
+    @Test
+    @DisplayName("✅ OCP - Streamed report matches the String.format report")
+    void testStreamingReportMatchesFormat() throws IOException {
+        Random random = new Random(7);
+        List<Shape> shapes = new ArrayList<>();
+        double[] awkward = {0.0, 0.005, 0.125, 1.005, 2.675, 0.994999, 0.995, 99.995, 999_999.994, 1e6, 3e9};
+        for (double side : awkward) {
+            shapes.add(new Rectangle(side, 1.0));
+        }
+        for (int i = 0; i < 200_000; i++) {
+            shapes.add(switch (random.nextInt(3)) {
+                case 0 -> new Circle(random.nextDouble() * 20);
+                case 1 -> new Rectangle(random.nextInt(1000) / 8.0, random.nextDouble() * 100);
+                default -> new Triangle(random.nextDouble() * 100, random.nextInt(1000) / 100.0);
+            });
+        }
+        
+        StringBuilder expected = new StringBuilder("=== AREA CALCULATION REPORT ===\n");
+        double totalArea = 0.0;
+        for (Shape shape : shapes) {
+            totalArea += shape.calculateArea();
+            expected.append(String.format("%s: %.2f\n", shape.getShapeName(), shape.calculateArea()));
+        }
+        expected.append(String.format("TOTAL AREA: %.2f\n", totalArea)).append("===============================");
+        
+        assertEquals(expected.toString(), calculator.generateAreaReport(shapes));
+        
+        StringWriter writer = new StringWriter();
+        assertEquals(totalArea, new AreaReportWriter(writer).writeReport(shapes));
+        assertEquals(expected.toString(), writer.toString());
+        
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        AreaReportWriter.to(Channels.newChannel(bytes)).writeReport(shapes);
+        assertEquals(expected.toString(), bytes.toString(StandardCharsets.UTF_8));
+        
+        System.out.println("✅ OCP Report test passed - Streamed report is identical to the formatted one");
+    }
+    
+    @Test
+    @DisplayName("✅ OCP - Streamed report can add per-type subtotals")
+    void testStreamingReportSubtotals() throws IOException {
+        List<Shape> shapes = Arrays.asList(rectangle, circle, triangle, new Rectangle(1.0, 2.5));
+        StringBuilder report = new StringBuilder();
+        new AreaReportWriter(report).withSubtotals(true).writeReport(shapes);
+        
+        assertEquals("=== AREA CALCULATION REPORT ===\n"
+                + "Rectangle: 20.00\n"
+                + "Circle: 28.27\n"
+                + "Triangle: 12.00\n"
+                + "Rectangle: 2.50\n"
+                + "SUBTOTAL Rectangle (2): 22.50\n"
+                + "SUBTOTAL Circle (1): 28.27\n"
+                + "SUBTOTAL Triangle (1): 12.00\n"
+                + "TOTAL AREA: 62.77\n"
+                + "===============================", report.toString());
+        
+        System.out.println("✅ OCP Report test passed - Subtotals are written in one pass");
+    }
+}
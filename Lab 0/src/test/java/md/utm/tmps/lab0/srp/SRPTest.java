@@ -3,8 +3,19 @@ package md.utm.tmps.lab0.srp;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * JUnit 5 tests for Single Responsibility Principle demonstration
  * Tests that each class has only one responsibility and works correctly
@@ -88,4 +99,324 @@ class SRPTest {
         
         System.out.println("✅ SRP Integration test passed - All classes work together with proper separation of concerns");
     }
-}
\ No newline at end of file
+    
+    @Test
+    @DisplayName("✅ SRP - UserRepository rejects duplicate emails")
+    void testDuplicateEmailRejected() {
+        assertTrue(repository.save(new User("John", "john@example.com", 25)));
+        assertFalse(repository.save(new User("Johnny", "john@example.com", 40)));
+        assertFalse(repository.save(new User("Nobody", null, 40)));
+        
+        assertEquals(1, repository.getUserCount());
+        assertEquals("John", repository.findByEmail("john@example.com").getName());
+        assertNull(repository.findByEmail("missing@example.com"));
+        
+        System.out.println("✅ SRP Repository test passed - Emails are unique");
+    }
+    
+    @Test
+    @DisplayName("✅ SRP - Secondary indexes answer age range and name prefix queries")
+    void testSecondaryIndexes() {
+        UserRepository indexed = new UserRepository(EnumSet.allOf(UserRepository.Index.class));
+        for (UserRepository repo : List.of(indexed, repository)) {
+            repo.save(new User("Alice", "alice@example.com", 28));
+            repo.save(new User("alan", "alan@example.com", 35));
+            repo.save(new User("Bob", "bob@example.com", 17));
+            repo.save(new User("Albert", "albert@example.com", 62));
+            
+            assertEquals(List.of("Alice", "alan"), names(repo.findByAgeRange(18, 40)));
+            assertEquals(3, repo.findByNamePrefix("AL").size());
+            assertEquals(List.of("Alice"), names(repo.findByNamePrefix("ali")));
+            assertTrue(repo.findByNamePrefix("z").isEmpty());
+            assertTrue(repo.findByNamePrefix(null).isEmpty());
+            
+            repo.clear();
+            assertTrue(repo.findByAgeRange(0, 150).isEmpty());
+            assertTrue(repo.findByNamePrefix("a").isEmpty());
+            assertNull(repo.findByEmail("bob@example.com"));
+        }
+        
+        System.out.println("✅ SRP Repository test passed - Indexes stay consistent on save and clear");
+    }
+    
+    @Test
+    @DisplayName("✅ SRP - Name prefix index handles very long names")
+    void testNamePrefixLongName() {
+        UserRepository indexed = new UserRepository(EnumSet.of(UserRepository.Index.NAME_PREFIX));
+        String longName = "a".repeat(200_000);
+        indexed.save(new User(longName, "long@example.com", 30));
+        indexed.save(new User("ab", "ab@example.com", 30));
+        
+        assertEquals(List.of(longName, "ab"), names(indexed.findByNamePrefix("a")));
+        assertEquals(1, indexed.findByNamePrefix("aaa").size());
+        
+        System.out.println("✅ SRP Repository test passed - Prefix lookup below a 200k-character name");
+    }
+    
+    @Test
+    @DisplayName("✅ SRP - Concurrent logins while users register")
+    void testConcurrentLookups() throws InterruptedException {
+        UserRepository shared = new UserRepository(EnumSet.of(UserRepository.Index.AGE));
+        for (int i = 0; i < 10_000; i++) {
+            shared.save(new User("User" + i, "user" + i + "@example.com", 18 + i % 60));
+        }
+        AtomicInteger misses = new AtomicInteger();
+        Thread writer = new Thread(() -> {
+            for (int i = 10_000; i < 20_000; i++) {
+                shared.save(new User("User" + i, "user" + i + "@example.com", 18 + i % 60));
+            }
+        });
+        Thread[] readers = new Thread[4];
+        for (int t = 0; t < readers.length; t++) {
+            readers[t] = new Thread(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    if (shared.findByEmail("user" + (i % 10_000) + "@example.com") == null) {
+                        misses.incrementAndGet();
+                    }
+                }
+            });
+        }
+        writer.start();
+        for (Thread reader : readers) {
+            reader.start();
+        }
+        writer.join();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        
+        assertEquals(0, misses.get());
+        assertEquals(20_000, shared.getUserCount());
+        assertEquals(20_000, shared.findByAgeRange(0, 150).size());
+        
+        System.out.println("✅ SRP Repository test passed - Lookups are safe during concurrent saves");
+    }
+    
+    @Test
+    @DisplayName("✅ SRP - Persistent UserRepository reloads users and indexes")
+    void testPersistentRepositoryReload(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("users.log");
+        try (UserRepository persistent = UserRepository.open(file, EnumSet.allOf(UserRepository.Index.class))) {
+            assertTrue(persistent.save(new User("Ana", "ana@example.com", 31)));
+            assertTrue(persistent.save(new User(null, "anon@example.com", 40)));
+            assertTrue(persistent.save(new User("Ștefan Jürgen", "stefan@example.com", 22)));
+            assertFalse(persistent.save(new User("Ana Again", "ana@example.com", 50)));
+        }
+        
+        try (UserRepository reopened = UserRepository.open(file, EnumSet.allOf(UserRepository.Index.class))) {
+            assertEquals(3, reopened.getUserCount());
+            assertEquals(31, reopened.findByEmail("ana@example.com").getAge());
+            assertNull(reopened.findByEmail("anon@example.com").getName());
+            assertEquals(List.of("Ștefan Jürgen"), names(reopened.findByNamePrefix("ște")));
+            assertEquals(List.of("Ștefan Jürgen", "Ana"), names(reopened.findByAgeRange(20, 35)));
+            assertFalse(reopened.save(new User("Ana Again", "ana@example.com", 50)));
+            assertTrue(reopened.save(new User("Bob", "bob@example.com", 19)));
+        }
+        
+        try (UserRepository reopened = UserRepository.open(file, EnumSet.noneOf(UserRepository.Index.class))) {
+            assertEquals(4, reopened.getUserCount());
+        }
+        
+        System.out.println("✅ SRP Repository test passed - Users survive a restart");
+    }
+    
+    @Test
+    @DisplayName("✅ SRP - Persistent UserRepository rejects values too long to store")
+    void testPersistentRepositoryOversizedValue(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("users.log");
+        String tooLong = "x".repeat(70_000);
+        try (UserRepository persistent = UserRepository.open(file, EnumSet.noneOf(UserRepository.Index.class))) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> persistent.save(new User(tooLong, "long@example.com", 30)));
+            assertTrue(persistent.save(new User("Normal", "normal@example.com", 30)));
+            assertThrows(IllegalArgumentException.class, () -> persistent.saveAll(List.of(
+                    new User("Batch One", "one@example.com", 30),
+                    new User("Batch Two", tooLong + "@example.com", 30))));
+            assertTrue(persistent.save(new User("After", "after@example.com", 30)));
+            assertEquals(2, persistent.getUserCount());
+        }
+        
+        try (UserRepository reopened = UserRepository.open(file, EnumSet.noneOf(UserRepository.Index.class))) {
+            assertEquals(2, reopened.getUserCount());
+            assertEquals("Normal", reopened.findByEmail("normal@example.com").getName());
+            assertEquals("After", reopened.findByEmail("after@example.com").getName());
+            assertNull(reopened.findByEmail("long@example.com"));
+            assertNull(reopened.findByEmail("one@example.com"));
+        }
+        
+        System.out.println("✅ SRP Repository test passed - Oversized values rejected, later saves kept");
+    }
+    
+    @Test
+    @DisplayName("✅ SRP - Persistent UserRepository recovers from a torn write")
+    void testPersistentRepositoryRecovery(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("users.log");
+        try (UserRepository persistent = UserRepository.open(file, EnumSet.noneOf(UserRepository.Index.class))) {
+            persistent.save(new User("First", "first@example.com", 30));
+            persistent.save(new User("Second", "second@example.com", 30));
+        }
+        long intactBytes = Files.size(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(intactBytes - 3);
+        }
+        
+        try (UserRepository recovered = UserRepository.open(file, EnumSet.noneOf(UserRepository.Index.class))) {
+            assertEquals(1, recovered.getUserCount());
+            assertNull(recovered.findByEmail("second@example.com"));
+            assertTrue(recovered.save(new User("Third", "third@example.com", 30)));
+        }
+        
+        try (UserRepository reopened = UserRepository.open(file, EnumSet.noneOf(UserRepository.Index.class))) {
+            assertEquals(2, reopened.getUserCount());
+            assertNotNull(reopened.findByEmail("third@example.com"));
+        }
+        
+        Path notALog = dir.resolve("notes.txt");
+        Files.writeString(notALog, "just some text");
+        assertThrows(IOException.class, () -> UserRepository.open(notALog, EnumSet.noneOf(UserRepository.Index.class)));
+        
+        System.out.println("✅ SRP Repository test passed - Torn tail discarded, later saves kept");
+    }
+    
+    @Test
+    @DisplayName("✅ SRP - Persistent UserRepository compacts after clear")
+    void testPersistentRepositoryCompaction(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("users.log");
+        List<User> batch = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            batch.add(new User("User" + i, "user" + i + "@example.com", 18 + i % 60));
+        }
+        try (UserRepository persistent = UserRepository.open(file, EnumSet.noneOf(UserRepository.Index.class))) {
+            assertEquals(100_000, persistent.saveAll(batch));
+            assertEquals(0, persistent.saveAll(batch.subList(0, 10)));
+            long fullBytes = Files.size(file);
+            
+            persistent.clear();
+            assertTrue(Files.size(file) < fullBytes / 100);
+            persistent.save(new User("Kept", "kept@example.com", 44));
+        }
+        
+        long start = System.nanoTime();
+        try (UserRepository reopened = UserRepository.open(file, EnumSet.noneOf(UserRepository.Index.class))) {
+            assertEquals(1, reopened.getUserCount());
+            assertEquals("Kept", reopened.findByEmail("kept@example.com").getName());
+            reopened.saveAll(batch);
+            reopened.compact();
+        }
+        try (UserRepository reopened = UserRepository.open(file, EnumSet.noneOf(UserRepository.Index.class))) {
+            assertEquals(100_001, reopened.getUserCount());
+        }
+        
+        System.out.printf("✅ SRP Repository test passed - Cleared log compacted (%d ms)%n",
+                (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    @Test
+    @DisplayName("✅ SRP - findAll returns a read-only snapshot without copying")
+    void testFindAllView() {
+        UserRepository repository = new UserRepository();
+        repository.save(new User("Ana", "ana@example.com", 30));
+        repository.save(new User("Ion", "ion@example.com", 41));
+        
+        List<User> before = repository.findAll();
+        assertSame(before, repository.findAll());
+        assertThrows(UnsupportedOperationException.class, () -> before.add(new User("X", "x@example.com", 1)));
+        
+        repository.save(new User("Maria", "maria@example.com", 25));
+        assertEquals(List.of("Ana", "Ion"), names(before));
+        assertEquals(List.of("Ana", "Ion", "Maria"), names(repository.findAll()));
+        repository.clear();
+        assertEquals(2, before.size());
+        assertTrue(repository.findAll().isEmpty());
+        
+        System.out.println("✅ SRP Repository test passed - findAll view keeps its snapshot");
+    }
+    
+    @Test
+    @DisplayName("✅ SRP - UserValidator checks a batch in parallel into a compact report")
+    void testBatchValidation() {
+        List<User> batch = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            batch.add(switch (i % 5) {
+                case 0 -> new User(" ", "blank@example.com", 30);
+                case 1 -> new User("Ana", "no-at-sign.com", 30);
+                case 2 -> new User("Ion", "ion@example.com", 150);
+                default -> new User("User" + i, "user" + i + "@example.com", 20 + i % 50);
+            });
+        }
+        batch.set(7, null);
+        
+        ValidationReport report = validator.validateAll(batch);
+        assertEquals(200_000, report.size());
+        assertEquals(120_000, report.getInvalidCount());
+        assertEquals(39_999, report.getInvalidCount(UserValidator.Reason.AGE));
+        assertEquals(40_000, report.getInvalidCount(UserValidator.Reason.NAME));
+        assertEquals(1, report.getInvalidCount(UserValidator.Reason.MISSING));
+        assertEquals(UserValidator.Reason.EMAIL, report.getReason(1));
+        assertEquals(UserValidator.Reason.MISSING, report.getReason(7));
+        assertNull(report.getReason(3));
+        assertEquals(5, report.nextInvalid(3));
+        for (int i = report.nextInvalid(0); i >= 0 && i < 1_000; i = report.nextInvalid(i + 1)) {
+            if (batch.get(i) != null) {
+                assertEquals(validator.getValidationError(batch.get(i)), report.getReason(i).getMessage());
+            }
+        }
+        
+        ValidationReport streamed = validator.validateAll(batch.stream());
+        assertEquals(report.getInvalidIndices(), streamed.getInvalidIndices());
+        assertEquals("", validator.getValidationError(batch.get(3)));
+        assertFalse(validator.isValid(new User("\t\n", "a@b.c", 20)));
+        
+        System.out.println("✅ SRP Validator test passed - Batch report matches per-user checks");
+    }
+    
+    @Test
+    @DisplayName("✅ SRP - UserImporter streams CSV and NDJSON files into the repository")
+    void testUserImport(@TempDir Path dir) throws IOException {
+        Path csv = dir.resolve("users.csv");
+        Files.writeString(csv, String.join("\r\n",
+                "name,email,age",
+                "Ana,ana@example.com,30",
+                "\"Popescu, \"\"Ion\"\"\",ion@example.com,41",
+                "X,x@example.com,20",
+                "Maria,maria@example.com,not-a-number",
+                "Ana Again,ana@example.com,31",
+                "",
+                "Dan,dan@example.com,25"));
+        UserRepository repository = new UserRepository();
+        UserImporter importer = new UserImporter(repository, new UserValidator(), 2, 1);
+        
+        ImportProgress progress = importer.importFile(csv);
+        assertSame(progress, importer.getProgress());
+        assertTrue(progress.isDone());
+        assertEquals(6, progress.getRowsRead());
+        assertEquals(3, progress.getRowsImported());
+        assertEquals(1, progress.getRowsInvalid());
+        assertEquals(1, progress.getRowsDuplicate());
+        assertEquals(1, progress.getRowsMalformed());
+        assertEquals(Files.size(csv), progress.getBytesRead());
+        assertEquals("Popescu, \"Ion\"", repository.findByEmail("ion@example.com").getName());
+        assertEquals(30, repository.findByEmail("ana@example.com").getAge());
+        
+        Path ndjson = dir.resolve("users.ndjson");
+        Files.writeString(ndjson, String.join("\n",
+                "{\"name\": \"Elena \\u0141\\\"E\\\"\", \"email\": \"elena@example.com\", \"age\": 28, \"vip\": true}",
+                "{\"email\":\"nameless@example.com\",\"age\":40}",
+                "{\"name\":\"Broken\",\"email\":\"broken@example.com\",\"age\":[1]}",
+                "{\"id\":7,\"name\":\"Radu\",\"email\":\"radu@example.com\",\"age\":33,\"note\":null}"));
+        progress = importer.importFile(ndjson);
+        assertEquals(4, progress.getRowsRead());
+        assertEquals(2, progress.getRowsImported());
+        assertEquals(1, progress.getRowsInvalid());
+        assertEquals(1, progress.getRowsMalformed());
+        assertEquals("Elena \u0141\"E\"", repository.findByEmail("elena@example.com").getName());
+        assertEquals(33, repository.findByEmail("radu@example.com").getAge());
+        assertEquals(5, repository.getUserCount());
+        
+        System.out.println("✅ SRP Import test passed - " + progress);
+    }
+    
+    private static List<String> names(List<User> users) {
+        return users.stream().map(User::getName).toList();
+    }
+}
@@ -1,10 +1,15 @@
 package md.utm.tmps.lab1.domain.factory;
 
 import md.utm.tmps.lab1.domain.models.Beverage;
+import md.utm.tmps.lab1.domain.models.BeverageSize;
 import md.utm.tmps.lab1.domain.models.Coffee;
 import md.utm.tmps.lab1.domain.models.Tea;
 import md.utm.tmps.lab1.domain.models.Juice;
 
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
 /**
  * Factory Method Pattern Demonstration
  * 
@@ -14,23 +19,60 @@ import md.utm.tmps.lab1.domain.models.Juice;
  * USE CASE: BeverageFactory creates different types of beverages (Coffee, Tea, Juice)
  * based on the beverage type, encapsulating the creation logic and making it easy to add
  * new beverage types without modifying client code.
+ * 
+ * Types are looked up in a registry of BeverageType entries, each with a
+ * precomputed price table, so creating a beverage is a map lookup and an
+ * array read. register() adds new types; callers that already hold a
+ * BeverageType and BeverageSize skip the string lookups entirely.
  */
 public class BeverageFactory {
+    // Copied on write, so lookups never lock
+    private static volatile Map<String, BeverageType> types = Map.of(
+            BeverageType.COFFEE.getName(), BeverageType.COFFEE,
+            BeverageType.TEA.getName(), BeverageType.TEA,
+            BeverageType.JUICE.getName(), BeverageType.JUICE);
     
     /**
      * Factory method to create beverages
-     * @param type the type of beverage ("coffee", "tea", "juice")
+     * @param type the type of beverage ("coffee", "tea", "juice" or a registered type)
      * @param size the size of the beverage
      * @param variant the specific variant (e.g., "Espresso" for coffee, "Green" for tea)
      * @return a new Beverage instance
      */
     public static Beverage createBeverage(String type, String size, String variant) {
-        return switch (type.toLowerCase()) {
-            case "coffee" -> new Coffee(size, variant);
-            case "tea" -> new Tea(size, variant);
-            case "juice" -> new Juice(size, variant);
-            default -> throw new IllegalArgumentException("Unknown beverage type: " + type);
-        };
+        return getType(type).create(size, variant);
+    }
+    
+    /**
+     * Factory method for callers that already resolved the type and size
+     */
+    public static Beverage createBeverage(BeverageType type, BeverageSize size, String variant) {
+        return type.create(size, variant);
+    }
+    
+    /**
+     * Resolves a type name, ignoring case
+     * @throws IllegalArgumentException if no such type is registered
+     */
+    public static BeverageType getType(String type) {
+        Map<String, BeverageType> current = types;
+        BeverageType found = current.get(type);
+        if (found == null) {
+            found = current.get(type.toLowerCase(Locale.ROOT));
+            if (found == null) {
+                throw new IllegalArgumentException("Unknown beverage type: " + type);
+            }
+        }
+        return found;
+    }
+    
+    /**
+     * Adds a beverage type, or replaces the type of the same name
+     */
+    public static synchronized void register(BeverageType type) {
+        Map<String, BeverageType> updated = new HashMap<>(types);
+        updated.put(type.getName(), type);
+        types = Map.copyOf(updated);
     }
     
     /**
@@ -0,0 +1,62 @@
+package md.utm.tmps.lab1.domain.factory;
+
+import md.utm.tmps.lab1.domain.models.Beverage;
+import md.utm.tmps.lab1.domain.models.BeveragePrices;
+import md.utm.tmps.lab1.domain.models.BeverageSize;
+import md.utm.tmps.lab1.domain.models.Coffee;
+import md.utm.tmps.lab1.domain.models.Juice;
+import md.utm.tmps.lab1.domain.models.Tea;
+
+import java.util.Locale;
+
+/**
+ * A kind of beverage the BeverageFactory can create: its name, its price
+ * table and the constructor that builds it
+ *
+ * New kinds are added with BeverageFactory.register(BeverageType.of(...))
+ * instead of another case in a switch.
+ */
+public final class BeverageType {
+    public static final BeverageType COFFEE = of("coffee", Coffee.PRICES, Coffee::new);
+    public static final BeverageType TEA = of("tea", Tea.PRICES, Tea::new);
+    public static final BeverageType JUICE = of("juice", Juice.PRICES, Juice::new);
+    
+    /**
+     * Builds a beverage whose price was already looked up
+     */
+    @FunctionalInterface
+    public interface Creator {
+        Beverage create(String size, String variant, long priceCents);
+    }
+    
+    private final String name;
+    private final BeveragePrices prices;
+    private final Creator creator;
+    
+    private BeverageType(String name, BeveragePrices prices, Creator creator) {
+        this.name = name;
+        this.prices = prices;
+        this.creator = creator;
+    }
+    
+    /**
+     * @param name type name, matched ignoring case
+     */
+    public static BeverageType of(String name, BeveragePrices prices, Creator creator) {
+        return new BeverageType(name.toLowerCase(Locale.ROOT), prices, creator);
+    }
+    
+    public Beverage create(BeverageSize size, String variant) {
+        return creator.create(size.getDisplayName(), variant, prices.priceCents(size));
+    }
+    
+    /**
+     * @param size any size name; unknown sizes are priced as Medium and kept as given
+     */
+    public Beverage create(String size, String variant) {
+        return creator.create(size, variant, prices.priceCents(size));
+    }
+    
+    public String getName() { return name; }
+    public BeveragePrices getPrices() { return prices; }
+}
@@ -0,0 +1,50 @@
+package md.utm.tmps.lab1.domain.factory;
+
+import md.utm.tmps.lab1.domain.models.Meal;
+
+/**
+ * Decorator that builds a factory's meal once and then hands out that instance
+ *
+ * The concrete meal factories always produce the same meal, and a Meal (its
+ * Pizza and Beverage included) cannot be changed after it is built - all
+ * their fields are final - so one shared instance serves every order. The meal is built lazily on the first
+ * createMeal() call; concurrent first calls still build it only once.
+ *
+ * Only wrap factories whose meals are fixed - a factory that varies its meals
+ * would always return the first one.
+ */
+public class CachingMealFactory implements MealFactory {
+    private final MealFactory delegate;
+    private volatile Meal template;
+    
+    public CachingMealFactory(MealFactory delegate) {
+        this.delegate = delegate;
+    }
+    
+    /**
+     * Returns the factory itself if it already caches, otherwise wraps it
+     */
+    public static MealFactory of(MealFactory factory) {
+        return factory instanceof CachingMealFactory ? factory : new CachingMealFactory(factory);
+    }
+    
+    @Override
+    public Meal createMeal() {
+        Meal meal = template;
+        if (meal == null) {
+            synchronized (this) {
+                meal = template;
+                if (meal == null) {
+                    meal = delegate.createMeal();
+                    template = meal;
+                }
+            }
+        }
+        return meal;
+    }
+    
+    @Override
+    public String getMealType() {
+        return delegate.getMealType();
+    }
+}
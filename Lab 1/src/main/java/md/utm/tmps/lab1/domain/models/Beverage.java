@@ -2,16 +2,31 @@ package md.utm.tmps.lab1.domain.models;
 
 /**
  * Abstract Beverage class - base for all beverages
+ * Beverages are immutable, so one instance can be shared by many orders;
+ * subclasses must keep their own fields final as well.
  */
 public abstract class Beverage {
-    protected String name;
-    protected String size;
-    protected double price;
+    protected final String name;
+    protected final String size;
+    protected final long priceCents;
     
-    public Beverage(String name, String size, double price) {
+    /**
+     * @param priceCents exact price in cents
+     */
+    public Beverage(String name, String size, long priceCents) {
         this.name = name;
         this.size = size;
-        this.price = price;
+        this.priceCents = priceCents;
+    }
+    
+    /**
+     * Kept for subclasses written against the dollar constructor
+     * @param price price in dollars, rounded to the nearest cent
+     * @deprecated use {@link #Beverage(String, String, long)} with cents
+     */
+    @Deprecated
+    public Beverage(String name, String size, double price) {
+        this(name, size, Money.ofDollars(price));
     }
     
     public abstract void prepare();
@@ -19,10 +34,11 @@ public abstract class Beverage {
     
     public String getName() { return name; }
     public String getSize() { return size; }
-    public double getPrice() { return price; }
+    public long getPriceCents() { return priceCents; }
+    public double getPrice() { return Money.toDollars(priceCents); }
     
     @Override
     public String toString() {
-        return String.format("%s (%s) - $%.2f", name, size, price);
+        return name + " (" + size + ") - $" + Money.format(priceCents);
     }
 }
@@ -0,0 +1,25 @@
+package md.utm.tmps.lab1.domain.models;
+
+/**
+ * Immutable price table of one beverage, in cents per size
+ * A size name that is not a BeverageSize costs as much as a Medium.
+ */
+public final class BeveragePrices {
+    private final long[] priceCents;
+    
+    private BeveragePrices(long smallCents, long mediumCents, long largeCents) {
+        this.priceCents = new long[] {smallCents, mediumCents, largeCents};
+    }
+    
+    public static BeveragePrices of(long smallCents, long mediumCents, long largeCents) {
+        return new BeveragePrices(smallCents, mediumCents, largeCents);
+    }
+    
+    public long priceCents(BeverageSize size) {
+        return priceCents[(size != null ? size : BeverageSize.MEDIUM).ordinal()];
+    }
+    
+    public long priceCents(String size) {
+        return priceCents(BeverageSize.of(size));
+    }
+}
@@ -0,0 +1,38 @@
+package md.utm.tmps.lab1.domain.models;
+
+/**
+ * Beverage sizes with a fixed price in every beverage's price table
+ */
+public enum BeverageSize {
+    SMALL("Small"),
+    MEDIUM("Medium"),
+    LARGE("Large");
+    
+    private static final BeverageSize[] VALUES = values();
+    
+    private final String displayName;
+    
+    BeverageSize(String displayName) {
+        this.displayName = displayName;
+    }
+    
+    public String getDisplayName() {
+        return displayName;
+    }
+    
+    /**
+     * Resolves a size name, ignoring case, without allocating
+     * @return the size, or null if the name is not a known size
+     */
+    public static BeverageSize of(String name) {
+        if (name == null) {
+            return null;
+        }
+        for (BeverageSize size : VALUES) {
+            if (size.displayName.equalsIgnoreCase(name)) {
+                return size;
+            }
+        }
+        return null;
+    }
+}
@@ -4,20 +4,20 @@ package md.utm.tmps.lab1.domain.models;
  * Coffee beverage implementation
  */
 public class Coffee extends Beverage {
-    private String coffeeType;
+    public static final BeveragePrices PRICES = BeveragePrices.of(250, 350, 450);
+    
+    private final String coffeeType;
     
     public Coffee(String size, String coffeeType) {
-        super("Coffee", size, calculatePrice(size));
-        this.coffeeType = coffeeType;
+        this(size, coffeeType, PRICES.priceCents(size));
     }
     
-    private static double calculatePrice(String size) {
-        return switch (size.toLowerCase()) {
-            case "small" -> 2.50;
-            case "medium" -> 3.50;
-            case "large" -> 4.50;
-            default -> 3.50;
-        };
+    /**
+     * @param priceCents price already looked up in a price table
+     */
+    public Coffee(String size, String coffeeType, long priceCents) {
+        super("Coffee", size, priceCents);
+        this.coffeeType = coffeeType;
     }
     
     @Override
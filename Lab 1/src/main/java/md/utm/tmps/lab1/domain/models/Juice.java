@@ -4,20 +4,20 @@ package md.utm.tmps.lab1.domain.models;
  * Juice beverage implementation
  */
 public class Juice extends Beverage {
-    private String fruit;
+    public static final BeveragePrices PRICES = BeveragePrices.of(300, 400, 500);
+    
+    private final String fruit;
     
     public Juice(String size, String fruit) {
-        super("Juice", size, calculatePrice(size));
-        this.fruit = fruit;
+        this(size, fruit, PRICES.priceCents(size));
     }
     
-    private static double calculatePrice(String size) {
-        return switch (size.toLowerCase()) {
-            case "small" -> 3.00;
-            case "medium" -> 4.00;
-            case "large" -> 5.00;
-            default -> 4.00;
-        };
+    /**
+     * @param priceCents price already looked up in a price table
+     */
+    public Juice(String size, String fruit, long priceCents) {
+        super("Juice", size, priceCents);
+        this.fruit = fruit;
     }
     
     @Override
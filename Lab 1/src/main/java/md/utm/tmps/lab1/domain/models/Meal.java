@@ -2,29 +2,36 @@ package md.utm.tmps.lab1.domain.models;
 
 /**
  * Represents a complete meal with main dish and beverage
+ * The total is priced once, when the meal is put together.
  */
 public class Meal {
     private final Pizza pizza;
     private final Beverage beverage;
     private final String mealType;
+    private final long totalPriceCents;
     
     public Meal(Pizza pizza, Beverage beverage, String mealType) {
         this.pizza = pizza;
         this.beverage = beverage;
         this.mealType = mealType;
+        this.totalPriceCents = pizza.getPriceCents() + beverage.getPriceCents();
     }
     
     public Pizza getPizza() { return pizza; }
     public Beverage getBeverage() { return beverage; }
     public String getMealType() { return mealType; }
     
+    public long getTotalPriceCents() {
+        return totalPriceCents;
+    }
+    
     public double getTotalPrice() {
-        return beverage.getPrice() + 12.99; // Pizza base price + beverage
+        return Money.toDollars(getTotalPriceCents());
     }
     
     @Override
     public String toString() {
-        return String.format("%s Meal:\n  - %s\n  - %s\n  Total: $%.2f",
-                mealType, pizza, beverage, getTotalPrice());
+        return String.format("%s Meal:\n  - %s\n  - %s\n  Total: $%s",
+                mealType, pizza, beverage, Money.format(totalPriceCents));
     }
 }
@@ -0,0 +1,36 @@
+package md.utm.tmps.lab1.domain.models;
+
+/**
+ * Fixed-point money helpers
+ *
+ * Prices and totals are carried as a primitive long number of cents. Sums of
+ * cents are exact and cost a single add, unlike double (which cannot represent
+ * most prices exactly) or BigDecimal (which allocates on every operation).
+ *
+ * Doubles only remain in the dollar getters kept for existing callers.
+ */
+public final class Money {
+
+    private Money() {
+    }
+
+    /**
+     * Converts a dollar amount to cents, rounding to the nearest cent
+     */
+    public static long ofDollars(double dollars) {
+        return Math.round(dollars * 100);
+    }
+
+    public static double toDollars(long cents) {
+        return cents / 100.0;
+    }
+
+    /**
+     * Formats cents as a plain two-decimal amount, e.g. 1249 -> "12.49"
+     */
+    public static String format(long cents) {
+        long abs = Math.abs(cents);
+        long fraction = abs % 100;
+        return (cents < 0 ? "-" : "") + (abs / 100) + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+}
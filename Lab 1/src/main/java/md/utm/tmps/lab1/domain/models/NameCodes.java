@@ -0,0 +1,89 @@
+package md.utm.tmps.lab1.domain.models;
+
+import java.util.Arrays;
+
+/**
+ * Append-only dictionary that gives names small dense codes, 1 to capacity
+ * Code 0 means "no code": the name is null or the dictionary is full.
+ * Codes never change once given, so they can be stored instead of the name.
+ *
+ * Lookups probe an open-addressing table by the name's cached hash code and
+ * usually match the very same String instance (names come from literals), so
+ * they cost a couple of array reads. New names copy the table under a lock
+ * and publish it through a volatile field; readers never lock. Once the
+ * dictionary is full, unknown names get 0 without taking the lock.
+ */
+final class NameCodes {
+    private final int capacity;
+    private volatile Table table;
+    private volatile boolean full;
+
+    NameCodes(int capacity) {
+        this.capacity = capacity;
+        this.table = new Table(Integer.highestOneBit(capacity) * 4);
+    }
+
+    int codeOf(String name) {
+        if (name == null) {
+            return 0;
+        }
+        Table current = table;
+        int mask = current.keys.length - 1;
+        for (int i = name.hashCode() & mask; ; i = (i + 1) & mask) {
+            String key = current.keys[i];
+            if (key == null) {
+                return full ? 0 : register(name);
+            }
+            if (key == name || key.equals(name)) {
+                return current.codes[i];
+            }
+        }
+    }
+
+    String nameOf(int code) {
+        return table.names[code];
+    }
+
+    private synchronized int register(String name) {
+        Table current = table;
+        int mask = current.keys.length - 1;
+        int slot = name.hashCode() & mask;
+        for (; current.keys[slot] != null; slot = (slot + 1) & mask) {
+            if (current.keys[slot].equals(name)) {
+                return current.codes[slot];
+            }
+        }
+        int code = current.names.length;
+        if (code > capacity) {
+            full = true;
+            return 0;
+        }
+        Table grown = new Table(current, slot, name, code);
+        table = grown;
+        return code;
+    }
+
+    /**
+     * Immutable probe table; names[code] is the name with that code
+     */
+    private static final class Table {
+        final String[] keys;
+        final int[] codes;
+        final String[] names;
+
+        Table(int slots) {
+            keys = new String[slots];
+            codes = new int[slots];
+            names = new String[1];
+        }
+
+        Table(Table previous, int slot, String name, int code) {
+            keys = previous.keys.clone();
+            codes = previous.codes.clone();
+            names = Arrays.copyOf(previous.names, code + 1);
+            keys[slot] = name;
+            codes[slot] = code;
+            names[code] = name;
+        }
+    }
+}
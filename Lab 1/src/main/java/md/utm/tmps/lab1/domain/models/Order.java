@@ -1,90 +1,179 @@
 package md.utm.tmps.lab1.domain.models;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Order class representing a customer order
+ *
+ * Items are priced once, when they are added: every add publishes a new
+ * immutable Snapshot of the items, counts and subtotals, so totals and
+ * toString() never walk the lists. Adds are synchronized; the getters,
+ * snapshot() and the totals only read the volatile snapshot, so a reporting
+ * thread reads a consistent order without locking while another thread is
+ * still adding to it.
+ *
+ * Items are kept in append-only arrays, and a Snapshot holds read-only views
+ * of the items added so far. Later adds only write past the end of those views
+ * (or into a grown copy of the array), so a view is a stable snapshot like a
+ * defensive copy, without copying. Iterating it while adding is safe.
  */
 public class Order {
     private final int orderId;
-    private final List<Pizza> pizzas;
-    private final List<Beverage> beverages;
-    private final List<Meal> meals;
+    private Pizza[] pizzas = new Pizza[4];
+    private Beverage[] beverages = new Beverage[4];
+    private Meal[] meals = new Meal[2];
+    private volatile Snapshot snapshot;
+    
+    /**
+     * Items and subtotals of an order at one point in time
+     */
+    public record Snapshot(int orderId,
+                           List<Pizza> pizzas, long pizzaCents,
+                           List<Beverage> beverages, long beverageCents,
+                           List<Meal> meals, long mealCents) {
+        
+        /**
+         * @return exact order total in cents
+         */
+        public long totalCents() {
+            return pizzaCents + beverageCents + mealCents;
+        }
+        
+        public int pizzaCount() {
+            return pizzas.size();
+        }
+        
+        public int beverageCount() {
+            return beverages.size();
+        }
+        
+        public int mealCount() {
+            return meals.size();
+        }
+        
+        public int itemCount() {
+            return pizzas.size() + beverages.size() + meals.size();
+        }
+    }
     
     public Order() {
         this.orderId = OrderIdGenerator.getInstance().generateOrderId();
-        this.pizzas = new ArrayList<>();
-        this.beverages = new ArrayList<>();
-        this.meals = new ArrayList<>();
+        this.snapshot = new Snapshot(orderId, List.of(), 0, List.of(), 0, List.of(), 0);
+    }
+    
+    public synchronized void addPizza(Pizza pizza) {
+        long cents = pizza.getPriceCents();
+        Snapshot s = snapshot;
+        int count = s.pizzaCount();
+        pizzas = append(pizzas, count, pizza);
+        snapshot = new Snapshot(orderId, view(pizzas, count + 1), s.pizzaCents + cents,
+                s.beverages, s.beverageCents, s.meals, s.mealCents);
+    }
+    
+    public synchronized void addBeverage(Beverage beverage) {
+        long cents = beverage.getPriceCents();
+        Snapshot s = snapshot;
+        int count = s.beverageCount();
+        beverages = append(beverages, count, beverage);
+        snapshot = new Snapshot(orderId, s.pizzas, s.pizzaCents,
+                view(beverages, count + 1), s.beverageCents + cents, s.meals, s.mealCents);
     }
     
-    public void addPizza(Pizza pizza) {
-        pizzas.add(pizza);
+    public synchronized void addMeal(Meal meal) {
+        long cents = meal.getTotalPriceCents();
+        Snapshot s = snapshot;
+        int count = s.mealCount();
+        meals = append(meals, count, meal);
+        snapshot = new Snapshot(orderId, s.pizzas, s.pizzaCents,
+                s.beverages, s.beverageCents, view(meals, count + 1), s.mealCents + cents);
     }
     
-    public void addBeverage(Beverage beverage) {
-        beverages.add(beverage);
+    private static <T> T[] append(T[] items, int count, T item) {
+        if (count == items.length) {
+            items = Arrays.copyOf(items, count * 2);
+        }
+        items[count] = item;
+        return items;
     }
     
-    public void addMeal(Meal meal) {
-        meals.add(meal);
+    private static <T> List<T> view(T[] items, int count) {
+        return Collections.unmodifiableList(Arrays.asList(items).subList(0, count));
     }
     
     public int getOrderId() { return orderId; }
-    public List<Pizza> getPizzas() { return new ArrayList<>(pizzas); }
-    public List<Beverage> getBeverages() { return new ArrayList<>(beverages); }
-    public List<Meal> getMeals() { return new ArrayList<>(meals); }
+    
+    /**
+     * @return unmodifiable snapshot of the pizzas, unaffected by later adds
+     */
+    public List<Pizza> getPizzas() {
+        return snapshot.pizzas;
+    }
+    
+    /**
+     * @return unmodifiable snapshot of the beverages, unaffected by later adds
+     */
+    public List<Beverage> getBeverages() {
+        return snapshot.beverages;
+    }
+    
+    /**
+     * @return unmodifiable snapshot of the meals, unaffected by later adds
+     */
+    public List<Meal> getMeals() {
+        return snapshot.meals;
+    }
+    
+    /**
+     * @return items, counts and subtotals as of the last completed add
+     */
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+    
+    /**
+     * @return exact order total in cents
+     */
+    public long calculateTotalCents() {
+        return snapshot.totalCents();
+    }
     
     public double calculateTotal() {
-        double total = 0.0;
-        
-        // Pizza base price
-        total += pizzas.size() * 12.99;
-        
-        // Beverages
-        for (Beverage beverage : beverages) {
-            total += beverage.getPrice();
-        }
-        
-        // Meals
-        for (Meal meal : meals) {
-            total += meal.getTotalPrice();
-        }
-        
-        return total;
+        return Money.toDollars(calculateTotalCents());
     }
     
     @Override
     public String toString() {
+        Snapshot s = snapshot;
         StringBuilder sb = new StringBuilder();
         sb.append("========================================\n");
         sb.append(String.format("Order #%d\n", orderId));
         sb.append("========================================\n");
         
-        if (!pizzas.isEmpty()) {
+        if (!s.pizzas.isEmpty()) {
             sb.append("PIZZAS:\n");
-            for (Pizza pizza : pizzas) {
+            for (Pizza pizza : s.pizzas) {
                 sb.append("  - ").append(pizza).append("\n");
             }
         }
         
-        if (!beverages.isEmpty()) {
+        if (!s.beverages.isEmpty()) {
             sb.append("BEVERAGES:\n");
-            for (Beverage beverage : beverages) {
+            for (Beverage beverage : s.beverages) {
                 sb.append("  - ").append(beverage).append("\n");
             }
         }
         
-        if (!meals.isEmpty()) {
+        if (!s.meals.isEmpty()) {
             sb.append("MEALS:\n");
-            for (Meal meal : meals) {
+            for (Meal meal : s.meals) {
                 sb.append("  - ").append(meal.getMealType()).append(" Meal\n");
             }
         }
         
         sb.append("----------------------------------------\n");
-        sb.append(String.format("TOTAL: $%.2f\n", calculateTotal()));
+        sb.append("TOTAL: $").append(Money.format(s.totalCents())).append("\n");
         sb.append("========================================");
         
         return sb.toString();
@@ -1,25 +1,43 @@
 package md.utm.tmps.lab1.domain.models;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Singleton Pattern Demonstration
- * 
+ *
  * PATTERN: Ensures a class has only one instance and provides a global point of access to it.
- * 
+ *
  * USE CASE: OrderIdGenerator ensures all orders get unique IDs from a single source
  * This prevents ID conflicts and ensures proper order tracking across the system.
+ *
+ * The counter itself is lock-free: ids come from an atomic 64-bit counter, and with
+ * a block size above 1 every thread reserves a whole block of ids with one atomic
+ * add and then hands them out without touching shared state at all.
  */
 public class OrderIdGenerator {
+    private static final long FIRST_ORDER_ID = 1000;
+
     // Single instance - **volatile** ensures visibility across threads
     private static volatile OrderIdGenerator instance;
-    
-    // Counter for generating unique IDs
-    private int nextOrderId;
-    
+
+    // Next id that has not been handed out or reserved by a thread yet
+    private final AtomicLong nextOrderId;
+
+    // Bumped by reset() so blocks reserved before the reset are abandoned
+    private volatile int generation;
+
+    // Ids reserved per thread at once; 1 means every id comes straight from the counter
+    private volatile int blockSize;
+
+    private final ThreadLocal<IdBlock> blocks;
+
     // Private constructor prevents direct instantiation
     private OrderIdGenerator() {
-        this.nextOrderId = 1000; // Start from 1000
+        this.nextOrderId = new AtomicLong(FIRST_ORDER_ID); // Start from 1000
+        this.blockSize = 1;
+        this.blocks = ThreadLocal.withInitial(IdBlock::new);
     }
-    
+
     /**
      * Double-checked locking for thread-safe lazy initialization
      * @return the single instance of OrderIdGenerator
@@ -35,27 +53,87 @@ public class OrderIdGenerator {
         }
         return instance;
     }
-    
+
     /**
      * Generate next unique order ID
      * @return unique order ID
+     * @throws ArithmeticException if the id no longer fits in an int;
+     *         use {@link #generateLongOrderId()} past that point
      */
-    public synchronized int generateOrderId() {
-        return nextOrderId++;
+    public int generateOrderId() {
+        return Math.toIntExact(generateLongOrderId());
     }
-    
+
+    /**
+     * Generate next unique order ID as a long, which never wraps in practice
+     * @return unique order ID
+     */
+    public long generateLongOrderId() {
+        int size = blockSize;
+        if (size == 1) {
+            return nextOrderId.getAndIncrement();
+        }
+        IdBlock block = blocks.get();
+        int currentGeneration = generation;
+        if (block.next == block.limit || block.generation != currentGeneration) {
+            long start = nextOrderId.getAndAdd(size);
+            block.next = start;
+            block.limit = start + size;
+            block.generation = currentGeneration;
+        }
+        return block.next++;
+    }
+
     /**
      * Get the next order ID without incrementing (for testing)
+     * With block allocation this is the start of the next unreserved block,
+     * threads may still hand out lower ids from blocks they already hold
      * @return next order ID that will be generated
      */
-    public synchronized int peekNextOrderId() {
-        return nextOrderId;
+    public int peekNextOrderId() {
+        return Math.toIntExact(nextOrderId.get());
     }
-    
+
+    /**
+     * Long counterpart of {@link #peekNextOrderId()}
+     */
+    public long peekNextLongOrderId() {
+        return nextOrderId.get();
+    }
+
+    /**
+     * Sets how many ids a thread reserves at once (e.g. 1024 for many
+     * concurrent order creators). Ids stay unique but are only increasing
+     * per thread, not globally.
+     * @param blockSize ids per reservation, 1 disables per-thread blocks
+     */
+    public void setBlockSize(int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be at least 1: " + blockSize);
+        }
+        this.blockSize = blockSize;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
     /**
      * Reset counter (useful for testing)
+     * Must not race with id generation: blocks reserved concurrently with the
+     * reset may be handed out after it
+     */
+    public void reset() {
+        generation++;
+        nextOrderId.set(FIRST_ORDER_ID);
+    }
+
+    /**
+     * Range of ids reserved by one thread: next (inclusive) to limit (exclusive)
      */
-    public synchronized void reset() {
-        nextOrderId = 1000;
+    private static final class IdBlock {
+        long next;
+        long limit;
+        int generation;
     }
 }
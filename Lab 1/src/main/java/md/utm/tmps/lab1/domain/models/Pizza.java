@@ -1,62 +1,150 @@
 package md.utm.tmps.lab1.domain.models;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
 
 /**
  * Pizza class - represents a complex object that will be built using Builder pattern
+ *
+ * A pizza is packed into a single long:
+ *   bits  0-5   the six standard toppings
+ *   bits  8-15  size code        (NameCodes, up to 255 sizes)
+ *   bits 16-23  crust code       (NameCodes, up to 255 crusts)
+ *   bits 24-63  extra toppings   (one bit per NameCodes code, up to 40 extras)
+ * Extra toppings are listed in code order, so they fit the mask when they are
+ * distinct and were added in the order their codes were first given - which is
+ * the case for repeated menu pizzas. Anything else (duplicates, a different
+ * order, null or too many names) keeps the plain values in a Spill instead.
+ * A pizza that fits is a 24-byte object and its Builder allocates nothing.
+ *
+ * getExtraToppings() returns a read-only view rather than a copy;
+ * forEachExtraTopping() walks the extras without allocating at all.
  */
 public class Pizza {
-    // Required parameters
-    private final String size;
-    private final String crustType;
+    private static final int CHEESE = 1;
+    private static final int PEPPERONI = 1 << 1;
+    private static final int MUSHROOMS = 1 << 2;
+    private static final int OLIVES = 1 << 3;
+    private static final int BACON = 1 << 4;
+    private static final int ONIONS = 1 << 5;
+    private static final int SIZE_SHIFT = 8;
+    private static final int CRUST_SHIFT = 16;
+    private static final int EXTRA_SHIFT = 23;   // extra code c is bit 23 + c
+
+    // Prices in cents; a size the menu does not know costs as much as a Medium
+    static final long SMALL_PRICE_CENTS = 999;
+    static final long MEDIUM_PRICE_CENTS = 1299;
+    static final long LARGE_PRICE_CENTS = 1599;
+    static final long EXTRA_TOPPING_PRICE_CENTS = 150;
+    // cheese, pepperoni, mushrooms, olives, bacon, onions - in bit order
+    private static final long[] TOPPING_PRICES_CENTS = {100, 150, 100, 100, 200, 75};
+
+    private static final NameCodes SIZES = new NameCodes(255);
+    private static final NameCodes CRUSTS = new NameCodes(255);
+    private static final NameCodes EXTRAS = new NameCodes(64 - EXTRA_SHIFT - 1);
     
-    // Optional parameters
-    private final boolean cheese;
-    private final boolean pepperoni;
-    private final boolean mushrooms;
-    private final boolean olives;
-    private final boolean bacon;
-    private final boolean onions;
-    private final List<String> extraToppings;
+    private final long bits;
+    private final Spill spill;
     
     // Private constructor - only Builder can create Pizza instances
-    private Pizza(Builder builder) {
-        this.size = builder.size;
-        this.crustType = builder.crustType;
-        this.cheese = builder.cheese;
-        this.pepperoni = builder.pepperoni;
-        this.mushrooms = builder.mushrooms;
-        this.olives = builder.olives;
-        this.bacon = builder.bacon;
-        this.onions = builder.onions;
-        this.extraToppings = new ArrayList<>(builder.extraToppings);
+    private Pizza(long bits, Spill spill) {
+        this.bits = bits;
+        this.spill = spill;
     }
     
     // Getters
-    public String getSize() { return size; }
-    public String getCrustType() { return crustType; }
-    public boolean hasCheese() { return cheese; }
-    public boolean hasPepperoni() { return pepperoni; }
-    public boolean hasMushrooms() { return mushrooms; }
-    public boolean hasOlives() { return olives; }
-    public boolean hasBacon() { return bacon; }
-    public boolean hasOnions() { return onions; }
-    public List<String> getExtraToppings() { return new ArrayList<>(extraToppings); }
+    public String getSize() { return spill != null ? spill.size : SIZES.nameOf(code(SIZE_SHIFT)); }
+    public String getCrustType() { return spill != null ? spill.crustType : CRUSTS.nameOf(code(CRUST_SHIFT)); }
+    public boolean hasCheese() { return (bits & CHEESE) != 0; }
+    public boolean hasPepperoni() { return (bits & PEPPERONI) != 0; }
+    public boolean hasMushrooms() { return (bits & MUSHROOMS) != 0; }
+    public boolean hasOlives() { return (bits & OLIVES) != 0; }
+    public boolean hasBacon() { return (bits & BACON) != 0; }
+    public boolean hasOnions() { return (bits & ONIONS) != 0; }
+    
+    /**
+     * @return exact price in cents: the size's base price plus every topping
+     */
+    public long getPriceCents() {
+        long price = basePriceCents(getSize());
+        for (int toppings = (int) bits & 0x3F; toppings != 0; toppings &= toppings - 1) {
+            price += TOPPING_PRICES_CENTS[Integer.numberOfTrailingZeros(toppings)];
+        }
+        int extras = spill != null ? spill.extraToppings.size() : Long.bitCount(bits >>> (EXTRA_SHIFT + 1));
+        return price + extras * EXTRA_TOPPING_PRICE_CENTS;
+    }
+    
+    public double getPrice() {
+        return Money.toDollars(getPriceCents());
+    }
+    
+    private static long basePriceCents(String size) {
+        if (size == null) {
+            return MEDIUM_PRICE_CENTS;
+        }
+        return switch (size) {
+            case "Small" -> SMALL_PRICE_CENTS;
+            case "Large" -> LARGE_PRICE_CENTS;
+            default -> MEDIUM_PRICE_CENTS;
+        };
+    }
+    
+    /**
+     * @return unmodifiable list of the extra toppings
+     */
+    public List<String> getExtraToppings() {
+        if (spill != null) {
+            return spill.extraToppings;
+        }
+        long mask = bits >>> (EXTRA_SHIFT + 1);
+        return mask == 0 ? List.of() : new CodedExtras(mask);
+    }
+    
+    /**
+     * Passes each extra topping to the action, in the order getExtraToppings() lists them
+     */
+    public void forEachExtraTopping(Consumer<? super String> action) {
+        if (spill != null) {
+            spill.extraToppings.forEach(action);
+            return;
+        }
+        for (long mask = bits >>> (EXTRA_SHIFT + 1); mask != 0; mask &= mask - 1) {
+            action.accept(EXTRAS.nameOf(Long.numberOfTrailingZeros(mask) + 1));
+        }
+    }
+    
+    /**
+     * Adds the names of the extras in the mask, in code order
+     */
+    private static void addCodedExtras(long bits, List<String> extras) {
+        for (long mask = bits >>> (EXTRA_SHIFT + 1); mask != 0; mask &= mask - 1) {
+            extras.add(EXTRAS.nameOf(Long.numberOfTrailingZeros(mask) + 1));
+        }
+    }
+    
+    private int code(int shift) {
+        return (int) (bits >>> shift) & 0xFF;
+    }
     
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        sb.append("Pizza [").append(size).append(", ").append(crustType).append(" crust] - Toppings: ");
+        sb.append("Pizza [").append(getSize()).append(", ").append(getCrustType()).append(" crust] - Toppings: ");
         
         List<String> toppings = new ArrayList<>();
-        if (cheese) toppings.add("Cheese");
-        if (pepperoni) toppings.add("Pepperoni");
-        if (mushrooms) toppings.add("Mushrooms");
-        if (olives) toppings.add("Olives");
-        if (bacon) toppings.add("Bacon");
-        if (onions) toppings.add("Onions");
-        toppings.addAll(extraToppings);
+        if (hasCheese()) toppings.add("Cheese");
+        if (hasPepperoni()) toppings.add("Pepperoni");
+        if (hasMushrooms()) toppings.add("Mushrooms");
+        if (hasOlives()) toppings.add("Olives");
+        if (hasBacon()) toppings.add("Bacon");
+        if (hasOnions()) toppings.add("Onions");
+        forEachExtraTopping(toppings::add);
         
         if (toppings.isEmpty()) {
             sb.append("None");
@@ -67,6 +155,37 @@ public class Pizza {
         return sb.toString();
     }
     
+    /**
+     * Plain size, crust and extras of a pizza whose names do not fit the mask
+     */
+    private record Spill(String size, String crustType, List<String> extraToppings) {
+    }
+    
+    /**
+     * Read-only view of the extras in a mask (already shifted down to code 1 = bit 0)
+     */
+    private static final class CodedExtras extends AbstractList<String> implements RandomAccess {
+        private final long mask;
+        
+        private CodedExtras(long mask) {
+            this.mask = mask;
+        }
+        
+        @Override
+        public String get(int index) {
+            long rest = mask;
+            for (int i = Objects.checkIndex(index, size()); i > 0; i--) {
+                rest &= rest - 1;
+            }
+            return EXTRAS.nameOf(Long.numberOfTrailingZeros(rest) + 1);
+        }
+        
+        @Override
+        public int size() {
+            return Long.bitCount(mask);
+        }
+    }
+    
     /**
      * Builder Pattern Implementation
      * 
@@ -81,14 +200,13 @@ public class Pizza {
         private final String size;
         private final String crustType;
         
-        // Optional parameters - initialized to default values
-        private boolean cheese = false;
-        private boolean pepperoni = false;
-        private boolean mushrooms = false;
-        private boolean olives = false;
-        private boolean bacon = false;
-        private boolean onions = false;
-        private List<String> extraToppings = new ArrayList<>();
+        // Optional parameters - no toppings and no extras by default
+        // Extras are coded as they are added; once they stop fitting the mask
+        // they are all kept as plain names instead
+        private int toppings;
+        private long extraBits;
+        private int lastExtraCode;
+        private List<String> spilledExtras;
         
         /**
          * Constructor with required parameters
@@ -99,37 +217,46 @@ public class Pizza {
         }
         
         public Builder cheese(boolean value) {
-            this.cheese = value;
-            return this;
+            return topping(CHEESE, value);
         }
         
         public Builder pepperoni(boolean value) {
-            this.pepperoni = value;
-            return this;
+            return topping(PEPPERONI, value);
         }
         
         public Builder mushrooms(boolean value) {
-            this.mushrooms = value;
-            return this;
+            return topping(MUSHROOMS, value);
         }
         
         public Builder olives(boolean value) {
-            this.olives = value;
-            return this;
+            return topping(OLIVES, value);
         }
         
         public Builder bacon(boolean value) {
-            this.bacon = value;
-            return this;
+            return topping(BACON, value);
         }
         
         public Builder onions(boolean value) {
-            this.onions = value;
-            return this;
+            return topping(ONIONS, value);
         }
         
         public Builder addExtraTopping(String topping) {
-            this.extraToppings.add(topping);
+            if (spilledExtras == null) {
+                int code = EXTRAS.codeOf(topping);
+                if (code > lastExtraCode) {
+                    extraBits |= 1L << (EXTRA_SHIFT + code);
+                    lastExtraCode = code;
+                    return this;
+                }
+                spilledExtras = new ArrayList<>();
+                addCodedExtras(extraBits, spilledExtras);
+            }
+            spilledExtras.add(topping);
+            return this;
+        }
+        
+        private Builder topping(int bit, boolean value) {
+            toppings = value ? toppings | bit : toppings & ~bit;
             return this;
         }
         
@@ -137,7 +264,19 @@ public class Pizza {
          * Build the Pizza instance
          */
         public Pizza build() {
-            return new Pizza(this);
+            int sizeCode = SIZES.codeOf(size);
+            int crustCode = CRUSTS.codeOf(crustType);
+            if (sizeCode != 0 && crustCode != 0 && spilledExtras == null) {
+                return new Pizza(toppings | (long) sizeCode << SIZE_SHIFT
+                        | (long) crustCode << CRUST_SHIFT | extraBits, null);
+            }
+            List<String> extras = spilledExtras;
+            if (extras == null) {
+                extras = new ArrayList<>();
+                addCodedExtras(extraBits, extras);
+            }
+            List<String> frozen = Collections.unmodifiableList(Arrays.asList(extras.toArray(new String[0])));
+            return new Pizza(toppings, new Spill(size, crustType, frozen));
         }
     }
 }
@@ -4,20 +4,20 @@ package md.utm.tmps.lab1.domain.models;
  * Tea beverage implementation
  */
 public class Tea extends Beverage {
-    private String teaType;
+    public static final BeveragePrices PRICES = BeveragePrices.of(200, 300, 400);
+    
+    private final String teaType;
     
     public Tea(String size, String teaType) {
-        super("Tea", size, calculatePrice(size));
-        this.teaType = teaType;
+        this(size, teaType, PRICES.priceCents(size));
     }
     
-    private static double calculatePrice(String size) {
-        return switch (size.toLowerCase()) {
-            case "small" -> 2.00;
-            case "medium" -> 3.00;
-            case "large" -> 4.00;
-            default -> 3.00;
-        };
+    /**
+     * @param priceCents price already looked up in a price table
+     */
+    public Tea(String size, String teaType, long priceCents) {
+        super("Tea", size, priceCents);
+        this.teaType = teaType;
     }
     
     @Override
@@ -3,6 +3,12 @@ package md.utm.tmps.lab1;
 import org.junit.jupiter.api.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
 // Explicit imports to avoid conflict between JUnit's @Order and domain Order class
 import md.utm.tmps.lab1.domain.models.OrderIdGenerator;
 import md.utm.tmps.lab1.domain.models.Pizza;
@@ -11,6 +17,8 @@ import md.utm.tmps.lab1.domain.models.Coffee;
 import md.utm.tmps.lab1.domain.models.Tea;
 import md.utm.tmps.lab1.domain.models.Juice;
 import md.utm.tmps.lab1.domain.models.Meal;
+import md.utm.tmps.lab1.domain.models.BeveragePrices;
+import md.utm.tmps.lab1.domain.models.BeverageSize;
 import md.utm.tmps.lab1.domain.factory.*;
 
 /**
@@ -222,4 +230,271 @@ public class CreationalPatternsTest {
         
         System.out.println("✓ Thread safety test passed - Singleton is thread-safe!");
     }
+    
+    @Test
+    @Order(7)
+    @DisplayName("Singleton: Lock-free ids stay unique with per-thread blocks")
+    public void testBlockAllocatedIds() throws InterruptedException {
+        OrderIdGenerator generator = OrderIdGenerator.getInstance();
+        generator.setBlockSize(1024);
+        try {
+            final long[][] ids = new long[8][5000];
+            Thread[] threads = new Thread[ids.length];
+            for (int i = 0; i < threads.length; i++) {
+                final long[] out = ids[i];
+                threads[i] = new Thread(() -> {
+                    for (int j = 0; j < out.length; j++) {
+                        out[j] = generator.generateLongOrderId();
+                    }
+                });
+                threads[i].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            
+            Set<Long> unique = new HashSet<>();
+            for (long[] perThread : ids) {
+                for (long id : perThread) {
+                    assertTrue(id >= 1000, "IDs should start at 1000");
+                    assertTrue(unique.add(id), "Duplicate id " + id);
+                }
+            }
+            
+            generator.reset();
+            assertEquals(1000, generator.generateOrderId(), "Reset should discard reserved blocks");
+        } finally {
+            generator.setBlockSize(1);
+        }
+        
+        System.out.println("✓ Block allocation test passed - Lock-free ids are unique!");
+    }
+    
+    @Test
+    @Order(8)
+    @DisplayName("Money: Order totals are exact sums of cents")
+    public void testExactTotals() {
+        md.utm.tmps.lab1.domain.models.Order order = new md.utm.tmps.lab1.domain.models.Order();
+        for (int i = 0; i < 1000; i++) {
+            order.addBeverage(BeverageFactory.createTea("Small", "Green"));
+            order.addBeverage(BeverageFactory.createCoffee("Medium", "Latte"));
+        }
+        order.addMeal(new ItalianMealFactory().createMeal());
+        
+        long expected = 1000 * (200 + 350) + new ItalianMealFactory().createMeal().getTotalPriceCents();
+        assertEquals(expected, order.calculateTotalCents());
+        assertEquals(expected / 100.0, order.calculateTotal());
+        assertEquals("Coffee (Large) - $4.50", BeverageFactory.createCoffee("Large", "Espresso").toString());
+        
+        System.out.println("✓ Money test passed - Totals are exact to the cent!");
+    }
+    
+    @Test
+    @Order(9)
+    @DisplayName("Builder: Packed pizzas keep every topping, size and crust")
+    public void testPackedPizza() {
+        Pizza supreme = new Pizza.Builder("Large", "Thick")
+                .cheese(true).pepperoni(true).mushrooms(true).olives(true).bacon(true).onions(true)
+                .addExtraTopping("Pineapple")
+                .addExtraTopping("Jalapenos")
+                .build();
+        Pizza reordered = new Pizza.Builder("Large", "Thick")
+                .addExtraTopping("Jalapenos")
+                .addExtraTopping("Pineapple")
+                .addExtraTopping("Jalapenos")
+                .build();
+        Pizza unusual = new Pizza.Builder("Family Size #" + System.nanoTime(), null)
+                .cheese(true).cheese(false)
+                .addExtraTopping(null)
+                .build();
+        
+        assertEquals(List.of("Pineapple", "Jalapenos"), supreme.getExtraToppings());
+        assertEquals(List.of("Jalapenos", "Pineapple", "Jalapenos"), reordered.getExtraToppings());
+        assertFalse(reordered.hasCheese());
+        assertEquals("Pizza [Large, Thick crust] - Toppings: Cheese, Pepperoni, Mushrooms, Olives, "
+                + "Bacon, Onions, Pineapple, Jalapenos", supreme.toString());
+        assertTrue(unusual.getSize().startsWith("Family Size #"));
+        assertNull(unusual.getCrustType());
+        assertFalse(unusual.hasCheese());
+        assertEquals(1, unusual.getExtraToppings().size());
+        
+        assertThrows(UnsupportedOperationException.class, () -> supreme.getExtraToppings().clear());
+        assertThrows(UnsupportedOperationException.class, () -> reordered.getExtraToppings().clear());
+        assertEquals(2, supreme.getExtraToppings().size());
+        
+        Pizza.Builder builder = new Pizza.Builder("Small", "Thin");
+        Pizza before = builder.build();
+        builder.addExtraTopping("Basil").onions(true);
+        assertTrue(before.getExtraToppings().isEmpty());
+        assertFalse(before.hasOnions());
+        assertEquals(List.of("Basil"), builder.build().getExtraToppings());
+        
+        System.out.println("✓ Packed pizza test passed - Same answers from one long!");
+    }
+    
+    @Test
+    @Order(10)
+    @DisplayName("Getters: Orders and pizzas hand out read-only views, not copies")
+    public void testReadOnlyViews() {
+        md.utm.tmps.lab1.domain.models.Order order = new md.utm.tmps.lab1.domain.models.Order();
+        Pizza pizza = new Pizza.Builder("Medium", "Thin")
+                .addExtraTopping("Basil")
+                .addExtraTopping("Garlic")
+                .build();
+        List<Pizza> empty = order.getPizzas();
+        order.addPizza(pizza);
+        List<Pizza> pizzas = order.getPizzas();
+        
+        assertTrue(empty.isEmpty());
+        assertSame(pizzas, order.getPizzas());
+        assertEquals(List.of(pizza), pizzas);
+        for (Pizza p : order.getPizzas()) {
+            order.addPizza(p);
+        }
+        assertEquals(List.of(pizza), pizzas);
+        assertEquals(2, order.getPizzas().size());
+        assertThrows(UnsupportedOperationException.class, () -> pizzas.add(pizza));
+        assertThrows(UnsupportedOperationException.class, () -> order.getBeverages().clear());
+        assertThrows(UnsupportedOperationException.class, () -> order.getMeals().add(null));
+        
+        List<String> extras = new ArrayList<>();
+        pizza.forEachExtraTopping(extras::add);
+        assertEquals(pizza.getExtraToppings(), extras);
+        assertEquals("Garlic", pizza.getExtraToppings().get(extras.indexOf("Garlic")));
+        
+        System.out.println("✓ Read-only views test passed - No copies on the getters!");
+    }
+    
+    @Test
+    @Order(11)
+    @DisplayName("Money: Pizzas have a real price and order totals are cached")
+    public void testCachedTotals() throws InterruptedException {
+        Pizza margherita = new Pizza.Builder("Medium", "Thin").cheese(true).build();
+        Pizza supreme = new Pizza.Builder("Large", "Thick")
+                .cheese(true).pepperoni(true).bacon(true)
+                .addExtraTopping("Jalapenos")
+                .build();
+        assertEquals(1299 + 100, margherita.getPriceCents());
+        assertEquals(1599 + 100 + 150 + 200 + 150, supreme.getPriceCents());
+        assertEquals(999, new Pizza.Builder("Small", "Thin").build().getPriceCents());
+        
+        Meal meal = new ItalianMealFactory().createMeal();
+        assertEquals(meal.getPizza().getPriceCents() + meal.getBeverage().getPriceCents(), meal.getTotalPriceCents());
+        
+        md.utm.tmps.lab1.domain.models.Order order = new md.utm.tmps.lab1.domain.models.Order();
+        md.utm.tmps.lab1.domain.models.Order.Snapshot empty = order.snapshot();
+        order.addPizza(margherita);
+        order.addPizza(supreme);
+        order.addBeverage(BeverageFactory.createTea("Small", "Green"));
+        order.addMeal(meal);
+        
+        md.utm.tmps.lab1.domain.models.Order.Snapshot snapshot = order.snapshot();
+        assertEquals(0, empty.totalCents());
+        assertEquals(4, snapshot.itemCount());
+        assertEquals(margherita.getPriceCents() + supreme.getPriceCents(), snapshot.pizzaCents());
+        assertEquals(snapshot.pizzaCents() + 200 + meal.getTotalPriceCents(), order.calculateTotalCents());
+        assertTrue(order.toString().contains("TOTAL: $" + md.utm.tmps.lab1.domain.models.Money.format(order.calculateTotalCents())));
+        
+        // A reporting thread only ever sees totals that match their counts
+        md.utm.tmps.lab1.domain.models.Order busy = new md.utm.tmps.lab1.domain.models.Order();
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 10_000; i++) {
+                busy.addPizza(margherita);
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            md.utm.tmps.lab1.domain.models.Order.Snapshot seen = busy.snapshot();
+            assertEquals(seen.pizzaCount() * margherita.getPriceCents(), seen.totalCents());
+            long listed = 0;
+            for (Pizza pizza : busy.getPizzas()) {
+                listed += pizza.getPriceCents();
+            }
+            assertTrue(listed >= seen.pizzaCents());
+        }
+        writer.join();
+        assertEquals(10_000 * margherita.getPriceCents(), busy.calculateTotalCents());
+        
+        System.out.println("✓ Cached totals test passed - Priced once, items and totals read from any thread!");
+    }
+    
+    @Test
+    @Order(12)
+    @DisplayName("Abstract Factory: Caching factory builds each meal once")
+    public void testCachingMealFactory() throws InterruptedException {
+        AtomicInteger builds = new AtomicInteger();
+        MealFactory counting = new MealFactory() {
+            private final MealFactory italian = new ItalianMealFactory();
+            
+            @Override
+            public Meal createMeal() {
+                builds.incrementAndGet();
+                return italian.createMeal();
+            }
+            
+            @Override
+            public String getMealType() {
+                return italian.getMealType();
+            }
+        };
+        MealFactory cached = CachingMealFactory.of(counting);
+        assertSame(cached, CachingMealFactory.of(cached));
+        
+        Meal[] seen = new Meal[8];
+        Thread[] threads = new Thread[seen.length];
+        for (int i = 0; i < threads.length; i++) {
+            int slot = i;
+            threads[i] = new Thread(() -> seen[slot] = cached.createMeal());
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        assertEquals(1, builds.get());
+        for (Meal meal : seen) {
+            assertSame(seen[0], meal);
+        }
+        assertEquals("Italian Classic", cached.getMealType());
+        assertEquals(new ItalianMealFactory().createMeal().toString(), cached.createMeal().toString());
+        
+        System.out.println("✓ Caching meal factory test passed - One meal, many orders!");
+    }
+    
+    @Test
+    @Order(13)
+    @DisplayName("Factory Method: Beverage types come from a registry")
+    public void testBeverageRegistry() {
+        Beverage typed = BeverageFactory.createBeverage(BeverageType.COFFEE, BeverageSize.LARGE, "Latte");
+        Beverage byName = BeverageFactory.createBeverage("COFFEE", "large", "Latte");
+        assertEquals(450, typed.getPriceCents());
+        assertEquals(typed.getPriceCents(), byName.getPriceCents());
+        assertEquals("Large", typed.getSize());
+        assertEquals("large", byName.getSize());
+        assertEquals(400, BeverageFactory.createBeverage("juice", "Jumbo", "Apple").getPriceCents());
+        assertSame(BeverageType.TEA, BeverageFactory.getType("Tea"));
+        assertThrows(IllegalArgumentException.class, () -> BeverageFactory.createBeverage("soda", "Small", "Cola"));
+        
+        BeverageType soda = BeverageType.of("Soda", BeveragePrices.of(150, 200, 250),
+                (size, flavor, priceCents) -> new Juice(size, flavor, priceCents));
+        BeverageFactory.register(soda);
+        assertSame(soda, BeverageFactory.getType("soda"));
+        assertEquals(250, BeverageFactory.createBeverage("SODA", "Large", "Cola").getPriceCents());
+        assertEquals(250, BeverageFactory.createBeverage("coffee", "Small", "Espresso").getPriceCents());
+        
+        @SuppressWarnings("deprecation")
+        Beverage legacy = new Beverage("Water", "Small", 1.29) {
+            @Override
+            public void prepare() {
+            }
+            
+            @Override
+            public String getDescription() {
+                return name;
+            }
+        };
+        assertEquals(129, legacy.getPriceCents());
+        
+        System.out.println("✓ Beverage registry test passed - New drinks without a new switch case!");
+    }
 }
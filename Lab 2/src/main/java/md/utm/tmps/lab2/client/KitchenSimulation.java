@@ -0,0 +1,198 @@
+package md.utm.tmps.lab2.client;
+
+import md.utm.tmps.lab2.domain.decorators.CheeseDecorator;
+import md.utm.tmps.lab2.domain.decorators.MushroomDecorator;
+import md.utm.tmps.lab2.domain.decorators.PepperoniDecorator;
+import md.utm.tmps.lab2.domain.events.EventSink;
+import md.utm.tmps.lab2.domain.facade.OrderManagementFacade;
+import md.utm.tmps.lab2.domain.models.BasePizza;
+import md.utm.tmps.lab2.domain.models.Order;
+import md.utm.tmps.lab2.domain.models.PizzaComponent;
+import md.utm.tmps.lab2.domain.subsystems.KitchenScheduler;
+import md.utm.tmps.lab2.domain.subsystems.KitchenService;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Simulation harness for the KitchenScheduler
+ *
+ * Orders arrive in bursts: every burst brings 1..burstSize orders at once,
+ * and the gaps between bursts are exponentially distributed. Each order has
+ * 1..maxPizzas pizzas and goes through OrderManagementFacade.processOrderAsync
+ * with the pizzas prepared on the scheduler's stations. Every pizza occupies
+ * its station for the bake time +-50%.
+ *
+ * The report gives the order turnaround time (processOrderAsync call to READY
+ * and notified) and, per station, its utilization and how many pizzas it
+ * stole from other stations during the run.
+ *
+ * Run main() to compare a few arrival rates with the default kitchen.
+ */
+public class KitchenSimulation {
+
+    /**
+     * @param stations number of kitchen stations
+     * @param orders orders placed during the run
+     * @param burstSize largest number of orders arriving together
+     * @param meanGapMicros mean time between bursts
+     * @param maxPizzas largest number of pizzas per order
+     * @param bakeMicros mean time a pizza occupies its station
+     * @param seed seed of the arrival pattern
+     */
+    public record Config(int stations, int orders, int burstSize, long meanGapMicros,
+                         int maxPizzas, long bakeMicros, long seed) {
+
+        /**
+         * @return expected fraction of station time the arrivals ask for;
+         *         above 1 the queues grow for as long as the run lasts
+         */
+        public double offeredLoad() {
+            double ordersPerMicro = (burstSize + 1) / 2.0 / meanGapMicros;
+            double pizzasPerOrder = (maxPizzas + 1) / 2.0;
+            return ordersPerMicro * pizzasPerOrder * bakeMicros / stations;
+        }
+    }
+
+    /**
+     * @param turnaroundNanos sorted turnaround time of every order
+     * @param stationStats counters of each station over the run
+     */
+    public record Report(Config config, long elapsedNanos, long[] turnaroundNanos,
+                         List<KitchenScheduler.StationStats> stationStats, int failedOrders) {
+
+        public double getUtilization(int station) {
+            return stationStats.get(station).busyNanos() / (double) elapsedNanos;
+        }
+
+        public double getMeanUtilization() {
+            long busy = 0;
+            for (KitchenScheduler.StationStats stats : stationStats) {
+                busy += stats.busyNanos();
+            }
+            return busy / (double) elapsedNanos / stationStats.size();
+        }
+
+        public long getStolenCount() {
+            long stolen = 0;
+            for (KitchenScheduler.StationStats stats : stationStats) {
+                stolen += stats.stolen();
+            }
+            return stolen;
+        }
+
+        /**
+         * @param fraction 0.5 for the median, 0.99 for p99
+         */
+        public long getTurnaroundNanos(double fraction) {
+            return turnaroundNanos[(int) (fraction * (turnaroundNanos.length - 1))];
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("%d stations, %d orders, offered load %.2f, %d ms, %,.0f orders/s%n",
+                    config.stations(), turnaroundNanos.length, config.offeredLoad(),
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), turnaroundNanos.length * 1e9 / elapsedNanos));
+            sb.append(String.format("  turnaround  p50 %7.2f ms  p90 %7.2f ms  p99 %7.2f ms  max %7.2f ms%n",
+                    getTurnaroundNanos(0.50) / 1e6, getTurnaroundNanos(0.90) / 1e6,
+                    getTurnaroundNanos(0.99) / 1e6, turnaroundNanos[turnaroundNanos.length - 1] / 1e6));
+            for (int i = 0; i < stationStats.size(); i++) {
+                KitchenScheduler.StationStats stats = stationStats.get(i);
+                sb.append(String.format("  station %-2d %5.1f%% busy  %6d pizzas  %6d stolen%n",
+                        i, 100 * getUtilization(i), stats.prepared(), stats.stolen()));
+            }
+            sb.append(String.format("  mean       %5.1f%% busy  %d failed orders",
+                    100 * getMeanUtilization(), failedOrders));
+            return sb.toString();
+        }
+    }
+
+    public static void main(String[] args) {
+        for (long gapMicros : new long[] {5_000, 3_300, 2_600}) {
+            Config config = new Config(4, 2_000, 6, gapMicros, 3, 1_500, 42);
+            System.out.println(run(config));
+            System.out.println();
+        }
+    }
+
+    /**
+     * Runs one simulation on a fresh kitchen
+     */
+    public static Report run(Config config) {
+        long bakeNanos = TimeUnit.MICROSECONDS.toNanos(config.bakeMicros());
+        KitchenScheduler scheduler = new KitchenScheduler(new KitchenService(), config.stations(),
+                pizza -> bakeNanos / 2 + ThreadLocalRandom.current().nextLong(bakeNanos + 1));
+        try {
+            return run(config, scheduler);
+        } finally {
+            scheduler.close();
+        }
+    }
+
+    private static Report run(Config config, KitchenScheduler scheduler) {
+        OrderManagementFacade facade = new OrderManagementFacade(EventSink.noOp(), scheduler);
+        PizzaComponent[] menu = {
+                new CheeseDecorator(new BasePizza("Small", "Thin"), "Mozzarella").seal(),
+                new PepperoniDecorator(new CheeseDecorator(new BasePizza("Medium", "Thick"), "Mozzarella")).seal(),
+                new MushroomDecorator(new PepperoniDecorator(new BasePizza("Large", "Thin"))).seal()
+        };
+        SplittableRandom random = new SplittableRandom(config.seed());
+        int[] orderIds = new int[config.orders()];
+        for (int i = 0; i < orderIds.length; i++) {
+            orderIds[i] = facade.createOrder().getOrderId();
+            int pizzas = 1 + random.nextInt(config.maxPizzas());
+            for (int p = 0; p < pizzas; p++) {
+                facade.addPizzaToOrder(orderIds[i], menu[random.nextInt(menu.length)]);
+            }
+        }
+
+        long[] turnaround = new long[orderIds.length];
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch finished = new CountDownLatch(orderIds.length);
+        List<KitchenScheduler.StationStats> before = scheduler.getStationStats();
+        long start = System.nanoTime();
+        long nextBurst = start;
+        int placed = 0;
+        while (placed < orderIds.length) {
+            LockSupport.parkNanos(nextBurst - System.nanoTime());
+            int burst = Math.min(1 + random.nextInt(config.burstSize()), orderIds.length - placed);
+            for (int b = 0; b < burst; b++, placed++) {
+                int index = placed;
+                long submitted = System.nanoTime();
+                facade.processOrderAsync(orderIds[index], "sim@email.com").whenComplete((order, error) -> {
+                    turnaround[index] = System.nanoTime() - submitted;
+                    if (error != null || order.getStatus() != Order.OrderStatus.READY) {
+                        failed.incrementAndGet();
+                    }
+                    finished.countDown();
+                });
+            }
+            double gap = -Math.log(1 - random.nextDouble()) * config.meanGapMicros();
+            nextBurst += (long) (gap * 1_000);
+        }
+        try {
+            finished.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        List<KitchenScheduler.StationStats> after = scheduler.getStationStats();
+        KitchenScheduler.StationStats[] delta = new KitchenScheduler.StationStats[after.size()];
+        for (int i = 0; i < delta.length; i++) {
+            KitchenScheduler.StationStats a = after.get(i);
+            KitchenScheduler.StationStats b = before.get(i);
+            delta[i] = new KitchenScheduler.StationStats(i, a.busyNanos() - b.busyNanos(),
+                    a.prepared() - b.prepared(), a.stolen() - b.stolen());
+        }
+        Arrays.sort(turnaround);
+        return new Report(config, elapsed, turnaround, List.of(delta), failed.get());
+    }
+}
@@ -1,8 +1,10 @@
 package md.utm.tmps.lab2.client;
 
 import md.utm.tmps.lab2.domain.decorators.*;
+import md.utm.tmps.lab2.domain.events.EventSink;
 import md.utm.tmps.lab2.domain.facade.OrderManagementFacade;
 import md.utm.tmps.lab2.domain.models.BasePizza;
+import md.utm.tmps.lab2.domain.models.Money;
 import md.utm.tmps.lab2.domain.models.Order;
 import md.utm.tmps.lab2.domain.models.PizzaComponent;
 import md.utm.tmps.lab2.domain.payment.PaymentProcessor;
@@ -21,6 +23,9 @@ import md.utm.tmps.lab2.domain.payment.adapters.*;
  */
 public class Main {
     
+    // Every subsystem reports its steps to the console in the demonstration
+    private static final EventSink CONSOLE = EventSink.console();
+    
     public static void main(String[] args) {
         printHeader();
         
@@ -66,7 +71,7 @@ public class Main {
         margherita = new CheeseDecorator(margherita, "Mozzarella");
         
         System.out.println("\nDescription: " + margherita.getDescription());
-        System.out.println("Cost: $" + String.format("%.2f", margherita.getCost()));
+        System.out.println("Cost: $" + Money.format(margherita.getCostCents()));
         System.out.println("\nPreparation steps:");
         margherita.prepare();
         
@@ -81,7 +86,7 @@ public class Main {
         meatLovers = new BaconDecorator(meatLovers);
         
         System.out.println("\nDescription: " + meatLovers.getDescription());
-        System.out.println("Cost: $" + String.format("%.2f", meatLovers.getCost()));
+        System.out.println("Cost: $" + Money.format(meatLovers.getCostCents()));
         System.out.println("\nPreparation steps:");
         meatLovers.prepare();
         
@@ -99,7 +104,7 @@ public class Main {
         vegSupreme = new VegetableDecorator(vegSupreme, "Tomatoes");
         
         System.out.println("\nDescription: " + vegSupreme.getDescription());
-        System.out.println("Cost: $" + String.format("%.2f", vegSupreme.getCost()));
+        System.out.println("Cost: $" + Money.format(vegSupreme.getCostCents()));
         System.out.println("\nPreparation steps:");
         vegSupreme.prepare();
         
@@ -124,7 +129,7 @@ public class Main {
         System.out.println("Example 1: PayPal Payment Adapter");
         System.out.println("─────────────────────────────────────────────────────────────");
         
-        PaymentProcessor paypalProcessor = new PayPalAdapter();
+        PaymentProcessor paypalProcessor = new PayPalAdapter(CONSOLE);
         System.out.println("\nPayment Method: " + paypalProcessor.getPaymentMethod());
         System.out.println("Validating email: customer@example.com");
         
@@ -139,7 +144,7 @@ public class Main {
         System.out.println("Example 2: Stripe Payment Adapter");
         System.out.println("─────────────────────────────────────────────────────────────");
         
-        PaymentProcessor stripeProcessor = new StripeAdapter();
+        PaymentProcessor stripeProcessor = new StripeAdapter(CONSOLE);
         System.out.println("\nPayment Method: " + stripeProcessor.getPaymentMethod());
         System.out.println("Validating card token: tok_visa_4242424242424242");
         
@@ -154,7 +159,7 @@ public class Main {
         System.out.println("Example 3: Cash Payment Adapter");
         System.out.println("─────────────────────────────────────────────────────────────");
         
-        PaymentProcessor cashProcessor = new CashAdapter();
+        PaymentProcessor cashProcessor = new CashAdapter(CONSOLE);
         System.out.println("\nPayment Method: " + cashProcessor.getPaymentMethod());
         System.out.println("Validating cash amount: $50.00");
         
@@ -186,7 +191,7 @@ public class Main {
         System.out.println("  5. PaymentProcessor - Processes payments\n");
         
         // Create facade
-        OrderManagementFacade orderFacade = new OrderManagementFacade();
+        OrderManagementFacade orderFacade = new OrderManagementFacade(CONSOLE);
         
         // Create and process a simple order
         System.out.println("─────────────────────────────────────────────────────────────");
@@ -211,7 +216,7 @@ public class Main {
         orderFacade.processOrder(orderId, "customer@email.com");
         
         // Step 5: Complete payment (coordinates payment and final notifications)
-        PaymentProcessor paymentMethod = new PayPalAdapter();
+        PaymentProcessor paymentMethod = new PayPalAdapter(CONSOLE);
         orderFacade.completePayment(orderId, paymentMethod, 
                                    "customer@email.com", "customer@email.com");
         
@@ -228,7 +233,7 @@ public class Main {
         System.out.println("║ COMPLETE SCENARIO - All Patterns Working Together         ║");
         System.out.println("╚════════════════════════════════════════════════════════════╝\n");
         
-        OrderManagementFacade facade = new OrderManagementFacade();
+        OrderManagementFacade facade = new OrderManagementFacade(CONSOLE);
         
         // Scenario: Customer orders multiple pizzas with different toppings
         // and pays with Stripe
@@ -271,7 +276,7 @@ public class Main {
         facade.processOrder(orderId, "john.doe@email.com");
         
         // Payment using Adapter pattern through Facade
-        PaymentProcessor stripePayment = new StripeAdapter();
+        PaymentProcessor stripePayment = new StripeAdapter(CONSOLE);
         facade.completePayment(orderId, stripePayment, 
                              "tok_mastercard_5555555555554444", "john.doe@email.com");
         
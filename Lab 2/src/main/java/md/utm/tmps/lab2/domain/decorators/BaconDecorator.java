@@ -1,12 +1,17 @@
 package md.utm.tmps.lab2.domain.decorators;
 
+import md.utm.tmps.lab2.domain.events.EventSink;
+import md.utm.tmps.lab2.domain.events.EventType;
+import md.utm.tmps.lab2.domain.flyweight.Topping;
 import md.utm.tmps.lab2.domain.models.PizzaComponent;
 import md.utm.tmps.lab2.domain.models.ToppingDecorator;
+import md.utm.tmps.lab2.domain.pricing.PricingEngine;
 
 /**
  * Concrete Decorator - Bacon topping
  */
 public class BaconDecorator extends ToppingDecorator {
+    private final long priceCents = PricingEngine.getDefault().toppingPriceCents(Topping.Kind.BACON);
     
     public BaconDecorator(PizzaComponent pizza) {
         super(pizza);
@@ -18,13 +23,13 @@ public class BaconDecorator extends ToppingDecorator {
     }
     
     @Override
-    public double getCost() {
-        return pizza.getCost() + 2.50;
+    public long getCostCents() {
+        return pizza.getCostCents() + priceCents;
     }
     
     @Override
-    public void prepare() {
-        pizza.prepare();
-        System.out.println("  → Adding crispy bacon strips (+$2.50)");
+    public void prepare(EventSink events) {
+        pizza.prepare(events);
+        events.record(EventType.TOPPING_ADDED, 0, priceCents, "crispy bacon strips");
     }
 }
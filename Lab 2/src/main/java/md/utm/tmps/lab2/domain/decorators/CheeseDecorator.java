@@ -1,32 +1,37 @@
 package md.utm.tmps.lab2.domain.decorators;
 
+import md.utm.tmps.lab2.domain.events.EventSink;
+import md.utm.tmps.lab2.domain.events.EventType;
+import md.utm.tmps.lab2.domain.flyweight.Topping;
 import md.utm.tmps.lab2.domain.models.PizzaComponent;
 import md.utm.tmps.lab2.domain.models.ToppingDecorator;
+import md.utm.tmps.lab2.domain.pricing.PricingEngine;
 
 /**
  * Concrete Decorator - Cheese topping
  */
 public class CheeseDecorator extends ToppingDecorator {
-    private final String cheeseType;
+    private final long priceCents = PricingEngine.getDefault().toppingPriceCents(Topping.Kind.CHEESE);
+    private final String cheeseName;
     
     public CheeseDecorator(PizzaComponent pizza, String cheeseType) {
         super(pizza);
-        this.cheeseType = cheeseType;
+        this.cheeseName = cheeseType + " cheese";
     }
     
     @Override
     public String getDescription() {
-        return pizza.getDescription() + ", " + cheeseType + " cheese";
+        return pizza.getDescription() + ", " + cheeseName;
     }
     
     @Override
-    public double getCost() {
-        return pizza.getCost() + 1.50;
+    public long getCostCents() {
+        return pizza.getCostCents() + priceCents;
     }
     
     @Override
-    public void prepare() {
-        pizza.prepare();
-        System.out.println("  → Adding " + cheeseType + " cheese (+$1.50)");
+    public void prepare(EventSink events) {
+        pizza.prepare(events);
+        events.record(EventType.TOPPING_ADDED, 0, priceCents, cheeseName);
     }
 }
@@ -1,12 +1,17 @@
 package md.utm.tmps.lab2.domain.decorators;
 
+import md.utm.tmps.lab2.domain.events.EventSink;
+import md.utm.tmps.lab2.domain.events.EventType;
+import md.utm.tmps.lab2.domain.flyweight.Topping;
 import md.utm.tmps.lab2.domain.models.PizzaComponent;
 import md.utm.tmps.lab2.domain.models.ToppingDecorator;
+import md.utm.tmps.lab2.domain.pricing.PricingEngine;
 
 /**
  * Concrete Decorator - Mushroom topping
  */
 public class MushroomDecorator extends ToppingDecorator {
+    private final long priceCents = PricingEngine.getDefault().toppingPriceCents(Topping.Kind.MUSHROOM);
     
     public MushroomDecorator(PizzaComponent pizza) {
         super(pizza);
@@ -18,13 +23,13 @@ public class MushroomDecorator extends ToppingDecorator {
     }
     
     @Override
-    public double getCost() {
-        return pizza.getCost() + 1.25;
+    public long getCostCents() {
+        return pizza.getCostCents() + priceCents;
     }
     
     @Override
-    public void prepare() {
-        pizza.prepare();
-        System.out.println("  → Adding fresh mushrooms (+$1.25)");
+    public void prepare(EventSink events) {
+        pizza.prepare(events);
+        events.record(EventType.TOPPING_ADDED, 0, priceCents, "fresh mushrooms");
     }
 }
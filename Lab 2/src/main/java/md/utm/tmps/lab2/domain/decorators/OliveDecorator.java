@@ -1,32 +1,37 @@
 package md.utm.tmps.lab2.domain.decorators;
 
+import md.utm.tmps.lab2.domain.events.EventSink;
+import md.utm.tmps.lab2.domain.events.EventType;
+import md.utm.tmps.lab2.domain.flyweight.Topping;
 import md.utm.tmps.lab2.domain.models.PizzaComponent;
 import md.utm.tmps.lab2.domain.models.ToppingDecorator;
+import md.utm.tmps.lab2.domain.pricing.PricingEngine;
 
 /**
  * Concrete Decorator - Olive topping
  */
 public class OliveDecorator extends ToppingDecorator {
-    private final String oliveType;
+    private final long priceCents = PricingEngine.getDefault().toppingPriceCents(Topping.Kind.OLIVE);
+    private final String oliveName;
     
     public OliveDecorator(PizzaComponent pizza, String oliveType) {
         super(pizza);
-        this.oliveType = oliveType;
+        this.oliveName = oliveType + " olives";
     }
     
     @Override
     public String getDescription() {
-        return pizza.getDescription() + ", " + oliveType + " olives";
+        return pizza.getDescription() + ", " + oliveName;
     }
     
     @Override
-    public double getCost() {
-        return pizza.getCost() + 1.00;
+    public long getCostCents() {
+        return pizza.getCostCents() + priceCents;
     }
     
     @Override
-    public void prepare() {
-        pizza.prepare();
-        System.out.println("  → Adding " + oliveType + " olives (+$1.00)");
+    public void prepare(EventSink events) {
+        pizza.prepare(events);
+        events.record(EventType.TOPPING_ADDED, 0, priceCents, oliveName);
     }
 }
@@ -1,12 +1,17 @@
 package md.utm.tmps.lab2.domain.decorators;
 
+import md.utm.tmps.lab2.domain.events.EventSink;
+import md.utm.tmps.lab2.domain.events.EventType;
+import md.utm.tmps.lab2.domain.flyweight.Topping;
 import md.utm.tmps.lab2.domain.models.PizzaComponent;
 import md.utm.tmps.lab2.domain.models.ToppingDecorator;
+import md.utm.tmps.lab2.domain.pricing.PricingEngine;
 
 /**
  * Concrete Decorator - Pepperoni topping
  */
 public class PepperoniDecorator extends ToppingDecorator {
+    private final long priceCents = PricingEngine.getDefault().toppingPriceCents(Topping.Kind.PEPPERONI);
     
     public PepperoniDecorator(PizzaComponent pizza) {
         super(pizza);
@@ -18,13 +23,13 @@ public class PepperoniDecorator extends ToppingDecorator {
     }
     
     @Override
-    public double getCost() {
-        return pizza.getCost() + 2.00;
+    public long getCostCents() {
+        return pizza.getCostCents() + priceCents;
     }
     
     @Override
-    public void prepare() {
-        pizza.prepare();
-        System.out.println("  → Adding pepperoni slices (+$2.00)");
+    public void prepare(EventSink events) {
+        pizza.prepare(events);
+        events.record(EventType.TOPPING_ADDED, 0, priceCents, "pepperoni slices");
     }
 }
@@ -1,12 +1,17 @@
 package md.utm.tmps.lab2.domain.decorators;
 
+import md.utm.tmps.lab2.domain.events.EventSink;
+import md.utm.tmps.lab2.domain.events.EventType;
+import md.utm.tmps.lab2.domain.flyweight.Topping;
 import md.utm.tmps.lab2.domain.models.PizzaComponent;
 import md.utm.tmps.lab2.domain.models.ToppingDecorator;
+import md.utm.tmps.lab2.domain.pricing.PricingEngine;
 
 /**
  * Concrete Decorator - Vegetable topping
  */
 public class VegetableDecorator extends ToppingDecorator {
+    private final long priceCents = PricingEngine.getDefault().toppingPriceCents(Topping.Kind.VEGETABLE);
     private final String vegetableType;
     
     public VegetableDecorator(PizzaComponent pizza, String vegetableType) {
@@ -20,13 +25,13 @@ public class VegetableDecorator extends ToppingDecorator {
     }
     
     @Override
-    public double getCost() {
-        return pizza.getCost() + 0.75;
+    public long getCostCents() {
+        return pizza.getCostCents() + priceCents;
     }
     
     @Override
-    public void prepare() {
-        pizza.prepare();
-        System.out.println("  → Adding " + vegetableType + " (+$0.75)");
+    public void prepare(EventSink events) {
+        pizza.prepare(events);
+        events.record(EventType.TOPPING_ADDED, 0, priceCents, vegetableType);
     }
 }
@@ -0,0 +1,217 @@
+package md.utm.tmps.lab2.domain.events;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sink that hands events to a background writer through a bounded ring buffer
+ *
+ * Producers claim a slot with a CAS on the claim cursor, fill the preallocated
+ * slot arrays and publish the slot's sequence number. A single writer thread
+ * renders published events to the target Appendable in order. Producers never
+ * block and never allocate: when the ring is full the event is dropped and
+ * counted instead, so a slow console cannot stall order processing.
+ *
+ * Call close() to drain outstanding events and stop the writer. Closing sets
+ * a flag in the claim cursor itself, so a producer either claimed its slot
+ * before the close - and the writer renders it - or fails its CAS and counts
+ * the event as dropped; no event is lost in between.
+ *
+ * An idle writer polls briefly, then parks until a producer publishes and
+ * wakes it. If the target throws, the writer counts the failure, keeps the
+ * first exception and goes on draining; close() rethrows it.
+ */
+public final class AsyncEventSink implements EventSink, AutoCloseable {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final int IDLE_POLLS = 20;
+    private static final long CLOSED = Long.MIN_VALUE;
+
+    private final Appendable target;
+    private final EventType[] types;
+    private final long[] orderIds;
+    private final long[] amounts;
+    private final String[] details;
+    private final AtomicLongArray published;
+    private final int mask;
+
+    // next sequence to claim, with the CLOSED bit set once close() was called
+    private final AtomicLong claimed = new AtomicLong();
+    private volatile long consumed;
+    private final LongAdder dropped = new LongAdder();
+
+    // written only by the writer thread
+    private volatile long failedWrites;
+    private volatile RuntimeException failure;
+
+    private final Thread writer;
+    private volatile boolean parked;
+
+    /**
+     * @param target where rendered events are written, e.g. System.out
+     * @param capacity ring size, rounded up to a power of two
+     */
+    public AsyncEventSink(Appendable target, int capacity) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity out of range: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.target = target;
+        this.types = new EventType[size];
+        this.orderIds = new long[size];
+        this.amounts = new long[size];
+        this.details = new String[size];
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            published.set(i, -1L);
+        }
+        this.mask = size - 1;
+
+        this.writer = new Thread(this::drainLoop, "async-event-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void record(EventType type, long orderId, long amountCents, String detail) {
+        long seq;
+        do {
+            seq = claimed.get();
+            if ((seq & CLOSED) != 0 || seq - consumed >= types.length) {
+                dropped.increment();
+                return;
+            }
+        } while (!claimed.compareAndSet(seq, seq + 1));
+
+        int slot = (int) (seq & mask);
+        types[slot] = type;
+        orderIds[slot] = orderId;
+        amounts[slot] = amountCents;
+        details[slot] = detail;
+        // a volatile write, so the writer cannot park after missing it while we miss the flag
+        published.set(slot, seq);
+        if (parked) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * @return number of events discarded because the ring was full or closed
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return number of events written to the target so far
+     */
+    public long getWrittenCount() {
+        return consumed - failedWrites;
+    }
+
+    /**
+     * @return number of events the target failed to write
+     */
+    public long getFailedCount() {
+        return failedWrites;
+    }
+
+    /**
+     * Stops accepting events, waits for the writer to render everything
+     * already published and flushes the target if it is Flushable
+     * @throws UncheckedIOException or another RuntimeException - the first
+     *         failure of the target, if any write or flush failed
+     */
+    @Override
+    public void close() {
+        claimed.getAndUpdate(seq -> seq | CLOSED);
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void drainLoop() {
+        long next = 0;
+        boolean unflushed = false;
+        int idlePolls = 0;
+        while (true) {
+            int slot = (int) (next & mask);
+            if (published.getAcquire(slot) == next) {
+                if (!write(types[slot], orderIds[slot], amounts[slot], details[slot])) {
+                    failedWrites++;
+                }
+                details[slot] = null;
+                consumed = ++next;
+                unflushed = true;
+                idlePolls = 0;
+                continue;
+            }
+            if (unflushed) {
+                flush();
+                unflushed = false;
+            }
+            long end = claimed.get();
+            if ((end & CLOSED) != 0 && next >= (end & ~CLOSED)) {
+                return;
+            }
+            // Nothing published yet, or a producer is between claim and publish
+            if (idlePolls < IDLE_POLLS) {
+                idlePolls++;
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+            parked = true;
+            if (published.get(slot) != next && claimed.get() == end) {
+                LockSupport.park(this);
+            }
+            parked = false;
+        }
+    }
+
+    /**
+     * @return false if the target threw
+     */
+    private boolean write(EventType type, long orderId, long amountCents, String detail) {
+        try {
+            target.append(type.render(orderId, amountCents, detail)).append(System.lineSeparator());
+            return true;
+        } catch (IOException e) {
+            fail(new UncheckedIOException(e));
+        } catch (RuntimeException e) {
+            fail(e);
+        }
+        return false;
+    }
+
+    private void flush() {
+        if (target instanceof Flushable flushable) {
+            try {
+                flushable.flush();
+            } catch (IOException e) {
+                fail(new UncheckedIOException(e));
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+    }
+
+    private void fail(RuntimeException e) {
+        if (failure == null) {
+            failure = e;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package md.utm.tmps.lab2.domain.events;
+
+import java.io.PrintStream;
+
+/**
+ * Sink that renders every event immediately, reproducing the
+ * step-by-step output of the demonstration
+ */
+public class ConsoleEventSink implements EventSink {
+    static final ConsoleEventSink STDOUT = new ConsoleEventSink(System.out);
+
+    private final PrintStream out;
+
+    public ConsoleEventSink(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void record(EventType type, long orderId, long amountCents, String detail) {
+        out.println(type.render(orderId, amountCents, detail));
+    }
+}
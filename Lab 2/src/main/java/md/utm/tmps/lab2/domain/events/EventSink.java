@@ -0,0 +1,48 @@
+package md.utm.tmps.lab2.domain.events;
+
+/**
+ * Destination for the structured events emitted by the facade, its subsystems,
+ * the pizzas being prepared and the payment adapters.
+ *
+ * An event is a type plus three primitive-friendly fields, so emitting one never
+ * builds a String: message text is only rendered by sinks that print.
+ *
+ * Implementations:
+ * - NoOpEventSink - discards everything (the default everywhere)
+ * - ConsoleEventSink - renders each event to System.out as it happens
+ * - RecordingEventSink - keeps the last N events in preallocated arrays
+ * - AsyncEventSink - ring buffer drained and rendered by a background thread
+ */
+public interface EventSink {
+
+    /**
+     * Records one event. Must be safe to call from multiple threads.
+     * @param type what happened
+     * @param orderId order the event belongs to, 0 if none
+     * @param amountCents money amount attached to the event in cents, 0 if none
+     * @param detail extra text (contact, status, topping...), null if none
+     */
+    void record(EventType type, long orderId, long amountCents, String detail);
+
+    default void record(EventType type, long orderId) {
+        record(type, orderId, 0, null);
+    }
+
+    default void record(EventType type, long orderId, String detail) {
+        record(type, orderId, 0, detail);
+    }
+
+    /**
+     * @return the shared sink that discards all events
+     */
+    static EventSink noOp() {
+        return NoOpEventSink.INSTANCE;
+    }
+
+    /**
+     * @return the shared sink printing events to System.out
+     */
+    static EventSink console() {
+        return ConsoleEventSink.STDOUT;
+    }
+}
@@ -0,0 +1,99 @@
+package md.utm.tmps.lab2.domain.events;
+
+import md.utm.tmps.lab2.domain.models.Money;
+
+/**
+ * Every event the ordering system can emit, together with the text it is
+ * rendered to by printing sinks. Rendering happens only in those sinks,
+ * never on the thread doing the actual work.
+ */
+public enum EventType {
+    // Facade
+    ORDER_CREATING((id, amount, detail) -> banner("Creating New Order                                         ")),
+    ORDER_CREATED((id, amount, detail) -> "✓ Order #" + id + " created successfully\n"),
+    ORDER_NOT_FOUND((id, amount, detail) -> "✗ Order #" + id + " not found"),
+    PIZZA_ADDED((id, amount, detail) -> "✓ Pizza added to Order #" + id),
+    ORDER_QUEUED((id, amount, detail) -> "✓ Order #" + id + " queued for the kitchen"),
+    ORDER_PROCESSING((id, amount, detail) ->
+            banner("Processing Order #" + String.format("%-5d", id) + "                                    ")),
+    ORDER_READY_FOR_PAYMENT((id, amount, detail) -> "\n✓ Order #" + id + " is ready for payment and pickup\n"),
+    PAYMENT_STARTED((id, amount, detail) ->
+            banner("Processing Payment for Order #" + String.format("%-5d", id) + "                   ")),
+    PAYMENT_ORDER_NOT_READY((id, amount, detail) -> "✗ Order is not ready for payment (Status: " + detail + ")"),
+    PAYMENT_DETAILS_INVALID((id, amount, detail) -> "✗ Invalid payment details"),
+    PAYMENT_PROCESSING((id, amount, detail) -> "Processing payment via " + detail + "..."),
+    PAYMENT_SUCCEEDED((id, amount, detail) -> "\n✓ Payment successful! Order #" + id + " completed\n"),
+    PAYMENT_FAILED((id, amount, detail) -> "\n✗ Payment failed\n"),
+
+    // Inventory
+    ORDER_REGISTERED((id, amount, detail) -> "  → Inventory: Order #" + id + " registered"),
+    ORDER_STATUS_UPDATED((id, amount, detail) -> "  → Inventory: Order #" + id + " status updated to " + detail),
+
+    // Kitchen and pizza preparation
+    ORDER_PREPARATION_STARTED((id, amount, detail) -> "  → Kitchen: Starting preparation for Order #" + id),
+    PIZZA_PREPARATION_STARTED((id, amount, detail) -> "  → Kitchen: Starting pizza preparation"),
+    CRUST_PREPARED((id, amount, detail) -> "  → Preparing " + detail + " crust"),
+    PIZZA_BAKED((id, amount, detail) -> "  → Baking " + detail + " size pizza"),
+    TOPPING_ADDED((id, amount, detail) -> "  → Adding " + detail + " (+$" + money(amount) + ")"),
+    PIZZA_PREPARED((id, amount, detail) -> "  → Kitchen: Pizza ready!"),
+    ORDER_PREPARATION_COMPLETED((id, amount, detail) ->
+            "  → Kitchen: Order #" + id + " completed and ready for pickup"),
+    KITCHEN_CALLBACK_FAILED((id, amount, detail) -> "  ✗ Kitchen: Pizza completion callback failed: " + detail),
+
+    // Notifications
+    ORDER_CONFIRMATION_SENT((id, amount, detail) -> "  → Notification: Order confirmation sent to " + detail
+            + "\n    'Your order #" + id + " has been received and is being prepared'"),
+    ORDER_READY_SENT((id, amount, detail) -> "  → Notification: Ready notification sent to " + detail
+            + "\n    'Your order #" + id + " is ready for pickup!'"),
+    PAYMENT_CONFIRMATION_SENT((id, amount, detail) -> "  → Notification: Payment confirmation sent"
+            + "\n    'Payment of $" + money(amount) + " via " + detail + " was successful'"),
+
+    // Payment adapters
+    PAYPAL_ADAPTER_CONVERTING((id, amount, detail) -> "PayPal Adapter: Converting request for " + detail),
+    STRIPE_ADAPTER_CONVERTING((id, amount, detail) -> "Stripe Adapter: Converting $" + money(amount)
+            + " to " + amount + " cents for " + detail),
+    CASH_ADAPTER_CONVERTING((id, amount, detail) -> "Cash Adapter: Converting cash payment request"),
+    CASH_AMOUNT_INVALID((id, amount, detail) -> "  → Cash Adapter: Invalid cash amount format"),
+
+    // External payment systems
+    PAYPAL_PAYMENT_SENT((id, amount, detail) -> "  → PayPal: Connecting to PayPal servers..."
+            + "\n  → PayPal: Sending payment of $" + money(amount) + " to " + detail
+            + "\n  → PayPal: Payment authorized by PayPal"),
+    STRIPE_CHARGED((id, amount, detail) -> "  → Stripe: Initializing Stripe SDK..."
+            + "\n  → Stripe: Charging $" + money(amount) + " to card token: " + detail
+            + "\n  → Stripe: Transaction approved"),
+    CASH_AMOUNT_DUE((id, amount, detail) -> "  → Cash Register: Payment amount: $" + money(amount)),
+    CASH_RECEIVED((id, amount, detail) -> "  → Cash Register: Cash received: $" + money(amount)),
+    CASH_CHANGE_GIVEN((id, amount, detail) -> "  → Cash Register: Change due: $" + money(amount)
+            + "\n  → Cash Register: Transaction complete"),
+    CASH_INSUFFICIENT((id, amount, detail) -> "  → Cash Register: Insufficient cash received");
+
+    private final Renderer renderer;
+
+    EventType(Renderer renderer) {
+        this.renderer = renderer;
+    }
+
+    /**
+     * Renders the event to its human-readable message
+     * @param amountCents money amount in cents, shown in dollars
+     */
+    public String render(long orderId, long amountCents, String detail) {
+        return renderer.render(orderId, amountCents, detail);
+    }
+
+    private static String banner(String title) {
+        return "\n╔════════════════════════════════════════════════════════════╗"
+                + "\n║ " + title + "║"
+                + "\n╚════════════════════════════════════════════════════════════╝";
+    }
+
+    private static String money(long cents) {
+        return Money.format(cents);
+    }
+
+    @FunctionalInterface
+    private interface Renderer {
+        String render(long orderId, long amountCents, String detail);
+    }
+}
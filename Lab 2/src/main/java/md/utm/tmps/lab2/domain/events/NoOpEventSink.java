@@ -0,0 +1,17 @@
+package md.utm.tmps.lab2.domain.events;
+
+/**
+ * Sink that discards every event - the default for all subsystems,
+ * so a production run pays only for an interface call per event
+ */
+public final class NoOpEventSink implements EventSink {
+    static final NoOpEventSink INSTANCE = new NoOpEventSink();
+
+    private NoOpEventSink() {
+    }
+
+    @Override
+    public void record(EventType type, long orderId, long amountCents, String detail) {
+        // intentionally empty
+    }
+}
@@ -0,0 +1,126 @@
+package md.utm.tmps.lab2.domain.events;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sink that records events without allocating
+ *
+ * Events are written into preallocated parallel arrays used as a ring:
+ * once the capacity is reached the oldest events are overwritten. Recording
+ * costs one atomic increment and four array stores, which makes it suitable
+ * for production runs that still want the recent history (e.g. for a crash
+ * dump or to replay into a ConsoleEventSink on demand).
+ *
+ * Reading methods are meant to be used once recording threads are quiescent;
+ * while events are being recorded they may observe a partially written slot.
+ */
+public class RecordingEventSink implements EventSink {
+    private final EventType[] types;
+    private final long[] orderIds;
+    private final long[] amounts;
+    private final String[] details;
+    private final int mask;
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * @param capacity number of most recent events kept, rounded up to a power of two
+     */
+    public RecordingEventSink(int capacity) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity out of range: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.types = new EventType[size];
+        this.orderIds = new long[size];
+        this.amounts = new long[size];
+        this.details = new String[size];
+        this.mask = size - 1;
+    }
+
+    @Override
+    public void record(EventType type, long orderId, long amountCents, String detail) {
+        int slot = (int) (sequence.getAndIncrement() & mask);
+        types[slot] = type;
+        orderIds[slot] = orderId;
+        amounts[slot] = amountCents;
+        details[slot] = detail;
+    }
+
+    /**
+     * @return total number of events recorded, including overwritten ones
+     */
+    public long getRecordedCount() {
+        return sequence.get();
+    }
+
+    /**
+     * @return number of events still held, at most the capacity
+     */
+    public int size() {
+        return (int) Math.min(sequence.get(), types.length);
+    }
+
+    public int getCapacity() {
+        return types.length;
+    }
+
+    // Accessors by position: 0 is the oldest event still held
+
+    public EventType getType(int index) {
+        return types[slotOf(index)];
+    }
+
+    public long getOrderId(int index) {
+        return orderIds[slotOf(index)];
+    }
+
+    public long getAmount(int index) {
+        return amounts[slotOf(index)];
+    }
+
+    public String getDetail(int index) {
+        return details[slotOf(index)];
+    }
+
+    /**
+     * @return how many of the held events have the given type
+     */
+    public int count(EventType type) {
+        int count = 0;
+        for (int i = 0, n = size(); i < n; i++) {
+            if (getType(i) == type) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Replays the held events, oldest first, into another sink
+     */
+    public void replayTo(EventSink target) {
+        for (int i = 0, n = size(); i < n; i++) {
+            int slot = slotOf(i);
+            target.record(types[slot], orderIds[slot], amounts[slot], details[slot]);
+        }
+    }
+
+    public void clear() {
+        sequence.set(0);
+        Arrays.fill(types, null);
+        Arrays.fill(details, null);
+    }
+
+    private int slotOf(int index) {
+        int size = size();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + size + " events");
+        }
+        long first = sequence.get() - size;
+        return (int) ((first + index) & mask);
+    }
+}
@@ -1,10 +1,27 @@
 package md.utm.tmps.lab2.domain.facade;
 
+import md.utm.tmps.lab2.domain.events.EventSink;
+import md.utm.tmps.lab2.domain.events.EventType;
+import md.utm.tmps.lab2.domain.flyweight.PizzaRegistry;
+import md.utm.tmps.lab2.domain.flyweight.Topping;
 import md.utm.tmps.lab2.domain.models.Order;
 import md.utm.tmps.lab2.domain.models.PizzaComponent;
+import md.utm.tmps.lab2.domain.models.SealedPizza;
 import md.utm.tmps.lab2.domain.payment.PaymentProcessor;
+import md.utm.tmps.lab2.domain.payment.PaymentRequest;
+import md.utm.tmps.lab2.domain.payment.PaymentResult;
 import md.utm.tmps.lab2.domain.subsystems.*;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
 /**
  * FACADE PATTERN:
  * Provides a unified, simplified interface to a complex subsystem.
@@ -21,19 +38,101 @@ import md.utm.tmps.lab2.domain.subsystems.*;
  * Without the facade, clients would need to interact with all these subsystems
  * directly, understand their interdependencies, and manage the correct sequence
  * of operations.
+ * 
+ * All progress is reported as structured events to one EventSink shared with the
+ * subsystems. The default sink discards events; pass EventSink.console() to see
+ * every step, or a RecordingEventSink/AsyncEventSink to keep them cheaply.
+ * 
+ * processOrderAsync runs the kitchen and notification steps as a pipeline on an
+ * Executor (virtual threads by default), so a slow kitchen never blocks the
+ * terminal that placed the order.
+ * 
+ * With a KitchenScheduler the pizzas go to its stations instead: the kitchen
+ * then has a fixed number of ovens, and the completion callback of an order's
+ * last pizza moves the order to READY.
+ * 
+ * Between createOrder and the kitchen, scheduleOrder puts orders on an
+ * OrderDispatchQueue, and processNextOrder takes the one whose (aged)
+ * deadline is earliest, so a delivery with a promised time is not stuck
+ * behind dine-in orders placed before it.
  */
 public class OrderManagementFacade {
+    private static final ExecutorService VIRTUAL_THREADS = Executors.newVirtualThreadPerTaskExecutor();
+    
     // Subsystems
     private final OrderIdGenerator idGenerator;
     private final InventoryManager inventoryManager;
     private final KitchenService kitchenService;
     private final NotificationService notificationService;
+    private final PizzaRegistry pizzaRegistry;
+    private final EventSink events;
+    private final Executor executor;
+    private final KitchenScheduler kitchenScheduler;
+    private final OrderDispatchQueue dispatchQueue;
     
     public OrderManagementFacade() {
+        this(EventSink.noOp());
+    }
+    
+    public OrderManagementFacade(EventSink events) {
+        this(events, VIRTUAL_THREADS);
+    }
+    
+    /**
+     * @param events sink shared with all subsystems
+     * @param executor runs the stages of processOrderAsync
+     */
+    public OrderManagementFacade(EventSink events, Executor executor) {
+        this(events, executor, null);
+    }
+    
+    /**
+     * @param events sink shared with all subsystems
+     * @param kitchenScheduler stations that prepare every pizza
+     */
+    public OrderManagementFacade(EventSink events, KitchenScheduler kitchenScheduler) {
+        this(events, VIRTUAL_THREADS, kitchenScheduler);
+    }
+    
+    /**
+     * @param events sink shared with all subsystems
+     * @param executor runs the stages of processOrderAsync
+     * @param kitchenScheduler stations that prepare every pizza, or null to
+     *                         prepare them on the calling thread / the executor
+     */
+    public OrderManagementFacade(EventSink events, Executor executor, KitchenScheduler kitchenScheduler) {
+        this(events, executor, kitchenScheduler, new OrderDispatchQueue());
+    }
+    
+    /**
+     * @param events sink shared with all subsystems
+     * @param executor runs the stages of processOrderAsync
+     * @param kitchenScheduler stations that prepare every pizza, or null
+     * @param dispatchQueue queue used by scheduleOrder and processNextOrder
+     */
+    public OrderManagementFacade(EventSink events, Executor executor, KitchenScheduler kitchenScheduler,
+                                 OrderDispatchQueue dispatchQueue) {
+        this(events, executor, kitchenScheduler, dispatchQueue, new NotificationService(events));
+    }
+    
+    /**
+     * @param events sink shared with all subsystems
+     * @param executor runs the stages of processOrderAsync
+     * @param kitchenScheduler stations that prepare every pizza, or null
+     * @param dispatchQueue queue used by scheduleOrder and processNextOrder
+     * @param notificationService delivers customer notifications, e.g. through a NotificationPipeline
+     */
+    public OrderManagementFacade(EventSink events, Executor executor, KitchenScheduler kitchenScheduler,
+                                 OrderDispatchQueue dispatchQueue, NotificationService notificationService) {
+        this.events = events;
+        this.dispatchQueue = dispatchQueue;
+        this.executor = executor;
+        this.kitchenScheduler = kitchenScheduler;
         this.idGenerator = OrderIdGenerator.getInstance();
-        this.inventoryManager = new InventoryManager();
-        this.kitchenService = new KitchenService();
-        this.notificationService = new NotificationService();
+        this.inventoryManager = new InventoryManager(events);
+        this.kitchenService = new KitchenService(events);
+        this.notificationService = notificationService;
+        this.pizzaRegistry = new PizzaRegistry();
     }
     
     /**
@@ -43,33 +142,84 @@ public class OrderManagementFacade {
      * @return newly created Order object
      */
     public Order createOrder() {
-        System.out.println("\n╔════════════════════════════════════════════════════════════╗");
-        System.out.println("║ Creating New Order                                         ║");
-        System.out.println("╚════════════════════════════════════════════════════════════╝");
+        events.record(EventType.ORDER_CREATING, 0);
         
         int orderId = idGenerator.generateOrderId();
         Order order = new Order(orderId);
         inventoryManager.registerOrder(order);
         
-        System.out.println("✓ Order #" + orderId + " created successfully\n");
+        events.record(EventType.ORDER_CREATED, orderId);
         return order;
     }
     
     /**
      * Simplified method to add a pizza to an order
      * Internally manages order lookup and total calculation
-     * 
+     * The pizza is sealed first, so later totals and receipts do not walk
+     * its decorator chain again
+     *
+     * The order holds that SealedPizza: the price, description and preparation
+     * steps of the pizza passed in, but not the object itself. It is never
+     * merged with another caller's pizza; sharing through the PizzaRegistry is
+     * opt-in, via addMenuItemToOrder and addMenuPizzaToOrder. Call
+     * Order.addPizza directly to keep the instance.
+     *
      * @param orderId the order to add to
-     * @param pizza the pizza to add
+     * @param pizza the pizza to add; sealed, not itself stored in the order
      */
     public void addPizzaToOrder(int orderId, PizzaComponent pizza) {
         Order order = inventoryManager.getOrder(orderId);
         if (order != null) {
-            order.addPizza(pizza);
-            System.out.println("✓ Pizza added to Order #" + orderId);
+            order.addPizza(pizza.seal());
+            events.record(EventType.PIZZA_ADDED, orderId);
         } else {
-            System.out.println("✗ Order #" + orderId + " not found");
+            events.record(EventType.ORDER_NOT_FOUND, orderId);
+        }
+    }
+    
+    /**
+     * Adds the shared pizza for a configuration to an order, built and sealed
+     * by the PizzaRegistry on first use
+     *
+     * @return false if the order does not exist
+     */
+    public boolean addMenuPizzaToOrder(int orderId, String size, String crust, List<Topping> toppings) {
+        Order order = inventoryManager.getOrder(orderId);
+        if (order == null) {
+            events.record(EventType.ORDER_NOT_FOUND, orderId);
+            return false;
+        }
+        order.addPizza(pizzaRegistry.canonical(size, crust, toppings));
+        events.record(EventType.PIZZA_ADDED, orderId);
+        return true;
+    }
+    
+    /**
+     * Adds a menu pizza registered in getPizzaRegistry() to an order
+     * The order references the shared pizza, nothing is built or copied
+     *
+     * @return false if the order or the menu item does not exist
+     */
+    public boolean addMenuItemToOrder(int orderId, String menuName) {
+        Order order = inventoryManager.getOrder(orderId);
+        SealedPizza pizza = pizzaRegistry.menuItem(menuName);
+        if (order == null) {
+            events.record(EventType.ORDER_NOT_FOUND, orderId);
+            return false;
+        }
+        if (pizza == null) {
+            return false;
         }
+        order.addPizza(pizza);
+        events.record(EventType.PIZZA_ADDED, orderId);
+        return true;
+    }
+    
+    /**
+     * @return the registry of shared pizzas, where menu items are registered
+     */
+    public PizzaRegistry getPizzaRegistry() {
+        return pizzaRegistry;
     }
     
     /**
@@ -80,13 +230,11 @@ public class OrderManagementFacade {
      * @param customerContact customer's contact for notifications
      */
     public void processOrder(int orderId, String customerContact) {
-        System.out.println("\n╔════════════════════════════════════════════════════════════╗");
-        System.out.println("║ Processing Order #" + String.format("%-5d", orderId) + "                                    ║");
-        System.out.println("╚════════════════════════════════════════════════════════════╝");
+        events.record(EventType.ORDER_PROCESSING, orderId);
         
         Order order = inventoryManager.getOrder(orderId);
         if (order == null) {
-            System.out.println("✗ Order not found");
+            events.record(EventType.ORDER_NOT_FOUND, orderId);
             return;
         }
         
@@ -98,8 +246,12 @@ public class OrderManagementFacade {
         
         // Prepare in kitchen
         kitchenService.prepareOrder(orderId);
-        for (PizzaComponent pizza : order.getPizzas()) {
-            kitchenService.preparePizza(pizza);
+        if (kitchenScheduler != null) {
+            kitchenScheduler.prepareAll(order.getPizzas(), kitchenService).join();
+        } else {
+            for (PizzaComponent pizza : order.getPizzas()) {
+                kitchenService.preparePizza(pizza);
+            }
         }
         
         // Update status to ready
@@ -109,7 +261,159 @@ public class OrderManagementFacade {
         // Notify customer
         notificationService.sendOrderReady(orderId, customerContact);
         
-        System.out.println("\n✓ Order #" + orderId + " is ready for payment and pickup\n");
+        events.record(EventType.ORDER_READY_FOR_PAYMENT, orderId);
+    }
+    
+    /**
+     * Queues a dine-in order for the kitchen; it gets the queue's default slack
+     * as its deadline
+     * 
+     * @return false if the order does not exist
+     */
+    public boolean scheduleOrder(int orderId, String customerContact) {
+        if (inventoryManager.getOrder(orderId) == null) {
+            events.record(EventType.ORDER_NOT_FOUND, orderId);
+            return false;
+        }
+        dispatchQueue.enqueue(orderId, customerContact);
+        events.record(EventType.ORDER_QUEUED, orderId);
+        return true;
+    }
+    
+    /**
+     * Queues an order promised for a given time, e.g. a delivery
+     * 
+     * @param promisedAtNanos deadline on the dispatch queue's clock
+     *                        (getDispatchQueue().now() + time allowed)
+     * @return false if the order does not exist
+     */
+    public boolean scheduleOrder(int orderId, String customerContact, long promisedAtNanos) {
+        if (inventoryManager.getOrder(orderId) == null) {
+            events.record(EventType.ORDER_NOT_FOUND, orderId);
+            return false;
+        }
+        dispatchQueue.enqueue(orderId, customerContact, promisedAtNanos);
+        events.record(EventType.ORDER_QUEUED, orderId);
+        return true;
+    }
+    
+    /**
+     * Processes the queued order with the earliest (aged) deadline, like
+     * processOrder, and records whether it was ready in time
+     * 
+     * The dispatch is completed even if processing throws, as in
+     * processNextOrderAsync, so the queue's counters stay balanced.
+     * 
+     * @return the dispatched order, or null if nothing is queued
+     */
+    public OrderDispatchQueue.Dispatch processNextOrder() {
+        OrderDispatchQueue.Dispatch next = dispatchQueue.poll();
+        if (next != null) {
+            try {
+                processOrder(next.orderId(), next.customerContact());
+            } finally {
+                dispatchQueue.complete(next);
+            }
+        }
+        return next;
+    }
+    
+    /**
+     * Asynchronous version of processNextOrder
+     * The dispatch is completed however the order ends, also when processing
+     * cannot even start because the executor or the kitchen rejects it
+     * 
+     * @return future of processOrderAsync for the dispatched order, or a future
+     *         completed with null if nothing is queued
+     */
+    public CompletableFuture<Order> processNextOrderAsync() {
+        OrderDispatchQueue.Dispatch next = dispatchQueue.poll();
+        if (next == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Order> processed;
+        try {
+            processed = processOrderAsync(next.orderId(), next.customerContact());
+        } catch (RuntimeException e) {
+            dispatchQueue.complete(next);
+            return CompletableFuture.failedFuture(e);
+        }
+        return processed.whenComplete((order, error) -> dispatchQueue.complete(next));
+    }
+    
+    /**
+     * @return the queue between createOrder and the kitchen, with its deadline statistics
+     */
+    public OrderDispatchQueue getDispatchQueue() {
+        return dispatchQueue;
+    }
+    
+    /**
+     * Asynchronous version of processOrder
+     * 
+     * The order is marked PREPARING before this method returns; the remaining
+     * steps run as a pipeline:
+     * 
+     *   confirmation notification ───────────────────────┐
+     *   kitchen start ─> pizza 1..n in parallel ─> READY ─┴─> ready notification
+     * 
+     * The confirmation goes out while the kitchen works, pizzas of the same order
+     * are prepared concurrently, and the order only becomes READY once every pizza
+     * is done. The ready notification waits for both the READY transition and the
+     * confirmation, so the customer never hears "ready" before "received".
+     * Events of concurrent stages may interleave in the sink.
+     * 
+     * @param orderId the order to process
+     * @param customerContact customer's contact for notifications
+     * @return future completed with the order once it is ready for payment,
+     *         with null if the order does not exist, or exceptionally if a step
+     *         failed or the executor rejected one (the order then stays PREPARING)
+     */
+    public CompletableFuture<Order> processOrderAsync(int orderId, String customerContact) {
+        events.record(EventType.ORDER_PROCESSING, orderId);
+        
+        Order order = inventoryManager.getOrder(orderId);
+        if (order == null) {
+            events.record(EventType.ORDER_NOT_FOUND, orderId);
+            return CompletableFuture.completedFuture(null);
+        }
+        inventoryManager.updateOrderStatus(orderId, Order.OrderStatus.PREPARING);
+        
+        CompletableFuture<Void> confirmation;
+        CompletableFuture<Void> ready;
+        try {
+            confirmation = CompletableFuture.runAsync(
+                    () -> notificationService.sendOrderConfirmation(orderId, customerContact), executor);
+            
+            List<PizzaComponent> pizzas = order.getPizzas();
+            ready = CompletableFuture
+                    .runAsync(() -> kitchenService.prepareOrder(orderId), executor)
+                    .thenCompose(started -> preparePizzas(pizzas))
+                    .thenRun(() -> {
+                        inventoryManager.updateOrderStatus(orderId, Order.OrderStatus.READY);
+                        kitchenService.completeOrder(orderId);
+                    });
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        
+        return ready.runAfterBoth(confirmation, () -> notificationService.sendOrderReady(orderId, customerContact))
+                .thenApply(notified -> {
+                    events.record(EventType.ORDER_READY_FOR_PAYMENT, orderId);
+                    return order;
+                });
+    }
+    
+    private CompletableFuture<Void> preparePizzas(List<PizzaComponent> pizzas) {
+        if (kitchenScheduler != null) {
+            return kitchenScheduler.prepareAll(pizzas, kitchenService);
+        }
+        CompletableFuture<?>[] preparations = new CompletableFuture<?>[pizzas.size()];
+        for (int i = 0; i < preparations.length; i++) {
+            PizzaComponent pizza = pizzas.get(i);
+            preparations[i] = CompletableFuture.runAsync(() -> kitchenService.preparePizza(pizza), executor);
+        }
+        return CompletableFuture.allOf(preparations);
     }
     
     /**
@@ -124,46 +428,127 @@ public class OrderManagementFacade {
      */
     public boolean completePayment(int orderId, PaymentProcessor paymentProcessor, 
                                    String paymentInfo, String customerContact) {
-        System.out.println("\n╔════════════════════════════════════════════════════════════╗");
-        System.out.println("║ Processing Payment for Order #" + String.format("%-5d", orderId) + "                   ║");
-        System.out.println("╚════════════════════════════════════════════════════════════╝");
+        events.record(EventType.PAYMENT_STARTED, orderId);
         
         Order order = inventoryManager.getOrder(orderId);
         if (order == null) {
-            System.out.println("✗ Order not found");
+            events.record(EventType.ORDER_NOT_FOUND, orderId);
             return false;
         }
         
-        if (order.getStatus() != Order.OrderStatus.READY) {
-            System.out.println("✗ Order is not ready for payment (Status: " + order.getStatus() + ")");
+        Order.OrderStatus status = order.getStatus();
+        if (status != Order.OrderStatus.READY) {
+            events.record(EventType.PAYMENT_ORDER_NOT_READY, orderId, status.name());
             return false;
         }
         
         // Validate payment details
         if (!paymentProcessor.validatePaymentDetails(paymentInfo)) {
-            System.out.println("✗ Invalid payment details");
+            events.record(EventType.PAYMENT_DETAILS_INVALID, orderId);
             return false;
         }
         
         // Process payment
-        System.out.println("Processing payment via " + paymentProcessor.getPaymentMethod() + "...");
-        boolean paymentSuccess = paymentProcessor.processPayment(order.getTotalAmount(), paymentInfo);
+        events.record(EventType.PAYMENT_PROCESSING, orderId, paymentProcessor.getPaymentMethod());
+        boolean paymentSuccess = paymentProcessor.processPaymentCents(order.getTotalCents(), paymentInfo);
         
         if (paymentSuccess) {
             inventoryManager.updateOrderStatus(orderId, Order.OrderStatus.PAID);
             inventoryManager.updateOrderStatus(orderId, Order.OrderStatus.COMPLETED);
             
-            notificationService.sendPaymentConfirmation(orderId, order.getTotalAmount(), 
-                                                       paymentProcessor.getPaymentMethod());
+            notificationService.sendPaymentConfirmation(orderId, order.getTotalCents(), 
+                                                       paymentProcessor.getPaymentMethod(), customerContact);
             
-            System.out.println("\n✓ Payment successful! Order #" + orderId + " completed\n");
+            events.record(EventType.PAYMENT_SUCCEEDED, orderId);
             return true;
         } else {
-            System.out.println("\n✗ Payment failed\n");
+            events.record(EventType.PAYMENT_FAILED, orderId);
             return false;
         }
     }
     
+    /**
+     * Settles many orders at once, e.g. end-of-shift settlement or a catering invoice
+     * 
+     * Each request names an order, its payment information and optionally the
+     * customer to confirm to (build it with PaymentRequest.forOrder); the amount
+     * charged is always the order's current total. Missing orders and orders that are not READY are reported without
+     * being charged. All other requests go to the payment processor as one batch,
+     * and each approved order is then marked PAID/COMPLETED and confirmed exactly
+     * as completePayment would.
+     * 
+     * Results are matched to requests by their orderId, not by position. A
+     * payable order the processor returns no result for is reported as
+     * NO_RESULT and stays READY; results for orders that were not sent, or a
+     * second result for the same order, are ignored.
+     * 
+     * @param requests orders to settle with their payment information
+     * @param paymentProcessor the payment method to use for the whole batch
+     * @return one result per request, in the same order
+     */
+    public List<PaymentResult> completePayments(List<PaymentRequest> requests, PaymentProcessor paymentProcessor) {
+        PaymentResult[] results = new PaymentResult[requests.size()];
+        List<PaymentRequest> payable = new ArrayList<>(requests.size());
+        int[] payableIndex = new int[requests.size()];
+        
+        for (int i = 0; i < requests.size(); i++) {
+            PaymentRequest request = requests.get(i);
+            int orderId = request.orderId();
+            events.record(EventType.PAYMENT_STARTED, orderId);
+            
+            Order order = inventoryManager.getOrder(orderId);
+            if (order == null) {
+                events.record(EventType.ORDER_NOT_FOUND, orderId);
+                results[i] = PaymentResult.of(request, PaymentResult.Status.ORDER_NOT_FOUND);
+            } else if (order.getStatus() != Order.OrderStatus.READY) {
+                events.record(EventType.PAYMENT_ORDER_NOT_READY, orderId, order.getStatus().name());
+                results[i] = new PaymentResult(orderId, order.getTotalCents(), PaymentResult.Status.ORDER_NOT_READY);
+            } else {
+                payableIndex[payable.size()] = i;
+                payable.add(request.withAmount(order.getTotalCents()));
+            }
+        }
+        if (payable.isEmpty()) {
+            return List.of(results);
+        }
+        
+        String method = paymentProcessor.getPaymentMethod();
+        events.record(EventType.PAYMENT_PROCESSING, 0, method);
+        List<PaymentResult> charged = paymentProcessor.processPayments(payable);
+        
+        Map<Integer, Integer> unmatched = new HashMap<>(payable.size() * 2);
+        for (int j = payable.size() - 1; j >= 0; j--) {
+            unmatched.put(payable.get(j).orderId(), j);
+        }
+        for (PaymentResult result : charged) {
+            Integer j = unmatched.remove(result.orderId());
+            if (j == null) {
+                continue;
+            }
+            int orderId = result.orderId();
+            results[payableIndex[j]] = result;
+            switch (result.status()) {
+                case APPROVED -> {
+                    inventoryManager.updateOrderStatus(orderId, Order.OrderStatus.PAID);
+                    inventoryManager.updateOrderStatus(orderId, Order.OrderStatus.COMPLETED);
+                    notificationService.sendPaymentConfirmation(orderId, result.amountCents(), method,
+                                                               payable.get(j).customerContact());
+                    events.record(EventType.PAYMENT_SUCCEEDED, orderId);
+                }
+                case INVALID_DETAILS -> events.record(EventType.PAYMENT_DETAILS_INVALID, orderId);
+                default -> events.record(EventType.PAYMENT_FAILED, orderId);
+            }
+        }
+        for (int j = 0; j < payable.size(); j++) {
+            if (results[payableIndex[j]] == null) {
+                PaymentRequest request = payable.get(j);
+                results[payableIndex[j]] = PaymentResult.of(request, PaymentResult.Status.NO_RESULT);
+                events.record(EventType.PAYMENT_FAILED, request.orderId());
+            }
+        }
+        return List.of(results);
+    }
+    
     /**
      * Simplified method to get order details
      * 
@@ -0,0 +1,157 @@
+package md.utm.tmps.lab2.domain.flyweight;
+
+import md.utm.tmps.lab2.domain.models.BasePizza;
+import md.utm.tmps.lab2.domain.models.PizzaComponent;
+import md.utm.tmps.lab2.domain.models.SealedPizza;
+import md.utm.tmps.lab2.domain.pricing.PricingEngine;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * FLYWEIGHT PATTERN:
+ * Shares one immutable object among all clients that need an identical one,
+ * instead of creating a copy for each of them.
+ *
+ * USE CASE: most orders are one of a few dozen menu pizzas. Each configuration
+ * (size, crust, ordered toppings) is built and sealed once; every order for it
+ * then references the same SealedPizza.
+ *
+ * Three ways in:
+ * - menuItem(name): a named menu pizza, registered up front; two map lookups
+ *   with no allocation, for the hot path of taking an order
+ * - canonical(size, crust, toppings): any configuration by its parts
+ * - canonical(pizza): an already decorated pizza, identified by its
+ *   description and price only; the caller's chain is dropped when a shared
+ *   copy exists, so two different components that describe and price alike
+ *   end up as the first one's SealedPizza. Use it only for pizzas built from
+ *   the stock decorators; the facade's addPizzaToOrder does not use it.
+ *
+ * Prices follow PricingEngine.reload: every shared pizza remembers the engine
+ * version it was priced under, and one from an older version is rebuilt at
+ * the current prices the next time it is asked for. Menu items are kept as
+ * configurations for the same reason. A decorator chain carries the prices
+ * from when it was built, so canonical(pizza) only shares it with a pizza of
+ * the same price.
+ *
+ * The registry caches at most maxConfigurations configurations so one-off
+ * custom pizzas cannot grow it without bound; past that, configurations that
+ * are not yet cached are sealed without being shared. Thread-safe.
+ */
+public class PizzaRegistry {
+    public static final int DEFAULT_MAX_CONFIGURATIONS = 1024;
+
+    private final Map<Configuration, Shared> byConfiguration = new ConcurrentHashMap<>();
+    private final Map<String, Shared> byDescription = new ConcurrentHashMap<>();
+    private final Map<String, Configuration> menu = new ConcurrentHashMap<>();
+    private final PricingEngine pricing = PricingEngine.getDefault();
+    private final int maxConfigurations;
+
+    public PizzaRegistry() {
+        this(DEFAULT_MAX_CONFIGURATIONS);
+    }
+
+    public PizzaRegistry(int maxConfigurations) {
+        this.maxConfigurations = maxConfigurations;
+    }
+
+    /**
+     * Registers a named menu pizza
+     * @return the shared pizza for the configuration
+     */
+    public SealedPizza register(String menuName, String size, String crust, List<Topping> toppings) {
+        Configuration configuration = new Configuration(size, crust, List.copyOf(toppings));
+        SealedPizza pizza = canonical(configuration);
+        menu.put(menuName, configuration);
+        return pizza;
+    }
+
+    /**
+     * @return the shared pizza registered under the name at current prices, or null
+     */
+    public SealedPizza menuItem(String menuName) {
+        Configuration configuration = menu.get(menuName);
+        return configuration == null ? null : canonical(configuration);
+    }
+
+    /**
+     * @return the shared pizza for the configuration, built on first use and after a price reload
+     */
+    public SealedPizza canonical(String size, String crust, List<Topping> toppings) {
+        return canonical(new Configuration(size, crust, List.copyOf(toppings)));
+    }
+
+    /**
+     * The pizza's identity, class and preparation steps are not compared: a
+     * cached pizza with the same description and price replaces it
+     * @return the shared pizza with the same description and price, or the pizza sealed
+     */
+    public SealedPizza canonical(PizzaComponent pizza) {
+        Shared shared = byDescription.get(pizza.getDescription());
+        if (shared != null && shared.pricingVersion() == pricing.getVersion()
+                && shared.pizza().getCostCents() == pizza.getCostCents()) {
+            return shared.pizza();
+        }
+        return share(pizza.seal(), pricing.getVersion());
+    }
+
+    /**
+     * @return number of distinct configurations shared so far
+     */
+    public int size() {
+        return byDescription.size();
+    }
+
+    private SealedPizza canonical(Configuration configuration) {
+        // read before building, so a reload during the build leaves the entry stale, not wrong
+        int version = pricing.getVersion();
+        Shared shared = byConfiguration.get(configuration);
+        if (shared != null && shared.pricingVersion() == version) {
+            return shared.pizza();
+        }
+        PizzaComponent built = new BasePizza(configuration.size(), configuration.crust());
+        for (Topping topping : configuration.toppings()) {
+            built = topping.applyTo(built);
+        }
+        SealedPizza sealed = share(built.seal(), version);
+        if (shared == null && byConfiguration.size() >= maxConfigurations) {
+            return sealed;
+        }
+        return byConfiguration.merge(configuration, new Shared(sealed, version), PizzaRegistry::newer).pizza();
+    }
+
+    /**
+     * Stores the sealed pizza as the shared one for its description, replacing
+     * a pizza priced under an older version, unless the registry is full
+     * @return the shared pizza if it has the same price, else the sealed pizza
+     */
+    private SealedPizza share(SealedPizza sealed, int version) {
+        String description = sealed.getDescription();
+        if (!byDescription.containsKey(description) && byDescription.size() >= maxConfigurations) {
+            return sealed;
+        }
+        Shared shared = byDescription.merge(description, new Shared(sealed, version), PizzaRegistry::newer);
+        return shared.pizza().getCostCents() == sealed.getCostCents() ? shared.pizza() : sealed;
+    }
+
+    /**
+     * Keeps the entry already there unless the candidate was priced under a later version
+     */
+    private static Shared newer(Shared current, Shared candidate) {
+        return candidate.pricingVersion() > current.pricingVersion() ? candidate : current;
+    }
+
+    /**
+     * A shared pizza and the PricingEngine version its price comes from
+     */
+    private record Shared(SealedPizza pizza, int pricingVersion) {
+    }
+
+    /**
+     * Registry key; toppings are kept in order, so cheese then bacon differs
+     * from bacon then cheese just as the decorator chains do
+     */
+    private record Configuration(String size, String crust, List<Topping> toppings) {
+    }
+}
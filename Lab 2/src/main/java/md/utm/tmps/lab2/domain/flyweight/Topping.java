@@ -0,0 +1,70 @@
+package md.utm.tmps.lab2.domain.flyweight;
+
+import md.utm.tmps.lab2.domain.decorators.*;
+import md.utm.tmps.lab2.domain.models.PizzaComponent;
+
+import java.util.Objects;
+
+/**
+ * One topping of a pizza configuration: a kind and, for the kinds that have
+ * one, a variant such as the cheese or olive type
+ *
+ * Toppings are plain values used as part of a PizzaRegistry key; applyTo()
+ * builds the matching decorator when a configuration is first seen.
+ */
+public record Topping(Kind kind, String variant) {
+    public static final Topping PEPPERONI = new Topping(Kind.PEPPERONI, null);
+    public static final Topping MUSHROOM = new Topping(Kind.MUSHROOM, null);
+    public static final Topping BACON = new Topping(Kind.BACON, null);
+
+    /**
+     * Topping kinds, one per concrete decorator
+     */
+    public enum Kind {
+        CHEESE(true), PEPPERONI(false), MUSHROOM(false), OLIVE(true), BACON(false), VEGETABLE(true);
+
+        private final boolean hasVariant;
+
+        Kind(boolean hasVariant) {
+            this.hasVariant = hasVariant;
+        }
+
+        public boolean hasVariant() {
+            return hasVariant;
+        }
+    }
+
+    public Topping {
+        Objects.requireNonNull(kind, "kind");
+        if (kind.hasVariant() != (variant != null)) {
+            throw new IllegalArgumentException(kind.hasVariant()
+                    ? kind + " needs a variant" : kind + " takes no variant");
+        }
+    }
+
+    public static Topping cheese(String cheeseType) {
+        return new Topping(Kind.CHEESE, cheeseType);
+    }
+
+    public static Topping olive(String oliveType) {
+        return new Topping(Kind.OLIVE, oliveType);
+    }
+
+    public static Topping vegetable(String vegetableType) {
+        return new Topping(Kind.VEGETABLE, vegetableType);
+    }
+
+    /**
+     * Wraps the pizza in the decorator for this topping
+     */
+    public PizzaComponent applyTo(PizzaComponent pizza) {
+        return switch (kind) {
+            case CHEESE -> new CheeseDecorator(pizza, variant);
+            case PEPPERONI -> new PepperoniDecorator(pizza);
+            case MUSHROOM -> new MushroomDecorator(pizza);
+            case OLIVE -> new OliveDecorator(pizza, variant);
+            case BACON -> new BaconDecorator(pizza);
+            case VEGETABLE -> new VegetableDecorator(pizza, variant);
+        };
+    }
+}
@@ -1,28 +1,23 @@
 package md.utm.tmps.lab2.domain.models;
 
+import md.utm.tmps.lab2.domain.events.EventSink;
+import md.utm.tmps.lab2.domain.events.EventType;
+import md.utm.tmps.lab2.domain.pricing.PricingEngine;
+
 /**
  * Concrete Component - Base Pizza implementation
  * This is the core object that will be decorated
+ * The price is taken from the default PricingEngine when the pizza is made
  */
 public class BasePizza implements PizzaComponent {
     private final String size;
     private final String crustType;
-    private final double basePrice;
+    private final long basePriceCents;
     
     public BasePizza(String size, String crustType) {
         this.size = size;
         this.crustType = crustType;
-        this.basePrice = calculateBasePrice(size);
-    }
-    
-    private double calculateBasePrice(String size) {
-        return switch (size.toLowerCase()) {
-            case "small" -> 8.99;
-            case "medium" -> 10.99;
-            case "large" -> 12.99;
-            case "extra large" -> 14.99;
-            default -> 10.99;
-        };
+        this.basePriceCents = PricingEngine.getDefault().basePriceCents(size, crustType);
     }
     
     @Override
@@ -31,14 +26,14 @@ public class BasePizza implements PizzaComponent {
     }
     
     @Override
-    public double getCost() {
-        return basePrice;
+    public long getCostCents() {
+        return basePriceCents;
     }
     
     @Override
-    public void prepare() {
-        System.out.println("  → Preparing " + crustType + " crust");
-        System.out.println("  → Baking " + size + " size pizza");
+    public void prepare(EventSink events) {
+        events.record(EventType.CRUST_PREPARED, 0, crustType);
+        events.record(EventType.PIZZA_BAKED, 0, size);
     }
     
     public String getSize() {
@@ -0,0 +1,53 @@
+package md.utm.tmps.lab2.domain.models;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point money helpers
+ *
+ * Amounts are carried as a primitive long number of cents everywhere in the
+ * ordering system: prices, order totals, payment requests and events. Sums of
+ * cents are exact and cost a single add, unlike double (which cannot represent
+ * most prices exactly) or BigDecimal (which allocates on every operation).
+ *
+ * Doubles only appear at the edges, for APIs that speak dollars.
+ */
+public final class Money {
+
+    private Money() {
+    }
+
+    /**
+     * Converts a dollar amount to cents, rounding to the nearest cent
+     */
+    public static long ofDollars(double dollars) {
+        return Math.round(dollars * 100);
+    }
+
+    /**
+     * Parses a decimal dollar amount such as "50", "12.5" or "7.99" exactly
+     * @throws NumberFormatException if the text is not a decimal number
+     */
+    public static long parse(String dollars) {
+        try {
+            return new BigDecimal(dollars.trim()).movePointRight(2)
+                    .setScale(0, RoundingMode.HALF_UP).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Amount out of range: " + dollars);
+        }
+    }
+
+    public static double toDollars(long cents) {
+        return cents / 100.0;
+    }
+
+    /**
+     * Formats cents as a plain two-decimal amount, e.g. 1249 -> "12.49"
+     */
+    public static String format(long cents) {
+        long abs = Math.abs(cents);
+        long fraction = abs % 100;
+        return (cents < 0 ? "-" : "") + (abs / 100) + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+}
@@ -1,16 +1,38 @@
 package md.utm.tmps.lab2.domain.models;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Order class representing a customer order
+ *
+ * The total is kept up to date incrementally: each line stores its price
+ * (PizzaComponent.getCostCents) when it is added, and adding, removing or replacing a line only
+ * adjusts the running total by that line's amount. A pizza's decorator chain is
+ * therefore priced once, not on every later change to the order, and the total
+ * is an exact sum of cents rather than an accumulation of doubles.
+ *
+ * Line mutators are synchronized so an order shared between threads (e.g. via
+ * the InventoryManager) stays consistent.
+ *
+ * getPizzas() hands out a read-only view of the line array instead of a copy.
+ * Appending only writes past the end of any view already handed out, so a view
+ * keeps showing the pizzas the order had when it was taken; removing or
+ * replacing a line copies the array first if a view of it exists. The view is
+ * cached until the next change, so repeated reads allocate nothing.
  */
 public class Order {
     private final int orderId;
-    private final List<PizzaComponent> pizzas;
-    private double totalAmount;
-    private OrderStatus status;
+    private PizzaComponent[] pizzas;
+    private int pizzaCount;
+    private List<PizzaComponent> pizzasView;
+    private boolean pizzasShared;
+    private long[] lineCents;
+    private long totalCents;
+    private volatile OrderStatus status;
     
     public enum OrderStatus {
         PENDING, PREPARING, READY, PAID, COMPLETED, CANCELLED
@@ -18,33 +40,147 @@ public class Order {
     
     public Order(int orderId) {
         this.orderId = orderId;
-        this.pizzas = new ArrayList<>();
-        this.totalAmount = 0.0;
+        this.pizzas = new PizzaComponent[4];
+        this.lineCents = new long[4];
+        this.totalCents = 0;
         this.status = OrderStatus.PENDING;
     }
     
-    public void addPizza(PizzaComponent pizza) {
-        pizzas.add(pizza);
-        calculateTotal();
+    public synchronized void addPizza(PizzaComponent pizza) {
+        ensureLineCapacity(pizzaCount + 1);
+        appendLine(pizza);
     }
     
-    public void calculateTotal() {
-        totalAmount = 0.0;
-        for (PizzaComponent pizza : pizzas) {
-            totalAmount += pizza.getCost();
+    /**
+     * Adds several pizzas at once, growing the line storage a single time
+     * @param newPizzas pizzas to append, in iteration order
+     */
+    public synchronized void addPizzas(Collection<? extends PizzaComponent> newPizzas) {
+        ensureLineCapacity(pizzaCount + newPizzas.size());
+        for (PizzaComponent pizza : newPizzas) {
+            appendLine(pizza);
         }
     }
     
+    /**
+     * Removes the pizza at the given line
+     * @param index zero-based line number
+     * @return the removed pizza
+     */
+    public synchronized PizzaComponent removePizza(int index) {
+        Objects.checkIndex(index, pizzaCount);
+        ownPizzas();
+        PizzaComponent removed = pizzas[index];
+        totalCents -= lineCents[index];
+        pizzaCount--;
+        System.arraycopy(pizzas, index + 1, pizzas, index, pizzaCount - index);
+        System.arraycopy(lineCents, index + 1, lineCents, index, pizzaCount - index);
+        pizzas[pizzaCount] = null;
+        return removed;
+    }
+    
+    /**
+     * Removes the first line holding the given pizza
+     * @return true if the pizza was part of the order
+     */
+    public synchronized boolean removePizza(PizzaComponent pizza) {
+        for (int i = 0; i < pizzaCount; i++) {
+            if (Objects.equals(pizzas[i], pizza)) {
+                removePizza(i);
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Replaces the pizza at the given line, keeping its position
+     * @param index zero-based line number
+     * @param pizza the new pizza
+     * @return the pizza that was replaced
+     */
+    public synchronized PizzaComponent replacePizza(int index, PizzaComponent pizza) {
+        Objects.checkIndex(index, pizzaCount);
+        long cents = pizza.getCostCents();
+        ownPizzas();
+        PizzaComponent replaced = pizzas[index];
+        pizzas[index] = pizza;
+        totalCents += cents - lineCents[index];
+        lineCents[index] = cents;
+        return replaced;
+    }
+    
+    /**
+     * Reprices every line from scratch
+     * Only needed if a pizza already in the order changed its price
+     */
+    public synchronized void calculateTotal() {
+        totalCents = 0;
+        for (int i = 0; i < pizzaCount; i++) {
+            lineCents[i] = pizzas[i].getCostCents();
+            totalCents += lineCents[i];
+        }
+    }
+    
+    private void appendLine(PizzaComponent pizza) {
+        long cents = pizza.getCostCents();
+        lineCents[pizzaCount] = cents;
+        pizzas[pizzaCount++] = pizza;
+        totalCents += cents;
+        pizzasView = null;
+    }
+    
+    private void ensureLineCapacity(int lines) {
+        if (lines > lineCents.length) {
+            int capacity = Math.max(lines, lineCents.length * 2);
+            lineCents = Arrays.copyOf(lineCents, capacity);
+            pizzas = Arrays.copyOf(pizzas, capacity);
+            pizzasShared = false;
+        }
+    }
+    
+    /**
+     * Makes sure no handed-out view sees the lines about to be rewritten
+     */
+    private void ownPizzas() {
+        if (pizzasShared) {
+            pizzas = pizzas.clone();
+            pizzasShared = false;
+        }
+        pizzasView = null;
+    }
+    
     public int getOrderId() {
         return orderId;
     }
     
-    public List<PizzaComponent> getPizzas() {
-        return new ArrayList<>(pizzas);
+    /**
+     * Returns the pizzas exactly as added with addPizza. Pizzas added through
+     * OrderManagementFacade.addPizzaToOrder are the registry's shared
+     * SealedPizza instances, not the objects the caller passed to the facade.
+     * @return unmodifiable snapshot of the pizzas, unaffected by later changes
+     */
+    public synchronized List<PizzaComponent> getPizzas() {
+        if (pizzasView == null) {
+            pizzasView = Collections.unmodifiableList(Arrays.asList(pizzas).subList(0, pizzaCount));
+            pizzasShared = true;
+        }
+        return pizzasView;
+    }
+    
+    public synchronized int getPizzaCount() {
+        return pizzaCount;
+    }
+    
+    public synchronized double getTotalAmount() {
+        return Money.toDollars(totalCents);
     }
     
-    public double getTotalAmount() {
-        return totalAmount;
+    /**
+     * @return exact order total in cents
+     */
+    public synchronized long getTotalCents() {
+        return totalCents;
     }
     
     public OrderStatus getStatus() {
@@ -56,24 +192,23 @@ public class Order {
     }
     
     @Override
-    public String toString() {
+    public synchronized String toString() {
         StringBuilder sb = new StringBuilder();
         sb.append("╔════════════════════════════════════════════════════════════╗\n");
         sb.append(String.format("║ Order #%-5d                                      Status: %s ║\n", 
                                 orderId, status.toString().substring(0, Math.min(4, status.toString().length()))));
         sb.append("╠════════════════════════════════════════════════════════════╣\n");
         
-        int pizzaNum = 1;
-        for (PizzaComponent pizza : pizzas) {
-            sb.append(String.format("║ Pizza %d:                                                   ║\n", pizzaNum++));
-            sb.append(String.format("║   %s\n", pizza.getDescription()));
+        for (int i = 0; i < pizzaCount; i++) {
+            sb.append(String.format("║ Pizza %d:                                                   ║\n", i + 1));
+            sb.append(String.format("║   %s\n", pizzas[i].getDescription()));
             // Pad to 60 chars and add border
-            String costLine = String.format("   Cost: $%.2f", pizza.getCost());
+            String costLine = "   Cost: $" + Money.format(lineCents[i]);
             sb.append(String.format("║ %-58s ║\n", costLine));
         }
         
         sb.append("╠════════════════════════════════════════════════════════════╣\n");
-        sb.append(String.format("║ TOTAL: $%-50.2f ║\n", totalAmount));
+        sb.append(String.format("║ TOTAL: $%-50s ║\n", Money.format(totalCents)));
         sb.append("╚════════════════════════════════════════════════════════════╝");
         
         return sb.toString();
@@ -1,5 +1,7 @@
 package md.utm.tmps.lab2.domain.models;
 
+import md.utm.tmps.lab2.domain.events.EventSink;
+
 /**
  * Base component interface for Pizza in Decorator pattern
  * Represents the core abstraction that both concrete components and decorators implement
@@ -11,14 +13,39 @@ public interface PizzaComponent {
      */
     String getDescription();
     
+    /**
+     * Calculates the exact total cost including all decorations
+     * @return total price in cents
+     */
+    long getCostCents();
+    
     /**
      * Calculates the total cost including all decorations
-     * @return total price
+     * @return total price in dollars, derived from getCostCents()
+     */
+    default double getCost() {
+        return Money.toDollars(getCostCents());
+    }
+    
+    /**
+     * Prepares the pizza, reporting each preparation step to the given sink
+     * @param events sink receiving one event per step
      */
-    double getCost();
+    void prepare(EventSink events);
     
     /**
-     * Prepares the pizza - shows the preparation process
+     * Prepares the pizza - shows the preparation process on the console
+     */
+    default void prepare() {
+        prepare(EventSink.console());
+    }
+
+    /**
+     * Flattens this pizza into an immutable SealedPizza whose cost and
+     * description no longer walk the decorator chain
+     * @return the sealed pizza
      */
-    void prepare();
+    default SealedPizza seal() {
+        return SealedPizza.of(this);
+    }
 }
@@ -0,0 +1,101 @@
+package md.utm.tmps.lab2.domain.models;
+
+import md.utm.tmps.lab2.domain.events.EventSink;
+import md.utm.tmps.lab2.domain.events.EventType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Flattened, immutable snapshot of a decorated pizza
+ *
+ * Every ToppingDecorator answers getCost() and getDescription() by recursing
+ * through the whole chain, and getDescription() builds a new String at every
+ * level. Once a pizza is fully decorated that work gives the same answer every
+ * time, so sealing walks the chain exactly once and keeps the results:
+ * - the total cost in cents
+ * - the description, interned so equal pizzas share one String
+ * - the preparation steps, replayed as-is by prepare()
+ *
+ * A SealedPizza is itself a PizzaComponent: it can be stored in an Order or
+ * decorated further like any other pizza (the new decorators then recurse only
+ * down to the sealed layer). Sealing an already sealed pizza returns it unchanged.
+ */
+public final class SealedPizza implements PizzaComponent {
+    private final String description;
+    private final long costCents;
+    private final Step[] steps;
+
+    private SealedPizza(String description, long costCents, Step[] steps) {
+        this.description = description;
+        this.costCents = costCents;
+        this.steps = steps;
+    }
+
+    /**
+     * Seals the given pizza
+     * @param pizza a base pizza or the outermost decorator of a chain
+     * @return the flattened pizza
+     */
+    public static SealedPizza of(PizzaComponent pizza) {
+        if (pizza instanceof SealedPizza sealed) {
+            return sealed;
+        }
+        StepCapture capture = new StepCapture();
+        pizza.prepare(capture);
+        return new SealedPizza(pizza.getDescription().intern(), pizza.getCostCents(),
+                capture.steps.toArray(new Step[0]));
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public long getCostCents() {
+        return costCents;
+    }
+
+    @Override
+    public void prepare(EventSink events) {
+        for (Step step : steps) {
+            events.record(step.type(), 0, step.amountCents(), step.detail());
+        }
+    }
+
+    @Override
+    public SealedPizza seal() {
+        return this;
+    }
+
+    /**
+     * @return number of preparation steps (crust, baking and one per topping)
+     */
+    public int getStepCount() {
+        return steps.length;
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+
+    /**
+     * One preparation event recorded while sealing
+     */
+    private record Step(EventType type, long amountCents, String detail) {
+    }
+
+    /**
+     * Sink that keeps the preparation events of the chain being sealed
+     */
+    private static final class StepCapture implements EventSink {
+        private final List<Step> steps = new ArrayList<>();
+
+        @Override
+        public void record(EventType type, long orderId, long amountCents, String detail) {
+            steps.add(new Step(type, amountCents, detail));
+        }
+    }
+}
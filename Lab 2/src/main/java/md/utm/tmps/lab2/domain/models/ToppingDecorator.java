@@ -1,5 +1,7 @@
 package md.utm.tmps.lab2.domain.models;
 
+import md.utm.tmps.lab2.domain.events.EventSink;
+
 /**
  * Abstract Decorator class for Pizza toppings
  * 
@@ -22,12 +24,12 @@ public abstract class ToppingDecorator implements PizzaComponent {
     }
     
     @Override
-    public double getCost() {
-        return pizza.getCost();
+    public long getCostCents() {
+        return pizza.getCostCents();
     }
     
     @Override
-    public void prepare() {
-        pizza.prepare();
+    public void prepare(EventSink events) {
+        pizza.prepare(events);
     }
 }
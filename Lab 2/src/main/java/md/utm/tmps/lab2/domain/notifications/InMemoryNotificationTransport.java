@@ -0,0 +1,70 @@
+package md.utm.tmps.lab2.domain.notifications;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Transport that keeps every delivered message in memory
+ *
+ * Stand-in for a real gateway in tests and benchmarks. It can behave like a
+ * remote service: every request pays a round trip, and every message in it
+ * some processing time.
+ */
+public class InMemoryNotificationTransport implements NotificationTransport {
+    private final long roundTripNanos;
+    private final long perMessageNanos;
+    private final List<OutboundMessage> delivered = new ArrayList<>();
+    private long requests;
+
+    /**
+     * Creates a transport without latency
+     */
+    public InMemoryNotificationTransport() {
+        this(0, 0);
+    }
+
+    /**
+     * @param roundTripNanos latency of one request to the gateway
+     * @param perMessageNanos extra gateway time per message in a request
+     */
+    public InMemoryNotificationTransport(long roundTripNanos, long perMessageNanos) {
+        this.roundTripNanos = roundTripNanos;
+        this.perMessageNanos = perMessageNanos;
+    }
+
+    @Override
+    public void send(List<OutboundMessage> messages) {
+        long latency = roundTripNanos + perMessageNanos * messages.size();
+        if (latency > 0) {
+            LockSupport.parkNanos(latency);
+        }
+        synchronized (this) {
+            delivered.addAll(messages);
+            requests++;
+        }
+    }
+
+    /**
+     * @return copy of every message delivered so far, in delivery order
+     */
+    public synchronized List<OutboundMessage> getDelivered() {
+        return new ArrayList<>(delivered);
+    }
+
+    public synchronized int getMessageCount() {
+        return delivered.size();
+    }
+
+    /**
+     * @return number of send calls, i.e. requests the gateway received
+     */
+    public synchronized long getRequestCount() {
+        return requests;
+    }
+
+    public synchronized void clear() {
+        delivered.clear();
+        requests = 0;
+    }
+}
@@ -0,0 +1,47 @@
+package md.utm.tmps.lab2.domain.notifications;
+
+import md.utm.tmps.lab2.domain.models.Money;
+
+/**
+ * One customer notification, before it is coalesced into an OutboundMessage
+ *
+ * @param recipient customer contact, or null if unknown (never coalesced)
+ * @param amountCents payment amount, 0 if none
+ * @param detail payment method, null if none
+ * @param createdNanos System.nanoTime() when the notification was raised
+ */
+public record Notification(Kind kind, int orderId, String recipient, long amountCents, String detail,
+                           long createdNanos) {
+
+    public enum Kind {
+        ORDER_CONFIRMATION,
+        ORDER_READY,
+        PAYMENT_CONFIRMATION
+    }
+
+    public static Notification orderConfirmation(int orderId, String recipient) {
+        return new Notification(Kind.ORDER_CONFIRMATION, orderId, recipient, 0, null, System.nanoTime());
+    }
+
+    public static Notification orderReady(int orderId, String recipient) {
+        return new Notification(Kind.ORDER_READY, orderId, recipient, 0, null, System.nanoTime());
+    }
+
+    public static Notification paymentConfirmation(int orderId, long amountCents, String paymentMethod,
+                                                   String recipient) {
+        return new Notification(Kind.PAYMENT_CONFIRMATION, orderId, recipient, amountCents, paymentMethod,
+                System.nanoTime());
+    }
+
+    /**
+     * @return the text the customer reads
+     */
+    public String text() {
+        return switch (kind) {
+            case ORDER_CONFIRMATION -> "Your order #" + orderId + " has been received and is being prepared";
+            case ORDER_READY -> "Your order #" + orderId + " is ready for pickup!";
+            case PAYMENT_CONFIRMATION -> "Payment of $" + Money.format(amountCents) + " via " + detail
+                    + " was successful";
+        };
+    }
+}
@@ -0,0 +1,294 @@
+package md.utm.tmps.lab2.domain.notifications;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outbound notification pipeline: coalesces per recipient, sends in batches
+ *
+ * Producers put notifications on a bounded queue and return at once. A
+ * dispatcher thread opens a coalescing window for a recipient on their first
+ * notification; everything else for that recipient within the window joins
+ * the same OutboundMessage, so an order's confirmation, ready and payment
+ * notices can reach the customer as one message. Expired windows are sent to
+ * the transport in batches of up to maxBatch messages, one request each.
+ * Notifications without a recipient are sent on their own.
+ *
+ * When the queue is full the OverflowPolicy decides: DROP discards and counts
+ * the notification, SPILL hands it to a spill transport on the producer's
+ * thread (e.g. a slower but unbounded channel or a log to resend from).
+ *
+ * Metrics cover what went in, what went out and how long notifications took
+ * from being raised to being handed to the transport. close() sends every
+ * open window immediately and stops the dispatcher. A notification that races
+ * with close() is either sent or counted as dropped, never silently lost.
+ */
+public final class NotificationPipeline implements AutoCloseable {
+    private static final int DEFAULT_CAPACITY = 8192;
+    private static final long DEFAULT_WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+    private static final int DEFAULT_MAX_BATCH = 100;
+    private static final long IDLE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /**
+     * What happens to a notification when the queue is full
+     */
+    public enum OverflowPolicy {
+        DROP,
+        SPILL
+    }
+
+    /**
+     * Counters since the pipeline started
+     * @param notificationsSent notifications handed to the transport, inside messagesSent messages
+     * @param requestsSent transport send calls
+     * @param sendFailures send calls that threw; their notifications are lost
+     */
+    public record Metrics(long submitted, long dropped, long spilled,
+                          long notificationsSent, long messagesSent, long requestsSent, long sendFailures,
+                          long meanLatencyNanos, long p99LatencyNanos, long maxLatencyNanos) {
+    }
+
+    private final NotificationTransport transport;
+    private final NotificationTransport spill;
+    private final OverflowPolicy overflowPolicy;
+    private final BlockingQueue<Notification> queue;
+    private final long windowNanos;
+    private final int maxBatch;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+
+    // written only by the dispatcher thread
+    private volatile long notificationsSent;
+    private volatile long messagesSent;
+    private volatile long requestsSent;
+    private volatile long sendFailures;
+    private volatile long latencySum;
+    private volatile long latencyMax;
+    private final AtomicLongArray latencyBuckets = new AtomicLongArray(64);
+
+    private final Map<String, Window> windows = new LinkedHashMap<>();
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    /**
+     * Creates a pipeline with a 250 ms window, batches of 100 and room for
+     * 8192 queued notifications, dropping on overflow
+     */
+    public NotificationPipeline(NotificationTransport transport) {
+        this(transport, DEFAULT_CAPACITY, DEFAULT_WINDOW_NANOS, DEFAULT_MAX_BATCH, OverflowPolicy.DROP, null);
+    }
+
+    /**
+     * @param transport receives the coalesced messages
+     * @param capacity notifications that may wait for the dispatcher
+     * @param windowNanos how long a recipient's window stays open
+     * @param maxBatch largest number of messages per send call
+     * @param overflowPolicy what to do when the queue is full
+     * @param spill transport for SPILL, ignored for DROP
+     */
+    public NotificationPipeline(NotificationTransport transport, int capacity, long windowNanos, int maxBatch,
+                                OverflowPolicy overflowPolicy, NotificationTransport spill) {
+        if (capacity <= 0 || maxBatch <= 0 || windowNanos < 0) {
+            throw new IllegalArgumentException("Capacity and batch size must be positive, window not negative");
+        }
+        if (overflowPolicy == OverflowPolicy.SPILL && spill == null) {
+            throw new IllegalArgumentException("SPILL needs a spill transport");
+        }
+        this.transport = transport;
+        this.spill = spill;
+        this.overflowPolicy = overflowPolicy;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.windowNanos = windowNanos;
+        this.maxBatch = maxBatch;
+        this.dispatcher = new Thread(this::dispatchLoop, "notification-dispatcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    /**
+     * Queues a notification without blocking
+     * @return false if it was dropped or spilled instead
+     */
+    public boolean submit(Notification notification) {
+        submitted.increment();
+        if (running && queue.offer(notification)) {
+            // Still running after the offer: the dispatcher's final drain comes later and sends it.
+            // Otherwise close() may have begun in between, so take it back unless the dispatcher got it.
+            if (running || !queue.remove(notification)) {
+                return true;
+            }
+            dropped.increment();
+            return false;
+        }
+        if (overflowPolicy == OverflowPolicy.SPILL && running) {
+            spilled.increment();
+            spill.send(List.of(OutboundMessage.of(notification)));
+        } else {
+            dropped.increment();
+        }
+        return false;
+    }
+
+    public Metrics getMetrics() {
+        long sent = notificationsSent;
+        return new Metrics(submitted.sum(), dropped.sum(), spilled.sum(),
+                sent, messagesSent, requestsSent, sendFailures,
+                sent == 0 ? 0 : latencySum / sent, latencyPercentile(0.99), latencyMax);
+    }
+
+    /**
+     * Stops accepting notifications, sends everything queued or in an open
+     * window and waits for the dispatcher to finish
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            dispatcher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void dispatchLoop() {
+        List<Notification> drained = new ArrayList<>();
+        List<OutboundMessage> batch = new ArrayList<>(maxBatch);
+        while (true) {
+            boolean stopping = !running;
+            long wait = IDLE_POLL_NANOS;
+            if (!windows.isEmpty()) {
+                wait = Math.min(wait, windows.values().iterator().next().deadline - System.nanoTime());
+            }
+            if (stopping || wait <= 0) {
+                queue.drainTo(drained);
+            } else {
+                try {
+                    Notification first = queue.poll(wait, TimeUnit.NANOSECONDS);
+                    if (first != null) {
+                        drained.add(first);
+                        queue.drainTo(drained);
+                    }
+                } catch (InterruptedException e) {
+                    running = false;
+                }
+            }
+            long now = System.nanoTime();
+            for (Notification notification : drained) {
+                coalesce(notification, now, batch);
+            }
+            drained.clear();
+            closeWindows(stopping ? Long.MAX_VALUE : now, batch);
+            send(batch);
+            if (stopping && queue.isEmpty()) {
+                return;
+            }
+        }
+    }
+
+    private void coalesce(Notification notification, long now, List<OutboundMessage> batch) {
+        String recipient = notification.recipient();
+        if (recipient == null) {
+            add(OutboundMessage.of(notification), batch);
+            return;
+        }
+        Window window = windows.get(recipient);
+        if (window == null) {
+            window = new Window(now + windowNanos);
+            windows.put(recipient, window);
+        }
+        window.parts.add(notification);
+    }
+
+    /**
+     * Windows open in time order and all last windowNanos, so the expired ones are at the front
+     */
+    private void closeWindows(long now, List<OutboundMessage> batch) {
+        Iterator<Map.Entry<String, Window>> it = windows.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Window> entry = it.next();
+            if (entry.getValue().deadline > now) {
+                return;
+            }
+            it.remove();
+            add(new OutboundMessage(entry.getKey(), List.copyOf(entry.getValue().parts)), batch);
+        }
+    }
+
+    private void add(OutboundMessage message, List<OutboundMessage> batch) {
+        batch.add(message);
+        if (batch.size() == maxBatch) {
+            send(batch);
+        }
+    }
+
+    private void send(List<OutboundMessage> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        requestsSent++;
+        try {
+            transport.send(List.copyOf(batch));
+        } catch (RuntimeException e) {
+            sendFailures++;
+            batch.clear();
+            return;
+        }
+        long now = System.nanoTime();
+        long sent = 0;
+        for (OutboundMessage message : batch) {
+            for (Notification part : message.parts()) {
+                long latency = Math.max(0, now - part.createdNanos());
+                latencySum += latency;
+                if (latency > latencyMax) {
+                    latencyMax = latency;
+                }
+                latencyBuckets.incrementAndGet(64 - Long.numberOfLeadingZeros(latency));
+                sent++;
+            }
+        }
+        notificationsSent += sent;
+        messagesSent += batch.size();
+        batch.clear();
+    }
+
+    /**
+     * @return upper bound of the power-of-two bucket holding the given fraction of latencies, capped at the max
+     */
+    private long latencyPercentile(double fraction) {
+        long total = 0;
+        for (int i = 0; i < latencyBuckets.length(); i++) {
+            total += latencyBuckets.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(fraction * total);
+        long seen = 0;
+        for (int i = 0; i < latencyBuckets.length(); i++) {
+            seen += latencyBuckets.get(i);
+            if (seen >= rank) {
+                return i == 0 ? 0 : i >= 63 ? latencyMax : Math.min((1L << i) - 1, latencyMax);
+            }
+        }
+        return latencyMax;
+    }
+
+    private static final class Window {
+        private final long deadline;
+        private final List<Notification> parts = new ArrayList<>(3);
+
+        Window(long deadline) {
+            this.deadline = deadline;
+        }
+    }
+}
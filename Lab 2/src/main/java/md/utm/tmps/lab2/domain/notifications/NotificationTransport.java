@@ -0,0 +1,19 @@
+package md.utm.tmps.lab2.domain.notifications;
+
+import java.util.List;
+
+/**
+ * Outbound channel to customers (SMS gateway, e-mail relay, push service)
+ *
+ * One send call is one request to the provider, however many messages it
+ * carries. Implementations may throw a RuntimeException when the request
+ * fails; the pipeline counts the failure and moves on.
+ */
+public interface NotificationTransport {
+
+    /**
+     * Delivers a batch of messages in one request
+     * @param messages at least one message
+     */
+    void send(List<OutboundMessage> messages);
+}
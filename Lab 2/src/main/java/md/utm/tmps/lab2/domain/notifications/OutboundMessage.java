@@ -0,0 +1,33 @@
+package md.utm.tmps.lab2.domain.notifications;
+
+import java.util.List;
+
+/**
+ * What a transport delivers: every notification one recipient collected
+ * during a coalescing window, sent as a single message
+ *
+ * @param parts notifications in the order they were raised
+ */
+public record OutboundMessage(String recipient, List<Notification> parts) {
+
+    public static OutboundMessage of(Notification notification) {
+        return new OutboundMessage(notification.recipient(), List.of(notification));
+    }
+
+    /**
+     * @return the parts' texts, one per line
+     */
+    public String text() {
+        if (parts.size() == 1) {
+            return parts.get(0).text();
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Notification part : parts) {
+            if (sb.length() > 0) {
+                sb.append('\n');
+            }
+            sb.append(part.text());
+        }
+        return sb.toString();
+    }
+}
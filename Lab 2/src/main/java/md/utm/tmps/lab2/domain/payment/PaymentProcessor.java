@@ -1,5 +1,10 @@
 package md.utm.tmps.lab2.domain.payment;
 
+import md.utm.tmps.lab2.domain.models.Money;
+
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Target interface - the interface our system expects
  * 
@@ -9,15 +14,28 @@ package md.utm.tmps.lab2.domain.payment;
  * 
  * USE CASE: Integrate different payment systems (PayPal, Stripe, Cash) into our
  * restaurant ordering system with a unified interface
+ * 
+ * Amounts are exact cents (see Money); adapters convert to whatever unit the
+ * external system expects.
  */
 public interface PaymentProcessor {
     /**
      * Process a payment
+     * @param amountCents the exact amount to charge, in cents
+     * @param accountInfo account/card information
+     * @return true if payment successful, false otherwise
+     */
+    boolean processPaymentCents(long amountCents, String accountInfo);
+    
+    /**
+     * Process a payment given in dollars, rounded to the nearest cent
      * @param amount the amount to charge
      * @param accountInfo account/card information
      * @return true if payment successful, false otherwise
      */
-    boolean processPayment(double amount, String accountInfo);
+    default boolean processPayment(double amount, String accountInfo) {
+        return processPaymentCents(Money.ofDollars(amount), accountInfo);
+    }
     
     /**
      * Get the payment method name
@@ -31,4 +49,28 @@ public interface PaymentProcessor {
      * @return true if valid, false otherwise
      */
     boolean validatePaymentDetails(String accountInfo);
+    
+    /**
+     * Validates and charges several payments at once
+     * The default handles requests one by one; adapters override it to
+     * validate the whole batch first and send the valid charges to the
+     * external system in a single call.
+     * @param requests payments to process
+     * @return one result per request, in the same order
+     */
+    default List<PaymentResult> processPayments(List<PaymentRequest> requests) {
+        List<PaymentResult> results = new ArrayList<>(requests.size());
+        for (PaymentRequest request : requests) {
+            PaymentResult.Status status;
+            if (!validatePaymentDetails(request.accountInfo())) {
+                status = PaymentResult.Status.INVALID_DETAILS;
+            } else if (processPaymentCents(request.amountCents(), request.accountInfo())) {
+                status = PaymentResult.Status.APPROVED;
+            } else {
+                status = PaymentResult.Status.DECLINED;
+            }
+            results.add(PaymentResult.of(request, status));
+        }
+        return results;
+    }
 }
@@ -0,0 +1,36 @@
+package md.utm.tmps.lab2.domain.payment;
+
+/**
+ * One charge in a batch passed to PaymentProcessor.processPayments
+ * @param orderId order being paid, echoed back in the result
+ * @param amountCents exact amount to charge, in cents
+ * @param accountInfo account/card information, as for processPayment
+ * @param customerContact recipient of the payment confirmation, or null
+ */
+public record PaymentRequest(int orderId, long amountCents, String accountInfo, String customerContact) {
+
+    public PaymentRequest(int orderId, long amountCents, String accountInfo) {
+        this(orderId, amountCents, accountInfo, null);
+    }
+
+    /**
+     * Request for an order whose amount is filled in later by the facade
+     * from the order total (see OrderManagementFacade.completePayments)
+     */
+    public static PaymentRequest forOrder(int orderId, String accountInfo) {
+        return forOrder(orderId, accountInfo, null);
+    }
+
+    /**
+     * Like forOrder(orderId, accountInfo), with the customer to confirm the
+     * payment to, so a NotificationPipeline can coalesce the confirmation
+     * with the order's other notices
+     */
+    public static PaymentRequest forOrder(int orderId, String accountInfo, String customerContact) {
+        return new PaymentRequest(orderId, 0, accountInfo, customerContact);
+    }
+
+    public PaymentRequest withAmount(long amountCents) {
+        return new PaymentRequest(orderId, amountCents, accountInfo, customerContact);
+    }
+}
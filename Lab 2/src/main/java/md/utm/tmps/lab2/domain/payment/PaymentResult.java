@@ -0,0 +1,61 @@
+package md.utm.tmps.lab2.domain.payment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of one request of a payment batch
+ * @param orderId order the request was for
+ * @param amountCents amount that was (or would have been) charged
+ * @param status what happened to the request
+ */
+public record PaymentResult(int orderId, long amountCents, Status status) {
+
+    public enum Status {
+        APPROVED,
+        DECLINED,
+        INVALID_DETAILS,
+        ORDER_NOT_FOUND,
+        ORDER_NOT_READY,
+        /** the external system gave no usable outcome for the request; nothing is known to be charged */
+        NO_RESULT
+    }
+
+    public static PaymentResult of(PaymentRequest request, Status status) {
+        return new PaymentResult(request.orderId(), request.amountCents(), status);
+    }
+
+    /**
+     * Builds the results of a batch whose valid requests were sent to an
+     * external system together
+     * @param requests the whole batch
+     * @param valid which requests passed validation
+     * @param approved external outcome of each valid request, in batch order;
+     *        if it does not hold exactly one per valid request, none of them
+     *        can be trusted and every valid request gets NO_RESULT
+     */
+    public static List<PaymentResult> ofBatch(List<PaymentRequest> requests, boolean[] valid, boolean[] approved) {
+        int validCount = 0;
+        for (boolean v : valid) {
+            validCount += v ? 1 : 0;
+        }
+        boolean usable = approved != null && approved.length == validCount;
+        List<PaymentResult> results = new ArrayList<>(requests.size());
+        for (int i = 0, j = 0; i < requests.size(); i++) {
+            Status status;
+            if (!valid[i]) {
+                status = Status.INVALID_DETAILS;
+            } else if (!usable) {
+                status = Status.NO_RESULT;
+            } else {
+                status = approved[j++] ? Status.APPROVED : Status.DECLINED;
+            }
+            results.add(of(requests.get(i), status));
+        }
+        return results;
+    }
+
+    public boolean isApproved() {
+        return status == Status.APPROVED;
+    }
+}
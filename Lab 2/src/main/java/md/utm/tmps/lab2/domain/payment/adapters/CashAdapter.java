@@ -1,32 +1,89 @@
 package md.utm.tmps.lab2.domain.payment.adapters;
 
+import md.utm.tmps.lab2.domain.events.EventSink;
+import md.utm.tmps.lab2.domain.events.EventType;
+import md.utm.tmps.lab2.domain.models.Money;
+
 import md.utm.tmps.lab2.domain.payment.PaymentProcessor;
+import md.utm.tmps.lab2.domain.payment.PaymentRequest;
+import md.utm.tmps.lab2.domain.payment.PaymentResult;
 import md.utm.tmps.lab2.domain.payment.external.CashRegisterSystem;
 
+import java.util.List;
+
 /**
  * Adapter for Cash payment system
  * Adapts CashRegisterSystem to work with our PaymentProcessor interface
  */
 public class CashAdapter implements PaymentProcessor {
     private final CashRegisterSystem cashRegister;
+    private final EventSink events;
     
     public CashAdapter() {
-        this.cashRegister = new CashRegisterSystem();
+        this(EventSink.noOp());
+    }
+    
+    public CashAdapter(EventSink events) {
+        this(new CashRegisterSystem(events), events);
+    }
+    
+    public CashAdapter(CashRegisterSystem cashRegister, EventSink events) {
+        this.cashRegister = cashRegister;
+        this.events = events;
     }
     
     @Override
-    public boolean processPayment(double amount, String accountInfo) {
+    public boolean processPaymentCents(long amountCents, String accountInfo) {
         // accountInfo contains the cash received as a string
-        System.out.println("Cash Adapter: Converting cash payment request");
+        events.record(EventType.CASH_ADAPTER_CONVERTING, 0, amountCents, null);
         try {
-            double cashReceived = Double.parseDouble(accountInfo);
-            return cashRegister.acceptCash(amount, cashReceived);
+            long cashReceivedCents = Money.parse(accountInfo);
+            return cashRegister.acceptCash(amountCents, cashReceivedCents);
         } catch (NumberFormatException e) {
-            System.out.println("  → Cash Adapter: Invalid cash amount format");
+            events.record(EventType.CASH_AMOUNT_INVALID, 0);
             return false;
         }
     }
     
+    /**
+     * Parses every cash amount, then rings up all valid payments as one
+     * drawer transaction
+     */
+    @Override
+    public List<PaymentResult> processPayments(List<PaymentRequest> requests) {
+        int n = requests.size();
+        boolean[] valid = new boolean[n];
+        long[] received = new long[n];
+        int validCount = 0;
+        for (int i = 0; i < n; i++) {
+            try {
+                received[i] = Money.parse(requests.get(i).accountInfo());
+                valid[i] = cashRegister.verifyAmount(received[i]);
+            } catch (NumberFormatException e) {
+                valid[i] = false;
+            }
+            validCount += valid[i] ? 1 : 0;
+        }
+        
+        long[] amountsCents = new long[validCount];
+        long[] receivedCents = new long[validCount];
+        long totalCents = 0;
+        for (int i = 0, j = 0; i < n; i++) {
+            if (valid[i]) {
+                amountsCents[j] = requests.get(i).amountCents();
+                receivedCents[j++] = received[i];
+                totalCents += requests.get(i).amountCents();
+            }
+        }
+        
+        boolean[] accepted = new boolean[0];
+        if (validCount > 0) {
+            events.record(EventType.CASH_ADAPTER_CONVERTING, 0, totalCents, null);
+            accepted = cashRegister.acceptCashBatch(amountsCents, receivedCents);
+        }
+        return PaymentResult.ofBatch(requests, valid, accepted);
+    }
+    
     @Override
     public String getPaymentMethod() {
         return "Cash";
@@ -35,8 +92,7 @@ public class CashAdapter implements PaymentProcessor {
     @Override
     public boolean validatePaymentDetails(String accountInfo) {
         try {
-            double amount = Double.parseDouble(accountInfo);
-            return cashRegister.verifyAmount(amount);
+            return cashRegister.verifyAmount(Money.parse(accountInfo));
         } catch (NumberFormatException e) {
             return false;
         }
@@ -45,4 +101,8 @@ public class CashAdapter implements PaymentProcessor {
     public double getCashDrawerBalance() {
         return cashRegister.getCashDrawerBalance();
     }
+    
+    public long getCashDrawerCents() {
+        return cashRegister.getCashDrawerCents();
+    }
 }
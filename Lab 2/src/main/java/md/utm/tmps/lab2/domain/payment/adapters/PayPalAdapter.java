@@ -1,24 +1,76 @@
 package md.utm.tmps.lab2.domain.payment.adapters;
 
+import md.utm.tmps.lab2.domain.events.EventSink;
+import md.utm.tmps.lab2.domain.events.EventType;
+import md.utm.tmps.lab2.domain.models.Money;
+
 import md.utm.tmps.lab2.domain.payment.PaymentProcessor;
+import md.utm.tmps.lab2.domain.payment.PaymentRequest;
+import md.utm.tmps.lab2.domain.payment.PaymentResult;
 import md.utm.tmps.lab2.domain.payment.external.PayPalAPI;
 
+import java.util.List;
+
 /**
  * Adapter for PayPal payment system
  * Adapts PayPalAPI to work with our PaymentProcessor interface
  */
 public class PayPalAdapter implements PaymentProcessor {
     private final PayPalAPI payPalAPI;
+    private final EventSink events;
     
     public PayPalAdapter() {
-        this.payPalAPI = new PayPalAPI();
+        this(EventSink.noOp());
+    }
+    
+    public PayPalAdapter(EventSink events) {
+        this(new PayPalAPI(events), events);
+    }
+    
+    public PayPalAdapter(PayPalAPI payPalAPI, EventSink events) {
+        this.payPalAPI = payPalAPI;
+        this.events = events;
     }
     
     @Override
-    public boolean processPayment(double amount, String accountInfo) {
+    public boolean processPaymentCents(long amountCents, String accountInfo) {
         // Adapt our interface to PayPal's interface
-        System.out.println("PayPal Adapter: Converting request for " + payPalAPI.getServiceName());
-        return payPalAPI.sendPayment(accountInfo, amount);
+        // PayPal expects the amount in dollars
+        events.record(EventType.PAYPAL_ADAPTER_CONVERTING, 0, amountCents, payPalAPI.getServiceName());
+        return payPalAPI.sendPayment(accountInfo, Money.toDollars(amountCents));
+    }
+    
+    /**
+     * Validates every request, then sends all valid ones as a single PayPal batch payout
+     */
+    @Override
+    public List<PaymentResult> processPayments(List<PaymentRequest> requests) {
+        int n = requests.size();
+        boolean[] valid = new boolean[n];
+        int validCount = 0;
+        for (int i = 0; i < n; i++) {
+            valid[i] = payPalAPI.verifyEmail(requests.get(i).accountInfo());
+            validCount += valid[i] ? 1 : 0;
+        }
+        
+        String[] emails = new String[validCount];
+        double[] amounts = new double[validCount];
+        long totalCents = 0;
+        for (int i = 0, j = 0; i < n; i++) {
+            if (valid[i]) {
+                PaymentRequest request = requests.get(i);
+                emails[j] = request.accountInfo();
+                amounts[j++] = Money.toDollars(request.amountCents());
+                totalCents += request.amountCents();
+            }
+        }
+        
+        boolean[] sent = new boolean[0];
+        if (validCount > 0) {
+            events.record(EventType.PAYPAL_ADAPTER_CONVERTING, 0, totalCents, payPalAPI.getServiceName());
+            sent = payPalAPI.sendBatchPayment(emails, amounts);
+        }
+        return PaymentResult.ofBatch(requests, valid, sent);
     }
     
     @Override
@@ -1,27 +1,85 @@
 package md.utm.tmps.lab2.domain.payment.adapters;
 
+import md.utm.tmps.lab2.domain.events.EventSink;
+import md.utm.tmps.lab2.domain.events.EventType;
+
 import md.utm.tmps.lab2.domain.payment.PaymentProcessor;
+import md.utm.tmps.lab2.domain.payment.PaymentRequest;
+import md.utm.tmps.lab2.domain.payment.PaymentResult;
 import md.utm.tmps.lab2.domain.payment.external.StripeAPI;
 
+import java.util.List;
+
 /**
  * Adapter for Stripe payment system
  * Adapts StripeAPI to work with our PaymentProcessor interface
  */
 public class StripeAdapter implements PaymentProcessor {
     private final StripeAPI stripeAPI;
+    private final EventSink events;
     
     public StripeAdapter() {
-        this.stripeAPI = new StripeAPI();
+        this(EventSink.noOp());
+    }
+    
+    public StripeAdapter(EventSink events) {
+        this(new StripeAPI(events), events);
+    }
+    
+    public StripeAdapter(StripeAPI stripeAPI, EventSink events) {
+        this.stripeAPI = stripeAPI;
+        this.events = events;
     }
     
     @Override
-    public boolean processPayment(double amount, String accountInfo) {
+    public boolean processPaymentCents(long amountCents, String accountInfo) {
         // Adapt our interface to Stripe's interface
-        // Stripe expects amount in cents, not dollars
-        int amountInCents = (int) (amount * 100);
-        System.out.println("Stripe Adapter: Converting $" + String.format("%.2f", amount) + 
-                          " to " + amountInCents + " cents for " + stripeAPI.getGatewayName());
-        return stripeAPI.charge(accountInfo, amountInCents);
+        // Stripe expects an int amount in cents
+        events.record(EventType.STRIPE_ADAPTER_CONVERTING, 0, amountCents, stripeAPI.getGatewayName());
+        if (!fitsStripeAmount(amountCents)) {
+            return false;
+        }
+        return stripeAPI.charge(accountInfo, (int) amountCents);
+    }
+    
+    /**
+     * Validates every token, then charges all valid cards in a single Stripe request.
+     * Amounts Stripe's int cents cannot hold are rejected as INVALID_DETAILS
+     * without holding back the rest of the batch.
+     */
+    @Override
+    public List<PaymentResult> processPayments(List<PaymentRequest> requests) {
+        int n = requests.size();
+        boolean[] valid = new boolean[n];
+        int validCount = 0;
+        for (int i = 0; i < n; i++) {
+            PaymentRequest request = requests.get(i);
+            valid[i] = fitsStripeAmount(request.amountCents()) && stripeAPI.validateToken(request.accountInfo());
+            validCount += valid[i] ? 1 : 0;
+        }
+        
+        String[] tokens = new String[validCount];
+        int[] amountsInCents = new int[validCount];
+        long totalCents = 0;
+        for (int i = 0, j = 0; i < n; i++) {
+            if (valid[i]) {
+                PaymentRequest request = requests.get(i);
+                tokens[j] = request.accountInfo();
+                amountsInCents[j++] = (int) request.amountCents();
+                totalCents += request.amountCents();
+            }
+        }
+        
+        boolean[] charged = new boolean[0];
+        if (validCount > 0) {
+            events.record(EventType.STRIPE_ADAPTER_CONVERTING, 0, totalCents, stripeAPI.getGatewayName());
+            charged = stripeAPI.chargeBatch(tokens, amountsInCents);
+        }
+        return PaymentResult.ofBatch(requests, valid, charged);
+    }
+    
+    private static boolean fitsStripeAmount(long amountCents) {
+        return amountCents >= Integer.MIN_VALUE && amountCents <= Integer.MAX_VALUE;
     }
     
     @Override
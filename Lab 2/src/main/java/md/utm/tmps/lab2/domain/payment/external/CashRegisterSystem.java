@@ -1,34 +1,72 @@
 package md.utm.tmps.lab2.domain.payment.external;
 
+import md.utm.tmps.lab2.domain.events.EventSink;
+import md.utm.tmps.lab2.domain.events.EventType;
+import md.utm.tmps.lab2.domain.models.Money;
+
 /**
  * External Cash Register System (Adaptee)
- * Represents the in-house cash payment system
+ * Represents the in-house cash payment system, which counts money in cents
  */
 public class CashRegisterSystem {
-    private double cashDrawer = 500.0; // Starting cash amount
+    private final EventSink events;
+    private long cashDrawerCents = 50_000; // Starting cash amount
+    
+    public CashRegisterSystem() {
+        this(EventSink.noOp());
+    }
+    
+    public CashRegisterSystem(EventSink events) {
+        this.events = events;
+    }
     
-    public boolean acceptCash(double amount, double cashReceived) {
+    public boolean acceptCash(long amountCents, long cashReceivedCents) {
         // Simulate cash payment processing
-        System.out.println("  → Cash Register: Payment amount: $" + String.format("%.2f", amount));
-        System.out.println("  → Cash Register: Cash received: $" + String.format("%.2f", cashReceived));
+        events.record(EventType.CASH_AMOUNT_DUE, 0, amountCents, null);
+        events.record(EventType.CASH_RECEIVED, 0, cashReceivedCents, null);
         
-        if (cashReceived >= amount) {
-            double change = cashReceived - amount;
-            cashDrawer += amount;
-            System.out.println("  → Cash Register: Change due: $" + String.format("%.2f", change));
-            System.out.println("  → Cash Register: Transaction complete");
+        if (cashReceivedCents >= amountCents) {
+            long changeCents = cashReceivedCents - amountCents;
+            cashDrawerCents += amountCents;
+            events.record(EventType.CASH_CHANGE_GIVEN, 0, changeCents, null);
             return true;
         } else {
-            System.out.println("  → Cash Register: Insufficient cash received");
+            events.record(EventType.CASH_INSUFFICIENT, 0);
             return false;
         }
     }
     
-    public boolean verifyAmount(double amount) {
-        return amount > 0;
+    /**
+     * Rings up several cash payments as one drawer transaction
+     * @return whether enough cash was received for each payment, by index
+     */
+    public boolean[] acceptCashBatch(long[] amountsCents, long[] cashReceivedCents) {
+        boolean[] accepted = new boolean[amountsCents.length];
+        long taken = 0;
+        for (int i = 0; i < amountsCents.length; i++) {
+            events.record(EventType.CASH_AMOUNT_DUE, 0, amountsCents[i], null);
+            events.record(EventType.CASH_RECEIVED, 0, cashReceivedCents[i], null);
+            if (cashReceivedCents[i] >= amountsCents[i]) {
+                taken += amountsCents[i];
+                accepted[i] = true;
+                events.record(EventType.CASH_CHANGE_GIVEN, 0, cashReceivedCents[i] - amountsCents[i], null);
+            } else {
+                events.record(EventType.CASH_INSUFFICIENT, 0);
+            }
+        }
+        cashDrawerCents += taken;
+        return accepted;
+    }
+    
+    public boolean verifyAmount(long amountCents) {
+        return amountCents > 0;
     }
     
     public double getCashDrawerBalance() {
-        return cashDrawer;
+        return Money.toDollars(cashDrawerCents);
+    }
+    
+    public long getCashDrawerCents() {
+        return cashDrawerCents;
     }
 }
@@ -1,19 +1,43 @@
 package md.utm.tmps.lab2.domain.payment.external;
 
+import md.utm.tmps.lab2.domain.events.EventSink;
+import md.utm.tmps.lab2.domain.events.EventType;
+import md.utm.tmps.lab2.domain.models.Money;
+
 /**
  * External PayPal API (Adaptee)
  * This represents a third-party payment system with its own interface
  */
 public class PayPalAPI {
+    private final EventSink events;
+    
+    public PayPalAPI() {
+        this(EventSink.noOp());
+    }
+    
+    public PayPalAPI(EventSink events) {
+        this.events = events;
+    }
     
     public boolean sendPayment(String email, double amount) {
         // Simulate PayPal payment processing
-        System.out.println("  → PayPal: Connecting to PayPal servers...");
-        System.out.println("  → PayPal: Sending payment of $" + String.format("%.2f", amount) + " to " + email);
-        System.out.println("  → PayPal: Payment authorized by PayPal");
+        events.record(EventType.PAYPAL_PAYMENT_SENT, 0, Money.ofDollars(amount), email);
         return true;
     }
     
+    /**
+     * Sends several payouts in one request
+     * @return whether each payment was sent, by index
+     */
+    public boolean[] sendBatchPayment(String[] emails, double[] amounts) {
+        boolean[] sent = new boolean[emails.length];
+        for (int i = 0; i < emails.length; i++) {
+            events.record(EventType.PAYPAL_PAYMENT_SENT, 0, Money.ofDollars(amounts[i]), emails[i]);
+            sent[i] = true;
+        }
+        return sent;
+    }
+    
     public boolean verifyEmail(String email) {
         // Simple email validation
         return email != null && email.contains("@") && email.contains(".");
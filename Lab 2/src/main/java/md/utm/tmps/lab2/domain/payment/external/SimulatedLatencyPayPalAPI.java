@@ -0,0 +1,37 @@
+package md.utm.tmps.lab2.domain.payment.external;
+
+import md.utm.tmps.lab2.domain.events.EventSink;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Stand-in for PayPalAPI that behaves like a remote service: every request
+ * pays a network round trip, and every payment in it some processing time.
+ * Used to compare per-order payments against batch payouts.
+ */
+public class SimulatedLatencyPayPalAPI extends PayPalAPI {
+    private final long roundTripNanos;
+    private final long perPaymentNanos;
+    
+    /**
+     * @param roundTripNanos latency of one request to PayPal
+     * @param perPaymentNanos extra server time per payment in a request
+     */
+    public SimulatedLatencyPayPalAPI(EventSink events, long roundTripNanos, long perPaymentNanos) {
+        super(events);
+        this.roundTripNanos = roundTripNanos;
+        this.perPaymentNanos = perPaymentNanos;
+    }
+    
+    @Override
+    public boolean sendPayment(String email, double amount) {
+        LockSupport.parkNanos(roundTripNanos + perPaymentNanos);
+        return super.sendPayment(email, amount);
+    }
+    
+    @Override
+    public boolean[] sendBatchPayment(String[] emails, double[] amounts) {
+        LockSupport.parkNanos(roundTripNanos + perPaymentNanos * emails.length);
+        return super.sendBatchPayment(emails, amounts);
+    }
+}
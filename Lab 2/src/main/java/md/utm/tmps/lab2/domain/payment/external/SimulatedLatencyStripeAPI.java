@@ -0,0 +1,37 @@
+package md.utm.tmps.lab2.domain.payment.external;
+
+import md.utm.tmps.lab2.domain.events.EventSink;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Stand-in for StripeAPI that behaves like a remote service: every request
+ * pays a network round trip, and every charge in it some processing time.
+ * Used to compare per-order charges against batch charges.
+ */
+public class SimulatedLatencyStripeAPI extends StripeAPI {
+    private final long roundTripNanos;
+    private final long perChargeNanos;
+    
+    /**
+     * @param roundTripNanos latency of one request to Stripe
+     * @param perChargeNanos extra server time per charge in a request
+     */
+    public SimulatedLatencyStripeAPI(EventSink events, long roundTripNanos, long perChargeNanos) {
+        super(events);
+        this.roundTripNanos = roundTripNanos;
+        this.perChargeNanos = perChargeNanos;
+    }
+    
+    @Override
+    public boolean charge(String cardToken, int amountInCents) {
+        LockSupport.parkNanos(roundTripNanos + perChargeNanos);
+        return super.charge(cardToken, amountInCents);
+    }
+    
+    @Override
+    public boolean[] chargeBatch(String[] cardTokens, int[] amountsInCents) {
+        LockSupport.parkNanos(roundTripNanos + perChargeNanos * cardTokens.length);
+        return super.chargeBatch(cardTokens, amountsInCents);
+    }
+}
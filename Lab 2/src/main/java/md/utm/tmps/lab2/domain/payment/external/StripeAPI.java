@@ -1,19 +1,42 @@
 package md.utm.tmps.lab2.domain.payment.external;
 
+import md.utm.tmps.lab2.domain.events.EventSink;
+import md.utm.tmps.lab2.domain.events.EventType;
+
 /**
  * External Stripe API (Adaptee)
  * This represents another third-party payment system with a different interface
  */
 public class StripeAPI {
+    private final EventSink events;
+    
+    public StripeAPI() {
+        this(EventSink.noOp());
+    }
+    
+    public StripeAPI(EventSink events) {
+        this.events = events;
+    }
     
     public boolean charge(String cardToken, int amountInCents) {
         // Simulate Stripe payment processing
-        System.out.println("  → Stripe: Initializing Stripe SDK...");
-        System.out.println("  → Stripe: Charging $" + String.format("%.2f", amountInCents / 100.0) + " to card token: " + cardToken);
-        System.out.println("  → Stripe: Transaction approved");
+        events.record(EventType.STRIPE_CHARGED, 0, amountInCents, cardToken);
         return true;
     }
     
+    /**
+     * Charges several cards in one request
+     * @return whether each charge was approved, by index
+     */
+    public boolean[] chargeBatch(String[] cardTokens, int[] amountsInCents) {
+        boolean[] charged = new boolean[cardTokens.length];
+        for (int i = 0; i < cardTokens.length; i++) {
+            events.record(EventType.STRIPE_CHARGED, 0, amountsInCents[i], cardTokens[i]);
+            charged[i] = true;
+        }
+        return charged;
+    }
+    
     public boolean validateToken(String cardToken) {
         // Simple token validation
         return cardToken != null && cardToken.startsWith("tok_") && cardToken.length() > 10;
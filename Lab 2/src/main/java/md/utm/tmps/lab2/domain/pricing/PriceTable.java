@@ -0,0 +1,128 @@
+package md.utm.tmps.lab2.domain.pricing;
+
+import md.utm.tmps.lab2.domain.flyweight.Topping;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Menu prices by name, in cents: one per pizza size, an optional surcharge per
+ * crust and one per topping kind
+ *
+ * This is the editable form of the prices; PricingEngine compiles it into
+ * arrays indexed by dense ids. Immutable - use toBuilder() to change a price.
+ */
+public final class PriceTable {
+    /**
+     * The standard menu; unknown sizes are priced as Medium
+     */
+    public static final PriceTable DEFAULT = builder()
+            .size("Small", 899)
+            .size("Medium", 1099)
+            .size("Large", 1299)
+            .size("Extra Large", 1499)
+            .defaultSize("Medium")
+            .topping(Topping.Kind.CHEESE, 150)
+            .topping(Topping.Kind.PEPPERONI, 200)
+            .topping(Topping.Kind.MUSHROOM, 125)
+            .topping(Topping.Kind.OLIVE, 100)
+            .topping(Topping.Kind.BACON, 250)
+            .topping(Topping.Kind.VEGETABLE, 75)
+            .build();
+
+    private final Map<String, Long> sizes;
+    private final Map<String, Long> crusts;
+    private final Map<Topping.Kind, Long> toppings;
+    private final String defaultSize;
+
+    private PriceTable(Builder builder) {
+        this.sizes = Collections.unmodifiableMap(new LinkedHashMap<>(builder.sizes));
+        this.crusts = Collections.unmodifiableMap(new LinkedHashMap<>(builder.crusts));
+        this.toppings = Collections.unmodifiableMap(new EnumMap<>(builder.toppings));
+        this.defaultSize = builder.defaultSize;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return a builder holding every price of this table
+     */
+    public Builder toBuilder() {
+        Builder builder = new Builder();
+        builder.sizes.putAll(sizes);
+        builder.crusts.putAll(crusts);
+        builder.toppings.putAll(toppings);
+        builder.defaultSize = defaultSize;
+        return builder;
+    }
+
+    public Map<String, Long> getSizes() {
+        return sizes;
+    }
+
+    public Map<String, Long> getCrusts() {
+        return crusts;
+    }
+
+    public Map<Topping.Kind, Long> getToppings() {
+        return toppings;
+    }
+
+    /**
+     * @return size used for sizes not in the table, or null
+     */
+    public String getDefaultSize() {
+        return defaultSize;
+    }
+
+    public static final class Builder {
+        private final Map<String, Long> sizes = new LinkedHashMap<>();
+        private final Map<String, Long> crusts = new LinkedHashMap<>();
+        private final Map<Topping.Kind, Long> toppings = new EnumMap<>(Topping.Kind.class);
+        private String defaultSize;
+
+        private Builder() {
+        }
+
+        public Builder size(String size, long priceCents) {
+            sizes.put(size, checked(priceCents));
+            return this;
+        }
+
+        public Builder crust(String crust, long surchargeCents) {
+            crusts.put(crust, checked(surchargeCents));
+            return this;
+        }
+
+        public Builder topping(Topping.Kind kind, long priceCents) {
+            toppings.put(kind, checked(priceCents));
+            return this;
+        }
+
+        public Builder defaultSize(String size) {
+            this.defaultSize = size;
+            return this;
+        }
+
+        /**
+         * @throws IllegalStateException if the default size has no price
+         */
+        public PriceTable build() {
+            if (defaultSize != null && !sizes.containsKey(defaultSize)) {
+                throw new IllegalStateException("Default size has no price: " + defaultSize);
+            }
+            return new PriceTable(this);
+        }
+
+        private static long checked(long cents) {
+            if (cents < 0) {
+                throw new IllegalArgumentException("Price must not be negative: " + cents);
+            }
+            return cents;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package md.utm.tmps.lab2.domain.pricing;
+
+import md.utm.tmps.lab2.domain.flyweight.Topping;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled pizza pricing
+ *
+ * Sizes, crusts and topping kinds are resolved to dense int ids once, when a
+ * pizza is compiled; the prices live in primitive arrays indexed by those ids.
+ * Pricing a compiled pizza is then one lookup for the size, one for the crust
+ * and one per topping - no strings, maps or decorator chains.
+ *
+ * reload() swaps in new prices atomically: the ids and arrays form one
+ * immutable snapshot published through a volatile field, so a concurrent
+ * priceCents() sees either all old or all new prices, never a mix. Ids are
+ * append-only across reloads, so pizzas compiled earlier stay valid; names left
+ * out of a reloaded table keep their current price.
+ *
+ * Names match ignoring case. Unknown sizes are priced as the table's default
+ * size and unknown crusts carry no surcharge. Each snapshot maps the names it
+ * has seen to their ids in a hash map, so resolving a name is a hash lookup;
+ * only a spelling seen for the first time is matched by a scan of the table.
+ *
+ * Order pizzas do not go through CompiledPizza: BasePizza and the topping
+ * decorators read their own price from the default engine when they are
+ * constructed - two hashed id lookups and two array reads, see
+ * basePriceCents - and a SealedPizza keeps the total of its chain. A reload
+ * therefore applies to pizzas built after it (PizzaRegistry rebuilds its
+ * shared pizzas for that), not to pizzas already built. compile() and
+ * priceCents(CompiledPizza) are for callers that keep configurations and
+ * want the current price of each without building it, e.g. a menu board.
+ */
+public class PricingEngine {
+    private static final PricingEngine DEFAULT = new PricingEngine(PriceTable.DEFAULT);
+    private static final int NO_CRUST = 0;
+    // spellings remembered per snapshot, so odd input cannot grow the maps without bound
+    private static final int MAX_ALIASES = 256;
+
+    private volatile Snapshot snapshot;
+
+    public PricingEngine(PriceTable table) {
+        this.snapshot = Snapshot.EMPTY.merge(table, 1);
+    }
+
+    /**
+     * @return the engine that prices BasePizza and the topping decorators
+     */
+    public static PricingEngine getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Atomically replaces the prices named in the table
+     */
+    public synchronized void reload(PriceTable table) {
+        snapshot = snapshot.merge(table, snapshot.version + 1);
+    }
+
+    /**
+     * @return number of price tables loaded, starting at 1
+     */
+    public int getVersion() {
+        return snapshot.version;
+    }
+
+    /**
+     * Resolves a pizza configuration to ids; do this once per menu item
+     */
+    public CompiledPizza compile(String size, String crust, List<Topping> toppings) {
+        Snapshot current = snapshot;
+        int[] toppingIds = new int[toppings.size()];
+        for (int i = 0; i < toppingIds.length; i++) {
+            toppingIds[i] = toppings.get(i).kind().ordinal();
+        }
+        return new CompiledPizza(current.sizeId(size), current.crustId(crust), toppingIds);
+    }
+
+    /**
+     * @return the current price of a compiled pizza in cents
+     */
+    public long priceCents(CompiledPizza pizza) {
+        Snapshot current = snapshot;
+        long total = current.sizeCents[pizza.sizeId] + current.crustCents[pizza.crustId];
+        for (int toppingId : pizza.toppingIds) {
+            total += current.toppingCents[toppingId];
+        }
+        return total;
+    }
+
+    /**
+     * @return current price of a pizza with no toppings
+     */
+    public long basePriceCents(String size, String crust) {
+        Snapshot current = snapshot;
+        return current.sizeCents[current.sizeId(size)] + current.crustCents[current.crustId(crust)];
+    }
+
+    public long toppingPriceCents(Topping.Kind kind) {
+        return snapshot.toppingCents[kind.ordinal()];
+    }
+
+    /**
+     * A pizza configuration resolved to ids of this engine
+     */
+    public static final class CompiledPizza {
+        private final int sizeId;
+        private final int crustId;
+        private final int[] toppingIds;
+
+        private CompiledPizza(int sizeId, int crustId, int[] toppingIds) {
+            this.sizeId = sizeId;
+            this.crustId = crustId;
+            this.toppingIds = toppingIds;
+        }
+
+        public int getToppingCount() {
+            return toppingIds.length;
+        }
+    }
+
+    /**
+     * Immutable ids and prices; arrays are indexed by id. Crust id 0 stands
+     * for every crust without a surcharge.
+     */
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(0, new String[0], new long[0], -1,
+                new String[] {""}, new long[1], new long[Topping.Kind.values().length]);
+
+        final int version;
+        final String[] sizeNames;
+        final long[] sizeCents;
+        final int defaultSizeId;
+        final String[] crustNames;
+        final long[] crustCents;
+        final long[] toppingCents;
+        // name as written -> id, filled with the table's names and then every other spelling that matched
+        private final Map<String, Integer> sizeIds;
+        private final Map<String, Integer> crustIds;
+
+        Snapshot(int version, String[] sizeNames, long[] sizeCents, int defaultSizeId,
+                 String[] crustNames, long[] crustCents, long[] toppingCents) {
+            this.version = version;
+            this.sizeNames = sizeNames;
+            this.sizeCents = sizeCents;
+            this.defaultSizeId = defaultSizeId;
+            this.crustNames = crustNames;
+            this.crustCents = crustCents;
+            this.toppingCents = toppingCents;
+            this.sizeIds = ids(sizeNames);
+            this.crustIds = ids(crustNames);
+        }
+
+        int sizeId(String size) {
+            int id = resolve(sizeIds, sizeNames, size);
+            if (id >= 0) {
+                return id;
+            }
+            if (defaultSizeId < 0) {
+                throw new IllegalArgumentException("Unknown size and no default size: " + size);
+            }
+            return defaultSizeId;
+        }
+
+        int crustId(String crust) {
+            int id = resolve(crustIds, crustNames, crust);
+            return id > 0 ? id : NO_CRUST;
+        }
+
+        /**
+         * @return id of the name ignoring case, or -1; matches are remembered under the name as written
+         */
+        private static int resolve(Map<String, Integer> ids, String[] names, String name) {
+            if (name == null) {
+                return -1;
+            }
+            Integer id = ids.get(name);
+            if (id != null) {
+                return id;
+            }
+            int found = indexOf(names, name);
+            if (found >= 0 && ids.size() < MAX_ALIASES) {
+                ids.putIfAbsent(name, found);
+            }
+            return found;
+        }
+
+        private static Map<String, Integer> ids(String[] names) {
+            Map<String, Integer> ids = new ConcurrentHashMap<>();
+            for (int i = 0; i < names.length; i++) {
+                ids.putIfAbsent(names[i], i);
+            }
+            return ids;
+        }
+
+        /**
+         * Copies this snapshot, overriding the prices named in the table and
+         * appending ids for new names
+         */
+        Snapshot merge(PriceTable table, int newVersion) {
+            String[] newSizeNames = sizeNames;
+            long[] newSizeCents = Arrays.copyOf(sizeCents, sizeCents.length);
+            for (Map.Entry<String, Long> entry : table.getSizes().entrySet()) {
+                int id = indexOf(newSizeNames, entry.getKey());
+                if (id < 0) {
+                    id = newSizeNames.length;
+                    newSizeNames = Arrays.copyOf(newSizeNames, id + 1);
+                    newSizeNames[id] = entry.getKey();
+                    newSizeCents = Arrays.copyOf(newSizeCents, id + 1);
+                }
+                newSizeCents[id] = entry.getValue();
+            }
+
+            String[] newCrustNames = crustNames;
+            long[] newCrustCents = Arrays.copyOf(crustCents, crustCents.length);
+            for (Map.Entry<String, Long> entry : table.getCrusts().entrySet()) {
+                int id = indexOf(newCrustNames, entry.getKey());
+                if (id <= 0) {
+                    id = newCrustNames.length;
+                    newCrustNames = Arrays.copyOf(newCrustNames, id + 1);
+                    newCrustNames[id] = entry.getKey();
+                    newCrustCents = Arrays.copyOf(newCrustCents, id + 1);
+                }
+                newCrustCents[id] = entry.getValue();
+            }
+
+            long[] newToppingCents = Arrays.copyOf(toppingCents, toppingCents.length);
+            for (Map.Entry<Topping.Kind, Long> entry : table.getToppings().entrySet()) {
+                newToppingCents[entry.getKey().ordinal()] = entry.getValue();
+            }
+
+            int newDefaultSizeId = table.getDefaultSize() != null
+                    ? indexOf(newSizeNames, table.getDefaultSize()) : defaultSizeId;
+            return new Snapshot(newVersion, newSizeNames, newSizeCents, newDefaultSizeId,
+                    newCrustNames, newCrustCents, newToppingCents);
+        }
+
+        private static int indexOf(String[] names, String name) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equalsIgnoreCase(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -1,23 +1,34 @@
 package md.utm.tmps.lab2.domain.subsystems;
 
+import md.utm.tmps.lab2.domain.events.EventSink;
+import md.utm.tmps.lab2.domain.events.EventType;
 import md.utm.tmps.lab2.domain.models.Order;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Subsystem for managing order inventory and tracking
+ * Orders are kept in a lock-striped OrderStore, so one InventoryManager
+ * (and the facade owning it) can be shared between POS terminal threads
  */
 public class InventoryManager {
-    private final Map<Integer, Order> orders;
+    private final OrderStore orders;
+    private final EventSink events;
     
     public InventoryManager() {
-        this.orders = new HashMap<>();
+        this(new OrderStore(), EventSink.noOp());
+    }
+    
+    public InventoryManager(EventSink events) {
+        this(new OrderStore(), events);
+    }
+    
+    public InventoryManager(OrderStore orders, EventSink events) {
+        this.orders = orders;
+        this.events = events;
     }
     
     public void registerOrder(Order order) {
         orders.put(order.getOrderId(), order);
-        System.out.println("  → Inventory: Order #" + order.getOrderId() + " registered");
+        events.record(EventType.ORDER_REGISTERED, order.getOrderId());
     }
     
     public Order getOrder(int orderId) {
@@ -32,7 +43,7 @@ public class InventoryManager {
         Order order = orders.get(orderId);
         if (order != null) {
             order.setStatus(status);
-            System.out.println("  → Inventory: Order #" + orderId + " status updated to " + status);
+            events.record(EventType.ORDER_STATUS_UPDATED, orderId, status.name());
         }
     }
     
@@ -0,0 +1,325 @@
+package md.utm.tmps.lab2.domain.subsystems;
+
+import md.utm.tmps.lab2.domain.models.PizzaComponent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.ToLongFunction;
+
+/**
+ * Kitchen with a fixed number of stations that prepare pizzas in parallel
+ *
+ * Every station is a worker thread with its own deque. Submitted pizzas are
+ * dealt to the stations round-robin. A station takes its own pizzas oldest
+ * first; when its deque is empty it steals the newest pizza of another
+ * station, so pizzas queued behind a slow oven move to idle stations instead
+ * of waiting. Stations with nothing to do park until new work arrives.
+ *
+ * A pizza is prepared through a KitchenService - the scheduler's own, or the
+ * one passed with the pizza so its steps reach the caller's EventSink - and
+ * then stays on its station for its bake time. Anything the preparation
+ * throws, Errors included, is handed to the completion callback instead of
+ * stopping the station. The callback runs on the station right after, so it
+ * must be short - the facade uses it to mark an order READY once its last
+ * pizza is done. A failing callback is reported as KITCHEN_CALLBACK_FAILED.
+ *
+ * Per-station counters (busy time, pizzas prepared, pizzas stolen) can be
+ * read at any time for utilization reports. close() lets the stations finish
+ * every submitted pizza and stops them.
+ */
+public class KitchenScheduler implements AutoCloseable {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Called once per submitted pizza
+     */
+    @FunctionalInterface
+    public interface Completion {
+        /**
+         * @param failure null if the pizza was prepared, otherwise what the preparation threw
+         */
+        void completed(PizzaComponent pizza, Throwable failure);
+    }
+
+    /**
+     * Counters of one station since the scheduler started
+     */
+    public record StationStats(int station, long busyNanos, long prepared, long stolen) {
+    }
+
+    private final KitchenService kitchen;
+    private final ToLongFunction<PizzaComponent> bakeNanos;
+    private final Station[] stations;
+    private final AtomicInteger nextStation = new AtomicInteger();
+    private volatile boolean running = true;
+
+    /**
+     * Creates stations that only run the KitchenService steps, without bake time
+     * The scheduler's own KitchenService discards its events; pass a kitchen
+     * with each pizza to keep them.
+     */
+    public KitchenScheduler(int stations) {
+        this(new KitchenService(), stations, pizza -> 0);
+    }
+
+    /**
+     * @param kitchen prepares each pizza and reports its steps
+     * @param stations number of stations, one thread each
+     * @param bakeNanos time a pizza occupies its station after preparation
+     */
+    public KitchenScheduler(KitchenService kitchen, int stations, ToLongFunction<PizzaComponent> bakeNanos) {
+        if (stations <= 0) {
+            throw new IllegalArgumentException("Station count must be positive: " + stations);
+        }
+        this.kitchen = kitchen;
+        this.bakeNanos = bakeNanos;
+        this.stations = new Station[stations];
+        for (int i = 0; i < stations; i++) {
+            this.stations[i] = new Station(i);
+        }
+        for (Station station : this.stations) {
+            station.thread.start();
+        }
+    }
+
+    public int getStationCount() {
+        return stations.length;
+    }
+
+    /**
+     * Queues a pizza on the next station
+     * @throws RejectedExecutionException if the scheduler is closed
+     */
+    public void submit(PizzaComponent pizza, Completion completion) {
+        submit(pizza, kitchen, completion);
+    }
+
+    /**
+     * Queues a pizza on the next station, to be prepared through the given kitchen
+     * @throws RejectedExecutionException if the scheduler is closed
+     */
+    public void submit(PizzaComponent pizza, KitchenService kitchen, Completion completion) {
+        if (!running) {
+            throw new RejectedExecutionException("Kitchen is closed");
+        }
+        int index = (nextStation.getAndIncrement() & Integer.MAX_VALUE) % stations.length;
+        Station station = stations[index];
+        station.deque.addLast(new Task(pizza, kitchen, completion));
+        if (station.idle) {
+            LockSupport.unpark(station.thread);
+        } else {
+            wakeIdleStation(index);
+        }
+    }
+
+    /**
+     * Queues every pizza of an order
+     * @return future completed once all pizzas are done, exceptionally with the
+     *         first failure if any preparation failed
+     */
+    public CompletableFuture<Void> prepareAll(List<? extends PizzaComponent> pizzas) {
+        return prepareAll(pizzas, kitchen);
+    }
+
+    /**
+     * Queues every pizza of an order, to be prepared through the given kitchen
+     * @return future completed once all pizzas are done, exceptionally with the
+     *         first failure if any preparation failed
+     */
+    public CompletableFuture<Void> prepareAll(List<? extends PizzaComponent> pizzas, KitchenService kitchen) {
+        Countdown countdown = new Countdown(pizzas.size());
+        if (pizzas.isEmpty()) {
+            countdown.done.complete(null);
+        }
+        for (PizzaComponent pizza : pizzas) {
+            submit(pizza, kitchen, countdown);
+        }
+        return countdown.done;
+    }
+
+    /**
+     * @return one entry per station, in station order
+     */
+    public List<StationStats> getStationStats() {
+        List<StationStats> stats = new ArrayList<>(stations.length);
+        for (Station station : stations) {
+            stats.add(new StationStats(station.index, station.busyNanos, station.prepared, station.stolen));
+        }
+        return stats;
+    }
+
+    /**
+     * Stops accepting pizzas and waits until every submitted pizza is done
+     */
+    @Override
+    public void close() {
+        running = false;
+        for (Station station : stations) {
+            LockSupport.unpark(station.thread);
+        }
+        for (Station station : stations) {
+            try {
+                station.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        // pizzas submitted while the stations were stopping
+        for (Station station : stations) {
+            Task task;
+            while ((task = station.deque.pollFirst()) != null) {
+                station.prepare(task, false);
+            }
+        }
+    }
+
+    private void wakeIdleStation(int busy) {
+        for (int i = 1; i < stations.length; i++) {
+            Station station = stations[(busy + i) % stations.length];
+            if (station.idle) {
+                LockSupport.unpark(station.thread);
+                return;
+            }
+        }
+    }
+
+    private boolean hasQueuedWork() {
+        for (Station station : stations) {
+            if (!station.deque.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Task(PizzaComponent pizza, KitchenService kitchen, Completion completion) {
+    }
+
+    private final class Station implements Runnable {
+        private final int index;
+        private final ConcurrentLinkedDeque<Task> deque = new ConcurrentLinkedDeque<>();
+        private final Thread thread;
+        private volatile boolean idle;
+
+        // written only by the station thread
+        private volatile long busyNanos;
+        private volatile long prepared;
+        private volatile long stolen;
+
+        Station(int index) {
+            this.index = index;
+            this.thread = new Thread(this, "kitchen-station-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Task task = deque.pollFirst();
+                if (task != null) {
+                    prepare(task, false);
+                    continue;
+                }
+                task = steal();
+                if (task != null) {
+                    prepare(task, true);
+                    continue;
+                }
+                if (!running && !hasQueuedWork()) {
+                    return;
+                }
+                idle = true;
+                // submitters check idle after queuing, so recheck before parking
+                if (running && !hasQueuedWork()) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                idle = false;
+            }
+        }
+
+        private Task steal() {
+            int count = stations.length;
+            if (count == 1) {
+                return null;
+            }
+            int start = ThreadLocalRandom.current().nextInt(count);
+            for (int i = 0; i < count; i++) {
+                Station victim = stations[(start + i) % count];
+                if (victim != this) {
+                    Task task = victim.deque.pollLast();
+                    if (task != null) {
+                        return task;
+                    }
+                }
+            }
+            return null;
+        }
+
+        private void prepare(Task task, boolean wasStolen) {
+            long start = System.nanoTime();
+            Throwable failure = null;
+            try {
+                task.kitchen.preparePizza(task.pizza);
+                bake(bakeNanos.applyAsLong(task.pizza));
+            } catch (Throwable e) {
+                // an Error too must reach the completion, or the order would wait forever
+                failure = e;
+            }
+            busyNanos += System.nanoTime() - start;
+            prepared++;
+            if (wasStolen) {
+                stolen++;
+            }
+            try {
+                task.completion.completed(task.pizza, failure);
+            } catch (Throwable e) {
+                // a failing callback must not stop the station
+                task.kitchen.reportCallbackFailure(e);
+            }
+        }
+
+        private void bake(long nanos) {
+            long end = System.nanoTime() + nanos;
+            while (nanos > 0) {
+                LockSupport.parkNanos(this, nanos);
+                nanos = end - System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Completes its future when the last pizza of a prepareAll call is done
+     */
+    private static final class Countdown implements Completion {
+        private final AtomicInteger remaining;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private volatile Throwable failure;
+
+        Countdown(int pizzas) {
+            this.remaining = new AtomicInteger(pizzas);
+        }
+
+        @Override
+        public void completed(PizzaComponent pizza, Throwable failure) {
+            if (failure != null && this.failure == null) {
+                this.failure = failure;
+            }
+            if (remaining.decrementAndGet() == 0) {
+                Throwable first = this.failure;
+                if (first == null) {
+                    done.complete(null);
+                } else {
+                    done.completeExceptionally(first);
+                }
+            }
+        }
+    }
+}
@@ -1,23 +1,41 @@
 package md.utm.tmps.lab2.domain.subsystems;
 
+import md.utm.tmps.lab2.domain.events.EventSink;
+import md.utm.tmps.lab2.domain.events.EventType;
 import md.utm.tmps.lab2.domain.models.PizzaComponent;
 
 /**
  * Subsystem for managing kitchen operations
  */
 public class KitchenService {
+    private final EventSink events;
+    
+    public KitchenService() {
+        this(EventSink.noOp());
+    }
+    
+    public KitchenService(EventSink events) {
+        this.events = events;
+    }
     
     public void preparePizza(PizzaComponent pizza) {
-        System.out.println("  → Kitchen: Starting pizza preparation");
-        pizza.prepare();
-        System.out.println("  → Kitchen: Pizza ready!");
+        events.record(EventType.PIZZA_PREPARATION_STARTED, 0);
+        pizza.prepare(events);
+        events.record(EventType.PIZZA_PREPARED, 0);
     }
     
     public void prepareOrder(int orderId) {
-        System.out.println("  → Kitchen: Starting preparation for Order #" + orderId);
+        events.record(EventType.ORDER_PREPARATION_STARTED, orderId);
     }
     
     public void completeOrder(int orderId) {
-        System.out.println("  → Kitchen: Order #" + orderId + " completed and ready for pickup");
+        events.record(EventType.ORDER_PREPARATION_COMPLETED, orderId);
+    }
+    
+    /**
+     * Reports that the callback run after a pizza was prepared threw
+     */
+    public void reportCallbackFailure(Throwable failure) {
+        events.record(EventType.KITCHEN_CALLBACK_FAILED, 0, failure.toString());
     }
 }
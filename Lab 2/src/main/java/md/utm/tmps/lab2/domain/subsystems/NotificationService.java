@@ -1,23 +1,89 @@
 package md.utm.tmps.lab2.domain.subsystems;
 
+import md.utm.tmps.lab2.domain.events.EventSink;
+import md.utm.tmps.lab2.domain.events.EventType;
+import md.utm.tmps.lab2.domain.notifications.Notification;
+import md.utm.tmps.lab2.domain.notifications.NotificationPipeline;
+import md.utm.tmps.lab2.domain.notifications.NotificationTransport;
+import md.utm.tmps.lab2.domain.notifications.OutboundMessage;
+
+import java.util.List;
+
 /**
  * Subsystem for customer notifications
+ *
+ * Every notification is reported to the EventSink. Where it goes beyond that
+ * depends on the constructor:
+ * - no transport: nowhere, only the event is recorded
+ * - a transport: sent at once, one request per notification
+ * - a NotificationPipeline: coalesced per customer and sent in batches
  */
 public class NotificationService {
+    private final EventSink events;
+    private final NotificationTransport transport;
+    private final NotificationPipeline pipeline;
+    
+    public NotificationService() {
+        this(EventSink.noOp());
+    }
+    
+    public NotificationService(EventSink events) {
+        this(events, null, null);
+    }
+    
+    /**
+     * Sends every notification immediately through the transport
+     */
+    public NotificationService(EventSink events, NotificationTransport transport) {
+        this(events, transport, null);
+    }
+    
+    /**
+     * Hands every notification to the pipeline
+     */
+    public NotificationService(EventSink events, NotificationPipeline pipeline) {
+        this(events, null, pipeline);
+    }
+    
+    private NotificationService(EventSink events, NotificationTransport transport, NotificationPipeline pipeline) {
+        this.events = events;
+        this.transport = transport;
+        this.pipeline = pipeline;
+    }
     
     public void sendOrderConfirmation(int orderId, String customerContact) {
-        System.out.println("  → Notification: Order confirmation sent to " + customerContact);
-        System.out.println("    'Your order #" + orderId + " has been received and is being prepared'");
+        events.record(EventType.ORDER_CONFIRMATION_SENT, orderId, customerContact);
+        if (transport != null || pipeline != null) {
+            deliver(Notification.orderConfirmation(orderId, customerContact));
+        }
     }
     
     public void sendOrderReady(int orderId, String customerContact) {
-        System.out.println("  → Notification: Ready notification sent to " + customerContact);
-        System.out.println("    'Your order #" + orderId + " is ready for pickup!'");
+        events.record(EventType.ORDER_READY_SENT, orderId, customerContact);
+        if (transport != null || pipeline != null) {
+            deliver(Notification.orderReady(orderId, customerContact));
+        }
+    }
+    
+    public void sendPaymentConfirmation(int orderId, long amountCents, String paymentMethod) {
+        sendPaymentConfirmation(orderId, amountCents, paymentMethod, null);
+    }
+    
+    /**
+     * @param customerContact recipient, lets the pipeline coalesce this with the order's other notices
+     */
+    public void sendPaymentConfirmation(int orderId, long amountCents, String paymentMethod, String customerContact) {
+        events.record(EventType.PAYMENT_CONFIRMATION_SENT, orderId, amountCents, paymentMethod);
+        if (transport != null || pipeline != null) {
+            deliver(Notification.paymentConfirmation(orderId, amountCents, paymentMethod, customerContact));
+        }
     }
     
-    public void sendPaymentConfirmation(int orderId, double amount, String paymentMethod) {
-        System.out.println("  → Notification: Payment confirmation sent");
-        System.out.println("    'Payment of $" + String.format("%.2f", amount) + 
-                          " via " + paymentMethod + " was successful'");
+    private void deliver(Notification notification) {
+        if (pipeline != null) {
+            pipeline.submit(notification);
+        } else {
+            transport.send(List.of(OutboundMessage.of(notification)));
+        }
     }
 }
@@ -0,0 +1,245 @@
+package md.utm.tmps.lab2.domain.subsystems;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Deadline-aware queue of orders waiting for the kitchen
+ *
+ * Orders are dispatched earliest deadline first, with aging: the priority key
+ * is deadline + agingWeight * enqueueTime. The current aging term would be
+ * deadline - agingWeight * (now - enqueueTime); since every queued order ages
+ * at the same rate, that orders the queue exactly like the static key, so the
+ * heap never has to be rebuilt. Weight 0 is pure EDF; the larger the weight,
+ * the closer the order gets to FIFO. Orders without a promised time (dine-in)
+ * get the default slack as their deadline.
+ *
+ * Producers never lock: enqueue pushes onto a lock-free inbox stack with one
+ * CAS. Dispatchers take the heap lock, move the whole inbox into the binary
+ * heap and pop the smallest key, so producers and dispatchers never contend
+ * on the same lock.
+ *
+ * The queue also counts how many dispatched orders were completed by their
+ * deadline; call complete() when an order is ready.
+ */
+public class OrderDispatchQueue {
+    private static final long DEFAULT_SLACK_NANOS = TimeUnit.MINUTES.toNanos(20);
+    private static final double DEFAULT_AGING_WEIGHT = 0.1;
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * An order taken from or waiting in the queue
+     */
+    public static final class Dispatch {
+        private final int orderId;
+        private final String customerContact;
+        private final long deadlineNanos;
+        private final long enqueuedNanos;
+        private final long key;
+        private Dispatch next;
+
+        private Dispatch(int orderId, String customerContact, long deadlineNanos, long enqueuedNanos, long key) {
+            this.orderId = orderId;
+            this.customerContact = customerContact;
+            this.deadlineNanos = deadlineNanos;
+            this.enqueuedNanos = enqueuedNanos;
+            this.key = key;
+        }
+
+        public int orderId() { return orderId; }
+        public String customerContact() { return customerContact; }
+
+        /**
+         * @return promised time on the queue's clock
+         */
+        public long deadlineNanos() { return deadlineNanos; }
+        public long enqueuedNanos() { return enqueuedNanos; }
+    }
+
+    /**
+     * Counters since the queue was created
+     * @param completed dispatched orders reported through complete()
+     * @param metDeadline completed orders that were ready by their deadline
+     */
+    public record Stats(long enqueued, long dispatched, long completed, long metDeadline) {
+
+        public long queued() {
+            return enqueued - dispatched;
+        }
+
+        /**
+         * @return fraction of completed orders that met their deadline, 1 if none completed
+         */
+        public double metDeadlineShare() {
+            return completed == 0 ? 1.0 : metDeadline / (double) completed;
+        }
+    }
+
+    private final LongSupplier clock;
+    private final long originNanos;
+    private final long defaultSlackNanos;
+    private final double agingWeight;
+
+    private final AtomicReference<Dispatch> inbox = new AtomicReference<>();
+    private final LongAdder enqueued = new LongAdder();
+
+    // heap state, guarded by heapLock
+    private final ReentrantLock heapLock = new ReentrantLock();
+    private Dispatch[] heap = new Dispatch[INITIAL_CAPACITY];
+    private int heapSize;
+    private volatile long dispatched;
+
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong metDeadline = new AtomicLong();
+
+    public OrderDispatchQueue() {
+        this(System::nanoTime, DEFAULT_SLACK_NANOS, DEFAULT_AGING_WEIGHT);
+    }
+
+    /**
+     * @param clock time source for enqueue times, deadlines and completions
+     * @param defaultSlackNanos deadline of orders without a promised time, after enqueue
+     * @param agingWeight priority gained per nanosecond of earlier enqueue, 0 for pure EDF
+     */
+    public OrderDispatchQueue(LongSupplier clock, long defaultSlackNanos, double agingWeight) {
+        if (defaultSlackNanos < 0 || !(agingWeight >= 0)) {
+            throw new IllegalArgumentException("Slack and aging weight must not be negative");
+        }
+        this.clock = clock;
+        this.originNanos = clock.getAsLong();
+        this.defaultSlackNanos = defaultSlackNanos;
+        this.agingWeight = agingWeight;
+    }
+
+    /**
+     * @return the clock deadlines are measured on, for computing promised times
+     */
+    public long now() {
+        return clock.getAsLong();
+    }
+
+    /**
+     * Queues an order without a promised time (dine-in)
+     */
+    public Dispatch enqueue(int orderId, String customerContact) {
+        long now = clock.getAsLong();
+        return enqueue(orderId, customerContact, now + defaultSlackNanos, now);
+    }
+
+    /**
+     * Queues an order that must be ready by the given time
+     * @param deadlineNanos promised time on the queue's clock, see now()
+     */
+    public Dispatch enqueue(int orderId, String customerContact, long deadlineNanos) {
+        return enqueue(orderId, customerContact, deadlineNanos, clock.getAsLong());
+    }
+
+    private Dispatch enqueue(int orderId, String customerContact, long deadlineNanos, long now) {
+        double aged = (deadlineNanos - originNanos) + agingWeight * (now - originNanos);
+        long key = aged >= Long.MAX_VALUE ? Long.MAX_VALUE : aged <= Long.MIN_VALUE ? Long.MIN_VALUE : (long) aged;
+        Dispatch dispatch = new Dispatch(orderId, customerContact, deadlineNanos, now, key);
+        Dispatch head;
+        do {
+            head = inbox.get();
+            dispatch.next = head;
+        } while (!inbox.compareAndSet(head, dispatch));
+        enqueued.increment();
+        return dispatch;
+    }
+
+    /**
+     * Takes the order with the smallest aged deadline
+     * @return the order, or null if the queue is empty
+     */
+    public Dispatch poll() {
+        heapLock.lock();
+        try {
+            drainInbox();
+            if (heapSize == 0) {
+                return null;
+            }
+            Dispatch first = heap[0];
+            Dispatch last = heap[--heapSize];
+            heap[heapSize] = null;
+            if (heapSize > 0) {
+                siftDown(last);
+            }
+            dispatched++;
+            return first;
+        } finally {
+            heapLock.unlock();
+        }
+    }
+
+    /**
+     * Records that a dispatched order is ready
+     * @return true if it was ready by its deadline
+     */
+    public boolean complete(Dispatch dispatch) {
+        boolean met = clock.getAsLong() <= dispatch.deadlineNanos;
+        completed.incrementAndGet();
+        if (met) {
+            metDeadline.incrementAndGet();
+        }
+        return met;
+    }
+
+    /**
+     * @return orders enqueued and not dispatched yet
+     */
+    public long size() {
+        return enqueued.sum() - dispatched;
+    }
+
+    public Stats getStats() {
+        return new Stats(enqueued.sum(), dispatched, completed.get(), metDeadline.get());
+    }
+
+    private void drainInbox() {
+        Dispatch node = inbox.getAndSet(null);
+        while (node != null) {
+            Dispatch next = node.next;
+            node.next = null;
+            if (heapSize == heap.length) {
+                heap = Arrays.copyOf(heap, heapSize * 2);
+            }
+            siftUp(heapSize++, node);
+            node = next;
+        }
+    }
+
+    private void siftUp(int index, Dispatch node) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent].key <= node.key) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = node;
+    }
+
+    private void siftDown(Dispatch node) {
+        int index = 0;
+        int half = heapSize >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < heapSize && heap[right].key < heap[child].key) {
+                child = right;
+            }
+            if (node.key <= heap[child].key) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = node;
+    }
+}
@@ -1,24 +1,105 @@
 package md.utm.tmps.lab2.domain.subsystems;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Subsystem for managing order IDs
+ *
+ * Lock-free: ids come from an atomic 64-bit counter. With a block size above 1
+ * each thread reserves a block of ids with a single atomic add and hands them
+ * out locally, so hundreds of threads creating orders do not serialize here.
  */
 public class OrderIdGenerator {
-    private static OrderIdGenerator instance;
-    private int currentId;
-    
+    private static final long FIRST_ORDER_ID = 1000;
+
+    private static volatile OrderIdGenerator instance;
+
+    private final AtomicLong nextOrderId;
+    private volatile int generation;
+    private volatile int blockSize;
+    private final ThreadLocal<IdBlock> blocks;
+
     private OrderIdGenerator() {
-        this.currentId = 1000;
+        this.nextOrderId = new AtomicLong(FIRST_ORDER_ID);
+        this.blockSize = 1;
+        this.blocks = ThreadLocal.withInitial(IdBlock::new);
     }
-    
-    public static synchronized OrderIdGenerator getInstance() {
+
+    public static OrderIdGenerator getInstance() {
         if (instance == null) {
-            instance = new OrderIdGenerator();
+            synchronized (OrderIdGenerator.class) {
+                if (instance == null) {
+                    instance = new OrderIdGenerator();
+                }
+            }
         }
         return instance;
     }
-    
-    public synchronized int generateOrderId() {
-        return currentId++;
+
+    /**
+     * @return unique order ID
+     * @throws ArithmeticException once ids no longer fit in an int
+     */
+    public int generateOrderId() {
+        return Math.toIntExact(generateLongOrderId());
+    }
+
+    /**
+     * @return unique order ID as a long, which never wraps in practice
+     */
+    public long generateLongOrderId() {
+        int size = blockSize;
+        if (size == 1) {
+            return nextOrderId.getAndIncrement();
+        }
+        IdBlock block = blocks.get();
+        int currentGeneration = generation;
+        if (block.next == block.limit || block.generation != currentGeneration) {
+            long start = nextOrderId.getAndAdd(size);
+            block.next = start;
+            block.limit = start + size;
+            block.generation = currentGeneration;
+        }
+        return block.next++;
+    }
+
+    /**
+     * @return the next id the shared counter will hand out; with block
+     *         allocation threads may still own lower, unused ids
+     */
+    public int peekNextOrderId() {
+        return Math.toIntExact(nextOrderId.get());
+    }
+
+    public long peekNextLongOrderId() {
+        return nextOrderId.get();
+    }
+
+    /**
+     * @param blockSize ids a thread reserves at once, 1 disables per-thread blocks
+     */
+    public void setBlockSize(int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be at least 1: " + blockSize);
+        }
+        this.blockSize = blockSize;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Restarts ids at 1000 (for testing); must not race with id generation
+     */
+    public void reset() {
+        generation++;
+        nextOrderId.set(FIRST_ORDER_ID);
+    }
+
+    private static final class IdBlock {
+        long next;
+        long limit;
+        int generation;
     }
 }
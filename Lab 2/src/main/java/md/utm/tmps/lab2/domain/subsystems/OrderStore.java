@@ -0,0 +1,264 @@
+package md.utm.tmps.lab2.domain.subsystems;
+
+import md.utm.tmps.lab2.domain.models.Order;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Thread-safe order store keyed by the primitive order id
+ *
+ * Keys are spread over a fixed number of lock stripes. Every stripe is a small
+ * open-addressing table (int keys, Order values) guarded by its own StampedLock:
+ * - writers only contend with writers hashing to the same stripe
+ * - readers use an optimistic stamp and take the read lock only when a
+ *   concurrent write to the same stripe invalidated it
+ *
+ * Order ids are never boxed, so lookups on the hot path do not allocate.
+ */
+public class OrderStore {
+    private static final int DEFAULT_STRIPE_CAPACITY = 16;
+    private static final int MAX_STRIPES = 1 << 16;
+
+    private final Stripe[] stripes;
+    private final int stripeShift;
+
+    /**
+     * Creates a store sized for the number of available processors
+     */
+    public OrderStore() {
+        this(4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a store with at least the given number of lock stripes
+     * @param concurrencyLevel expected number of concurrently writing threads
+     */
+    public OrderStore(int concurrencyLevel) {
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("Concurrency level must be positive: " + concurrencyLevel);
+        }
+        int stripeCount = 1;
+        while (stripeCount < concurrencyLevel && stripeCount < MAX_STRIPES) {
+            stripeCount <<= 1;
+        }
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.stripeShift = 32 - Integer.numberOfTrailingZeros(stripeCount);
+    }
+
+    /**
+     * Stores an order under the given id
+     * @return the order previously stored under that id, or null
+     */
+    public Order put(int orderId, Order order) {
+        if (order == null) {
+            throw new IllegalArgumentException("Order must not be null");
+        }
+        int hash = hash(orderId);
+        Stripe stripe = stripeFor(hash);
+        long stamp = stripe.lock.writeLock();
+        try {
+            return stripe.put(orderId, hash, order);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Looks up an order without taking a lock in the common case
+     * @return the order or null if no order has this id
+     */
+    public Order get(int orderId) {
+        int hash = hash(orderId);
+        Stripe stripe = stripeFor(hash);
+        long stamp = stripe.lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            Order found = stripe.find(orderId, hash);
+            if (stripe.lock.validate(stamp)) {
+                return found;
+            }
+        }
+        stamp = stripe.lock.readLock();
+        try {
+            return stripe.find(orderId, hash);
+        } finally {
+            stripe.lock.unlockRead(stamp);
+        }
+    }
+
+    public boolean containsKey(int orderId) {
+        return get(orderId) != null;
+    }
+
+    /**
+     * Removes an order
+     * @return the removed order, or null if no order had this id
+     */
+    public Order remove(int orderId) {
+        int hash = hash(orderId);
+        Stripe stripe = stripeFor(hash);
+        long stamp = stripe.lock.writeLock();
+        try {
+            return stripe.remove(orderId, hash);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Number of stored orders. Under concurrent modification the value is
+     * a sum of per-stripe counts and therefore only a moment-in-time estimate.
+     */
+    public int size() {
+        int total = 0;
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.tryOptimisticRead();
+            int size = stripe.size;
+            if (!stripe.lock.validate(stamp)) {
+                stamp = stripe.lock.readLock();
+                try {
+                    size = stripe.size;
+                } finally {
+                    stripe.lock.unlockRead(stamp);
+                }
+            }
+            total += size;
+        }
+        return total;
+    }
+
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    private Stripe stripeFor(int hash) {
+        return stripes.length == 1 ? stripes[0] : stripes[hash >>> stripeShift];
+    }
+
+    private static int hash(int key) {
+        // Fibonacci hashing spreads sequential ids over stripes and slots
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * One lock stripe: a linear-probing table. Keys and values live in one
+     * Table object so an optimistic reader always sees arrays of equal length.
+     */
+    private static final class Stripe {
+        final StampedLock lock = new StampedLock();
+        Table table = new Table(DEFAULT_STRIPE_CAPACITY);
+        int size;
+
+        Order find(int key, int hash) {
+            Table t = table;
+            int[] keys = t.keys;
+            Order[] values = t.values;
+            int mask = values.length - 1;
+            int index = hash & mask;
+            for (int probes = 0; probes < values.length; probes++) {
+                Order value = values[index];
+                if (value == null) {
+                    return null;
+                }
+                if (keys[index] == key) {
+                    return value;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        Order put(int key, int hash, Order order) {
+            if ((size + 1) * 4 > table.values.length * 3) {
+                resize();
+            }
+            int[] keys = table.keys;
+            Order[] values = table.values;
+            int mask = values.length - 1;
+            int index = hash & mask;
+            while (values[index] != null) {
+                if (keys[index] == key) {
+                    Order previous = values[index];
+                    values[index] = order;
+                    return previous;
+                }
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            values[index] = order;
+            size++;
+            return null;
+        }
+
+        Order remove(int key, int hash) {
+            int[] keys = table.keys;
+            Order[] values = table.values;
+            int mask = values.length - 1;
+            int index = hash & mask;
+            while (values[index] != null) {
+                if (keys[index] == key) {
+                    Order removed = values[index];
+                    shiftBack(index);
+                    size--;
+                    return removed;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        /**
+         * Backward-shift deletion keeps probe chains intact without tombstones
+         */
+        private void shiftBack(int hole) {
+            int[] keys = table.keys;
+            Order[] values = table.values;
+            int mask = values.length - 1;
+            int index = (hole + 1) & mask;
+            while (values[index] != null) {
+                int home = hash(keys[index]) & mask;
+                boolean movable = hole <= index
+                        ? home <= hole || home > index
+                        : home <= hole && home > index;
+                if (movable) {
+                    keys[hole] = keys[index];
+                    values[hole] = values[index];
+                    hole = index;
+                }
+                index = (index + 1) & mask;
+            }
+            values[hole] = null;
+        }
+
+        private void resize() {
+            Table old = table;
+            Table grown = new Table(old.values.length << 1);
+            int mask = grown.values.length - 1;
+            for (int i = 0; i < old.values.length; i++) {
+                Order value = old.values[i];
+                if (value != null) {
+                    int index = hash(old.keys[i]) & mask;
+                    while (grown.values[index] != null) {
+                        index = (index + 1) & mask;
+                    }
+                    grown.keys[index] = old.keys[i];
+                    grown.values[index] = value;
+                }
+            }
+            table = grown;
+        }
+    }
+
+    private static final class Table {
+        final int[] keys;
+        final Order[] values;
+
+        Table(int capacity) {
+            this.keys = new int[capacity];
+            this.values = new Order[capacity];
+        }
+    }
+}
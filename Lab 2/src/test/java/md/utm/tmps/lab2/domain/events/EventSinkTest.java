@@ -0,0 +1,216 @@
+package md.utm.tmps.lab2.domain.events;
+
+import md.utm.tmps.lab2.domain.decorators.CheeseDecorator;
+import md.utm.tmps.lab2.domain.decorators.PepperoniDecorator;
+import md.utm.tmps.lab2.domain.facade.OrderManagementFacade;
+import md.utm.tmps.lab2.domain.models.BasePizza;
+import md.utm.tmps.lab2.domain.models.Order;
+import md.utm.tmps.lab2.domain.models.PizzaComponent;
+import md.utm.tmps.lab2.domain.payment.adapters.PayPalAdapter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Tests for the structured event sinks used by the Lab 2 subsystems
+ */
+@DisplayName("Event Sink Tests")
+public class EventSinkTest {
+
+    @Test
+    @DisplayName("Facade workflow is recorded as structured events")
+    public void testFacadeWorkflowEvents() {
+        RecordingEventSink events = new RecordingEventSink(256);
+        OrderManagementFacade facade = new OrderManagementFacade(events);
+
+        Order order = facade.createOrder();
+        PizzaComponent pizza = new PepperoniDecorator(new CheeseDecorator(new BasePizza("Medium", "Thin"), "Mozzarella"));
+        facade.addPizzaToOrder(order.getOrderId(), pizza);
+        facade.processOrder(order.getOrderId(), "test@email.com");
+        assertTrue(facade.completePayment(order.getOrderId(), new PayPalAdapter(events),
+                "test@email.com", "test@email.com"));
+
+        assertEquals(EventType.ORDER_CREATING, events.getType(0));
+        assertEquals(1, events.count(EventType.ORDER_REGISTERED));
+        assertEquals(2, events.count(EventType.TOPPING_ADDED));
+        assertEquals(4, events.count(EventType.ORDER_STATUS_UPDATED));
+        assertEquals(1, events.count(EventType.PAYPAL_PAYMENT_SENT));
+        assertEquals(EventType.PAYMENT_SUCCEEDED, events.getType(events.size() - 1));
+        assertEquals(order.getOrderId(), events.getOrderId(events.size() - 1));
+    }
+
+    @Test
+    @DisplayName("Recording sink keeps the most recent events without allocating")
+    public void testRecordingSinkIsAllocationFree() {
+        RecordingEventSink events = new RecordingEventSink(1024);
+        for (int i = 0; i < 10_000; i++) { // warm-up so the JIT compiles record()
+            events.record(EventType.ORDER_STATUS_UPDATED, i, 0, "READY");
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            events.record(EventType.ORDER_STATUS_UPDATED, i, 0, "READY");
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(allocated < 100_000, "Recording should not allocate per event, allocated " + allocated);
+        assertEquals(1024, events.size());
+        assertEquals(110_000, events.getRecordedCount());
+        assertEquals(100_000 - 1024, events.getOrderId(0));
+        assertEquals(99_999, events.getOrderId(1023));
+    }
+
+    @Test
+    @DisplayName("Async sink renders the same text as the console sink")
+    public void testAsyncSinkMatchesConsole() {
+        ByteArrayOutputStream console = new ByteArrayOutputStream();
+        EventSink direct = new ConsoleEventSink(new PrintStream(console, true, StandardCharsets.UTF_8));
+        StringBuilder asyncOut = new StringBuilder();
+
+        try (AsyncEventSink async = new AsyncEventSink(asyncOut, 64)) {
+            for (EventSink sink : new EventSink[] {direct, async}) {
+                sink.record(EventType.ORDER_CREATED, 1001);
+                sink.record(EventType.TOPPING_ADDED, 0, 250, "crispy bacon strips");
+                sink.record(EventType.PAYMENT_CONFIRMATION_SENT, 1001, 1449, "PayPal");
+            }
+        }
+
+        String expected = console.toString(StandardCharsets.UTF_8);
+        assertEquals(expected, asyncOut.toString());
+        assertTrue(expected.contains("  → Adding crispy bacon strips (+$2.50)"));
+    }
+
+    @Test
+    @DisplayName("Async sink drops instead of blocking when the ring is full")
+    public void testAsyncSinkDropsWhenFull() {
+        BlockingAppendable slow = new BlockingAppendable();
+        AsyncEventSink async = new AsyncEventSink(slow, 8);
+        for (int i = 0; i < 100; i++) {
+            async.record(EventType.ORDER_REGISTERED, i);
+        }
+        assertTrue(async.getDroppedCount() > 0, "Overflowing events should be dropped");
+
+        slow.release();
+        async.close();
+        assertEquals(100, async.getDroppedCount() + async.getWrittenCount());
+    }
+
+    @Test
+    @DisplayName("Events racing close() are either written or counted as dropped")
+    public void testAsyncSinkCloseRace() throws InterruptedException {
+        for (int round = 0; round < 50; round++) {
+            StringBuilder out = new StringBuilder();
+            AsyncEventSink async = new AsyncEventSink(out, 1024);
+            int producers = 4;
+            int perProducer = 500;
+            CountDownLatch start = new CountDownLatch(1);
+            Thread[] threads = new Thread[producers];
+            for (int t = 0; t < producers; t++) {
+                threads[t] = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < perProducer; i++) {
+                        async.record(EventType.ORDER_REGISTERED, i);
+                    }
+                });
+                threads[t].start();
+            }
+            start.countDown();
+            async.close();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            long written = out.toString().lines().count();
+            assertEquals(async.getWrittenCount(), written);
+            assertEquals(producers * perProducer, async.getDroppedCount() + written, "Round " + round);
+        }
+    }
+
+    @Test
+    @DisplayName("Async sink keeps writing after the target fails and reports it on close")
+    public void testAsyncSinkTargetFailure() throws InterruptedException {
+        StringBuilder out = new StringBuilder();
+        Appendable failing = new Appendable() {
+            @Override
+            public Appendable append(CharSequence csq) throws IOException {
+                if (csq.toString().contains("burnt")) {
+                    throw new IOException("Disk full");
+                }
+                out.append(csq);
+                return this;
+            }
+
+            @Override
+            public Appendable append(CharSequence csq, int start, int end) throws IOException {
+                return append(csq.subSequence(start, end));
+            }
+
+            @Override
+            public Appendable append(char c) {
+                out.append(c);
+                return this;
+            }
+        };
+        AsyncEventSink async = new AsyncEventSink(failing, 64);
+        async.record(EventType.TOPPING_ADDED, 0, 250, "burnt crust");
+        // long enough for the writer to give up polling and park
+        Thread.sleep(50);
+        for (int i = 0; i < 10; i++) {
+            async.record(EventType.ORDER_REGISTERED, i);
+        }
+
+        UncheckedIOException failure = assertThrows(UncheckedIOException.class, async::close);
+        assertEquals("Disk full", failure.getCause().getMessage());
+        assertEquals(1, async.getFailedCount());
+        assertEquals(10, async.getWrittenCount());
+        assertEquals(10, out.toString().lines().count());
+        assertEquals(0, async.getDroppedCount());
+    }
+
+    /**
+     * Appendable that blocks the writer thread until released
+     */
+    private static final class BlockingAppendable implements Appendable {
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        void release() {
+            released.countDown();
+        }
+
+        @Override
+        public Appendable append(CharSequence csq) {
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return this;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) {
+            return append(csq);
+        }
+
+        @Override
+        public Appendable append(char c) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package md.utm.tmps.lab2.domain.facade;
+
+import md.utm.tmps.lab2.domain.decorators.CheeseDecorator;
+import md.utm.tmps.lab2.domain.decorators.MushroomDecorator;
+import md.utm.tmps.lab2.domain.events.EventSink;
+import md.utm.tmps.lab2.domain.events.EventType;
+import md.utm.tmps.lab2.domain.events.RecordingEventSink;
+import md.utm.tmps.lab2.domain.models.BasePizza;
+import md.utm.tmps.lab2.domain.models.Order;
+import md.utm.tmps.lab2.domain.models.PizzaComponent;
+import md.utm.tmps.lab2.domain.subsystems.OrderIdGenerator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for the pipelined processOrderAsync of OrderManagementFacade
+ */
+@DisplayName("Async Order Processing Tests")
+public class AsyncOrderProcessingTest {
+
+    @BeforeEach
+    public void setUp() {
+        OrderIdGenerator.getInstance().reset();
+    }
+
+    @Test
+    @DisplayName("Pizzas of one order are prepared in parallel")
+    public void testPizzasPreparedInParallel() throws Exception {
+        OrderManagementFacade facade = new OrderManagementFacade();
+        int orderId = facade.createOrder().getOrderId();
+        SlowPizza pizza = new SlowPizza(200);
+        for (int i = 0; i < 4; i++) {
+            facade.getOrder(orderId).addPizza(pizza); // unsealed, so the kitchen really waits
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<Order> future = facade.processOrderAsync(orderId, "test@email.com");
+        assertEquals(Order.OrderStatus.PREPARING, facade.getOrder(orderId).getStatus());
+        Order order = future.get(5, TimeUnit.SECONDS);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(Order.OrderStatus.READY, order.getStatus());
+        assertEquals(4, pizza.prepared.get());
+        assertTrue(elapsedMillis < 600, "4 x 200ms pizzas should overlap, took " + elapsedMillis + " ms");
+        assertTrue(facade.completePayment(orderId, new md.utm.tmps.lab2.domain.payment.adapters.PayPalAdapter(),
+                "test@email.com", "test@email.com"));
+        System.out.println("✓ 4 slow pizzas prepared in " + elapsedMillis + " ms");
+    }
+
+    @Test
+    @DisplayName("Status transitions and notifications stay ordered")
+    public void testStatusOrdering() throws Exception {
+        RecordingEventSink events = new RecordingEventSink(1 << 16);
+        OrderManagementFacade facade = new OrderManagementFacade(events);
+        int[] ids = new int[200];
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = facade.createOrder().getOrderId();
+            // kitchen events carry no order id, so each pizza stamps its own on them
+            facade.getOrder(ids[i]).addPizza(new OrderTaggedPizza(ids[i], samplePizza()));
+            facade.getOrder(ids[i]).addPizza(new OrderTaggedPizza(ids[i], samplePizza()));
+            futures[i] = facade.processOrderAsync(ids[i], "c" + i + "@email.com");
+        }
+        CompletableFuture.allOf(futures).get(10, TimeUnit.SECONDS);
+
+        for (int orderId : ids) {
+            int preparing = -1, confirmed = -1, firstPizza = -1, lastPizza = -1, ready = -1, readySent = -1;
+            for (int i = 0; i < events.size(); i++) {
+                if (events.getOrderId(i) != orderId) {
+                    continue;
+                }
+                EventType type = events.getType(i);
+                if (type == EventType.ORDER_STATUS_UPDATED && "PREPARING".equals(events.getDetail(i))) {
+                    preparing = i;
+                } else if (type == EventType.ORDER_STATUS_UPDATED && "READY".equals(events.getDetail(i))) {
+                    ready = i;
+                } else if (type == EventType.ORDER_CONFIRMATION_SENT) {
+                    confirmed = i;
+                } else if (type == EventType.PIZZA_BAKED || type == EventType.TOPPING_ADDED) {
+                    firstPizza = firstPizza < 0 ? i : firstPizza;
+                    lastPizza = i;
+                } else if (type == EventType.ORDER_READY_SENT) {
+                    readySent = i;
+                }
+            }
+            assertTrue(preparing >= 0 && preparing < firstPizza, "Order " + orderId + " baked before PREPARING");
+            assertTrue(lastPizza < ready, "Order " + orderId + " READY before its last pizza was done");
+            assertTrue(confirmed > preparing && confirmed < readySent && ready < readySent, "Order " + orderId);
+        }
+        assertEquals(4 * ids.length, events.count(EventType.TOPPING_ADDED));
+        System.out.println("✓ " + ids.length + " concurrent orders kept PREPARING -> READY -> notified");
+    }
+
+    @Test
+    @DisplayName("Missing order completes with null")
+    public void testMissingOrder() throws Exception {
+        assertNull(new OrderManagementFacade().processOrderAsync(424242, "x@email.com").get());
+    }
+
+    @Test
+    @DisplayName("Load - 100k orders end-to-end latency percentiles")
+    public void testLoadLatency() throws Exception {
+        int orders = 100_000;
+        int maxInFlight = 1024;
+        OrderManagementFacade facade = new OrderManagementFacade(EventSink.noOp());
+        PizzaComponent pizza = samplePizza();
+        long[] latencies = new long[orders];
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicInteger failures = new AtomicInteger();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < orders; i++) {
+            int orderId = facade.createOrder().getOrderId();
+            facade.addPizzaToOrder(orderId, pizza);
+            facade.addPizzaToOrder(orderId, pizza);
+            inFlight.acquire();
+            int index = i;
+            long submitted = System.nanoTime();
+            facade.processOrderAsync(orderId, "load@email.com").whenComplete((order, error) -> {
+                latencies[index] = System.nanoTime() - submitted;
+                if (error != null || order.getStatus() != Order.OrderStatus.READY) {
+                    failures.incrementAndGet();
+                }
+                inFlight.release();
+            });
+        }
+        assertTrue(inFlight.tryAcquire(maxInFlight, 30, TimeUnit.SECONDS), "Orders did not finish");
+        long elapsed = System.nanoTime() - start;
+
+        assertEquals(0, failures.get());
+        Arrays.sort(latencies);
+        System.out.printf("processOrderAsync: %,d orders in %d ms (%,.0f orders/s, %d in flight)%n",
+                orders, TimeUnit.NANOSECONDS.toMillis(elapsed), orders * 1e9 / elapsed, maxInFlight);
+        for (double p : new double[] {0.50, 0.90, 0.99, 0.999}) {
+            System.out.printf("  p%-5s %8.1f us%n", p * 100, latencies[(int) (p * (orders - 1))] / 1e3);
+        }
+        System.out.printf("  max    %8.1f us%n", latencies[orders - 1] / 1e3);
+    }
+
+    private static PizzaComponent samplePizza() {
+        return new MushroomDecorator(new CheeseDecorator(new BasePizza("Medium", "Thin"), "Mozzarella"));
+    }
+
+    /**
+     * Pizza that records its preparation steps under the id of the order it belongs to
+     */
+    private static final class OrderTaggedPizza implements PizzaComponent {
+        private final int orderId;
+        private final PizzaComponent pizza;
+
+        OrderTaggedPizza(int orderId, PizzaComponent pizza) {
+            this.orderId = orderId;
+            this.pizza = pizza;
+        }
+
+        @Override
+        public String getDescription() {
+            return pizza.getDescription();
+        }
+
+        @Override
+        public long getCostCents() {
+            return pizza.getCostCents();
+        }
+
+        @Override
+        public void prepare(EventSink events) {
+            pizza.prepare((type, ignored, amountCents, detail) -> events.record(type, orderId, amountCents, detail));
+        }
+    }
+
+    /**
+     * Pizza whose preparation blocks for a while, like a real oven
+     */
+    private static final class SlowPizza implements PizzaComponent {
+        private final long prepMillis;
+        private final AtomicInteger prepared = new AtomicInteger();
+
+        SlowPizza(long prepMillis) {
+            this.prepMillis = prepMillis;
+        }
+
+        @Override
+        public String getDescription() {
+            return "Slow pizza";
+        }
+
+        @Override
+        public long getCostCents() {
+            return 1000;
+        }
+
+        @Override
+        public void prepare(EventSink events) {
+            try {
+                Thread.sleep(prepMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            prepared.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package md.utm.tmps.lab2.domain.flyweight;
+
+import md.utm.tmps.lab2.domain.decorators.*;
+import md.utm.tmps.lab2.domain.events.EventSink;
+import md.utm.tmps.lab2.domain.events.EventType;
+import md.utm.tmps.lab2.domain.events.RecordingEventSink;
+import md.utm.tmps.lab2.domain.facade.OrderManagementFacade;
+import md.utm.tmps.lab2.domain.models.BasePizza;
+import md.utm.tmps.lab2.domain.models.Order;
+import md.utm.tmps.lab2.domain.models.PizzaComponent;
+import md.utm.tmps.lab2.domain.models.SealedPizza;
+import md.utm.tmps.lab2.domain.pricing.PriceTable;
+import md.utm.tmps.lab2.domain.pricing.PricingEngine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+/**
+ * Tests for sharing identical pizza configurations through PizzaRegistry
+ */
+@DisplayName("Pizza Registry Tests")
+public class PizzaRegistryTest {
+
+    private static final List<Topping> MEAT_LOVERS =
+            List.of(Topping.cheese("Cheddar"), Topping.PEPPERONI, Topping.BACON);
+
+    @Test
+    @DisplayName("Identical configurations share one instance")
+    public void testConfigurationsAreShared() {
+        PizzaRegistry registry = new PizzaRegistry();
+        SealedPizza first = registry.canonical("Large", "Thick", MEAT_LOVERS);
+        SealedPizza second = registry.canonical("Large", "Thick", List.copyOf(MEAT_LOVERS));
+
+        assertSame(first, second);
+        assertNotSame(first, registry.canonical("Medium", "Thick", MEAT_LOVERS));
+        assertNotSame(first, registry.canonical("Large", "Thick",
+                List.of(Topping.BACON, Topping.cheese("Cheddar"), Topping.PEPPERONI)));
+        assertEquals(3, registry.size());
+        System.out.println("✓ Equal configurations map to one pizza, topping order matters");
+    }
+
+    @Test
+    @DisplayName("Shared pizza prices and describes like its decorator chain")
+    public void testMatchesDecoratorChain() {
+        PizzaRegistry registry = new PizzaRegistry();
+        PizzaComponent chain = new BaconDecorator(new PepperoniDecorator(
+                new CheeseDecorator(new BasePizza("Large", "Thick"), "Cheddar")));
+        SealedPizza shared = registry.canonical("Large", "Thick", MEAT_LOVERS);
+
+        assertEquals(chain.getCostCents(), shared.getCostCents());
+        assertEquals(chain.getDescription(), shared.getDescription());
+        assertSame(shared, registry.canonical(chain));
+        assertSame(shared, registry.canonical(chain.seal()));
+        System.out.println("✓ Decorated chains resolve to the shared pizza");
+    }
+
+    @Test
+    @DisplayName("Menu items are looked up by name")
+    public void testMenuItems() {
+        OrderManagementFacade facade = new OrderManagementFacade();
+        SealedPizza margherita = facade.getPizzaRegistry()
+                .register("Margherita", "Medium", "Thin", List.of(Topping.cheese("Mozzarella")));
+        Order first = facade.createOrder();
+        Order second = facade.createOrder();
+
+        assertTrue(facade.addMenuItemToOrder(first.getOrderId(), "Margherita"));
+        assertTrue(facade.addMenuItemToOrder(second.getOrderId(), "Margherita"));
+        assertFalse(facade.addMenuItemToOrder(second.getOrderId(), "Hawaiian"));
+        assertFalse(facade.addMenuItemToOrder(-1, "Margherita"));
+
+        assertSame(margherita, first.getPizzas().get(0));
+        assertSame(margherita, second.getPizzas().get(0));
+        assertEquals(1249, second.getTotalCents());
+        System.out.println("✓ Orders reference the shared menu pizza");
+    }
+
+    @Test
+    @DisplayName("Facade shares configurations only when asked to")
+    public void testFacadeSharingIsOptIn() {
+        OrderManagementFacade facade = new OrderManagementFacade();
+        Order order = facade.createOrder();
+        PizzaComponent stock = new CheeseDecorator(new BasePizza("Medium", "Thin"), "Mozzarella");
+        PizzaComponent custom = new CheeseDecorator(new BasePizza("Medium", "Thin"), "Mozzarella") {
+            @Override
+            public void prepare(EventSink events) {
+                super.prepare(events);
+                events.record(EventType.PIZZA_BAKED, 0, "stone oven");
+            }
+        };
+        facade.addPizzaToOrder(order.getOrderId(), stock);
+        facade.addPizzaToOrder(order.getOrderId(), custom);
+        List<Topping> margherita = List.of(Topping.cheese("Mozzarella"));
+        assertTrue(facade.addMenuPizzaToOrder(order.getOrderId(), "Medium", "Thin", margherita));
+        assertFalse(facade.addMenuPizzaToOrder(-1, "Medium", "Thin", margherita));
+
+        List<PizzaComponent> pizzas = order.getPizzas();
+        assertNotSame(pizzas.get(0), pizzas.get(1));
+        RecordingEventSink stockSteps = new RecordingEventSink(64);
+        RecordingEventSink customSteps = new RecordingEventSink(64);
+        pizzas.get(0).prepare(stockSteps);
+        pizzas.get(1).prepare(customSteps);
+        assertEquals(stockSteps.count(EventType.PIZZA_BAKED) + 1, customSteps.count(EventType.PIZZA_BAKED),
+                "Custom preparation steps were replaced");
+        assertSame(facade.getPizzaRegistry().canonical("Medium", "Thin", margherita), pizzas.get(2));
+        System.out.println("✓ Caller pizzas kept apart, configurations shared on request");
+    }
+
+    @Test
+    @DisplayName("Shared pizzas follow a price reload")
+    public void testPriceReload() {
+        PricingEngine pricing = PricingEngine.getDefault();
+        OrderManagementFacade facade = new OrderManagementFacade();
+        PizzaRegistry registry = facade.getPizzaRegistry();
+        SealedPizza before = registry.register("Margherita", "Medium", "Thin", List.of(Topping.cheese("Mozzarella")));
+        SealedPizza large = registry.canonical("Large", "Thick", MEAT_LOVERS);
+        assertEquals(1249, before.getCostCents());
+        try {
+            pricing.reload(PriceTable.builder().size("Medium", 1199).size("Large", 1399).build());
+
+            SealedPizza after = registry.menuItem("Margherita");
+            assertEquals(1349, after.getCostCents());
+            assertSame(after, registry.menuItem("Margherita"));
+            assertEquals(large.getCostCents() + 100, registry.canonical("Large", "Thick", MEAT_LOVERS).getCostCents());
+
+            PizzaComponent chain = new CheeseDecorator(new BasePizza("Medium", "Thin"), "Mozzarella");
+            assertSame(after, registry.canonical(chain));
+            Order order = facade.createOrder();
+            assertTrue(facade.addMenuItemToOrder(order.getOrderId(), "Margherita"));
+            facade.addPizzaToOrder(order.getOrderId(), chain);
+            assertEquals(2 * 1349, order.getTotalCents());
+            assertEquals(2, registry.size());   // repriced in place, not added
+        } finally {
+            pricing.reload(PriceTable.DEFAULT);
+        }
+        assertEquals(1249, registry.menuItem("Margherita").getCostCents());
+        System.out.println("✓ Menu items and shared configurations repriced after reload");
+    }
+
+    @Test
+    @DisplayName("Registry stops sharing new configurations when full")
+    public void testBoundedSize() {
+        PizzaRegistry registry = new PizzaRegistry(2);
+        registry.canonical("Small", "Thin", List.of());
+        registry.canonical("Medium", "Thin", List.of());
+        SealedPizza third = registry.canonical("Large", "Thin", List.of());
+
+        assertEquals(2, registry.size());
+        assertEquals(1299, third.getCostCents());
+        assertNotSame(third, registry.canonical("Large", "Thin", List.of()));
+        assertThrows(IllegalArgumentException.class, () -> new Topping(Topping.Kind.CHEESE, null));
+        assertThrows(IllegalArgumentException.class, () -> new Topping(Topping.Kind.BACON, "Crispy"));
+        System.out.println("✓ Custom configurations beyond the limit are sealed but not kept");
+    }
+}
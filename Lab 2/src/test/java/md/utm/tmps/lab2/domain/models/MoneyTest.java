@@ -0,0 +1,97 @@
+package md.utm.tmps.lab2.domain.models;
+
+import md.utm.tmps.lab2.domain.decorators.*;
+import md.utm.tmps.lab2.domain.events.EventType;
+import md.utm.tmps.lab2.domain.events.RecordingEventSink;
+import md.utm.tmps.lab2.domain.payment.adapters.CashAdapter;
+import md.utm.tmps.lab2.domain.payment.adapters.StripeAdapter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+
+/**
+ * Tests for exact cents arithmetic from pizza prices to payment adapters
+ */
+@DisplayName("Money Tests")
+public class MoneyTest {
+
+    private static final String[] SIZES = {"Small", "Medium", "Large", "Extra Large"};
+    private static final BigDecimal[] SIZE_PRICES = {
+            new BigDecimal("8.99"), new BigDecimal("10.99"), new BigDecimal("12.99"), new BigDecimal("14.99")};
+    private static final BigDecimal[] TOPPING_PRICES = {
+            new BigDecimal("1.50"), new BigDecimal("2.00"), new BigDecimal("1.25"),
+            new BigDecimal("1.00"), new BigDecimal("2.50"), new BigDecimal("0.75")};
+
+    @Test
+    @DisplayName("Parse and format round trip")
+    public void testParseAndFormat() {
+        assertEquals(5000, Money.parse("50.00"));
+        assertEquals(1250, Money.parse(" 12.5 "));
+        assertEquals(7, Money.parse("0.07"));
+        assertEquals(-305, Money.parse("-3.05"));
+        assertEquals(1000, Money.parse("9.995"));
+        assertThrows(NumberFormatException.class, () -> Money.parse("ten"));
+
+        assertEquals("12.49", Money.format(1249));
+        assertEquals("0.05", Money.format(5));
+        assertEquals("-3.05", Money.format(-305));
+        assertEquals(435, Money.ofDollars(4.35));
+        System.out.println("✓ Money parses and formats cents exactly");
+    }
+
+    @Test
+    @DisplayName("Property - 1M random orders total exactly like BigDecimal")
+    public void testRandomOrdersMatchBigDecimal() {
+        SplittableRandom random = new SplittableRandom(20251118L);
+        int orders = 1_000_000;
+        for (int n = 0; n < orders; n++) {
+            Order order = new Order(n);
+            BigDecimal reference = BigDecimal.ZERO;
+            int lines = 1 + random.nextInt(8);
+            for (int line = 0; line < lines; line++) {
+                int size = random.nextInt(SIZES.length);
+                PizzaComponent pizza = new BasePizza(SIZES[size], "Thin");
+                reference = reference.add(SIZE_PRICES[size]);
+                for (int toppings = random.nextInt(6); toppings > 0; toppings--) {
+                    int topping = random.nextInt(TOPPING_PRICES.length);
+                    pizza = decorate(pizza, topping);
+                    reference = reference.add(TOPPING_PRICES[topping]);
+                }
+                order.addPizza(pizza);
+            }
+            assertEquals(reference.movePointRight(2).longValueExact(), order.getTotalCents(),
+                    "Order " + n + " total differs from BigDecimal reference");
+        }
+        System.out.println("✓ " + orders + " random orders match the BigDecimal reference");
+    }
+
+    @Test
+    @DisplayName("Adapters receive the exact amount in cents")
+    public void testAdaptersChargeExactCents() {
+        RecordingEventSink events = new RecordingEventSink(16);
+        assertTrue(new StripeAdapter(events).processPayment(4.35, "tok_visa_4242424242424242"));
+        assertEquals(EventType.STRIPE_CHARGED, events.getType(events.size() - 1));
+        assertEquals(435, events.getAmount(events.size() - 1)); // (int) (4.35 * 100) used to give 434
+
+        CashAdapter cash = new CashAdapter(events);
+        assertTrue(cash.processPaymentCents(1249, "20.00"));
+        assertEquals(751, events.getAmount(events.size() - 1));
+        assertEquals(50_000 + 1249, cash.getCashDrawerCents());
+        System.out.println("✓ Stripe and cash adapters keep every cent");
+    }
+
+    private static PizzaComponent decorate(PizzaComponent pizza, int topping) {
+        return switch (topping) {
+            case 0 -> new CheeseDecorator(pizza, "Mozzarella");
+            case 1 -> new PepperoniDecorator(pizza);
+            case 2 -> new MushroomDecorator(pizza);
+            case 3 -> new OliveDecorator(pizza, "Black");
+            case 4 -> new BaconDecorator(pizza);
+            default -> new VegetableDecorator(pizza, "Onions");
+        };
+    }
+}
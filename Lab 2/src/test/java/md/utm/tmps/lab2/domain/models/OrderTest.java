@@ -0,0 +1,136 @@
+package md.utm.tmps.lab2.domain.models;
+
+import md.utm.tmps.lab2.domain.decorators.BaconDecorator;
+import md.utm.tmps.lab2.domain.decorators.CheeseDecorator;
+import md.utm.tmps.lab2.domain.events.EventSink;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for the incrementally maintained Order total
+ */
+@DisplayName("Order Total Tests")
+public class OrderTest {
+
+    @Test
+    @DisplayName("Add, remove and replace keep the total exact")
+    public void testLineItemUpdates() {
+        Order order = new Order(1);
+        PizzaComponent margherita = new CheeseDecorator(new BasePizza("Medium", "Thin"), "Mozzarella");
+        PizzaComponent bacon = new BaconDecorator(new BasePizza("Large", "Thick"));
+
+        order.addPizza(margherita);
+        order.addPizza(bacon);
+        order.addPizza(margherita);
+        assertEquals(1249 + 1549 + 1249, order.getTotalCents());
+
+        assertSame(bacon, order.removePizza(1));
+        assertEquals(2 * 1249, order.getTotalCents());
+
+        assertSame(margherita, order.replacePizza(0, bacon));
+        assertEquals(1549 + 1249, order.getTotalCents());
+        assertTrue(order.removePizza(margherita));
+        assertFalse(order.removePizza(margherita));
+        assertEquals(15.49, order.getTotalAmount());
+        assertEquals(List.of(bacon), order.getPizzas());
+        System.out.println("✓ Order total follows line changes");
+    }
+
+    @Test
+    @DisplayName("Total is a sum of cents, not of doubles")
+    public void testTotalIsExact() {
+        Order order = new Order(2);
+        PizzaComponent dime = new FixedPricePizza(10);
+        for (int i = 0; i < 1000; i++) {
+            order.addPizza(dime);
+        }
+        assertEquals(10_000, order.getTotalCents());
+        assertEquals(100.0, order.getTotalAmount());
+        System.out.println("✓ 1000 x $0.10 = $" + order.getTotalAmount());
+    }
+
+    @Test
+    @DisplayName("Building a 10k-line order prices each pizza once")
+    public void testBuildIsLinear() {
+        FixedPricePizza pizza = new FixedPricePizza(1299);
+
+        Order single = new Order(3);
+        long start = System.nanoTime();
+        for (int i = 0; i < 10_000; i++) {
+            single.addPizza(pizza);
+        }
+        long singleNanos = System.nanoTime() - start;
+        assertEquals(10_000, pizza.costCalls);
+
+        List<PizzaComponent> batch = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            batch.add(pizza);
+        }
+        Order bulk = new Order(4);
+        start = System.nanoTime();
+        bulk.addPizzas(batch);
+        long bulkNanos = System.nanoTime() - start;
+
+        assertEquals(20_000, pizza.costCalls);
+        assertEquals(10_000 * 1299L, single.getTotalCents());
+        assertEquals(single.getTotalCents(), bulk.getTotalCents());
+        assertEquals(10_000, bulk.getPizzaCount());
+        System.out.printf("✓ 10k lines: addPizza %.2f ms, addPizzas %.2f ms, %d getCost calls each%n",
+                singleNanos / 1e6, bulkNanos / 1e6, 10_000);
+    }
+
+    @Test
+    @DisplayName("getPizzas is a read-only snapshot shared until the order changes")
+    public void testPizzasView() {
+        Order order = new Order(5);
+        PizzaComponent margherita = new CheeseDecorator(new BasePizza("Medium", "Thin"), "Mozzarella");
+        PizzaComponent bacon = new BaconDecorator(new BasePizza("Large", "Thick"));
+        order.addPizza(margherita);
+        order.addPizza(bacon);
+
+        List<PizzaComponent> before = order.getPizzas();
+        assertSame(before, order.getPizzas());
+        assertThrows(UnsupportedOperationException.class, () -> before.add(bacon));
+        assertThrows(UnsupportedOperationException.class, () -> before.set(0, bacon));
+
+        order.addPizza(margherita);
+        order.replacePizza(0, bacon);
+        order.removePizza(1);
+        assertEquals(List.of(margherita, bacon), before);
+        assertEquals(List.of(bacon, margherita), order.getPizzas());
+        assertNotSame(before, order.getPizzas());
+        System.out.println("✓ Pizza view is read-only and keeps its snapshot");
+    }
+
+    /**
+     * Pizza with a fixed price that counts how often it is priced
+     */
+    private static final class FixedPricePizza implements PizzaComponent {
+        private final long priceCents;
+        private int costCalls;
+
+        FixedPricePizza(long priceCents) {
+            this.priceCents = priceCents;
+        }
+
+        @Override
+        public String getDescription() {
+            return "Fixed price pizza";
+        }
+
+        @Override
+        public long getCostCents() {
+            costCalls++;
+            return priceCents;
+        }
+
+        @Override
+        public void prepare(EventSink events) {
+        }
+    }
+}
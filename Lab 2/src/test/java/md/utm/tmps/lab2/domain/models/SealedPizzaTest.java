@@ -0,0 +1,89 @@
+package md.utm.tmps.lab2.domain.models;
+
+import md.utm.tmps.lab2.domain.decorators.*;
+import md.utm.tmps.lab2.domain.events.EventType;
+import md.utm.tmps.lab2.domain.events.RecordingEventSink;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for sealing decorated pizzas into flattened SealedPizza snapshots
+ */
+@DisplayName("Sealed Pizza Tests")
+public class SealedPizzaTest {
+
+    @Test
+    @DisplayName("Sealed pizza has the same cost and description as its chain")
+    public void testSealMatchesChain() {
+        for (int depth : new int[] {0, 1, 5, 20, 100}) {
+            PizzaComponent chain = chainOfDepth(depth);
+            SealedPizza sealed = chain.seal();
+
+            assertEquals(chain.getCost(), sealed.getCost(), "Cost differs at depth " + depth);
+            assertEquals(chain.getDescription(), sealed.getDescription());
+            assertEquals(depth + 2, sealed.getStepCount());
+        }
+        System.out.println("✓ Sealed pizzas match their decorator chains");
+    }
+
+    @Test
+    @DisplayName("Descriptions are interned and sealing is idempotent")
+    public void testInternedAndIdempotent() {
+        SealedPizza first = chainOfDepth(20).seal();
+        SealedPizza second = chainOfDepth(20).seal();
+
+        assertSame(first.getDescription(), second.getDescription());
+        assertSame(first, first.seal());
+        assertSame(first, SealedPizza.of(first));
+        System.out.println("✓ Equal pizzas share one description");
+    }
+
+    @Test
+    @DisplayName("Preparation replays the original steps")
+    public void testPrepareReplaysSteps() {
+        PizzaComponent chain = chainOfDepth(6);
+        RecordingEventSink expected = new RecordingEventSink(64);
+        RecordingEventSink actual = new RecordingEventSink(64);
+
+        chain.prepare(expected);
+        chain.seal().prepare(actual);
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.getType(i), actual.getType(i));
+            assertEquals(expected.getAmount(i), actual.getAmount(i));
+            assertEquals(expected.getDetail(i), actual.getDetail(i));
+        }
+        assertEquals(6, actual.count(EventType.TOPPING_ADDED));
+        System.out.println("✓ Sealed pizza prepares like its chain");
+    }
+
+    @Test
+    @DisplayName("Decorators keep working on top of a sealed pizza")
+    public void testDecorateSealedPizza() {
+        PizzaComponent chain = chainOfDepth(5);
+        PizzaComponent extended = new BaconDecorator(chain.seal());
+
+        assertEquals(new BaconDecorator(chain).getDescription(), extended.getDescription());
+        assertEquals(chain.getCost() + 2.50, extended.getCost(), 0.001);
+        assertEquals(extended.getDescription(), extended.seal().getDescription());
+        System.out.println("✓ Sealed pizza can be decorated further");
+    }
+
+    private static PizzaComponent chainOfDepth(int depth) {
+        PizzaComponent pizza = new BasePizza("Large", "Thin");
+        for (int i = 0; i < depth; i++) {
+            pizza = switch (i % 6) {
+                case 0 -> new CheeseDecorator(pizza, "Mozzarella");
+                case 1 -> new PepperoniDecorator(pizza);
+                case 2 -> new MushroomDecorator(pizza);
+                case 3 -> new OliveDecorator(pizza, "Black");
+                case 4 -> new BaconDecorator(pizza);
+                default -> new VegetableDecorator(pizza, "Onions");
+            };
+        }
+        return pizza;
+    }
+}
@@ -0,0 +1,256 @@
+package md.utm.tmps.lab2.domain.notifications;
+
+import md.utm.tmps.lab2.domain.events.EventSink;
+import md.utm.tmps.lab2.domain.facade.OrderManagementFacade;
+import md.utm.tmps.lab2.domain.models.BasePizza;
+import md.utm.tmps.lab2.domain.payment.PaymentRequest;
+import md.utm.tmps.lab2.domain.payment.adapters.PayPalAdapter;
+import md.utm.tmps.lab2.domain.payment.adapters.StripeAdapter;
+import md.utm.tmps.lab2.domain.subsystems.NotificationService;
+import md.utm.tmps.lab2.domain.subsystems.OrderDispatchQueue;
+import md.utm.tmps.lab2.domain.subsystems.OrderIdGenerator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the coalescing NotificationPipeline and its use by NotificationService
+ */
+@DisplayName("Notification Pipeline Tests")
+public class NotificationPipelineTest {
+
+    private static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    @BeforeEach
+    public void setUp() {
+        OrderIdGenerator.getInstance().reset();
+    }
+
+    @Test
+    @DisplayName("Notifications to one recipient within the window become one message")
+    public void testCoalescing() throws Exception {
+        InMemoryNotificationTransport transport = new InMemoryNotificationTransport();
+        NotificationPipeline pipeline = new NotificationPipeline(transport, 64, WINDOW_NANOS, 100,
+                NotificationPipeline.OverflowPolicy.DROP, null);
+        pipeline.submit(Notification.orderConfirmation(1, "ana@email.com"));
+        pipeline.submit(Notification.orderConfirmation(2, "ion@email.com"));
+        pipeline.submit(Notification.orderReady(1, "ana@email.com"));
+        pipeline.submit(Notification.paymentConfirmation(1, 1250, "PayPal", "ana@email.com"));
+        pipeline.submit(Notification.paymentConfirmation(3, 999, "Cash", null));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (transport.getMessageCount() < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        List<OutboundMessage> delivered = transport.getDelivered();
+        assertEquals(3, delivered.size());
+        OutboundMessage ana = delivered.stream().filter(m -> "ana@email.com".equals(m.recipient())).findFirst().get();
+        assertEquals(3, ana.parts().size());
+        assertEquals("Your order #1 has been received and is being prepared\n"
+                + "Your order #1 is ready for pickup!\n"
+                + "Payment of $12.50 via PayPal was successful", ana.text());
+
+        pipeline.close();
+        NotificationPipeline.Metrics metrics = pipeline.getMetrics();
+        assertEquals(5, metrics.submitted());
+        assertEquals(5, metrics.notificationsSent());
+        assertEquals(3, metrics.messagesSent());
+        assertTrue(metrics.maxLatencyNanos() >= WINDOW_NANOS, "Sent before the window closed");
+        System.out.println("✓ 5 notifications for 3 recipients sent as 3 messages: " + metrics);
+    }
+
+    @Test
+    @DisplayName("Messages are sent in batches of at most maxBatch")
+    public void testBatching() {
+        InMemoryNotificationTransport transport = new InMemoryNotificationTransport();
+        NotificationPipeline pipeline = new NotificationPipeline(transport, 4096, WINDOW_NANOS, 100,
+                NotificationPipeline.OverflowPolicy.DROP, null);
+        for (int i = 0; i < 1000; i++) {
+            pipeline.submit(Notification.orderReady(i, "customer" + i + "@email.com"));
+        }
+        pipeline.close();
+
+        assertEquals(1000, transport.getMessageCount());
+        assertTrue(transport.getRequestCount() >= 10 && transport.getRequestCount() <= 100,
+                "Requests: " + transport.getRequestCount());
+        assertEquals(transport.getRequestCount(), pipeline.getMetrics().requestsSent());
+        System.out.println("✓ 1000 messages in " + transport.getRequestCount() + " requests");
+    }
+
+    @Test
+    @DisplayName("A full queue drops or spills instead of blocking")
+    public void testOverflowPolicies() throws Exception {
+        for (NotificationPipeline.OverflowPolicy policy : NotificationPipeline.OverflowPolicy.values()) {
+            CountDownLatch gatewayDown = new CountDownLatch(1);
+            InMemoryNotificationTransport delivered = new InMemoryNotificationTransport();
+            NotificationTransport stalled = messages -> {
+                try {
+                    gatewayDown.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                delivered.send(messages);
+            };
+            InMemoryNotificationTransport spill = new InMemoryNotificationTransport();
+            NotificationPipeline pipeline = new NotificationPipeline(stalled, 16, 0, 1, policy, spill);
+
+            int accepted = 0;
+            for (int i = 0; i < 200; i++) {
+                if (pipeline.submit(Notification.orderReady(i, "c" + i + "@email.com"))) {
+                    accepted++;
+                }
+            }
+            gatewayDown.countDown();
+            pipeline.close();
+
+            NotificationPipeline.Metrics metrics = pipeline.getMetrics();
+            assertTrue(accepted < 200);
+            assertEquals(accepted, delivered.getMessageCount());
+            if (policy == NotificationPipeline.OverflowPolicy.DROP) {
+                assertEquals(200 - accepted, metrics.dropped());
+                assertEquals(0, spill.getMessageCount());
+            } else {
+                assertEquals(200 - accepted, metrics.spilled());
+                assertEquals(200 - accepted, spill.getMessageCount());
+            }
+            System.out.println("✓ " + policy + ": " + accepted + " queued, " + (200 - accepted) + " overflowed");
+        }
+    }
+
+    @Test
+    @DisplayName("Transport failures are counted and do not stop the pipeline")
+    public void testSendFailure() {
+        InMemoryNotificationTransport delivered = new InMemoryNotificationTransport();
+        NotificationTransport flaky = messages -> {
+            if (messages.get(0).parts().get(0).orderId() % 2 == 0) {
+                throw new IllegalStateException("Gateway error");
+            }
+            delivered.send(messages);
+        };
+        NotificationPipeline pipeline = new NotificationPipeline(flaky, 64, 0, 1,
+                NotificationPipeline.OverflowPolicy.DROP, null);
+        for (int i = 0; i < 10; i++) {
+            pipeline.submit(Notification.orderReady(i, "c" + i + "@email.com"));
+        }
+        pipeline.close();
+
+        assertEquals(5, delivered.getMessageCount());
+        assertEquals(5, pipeline.getMetrics().sendFailures());
+        assertEquals(5, pipeline.getMetrics().notificationsSent());
+    }
+
+    @Test
+    @DisplayName("Notifications racing with close() are sent or counted as dropped")
+    public void testSubmitDuringClose() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            InMemoryNotificationTransport transport = new InMemoryNotificationTransport();
+            NotificationPipeline pipeline = new NotificationPipeline(transport, 1 << 16, 0, 100,
+                    NotificationPipeline.OverflowPolicy.DROP, null);
+            CountDownLatch started = new CountDownLatch(2);
+            Thread[] producers = new Thread[2];
+            for (int t = 0; t < producers.length; t++) {
+                producers[t] = new Thread(() -> {
+                    started.countDown();
+                    for (int i = 0; i < 2_000; i++) {
+                        pipeline.submit(Notification.orderReady(i, null));
+                    }
+                });
+                producers[t].start();
+            }
+            started.await();
+            pipeline.close();
+            for (Thread producer : producers) {
+                producer.join();
+            }
+
+            NotificationPipeline.Metrics metrics = pipeline.getMetrics();
+            assertEquals(4_000, metrics.submitted());
+            assertEquals(metrics.submitted(), metrics.notificationsSent() + metrics.dropped(), metrics.toString());
+            assertEquals(metrics.notificationsSent(), transport.getMessageCount());
+        }
+        System.out.println("✓ 50 rounds of submit during close(): submitted == sent + dropped");
+    }
+
+    @Test
+    @DisplayName("Batch payment confirmations join the customer's message")
+    public void testBatchPaymentCoalescing() {
+        InMemoryNotificationTransport transport = new InMemoryNotificationTransport();
+        NotificationPipeline pipeline = new NotificationPipeline(transport, 64,
+                TimeUnit.SECONDS.toNanos(1), 100, NotificationPipeline.OverflowPolicy.DROP, null);
+        OrderManagementFacade facade = new OrderManagementFacade(EventSink.noOp(), Runnable::run, null,
+                new OrderDispatchQueue(), new NotificationService(EventSink.noOp(), pipeline));
+        List<PaymentRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            String contact = "customer" + i + "@email.com";
+            int orderId = facade.createOrder().getOrderId();
+            facade.addPizzaToOrder(orderId, new BasePizza("Medium", "Thin"));
+            facade.processOrder(orderId, contact);
+            requests.add(PaymentRequest.forOrder(orderId, "tok_visa_4242424242424242", contact));
+        }
+        facade.completePayments(requests, new StripeAdapter());
+        pipeline.close();
+
+        assertEquals(3, transport.getMessageCount());
+        for (OutboundMessage message : transport.getDelivered()) {
+            assertEquals(3, message.parts().size(), message.recipient());
+        }
+        System.out.println("✓ 3 batch-paid orders confirmed in 3 messages of 3 notices");
+    }
+
+    @Test
+    @DisplayName("Throughput - per-call sends vs the pipeline through the facade")
+    public void testFacadeThroughput() {
+        int orders = 300;
+        long roundTrip = TimeUnit.MICROSECONDS.toNanos(200);
+        long perMessage = TimeUnit.MICROSECONDS.toNanos(2);
+
+        InMemoryNotificationTransport perCall = new InMemoryNotificationTransport(roundTrip, perMessage);
+        long perCallNanos = runOrders(orders, new NotificationService(EventSink.noOp(), perCall), null);
+
+        InMemoryNotificationTransport batched = new InMemoryNotificationTransport(roundTrip, perMessage);
+        NotificationPipeline pipeline = new NotificationPipeline(batched, 8192,
+                TimeUnit.SECONDS.toNanos(1), 100, NotificationPipeline.OverflowPolicy.DROP, null);
+        long pipelineNanos = runOrders(orders, new NotificationService(EventSink.noOp(), pipeline), pipeline);
+
+        assertEquals(3 * orders, perCall.getMessageCount());
+        assertEquals(3 * orders, perCall.getRequestCount());
+        assertEquals(orders, batched.getMessageCount());
+        for (OutboundMessage message : batched.getDelivered()) {
+            assertEquals(3, message.parts().size(), message.recipient());
+        }
+        assertTrue(batched.getRequestCount() <= orders / 10, "Requests: " + batched.getRequestCount());
+        assertTrue(pipelineNanos < perCallNanos);
+        System.out.printf("per-call: %,d notifications in %d requests, %,.0f notifications/s%n",
+                3 * orders, perCall.getRequestCount(), 3 * orders * 1e9 / perCallNanos);
+        System.out.printf("pipeline: %,d notifications in %d requests, %,.0f notifications/s, %s%n",
+                3 * orders, batched.getRequestCount(), 3 * orders * 1e9 / pipelineNanos, pipeline.getMetrics());
+    }
+
+    /**
+     * Places, processes and pays the orders, then waits until every notification is sent
+     * @return elapsed nanos
+     */
+    private static long runOrders(int orders, NotificationService notifications, NotificationPipeline pipeline) {
+        OrderManagementFacade facade = new OrderManagementFacade(EventSink.noOp(), Runnable::run, null,
+                new OrderDispatchQueue(), notifications);
+        long start = System.nanoTime();
+        for (int i = 0; i < orders; i++) {
+            String contact = "customer" + i + "@email.com";
+            int orderId = facade.createOrder().getOrderId();
+            facade.addPizzaToOrder(orderId, new BasePizza("Medium", "Thin"));
+            facade.processOrder(orderId, contact);
+            assertTrue(facade.completePayment(orderId, new PayPalAdapter(), contact, contact));
+        }
+        if (pipeline != null) {
+            pipeline.close();
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,229 @@
+package md.utm.tmps.lab2.domain.payment;
+
+import md.utm.tmps.lab2.domain.events.EventSink;
+import md.utm.tmps.lab2.domain.events.EventType;
+import md.utm.tmps.lab2.domain.events.RecordingEventSink;
+import md.utm.tmps.lab2.domain.facade.OrderManagementFacade;
+import md.utm.tmps.lab2.domain.models.BasePizza;
+import md.utm.tmps.lab2.domain.models.Order;
+import md.utm.tmps.lab2.domain.payment.adapters.CashAdapter;
+import md.utm.tmps.lab2.domain.payment.adapters.PayPalAdapter;
+import md.utm.tmps.lab2.domain.payment.adapters.StripeAdapter;
+import md.utm.tmps.lab2.domain.payment.external.PayPalAPI;
+import md.utm.tmps.lab2.domain.payment.external.StripeAPI;
+import md.utm.tmps.lab2.domain.payment.external.SimulatedLatencyStripeAPI;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for batch payments through PaymentProcessor.processPayments
+ */
+@DisplayName("Batch Payment Tests")
+public class BatchPaymentTest {
+
+    @Test
+    @DisplayName("PayPal batch validates everything and sends one payout request")
+    public void testPayPalBatchIsCoalesced() {
+        CountingPayPalAPI api = new CountingPayPalAPI();
+        PaymentProcessor paypal = new PayPalAdapter(api, EventSink.noOp());
+
+        List<PaymentResult> results = paypal.processPayments(List.of(
+                new PaymentRequest(1, 1249, "a@email.com"),
+                new PaymentRequest(2, 500, "not-an-email"),
+                new PaymentRequest(3, 2099, "c@email.com")));
+
+        assertEquals(List.of(PaymentResult.Status.APPROVED, PaymentResult.Status.INVALID_DETAILS,
+                PaymentResult.Status.APPROVED), results.stream().map(PaymentResult::status).toList());
+        assertEquals(2, results.get(1).orderId());
+        assertEquals(1, api.batchCalls);
+        assertEquals(0, api.singleCalls);
+        assertEquals(2, api.paymentsSent);
+        System.out.println("✓ PayPal batch sent as one request");
+    }
+
+    @Test
+    @DisplayName("Stripe and cash batches keep per-item outcomes")
+    public void testStripeAndCashBatches() {
+        RecordingEventSink events = new RecordingEventSink(64);
+        List<PaymentResult> stripe = new StripeAdapter(events).processPayments(List.of(
+                new PaymentRequest(1, 435, "tok_visa_4242424242424242"),
+                new PaymentRequest(2, 100, "bad")));
+        assertTrue(stripe.get(0).isApproved());
+        assertEquals(PaymentResult.Status.INVALID_DETAILS, stripe.get(1).status());
+        assertEquals(1, events.count(EventType.STRIPE_CHARGED));
+
+        CashAdapter cash = new CashAdapter();
+        List<PaymentResult> results = cash.processPayments(List.of(
+                new PaymentRequest(1, 1249, "20.00"),
+                new PaymentRequest(2, 1249, "10.00"),
+                new PaymentRequest(3, 1249, "twenty")));
+        assertEquals(List.of(PaymentResult.Status.APPROVED, PaymentResult.Status.DECLINED,
+                PaymentResult.Status.INVALID_DETAILS), results.stream().map(PaymentResult::status).toList());
+        assertEquals(50_000 + 1249, cash.getCashDrawerCents());
+        System.out.println("✓ Stripe and cash batches report each payment");
+    }
+
+    @Test
+    @DisplayName("An amount too large for Stripe is rejected without failing the batch")
+    public void testStripeOversizedAmount() {
+        RecordingEventSink events = new RecordingEventSink(64);
+        StripeAdapter stripe = new StripeAdapter(events);
+        List<PaymentResult> results = stripe.processPayments(List.of(
+                new PaymentRequest(1, 435, "tok_visa_4242424242424242"),
+                new PaymentRequest(2, Integer.MAX_VALUE + 1L, "tok_visa_4242424242424242"),
+                new PaymentRequest(3, 999, "tok_visa_4242424242424242")));
+
+        assertEquals(List.of(PaymentResult.Status.APPROVED, PaymentResult.Status.INVALID_DETAILS,
+                PaymentResult.Status.APPROVED), results.stream().map(PaymentResult::status).toList());
+        assertEquals(2, events.count(EventType.STRIPE_CHARGED));
+        assertFalse(stripe.processPaymentCents(Integer.MAX_VALUE + 1L, "tok_visa_4242424242424242"));
+        System.out.println("✓ $21.4M+ charge rejected, the rest of the batch charged");
+    }
+
+    @Test
+    @DisplayName("Facade matches results by order and leaves unanswered orders unpaid")
+    public void testFacadeMatchesResultsByOrder() {
+        OrderManagementFacade facade = new OrderManagementFacade();
+        List<PaymentRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            int orderId = facade.createOrder().getOrderId();
+            facade.addPizzaToOrder(orderId, new BasePizza("Large", "Thin"));
+            facade.processOrder(orderId, "c@email.com");
+            requests.add(PaymentRequest.forOrder(orderId, "tok_visa_4242424242424242"));
+        }
+        PaymentProcessor shuffled = new StripeAdapter() {
+            @Override
+            public List<PaymentResult> processPayments(List<PaymentRequest> batch) {
+                // last order missing, the rest reversed, plus a result for an order never sent
+                List<PaymentResult> results = new ArrayList<>(super.processPayments(batch).subList(0, batch.size() - 1));
+                Collections.reverse(results);
+                results.add(new PaymentResult(999_999, 100, PaymentResult.Status.APPROVED));
+                return results;
+            }
+        };
+
+        List<PaymentResult> results = facade.completePayments(requests, shuffled);
+
+        assertEquals(3, results.size());
+        for (int i = 0; i < 2; i++) {
+            assertEquals(requests.get(i).orderId(), results.get(i).orderId());
+            assertTrue(results.get(i).isApproved());
+            assertEquals(Order.OrderStatus.COMPLETED, facade.getOrder(requests.get(i).orderId()).getStatus());
+        }
+        assertEquals(PaymentResult.Status.NO_RESULT, results.get(2).status());
+        assertEquals(Order.OrderStatus.READY, facade.getOrder(requests.get(2).orderId()).getStatus());
+        System.out.println("✓ Shuffled results matched by order, the unanswered order left unpaid");
+    }
+
+    @Test
+    @DisplayName("A gateway answer of the wrong length charges nobody")
+    public void testShortGatewayAnswer() {
+        StripeAPI shortAnswer = new StripeAPI() {
+            @Override
+            public boolean[] chargeBatch(String[] cardTokens, int[] amountsInCents) {
+                return Arrays.copyOf(super.chargeBatch(cardTokens, amountsInCents), cardTokens.length - 1);
+            }
+        };
+        List<PaymentResult> results = new StripeAdapter(shortAnswer, EventSink.noOp()).processPayments(List.of(
+                new PaymentRequest(1, 435, "tok_visa_4242424242424242"),
+                new PaymentRequest(2, 100, "bad"),
+                new PaymentRequest(3, 999, "tok_visa_4242424242424242")));
+
+        assertEquals(PaymentResult.Status.NO_RESULT, results.get(0).status());
+        assertEquals(PaymentResult.Status.INVALID_DETAILS, results.get(1).status());
+        assertEquals(PaymentResult.Status.NO_RESULT, results.get(2).status());
+    }
+
+    @Test
+    @DisplayName("Facade settles a batch of orders and skips unpayable ones")
+    public void testFacadeSettlement() {
+        OrderManagementFacade facade = new OrderManagementFacade();
+        List<PaymentRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            int orderId = facade.createOrder().getOrderId();
+            facade.addPizzaToOrder(orderId, new BasePizza("Large", "Thin"));
+            if (i != 2) {
+                facade.processOrder(orderId, "c@email.com");
+            }
+            requests.add(PaymentRequest.forOrder(orderId, "tok_visa_4242424242424242"));
+        }
+        requests.add(PaymentRequest.forOrder(999_999, "tok_visa_4242424242424242"));
+
+        List<PaymentResult> results = facade.completePayments(requests, new StripeAdapter());
+
+        assertEquals(6, results.size());
+        for (int i = 0; i < 5; i++) {
+            int orderId = requests.get(i).orderId();
+            if (i == 2) {
+                assertEquals(PaymentResult.Status.ORDER_NOT_READY, results.get(i).status());
+                assertEquals(Order.OrderStatus.PENDING, facade.getOrder(orderId).getStatus());
+            } else {
+                assertTrue(results.get(i).isApproved());
+                assertEquals(1299, results.get(i).amountCents());
+                assertEquals(Order.OrderStatus.COMPLETED, facade.getOrder(orderId).getStatus());
+            }
+        }
+        assertEquals(PaymentResult.Status.ORDER_NOT_FOUND, results.get(5).status());
+        System.out.println("✓ Facade settled 4 of 6 orders in one batch");
+    }
+
+    @Test
+    @DisplayName("Batching beats the per-order loop against a remote gateway")
+    public void testBatchThroughputWithLatency() {
+        long roundTrip = TimeUnit.MILLISECONDS.toNanos(2);
+        long perCharge = TimeUnit.MICROSECONDS.toNanos(20);
+        PaymentProcessor stripe = new StripeAdapter(
+                new SimulatedLatencyStripeAPI(EventSink.noOp(), roundTrip, perCharge), EventSink.noOp());
+        List<PaymentRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            requests.add(new PaymentRequest(i, 1000 + i, "tok_visa_4242424242424242"));
+        }
+
+        long start = System.nanoTime();
+        for (PaymentRequest request : requests) {
+            assertTrue(stripe.processPaymentCents(request.amountCents(), request.accountInfo()));
+        }
+        long loopNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        List<PaymentResult> results = stripe.processPayments(requests);
+        long batchNanos = System.nanoTime() - start;
+
+        assertTrue(results.stream().allMatch(PaymentResult::isApproved));
+        assertTrue(batchNanos * 10 < loopNanos, "Batch should be much faster than the loop");
+        System.out.printf("✓ 200 Stripe charges: loop %d ms (%,.0f/s), batch %d ms (%,.0f/s)%n",
+                TimeUnit.NANOSECONDS.toMillis(loopNanos), 200 * 1e9 / loopNanos,
+                TimeUnit.NANOSECONDS.toMillis(batchNanos), 200 * 1e9 / batchNanos);
+    }
+
+    /**
+     * PayPalAPI counting how the adapter talks to it
+     */
+    private static final class CountingPayPalAPI extends PayPalAPI {
+        private int singleCalls;
+        private int batchCalls;
+        private int paymentsSent;
+
+        @Override
+        public boolean sendPayment(String email, double amount) {
+            singleCalls++;
+            paymentsSent++;
+            return super.sendPayment(email, amount);
+        }
+
+        @Override
+        public boolean[] sendBatchPayment(String[] emails, double[] amounts) {
+            batchCalls++;
+            paymentsSent += emails.length;
+            return super.sendBatchPayment(emails, amounts);
+        }
+    }
+}
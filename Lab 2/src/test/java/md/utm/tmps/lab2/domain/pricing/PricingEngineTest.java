@@ -0,0 +1,102 @@
+package md.utm.tmps.lab2.domain.pricing;
+
+import md.utm.tmps.lab2.domain.flyweight.Topping;
+import md.utm.tmps.lab2.domain.models.BasePizza;
+import md.utm.tmps.lab2.domain.models.PizzaComponent;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tests for compiled pricing and atomic price reloads
+ */
+@DisplayName("Pricing Engine Tests")
+public class PricingEngineTest {
+
+    private static final List<Topping> SUPREME = List.of(Topping.cheese("Parmesan"), Topping.MUSHROOM,
+            Topping.olive("Black"), Topping.PEPPERONI, Topping.BACON, Topping.vegetable("Onions"));
+
+    @Test
+    @DisplayName("Compiled prices match decorator chains")
+    public void testMatchesDecoratorChains() {
+        PricingEngine engine = new PricingEngine(PriceTable.DEFAULT);
+        for (String size : new String[] {"Small", "medium", "LARGE", "Extra Large", "Family"}) {
+            for (int toppings = 0; toppings <= SUPREME.size(); toppings++) {
+                PizzaComponent chain = new BasePizza(size, "Thin");
+                for (Topping topping : SUPREME.subList(0, toppings)) {
+                    chain = topping.applyTo(chain);
+                }
+                PricingEngine.CompiledPizza compiled = engine.compile(size, "Thin", SUPREME.subList(0, toppings));
+                assertEquals(chain.getCostCents(), engine.priceCents(compiled), size + " with " + toppings);
+            }
+        }
+        assertEquals(1099, engine.basePriceCents("Family", "Stuffed"));
+        System.out.println("✓ Compiled pricing agrees with the decorators, unknown sizes cost Medium");
+    }
+
+    @Test
+    @DisplayName("Reload changes prices of already compiled pizzas")
+    public void testReload() {
+        PricingEngine engine = new PricingEngine(PriceTable.DEFAULT);
+        PricingEngine.CompiledPizza large = engine.compile("Large", "Stuffed", List.of(Topping.BACON));
+        assertEquals(1299 + 250, engine.priceCents(large));
+
+        engine.reload(PriceTable.builder()
+                .size("Large", 1349)
+                .size("Personal", 699)
+                .crust("Stuffed", 200)
+                .topping(Topping.Kind.BACON, 275)
+                .build());
+
+        assertEquals(2, engine.getVersion());
+        assertEquals(1349 + 275, engine.priceCents(large));
+        PricingEngine.CompiledPizza stuffed = engine.compile("Large", "stuffed", List.of(Topping.BACON));
+        assertEquals(1349 + 200 + 275, engine.priceCents(stuffed));
+        assertEquals(699, engine.basePriceCents("Personal", "Thin"));
+        assertEquals(899, engine.basePriceCents("Small", "Thin"));
+        assertEquals(1099, PricingEngine.getDefault().basePriceCents("Medium", "Thin"));
+        assertThrows(IllegalStateException.class, () -> PriceTable.builder().defaultSize("Huge").build());
+        System.out.println("✓ Reloaded prices apply at once, missing names keep their price");
+    }
+
+    @Test
+    @DisplayName("Readers never see a half-applied reload")
+    public void testReloadIsAtomic() throws InterruptedException {
+        PricingEngine engine = new PricingEngine(PriceTable.DEFAULT);
+        PricingEngine.CompiledPizza pizza = engine.compile("Large", "Thin", SUPREME);
+        PriceTable cheap = PriceTable.DEFAULT;
+        PriceTable dear = PriceTable.DEFAULT.toBuilder()
+                .size("Large", 2000)
+                .topping(Topping.Kind.CHEESE, 300)
+                .topping(Topping.Kind.VEGETABLE, 150)
+                .build();
+        long cheapPrice = engine.priceCents(pizza);
+        engine.reload(dear);
+        long dearPrice = engine.priceCents(pizza);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong torn = new AtomicLong();
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                long price = engine.priceCents(pizza);
+                if (price != cheapPrice && price != dearPrice) {
+                    torn.incrementAndGet();
+                }
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 20_000; i++) {
+            engine.reload(i % 2 == 0 ? cheap : dear);
+        }
+        running.set(false);
+        reader.join();
+
+        assertEquals(0, torn.get());
+        System.out.println("✓ 20000 reloads, no torn prices");
+    }
+}
@@ -0,0 +1,204 @@
+package md.utm.tmps.lab2.domain.subsystems;
+
+import md.utm.tmps.lab2.client.KitchenSimulation;
+import md.utm.tmps.lab2.domain.decorators.CheeseDecorator;
+import md.utm.tmps.lab2.domain.events.EventSink;
+import md.utm.tmps.lab2.domain.events.EventType;
+import md.utm.tmps.lab2.domain.events.RecordingEventSink;
+import md.utm.tmps.lab2.domain.facade.OrderManagementFacade;
+import md.utm.tmps.lab2.domain.models.BasePizza;
+import md.utm.tmps.lab2.domain.models.Order;
+import md.utm.tmps.lab2.domain.models.PizzaComponent;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for the work-stealing KitchenScheduler and its simulation harness
+ */
+@DisplayName("KitchenScheduler Tests")
+public class KitchenSchedulerTest {
+
+    @BeforeEach
+    public void setUp() {
+        OrderIdGenerator.getInstance().reset();
+    }
+
+    @Test
+    @DisplayName("Idle stations steal pizzas queued behind a slow oven")
+    public void testWorkStealing() throws Exception {
+        PizzaComponent slow = new BasePizza("Large", "Thick").seal();
+        PizzaComponent fast = new BasePizza("Small", "Thin").seal();
+        long slowNanos = TimeUnit.MILLISECONDS.toNanos(40);
+        try (KitchenScheduler kitchen = new KitchenScheduler(new KitchenService(), 2,
+                pizza -> pizza == slow ? slowNanos : 0)) {
+            // dealt round-robin: station 0 gets every slow pizza
+            List<PizzaComponent> pizzas = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                pizzas.add(i % 2 == 0 ? slow : fast);
+            }
+            long start = System.nanoTime();
+            kitchen.prepareAll(pizzas).get(5, TimeUnit.SECONDS);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            List<KitchenScheduler.StationStats> stats = kitchen.getStationStats();
+            assertEquals(8, stats.get(0).prepared() + stats.get(1).prepared());
+            assertTrue(stats.get(1).stolen() > 0, "Station 1 stole nothing: " + stats);
+            assertTrue(elapsedMillis < 150, "4 x 40ms slow pizzas should be shared, took " + elapsedMillis + " ms");
+            System.out.println("✓ Slow pizzas spread over both stations in " + elapsedMillis + " ms: " + stats);
+        }
+    }
+
+    @Test
+    @DisplayName("Completion callbacks report every pizza, failures included")
+    public void testCompletionCallbacks() throws Exception {
+        PizzaComponent broken = new CheeseDecorator(new BasePizza("Medium", "Thin"), "Mozzarella") {
+            @Override
+            public void prepare(EventSink events) {
+                throw new IllegalStateException("Oven is cold");
+            }
+        };
+        try (KitchenScheduler kitchen = new KitchenScheduler(3)) {
+            int pizzas = 1_000;
+            CountDownLatch done = new CountDownLatch(pizzas);
+            AtomicInteger failures = new AtomicInteger();
+            for (int i = 0; i < pizzas; i++) {
+                kitchen.submit(i % 100 == 0 ? broken : new BasePizza("Small", "Thin"), (pizza, failure) -> {
+                    if (failure != null) {
+                        failures.incrementAndGet();
+                    }
+                    done.countDown();
+                });
+            }
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertEquals(10, failures.get());
+
+            CompletableFuture<Void> order = kitchen.prepareAll(List.of(new BasePizza("Small", "Thin"), broken));
+            CompletionException failure = assertThrows(CompletionException.class, order::join);
+            assertInstanceOf(IllegalStateException.class, failure.getCause());
+            assertTrue(kitchen.prepareAll(Collections.emptyList()).isDone());
+        }
+        System.out.println("✓ 1000 callbacks, 10 failures reported");
+    }
+
+    @Test
+    @DisplayName("Errors reach the completion and failing callbacks are reported")
+    public void testErrorsAndFailingCallbacks() throws Exception {
+        RecordingEventSink events = new RecordingEventSink(1 << 10);
+        KitchenService kitchenService = new KitchenService(events);
+        PizzaComponent burnt = new BasePizza("Large", "Thick").seal();
+        try (KitchenScheduler kitchen = new KitchenScheduler(kitchenService, 1, pizza -> {
+            if (pizza == burnt) {
+                throw new AssertionError("Oven overheated");
+            }
+            return 0;
+        })) {
+            ExecutionException failure = assertThrows(ExecutionException.class,
+                    () -> kitchen.prepareAll(List.of(burnt)).get(5, TimeUnit.SECONDS));
+            assertInstanceOf(AssertionError.class, failure.getCause());
+
+            CountDownLatch done = new CountDownLatch(1);
+            kitchen.submit(new BasePizza("Small", "Thin"), (pizza, error) -> {
+                throw new IllegalStateException("Display offline");
+            });
+            kitchen.submit(new BasePizza("Small", "Thin"), (pizza, error) -> done.countDown());
+            assertTrue(done.await(5, TimeUnit.SECONDS), "Station stopped after a failing callback");
+        }
+        assertEquals(1, events.count(EventType.KITCHEN_CALLBACK_FAILED));
+
+        // a scheduler with its own kitchen still reports to the facade's sink
+        RecordingEventSink facadeEvents = new RecordingEventSink(1 << 10);
+        try (KitchenScheduler kitchen = new KitchenScheduler(2)) {
+            OrderManagementFacade facade = new OrderManagementFacade(facadeEvents, kitchen);
+            int orderId = facade.createOrder().getOrderId();
+            facade.addPizzaToOrder(orderId, new BasePizza("Medium", "Thin"));
+            facade.processOrder(orderId, "c@email.com");
+        }
+        assertEquals(1, facadeEvents.count(EventType.PIZZA_PREPARED));
+        System.out.println("✓ AssertionError failed its order, failing callback recorded, station kept going");
+    }
+
+    @Test
+    @DisplayName("close() finishes queued pizzas and rejects new ones")
+    public void testClose() {
+        KitchenScheduler kitchen = new KitchenScheduler(new KitchenService(), 2,
+                pizza -> TimeUnit.MILLISECONDS.toNanos(2));
+        AtomicInteger prepared = new AtomicInteger();
+        for (int i = 0; i < 50; i++) {
+            kitchen.submit(new BasePizza("Small", "Thin"), (pizza, failure) -> prepared.incrementAndGet());
+        }
+        kitchen.close();
+
+        assertEquals(50, prepared.get());
+        assertThrows(RejectedExecutionException.class,
+                () -> kitchen.submit(new BasePizza("Small", "Thin"), (pizza, failure) -> { }));
+        System.out.println("✓ close() drained 50 queued pizzas");
+    }
+
+    @Test
+    @DisplayName("Facade orders become READY through the stations")
+    public void testFacadeWithScheduler() throws Exception {
+        RecordingEventSink events = new RecordingEventSink(1 << 16);
+        try (KitchenScheduler kitchen = new KitchenScheduler(new KitchenService(events), 4, pizza -> 0)) {
+            OrderManagementFacade facade = new OrderManagementFacade(events, kitchen);
+            int[] ids = new int[100];
+            CompletableFuture<?>[] futures = new CompletableFuture<?>[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = facade.createOrder().getOrderId();
+                for (int p = 0; p <= i % 3; p++) {
+                    facade.addPizzaToOrder(ids[i], new CheeseDecorator(new BasePizza("Medium", "Thin"), "Mozzarella"));
+                }
+                futures[i] = facade.processOrderAsync(ids[i], "c" + i + "@email.com");
+            }
+            CompletableFuture.allOf(futures).get(10, TimeUnit.SECONDS);
+
+            long prepared = 0;
+            for (KitchenScheduler.StationStats stats : kitchen.getStationStats()) {
+                prepared += stats.prepared();
+            }
+            assertEquals(199, prepared);
+            assertEquals(199, events.count(EventType.PIZZA_PREPARED));
+            for (int orderId : ids) {
+                assertEquals(Order.OrderStatus.READY, facade.getOrder(orderId).getStatus());
+            }
+
+            int syncOrder = facade.createOrder().getOrderId();
+            facade.addPizzaToOrder(syncOrder, new BasePizza("Large", "Thin"));
+            facade.processOrder(syncOrder, "sync@email.com");
+            assertEquals(Order.OrderStatus.READY, facade.getOrder(syncOrder).getStatus());
+        }
+        System.out.println("✓ 100 orders / 199 pizzas prepared on 4 stations");
+    }
+
+    @Test
+    @DisplayName("Simulation - bursty arrivals, utilization and turnaround")
+    public void testSimulation() {
+        KitchenSimulation.Config config = new KitchenSimulation.Config(4, 400, 6, 3_000, 3, 1_000, 7);
+        KitchenSimulation.Report report = KitchenSimulation.run(config);
+        System.out.println(report);
+
+        assertEquals(0, report.failedOrders());
+        assertEquals(400, report.turnaroundNanos().length);
+        assertEquals(4, report.stationStats().size());
+        long prepared = 0;
+        for (int i = 0; i < 4; i++) {
+            assertTrue(report.getUtilization(i) > 0 && report.getUtilization(i) <= 1.0);
+            prepared += report.stationStats().get(i).prepared();
+        }
+        assertTrue(prepared >= 400 && prepared <= 1200);
+        assertTrue(report.getTurnaroundNanos(0.5) >= TimeUnit.MICROSECONDS.toNanos(500));
+    }
+}
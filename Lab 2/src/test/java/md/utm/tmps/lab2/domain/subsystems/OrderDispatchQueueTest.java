@@ -0,0 +1,223 @@
+package md.utm.tmps.lab2.domain.subsystems;
+
+import md.utm.tmps.lab2.domain.events.EventSink;
+import md.utm.tmps.lab2.domain.events.EventType;
+import md.utm.tmps.lab2.domain.facade.OrderManagementFacade;
+import md.utm.tmps.lab2.domain.models.BasePizza;
+import md.utm.tmps.lab2.domain.models.Order;
+import md.utm.tmps.lab2.domain.models.PizzaComponent;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.BitSet;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tests for the deadline-aware OrderDispatchQueue and its use by the facade
+ */
+@DisplayName("OrderDispatchQueue Tests")
+public class OrderDispatchQueueTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    @BeforeEach
+    public void setUp() {
+        OrderIdGenerator.getInstance().reset();
+    }
+
+    @Test
+    @DisplayName("Earliest deadline is dispatched first")
+    public void testEarliestDeadlineFirst() {
+        AtomicLong clock = new AtomicLong();
+        OrderDispatchQueue queue = new OrderDispatchQueue(clock::get, 20 * MINUTE, 0);
+        queue.enqueue(1, "dine-in");                  // due at 20 min
+        queue.enqueue(2, "late", 45 * MINUTE);
+        queue.enqueue(3, "soon", 10 * MINUTE);
+        queue.enqueue(4, "sooner", 5 * MINUTE);
+
+        assertEquals(4, queue.size());
+        assertEquals(4, queue.poll().orderId());
+        assertEquals(3, queue.poll().orderId());
+        assertEquals(1, queue.poll().orderId());
+        assertEquals(2, queue.poll().orderId());
+        assertNull(queue.poll());
+        assertEquals(0, queue.size());
+        System.out.println("✓ Orders dispatched by deadline");
+    }
+
+    @Test
+    @DisplayName("Aging lets a long-waiting order overtake a slightly earlier deadline")
+    public void testAging() {
+        AtomicLong clock = new AtomicLong();
+        OrderDispatchQueue edf = new OrderDispatchQueue(clock::get, 20 * MINUTE, 0);
+        OrderDispatchQueue aged = new OrderDispatchQueue(clock::get, 20 * MINUTE, 0.5);
+        edf.enqueue(1, "dine-in");                    // due at 20 min, waiting since 0
+        aged.enqueue(1, "dine-in");
+        clock.set(16 * MINUTE);
+        edf.enqueue(2, "delivery", 18 * MINUTE);      // due 2 min earlier, but just arrived
+        aged.enqueue(2, "delivery", 18 * MINUTE);
+
+        assertEquals(2, edf.poll().orderId());
+        assertEquals(1, aged.poll().orderId());       // 20 + 0.5*0 < 18 + 0.5*16
+        System.out.println("✓ Aging weight 0.5 favours the order waiting 16 minutes");
+    }
+
+    @Test
+    @DisplayName("Concurrent producers never lose or duplicate an order")
+    public void testConcurrentEnqueue() throws Exception {
+        OrderDispatchQueue queue = new OrderDispatchQueue();
+        int producers = 4;
+        int perProducer = 50_000;
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[producers];
+        for (int t = 0; t < producers; t++) {
+            int base = t * perProducer;
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    queue.enqueue(base + i, "c", queue.now() + (i % 97) * MINUTE);
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+
+        BitSet seen = new BitSet(producers * perProducer);
+        int polled = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+        while (polled < producers * perProducer && System.nanoTime() < deadline) {
+            OrderDispatchQueue.Dispatch next = queue.poll();
+            if (next == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            assertFalse(seen.get(next.orderId()), "Dispatched twice: " + next.orderId());
+            seen.set(next.orderId());
+            polled++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(producers * perProducer, polled);
+        assertNull(queue.poll());
+        assertEquals(polled, queue.getStats().dispatched());
+        System.out.println("✓ " + polled + " orders from " + producers + " producers dispatched exactly once");
+    }
+
+    @Test
+    @DisplayName("A failing order still completes its dispatch")
+    public void testFailedOrderCompletes() {
+        OrderDispatchQueue queue = new OrderDispatchQueue();
+        EventSink coldOven = (type, orderId, amountCents, detail) -> {
+            if (type == EventType.PIZZA_PREPARATION_STARTED) {
+                throw new IllegalStateException("Oven is cold");
+            }
+        };
+        OrderManagementFacade facade = new OrderManagementFacade(coldOven, Runnable::run, null, queue);
+        for (int i = 0; i < 2; i++) {
+            int orderId = facade.createOrder().getOrderId();
+            facade.addPizzaToOrder(orderId, new BasePizza("Medium", "Thin"));
+            facade.scheduleOrder(orderId, "c" + i + "@email.com");
+        }
+
+        assertThrows(IllegalStateException.class, facade::processNextOrder);
+        assertTrue(facade.processNextOrderAsync().isCompletedExceptionally());
+        OrderDispatchQueue.Stats stats = queue.getStats();
+        assertEquals(2, stats.dispatched());
+        assertEquals(2, stats.completed());
+        System.out.println("✓ Failed orders counted as completed, sync and async");
+    }
+
+    @Test
+    @DisplayName("A rejected async order still completes its dispatch")
+    public void testRejectedOrderCompletes() {
+        OrderDispatchQueue queue = new OrderDispatchQueue();
+        Executor shutDown = task -> {
+            throw new RejectedExecutionException("Executor shut down");
+        };
+        OrderManagementFacade facade = new OrderManagementFacade(EventSink.noOp(), shutDown, null, queue);
+        int orderId = facade.createOrder().getOrderId();
+        facade.addPizzaToOrder(orderId, new BasePizza("Medium", "Thin"));
+        facade.scheduleOrder(orderId, "c@email.com");
+
+        CompletableFuture<Order> processed = facade.processNextOrderAsync();
+        CompletionException failure = assertThrows(CompletionException.class, processed::join);
+        assertInstanceOf(RejectedExecutionException.class, failure.getCause());
+        assertEquals(1, queue.getStats().completed());
+        System.out.println("✓ Rejected order counted as completed");
+    }
+
+    @Test
+    @DisplayName("Load - deadlines met with 1k, 10k and 100k queued orders")
+    public void testDeadlineShareUnderLoad() {
+        System.out.println("queued     EDF+aging   FIFO");
+        for (int queued : new int[] {1_000, 10_000, 100_000}) {
+            double[] shares = deadlineShares(queued);
+            System.out.printf("%-10d %6.1f%%    %6.1f%%%n", queued, 100 * shares[0], 100 * shares[1]);
+            assertTrue(shares[0] > shares[1] + 0.05, "EDF " + shares[0] + " vs FIFO " + shares[1] + " at " + queued);
+        }
+    }
+
+    /**
+     * Queues the orders one second apart, then serves them one per simulated
+     * minute through the facade
+     * @return share of orders ready by their deadline through the dispatch
+     *         queue, and the share had they been served in arrival order
+     */
+    private static double[] deadlineShares(int queued) {
+        AtomicLong clock = new AtomicLong();
+        // dine-in orders may take 90% of the time the whole backlog needs
+        OrderDispatchQueue queue = new OrderDispatchQueue(clock::get, queued * MINUTE * 9 / 10, 0.1);
+        EventSink kitchenClock = (type, orderId, amountCents, detail) -> {
+            if (type == EventType.ORDER_PREPARATION_COMPLETED) {
+                clock.addAndGet(MINUTE);
+            }
+        };
+        OrderManagementFacade facade = new OrderManagementFacade(kitchenClock, Runnable::run, null, queue);
+        PizzaComponent pizza = new BasePizza("Medium", "Thin").seal();
+        SplittableRandom random = new SplittableRandom(queued);
+        long[] deadlines = new long[queued];
+        for (int i = 0; i < queued; i++) {
+            Order order = facade.createOrder();
+            facade.addPizzaToOrder(order.getOrderId(), pizza);
+            if (random.nextInt(10) < 3) {
+                // delivery promised somewhere between 5% and 100% of the backlog time
+                deadlines[i] = clock.get() + queued * MINUTE * (5 + random.nextInt(96)) / 100;
+                facade.scheduleOrder(order.getOrderId(), "delivery", deadlines[i]);
+            } else {
+                deadlines[i] = clock.get() + queued * MINUTE * 9 / 10;
+                facade.scheduleOrder(order.getOrderId(), "dine-in");
+            }
+            clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        }
+
+        int fifoMet = 0;
+        for (int i = 0; i < queued; i++) {
+            if (clock.get() + (i + 1) * MINUTE <= deadlines[i]) {
+                fifoMet++;
+            }
+        }
+        while (facade.processNextOrder() != null) {
+            // one simulated minute per order
+        }
+        OrderDispatchQueue.Stats stats = queue.getStats();
+        assertEquals(queued, stats.completed());
+        assertEquals(0, stats.queued());
+        return new double[] {stats.metDeadlineShare(), fifoMet / (double) queued};
+    }
+}
@@ -0,0 +1,112 @@
+package md.utm.tmps.lab2.domain.subsystems;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.BitSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.LongSupplier;
+
+/**
+ * Contention benchmark: the previous synchronized generator against the
+ * lock-free generator with and without per-thread id blocks
+ */
+@DisplayName("OrderIdGenerator Contention Tests")
+public class OrderIdGeneratorContentionTest {
+
+    private static final int THREADS = 200;
+    private static final int IDS_PER_THREAD = 10_000;
+
+    @AfterEach
+    public void restoreGenerator() {
+        OrderIdGenerator generator = OrderIdGenerator.getInstance();
+        generator.setBlockSize(1);
+    }
+
+    @Test
+    @DisplayName("Block allocation hands out unique ids to hundreds of threads")
+    public void testUniqueIdsWithBlocks() throws InterruptedException {
+        OrderIdGenerator generator = OrderIdGenerator.getInstance();
+        generator.setBlockSize(1024);
+        long first = generator.peekNextLongOrderId();
+
+        long[][] ids = generateConcurrently(generator::generateLongOrderId);
+
+        BitSet seen = new BitSet();
+        for (long[] perThread : ids) {
+            for (int i = 0; i < perThread.length; i++) {
+                int offset = Math.toIntExact(perThread[i] - first);
+                assertFalse(seen.get(offset), "Duplicate id " + perThread[i]);
+                seen.set(offset);
+                if (i > 0) {
+                    assertTrue(perThread[i] > perThread[i - 1], "Ids must increase per thread");
+                }
+            }
+        }
+        assertEquals(THREADS * IDS_PER_THREAD, seen.cardinality());
+    }
+
+    @Test
+    @DisplayName("Benchmark - synchronized vs lock-free vs block-allocating generator")
+    public void testContentionBenchmark() throws InterruptedException {
+        SynchronizedOrderIdGenerator legacy = new SynchronizedOrderIdGenerator();
+        OrderIdGenerator generator = OrderIdGenerator.getInstance();
+
+        System.out.printf("Order id generation, %d threads x %,d ids%n", THREADS, IDS_PER_THREAD);
+        report("synchronized int counter", legacy::generateOrderId);
+
+        generator.setBlockSize(1);
+        report("lock-free atomic counter", generator::generateLongOrderId);
+
+        generator.setBlockSize(1024);
+        report("lock-free, 1024-id blocks", generator::generateLongOrderId);
+    }
+
+    private static void report(String label, LongSupplier ids) throws InterruptedException {
+        generateConcurrently(ids); // warm-up
+        long begin = System.nanoTime();
+        generateConcurrently(ids);
+        long elapsed = System.nanoTime() - begin;
+        double idsPerSecond = (double) THREADS * IDS_PER_THREAD * 1e9 / elapsed;
+        System.out.printf("  %-28s %,14.0f ids/s%n", label, idsPerSecond);
+    }
+
+    private static long[][] generateConcurrently(LongSupplier ids) throws InterruptedException {
+        long[][] results = new long[THREADS][IDS_PER_THREAD];
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            final long[] out = results[t];
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < out.length; i++) {
+                    out[i] = ids.getAsLong();
+                }
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return results;
+    }
+
+    /**
+     * The generator as it was before it became lock-free, kept as the baseline
+     */
+    private static final class SynchronizedOrderIdGenerator {
+        private int currentId = 1000;
+
+        synchronized int generateOrderId() {
+            return currentId++;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package md.utm.tmps.lab2.domain.subsystems;
+
+import md.utm.tmps.lab2.domain.events.EventSink;
+import md.utm.tmps.lab2.domain.models.Order;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tests for the lock-striped OrderStore behind InventoryManager
+ */
+@DisplayName("OrderStore Tests")
+public class OrderStoreTest {
+
+    private static final int OPS_PER_THREAD = 200_000;
+
+    @Test
+    @DisplayName("Put, get, replace and remove by primitive id")
+    public void testBasicOperations() {
+        OrderStore store = new OrderStore(4);
+        Order first = new Order(1000);
+        Order replacement = new Order(1000);
+
+        assertNull(store.put(1000, first));
+        assertSame(first, store.get(1000));
+        assertSame(first, store.put(1000, replacement));
+        assertSame(replacement, store.get(1000));
+        assertEquals(1, store.size());
+
+        assertSame(replacement, store.remove(1000));
+        assertNull(store.get(1000));
+        assertFalse(store.containsKey(1000));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    @DisplayName("Tables grow and removals keep probe chains intact")
+    public void testGrowthAndRemoval() {
+        OrderStore store = new OrderStore(1);
+        for (int id = 0; id < 10_000; id++) {
+            store.put(id, new Order(id));
+        }
+        assertEquals(10_000, store.size());
+
+        for (int id = 0; id < 10_000; id += 2) {
+            assertNotNull(store.remove(id));
+        }
+        assertEquals(5_000, store.size());
+        for (int id = 0; id < 10_000; id++) {
+            if (id % 2 == 0) {
+                assertNull(store.get(id), "Removed id " + id + " still present");
+            } else {
+                assertEquals(id, store.get(id).getOrderId());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("InventoryManager shared between threads sees every registration")
+    public void testConcurrentInventory() throws InterruptedException {
+        OrderStore store = new OrderStore();
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        int perThread = 20_000;
+        Thread[] workers = new Thread[threads];
+        // assertions thrown on a worker die with it, so the first failure is kept for the test thread
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        for (int t = 0; t < threads; t++) {
+            final int base = 1000 + t * perThread;
+            workers[t] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < perThread; i++) {
+                        store.put(base + i, new Order(base + i));
+                        assertNotNull(store.get(base + i), "Lost id " + (base + i));
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertNull(failure.get(), () -> "Worker failed: " + failure.get());
+        assertEquals(threads * perThread, store.size());
+        for (int id = 1000; id < 1000 + threads * perThread; id++) {
+            assertEquals(id, store.get(id).getOrderId());
+        }
+    }
+
+    @Test
+    @DisplayName("Stress - register/get/updateOrderStatus throughput from 1 to N threads")
+    public void testThroughputScaling() throws InterruptedException {
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        System.out.println("InventoryManager throughput (1 register : 6 get : 1 status update)");
+
+        for (int threads = 1; threads <= maxThreads; threads = nextThreadCount(threads, maxThreads)) {
+            InventoryManager inventory = new InventoryManager(EventSink.noOp());
+            AtomicInteger nextId = new AtomicInteger(1000);
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            long elapsed = runMixedWorkload(inventory, nextId, threads, failure);
+            assertNull(failure.get(), () -> "Worker failed: " + failure.get());
+
+            long ops = (long) threads * OPS_PER_THREAD;
+            System.out.printf("  %2d thread(s): %,12.0f ops/s%n", threads, ops * 1e9 / elapsed);
+            assertEquals(nextId.get() - 1000, inventory.getTotalOrders());
+        }
+    }
+
+    private static int nextThreadCount(int threads, int maxThreads) {
+        return threads == maxThreads ? maxThreads + 1 : Math.min(threads * 2, maxThreads);
+    }
+
+    private static long runMixedWorkload(InventoryManager inventory, AtomicInteger nextId, int threads,
+                                         AtomicReference<Throwable> failure) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                try {
+                    for (int i = 0; i < OPS_PER_THREAD; i++) {
+                        int op = i & 7;
+                        int known = Math.max(1, nextId.get() - 1000);
+                        if (op == 0) {
+                            inventory.registerOrder(new Order(nextId.getAndIncrement()));
+                        } else if (op == 7) {
+                            inventory.updateOrderStatus(1000 + random.nextInt(known), Order.OrderStatus.PREPARING);
+                        } else {
+                            inventory.getOrder(1000 + random.nextInt(known));
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        return System.nanoTime() - begin;
+    }
+}